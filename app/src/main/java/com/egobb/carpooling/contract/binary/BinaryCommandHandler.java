@@ -0,0 +1,158 @@
+package com.egobb.carpooling.contract.binary;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
+import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
+import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
+import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
+import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes one binary request, runs it against {@link CarPoolingService} and encodes the response.
+ *
+ * <p>Validation and status codes mirror {@code CarPoolingController}, including 429 and 503 with a
+ * retry delay for a journey turned away by a full backlog; only the encoding differs. Writes sent
+ * to a node that takes none answer 503 without a delay. The handler is transport agnostic and
+ * stateless, so it is safe to share between connections.
+ */
+public class BinaryCommandHandler {
+
+  private final CarPoolingService carJourneyService;
+  private final boolean readOnly;
+
+  public BinaryCommandHandler(CarPoolingService carJourneyService) {
+    this(carJourneyService, false);
+  }
+
+  /**
+   * @param readOnly answer writes with 503, on cluster followers whose state must only change
+   *     through replication and on partitioned nodes whose writes must go through the router
+   */
+  public BinaryCommandHandler(CarPoolingService carJourneyService, boolean readOnly) {
+    this.carJourneyService = carJourneyService;
+    this.readOnly = readOnly;
+  }
+
+  /**
+   * Handles the frame body in {@code request} (positioned after the length field, limited to the
+   * frame) and appends the complete response frame to {@code response}.
+   */
+  public void handle(ByteBuffer request, ByteBuffer response) {
+    final byte opcode = request.get();
+    final int correlation = request.getInt();
+    final int start = response.position();
+    response.position(start + BinaryProtocol.LENGTH_BYTES);
+    response.put(opcode).putInt(correlation);
+
+    final int statusPosition = response.position();
+    response.putShort((short) 0);
+    short status;
+    try {
+      status = this.dispatch(opcode, request, response);
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      // Truncated payload or unknown opcode.
+      response.position(statusPosition + 2);
+      status = BinaryProtocol.BAD_REQUEST;
+    }
+    response.putShort(statusPosition, status);
+    response.putInt(start, response.position() - start - BinaryProtocol.LENGTH_BYTES);
+  }
+
+  /** Upper bound of the response size, used to size output buffers. */
+  public static int maxResponseBytes() {
+    return BinaryProtocol.LENGTH_BYTES
+        + BinaryProtocol.RESPONSE_HEADER_BYTES
+        + BinaryProtocol.LOCATED_CAR_BYTES;
+  }
+
+  private short dispatch(byte opcode, ByteBuffer request, ByteBuffer response) {
+    switch (opcode) {
+      case BinaryProtocol.STATUS:
+        return BinaryProtocol.OK;
+      case BinaryProtocol.PUT_CARS:
+        return this.readOnly ? BinaryProtocol.SERVICE_UNAVAILABLE : this.putCars(request);
+      case BinaryProtocol.JOURNEY:
+        return this.readOnly
+            ? BinaryProtocol.SERVICE_UNAVAILABLE
+            : this.journey(request.getInt(), request.get() & 0xFF, response);
+      case BinaryProtocol.DROPOFF:
+        return this.readOnly ? BinaryProtocol.SERVICE_UNAVAILABLE : this.dropoff(request.getInt());
+      case BinaryProtocol.LOCATE:
+        return this.locate(request.getInt(), response);
+      default:
+        throw new IllegalArgumentException("unknown opcode " + opcode);
+    }
+  }
+
+  private short putCars(ByteBuffer request) {
+    final int count = request.getInt();
+    if (count < 0 || count > request.remaining() / BinaryProtocol.CAR_BYTES) {
+      return BinaryProtocol.BAD_REQUEST;
+    }
+    final List<Car> cars = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      cars.add(new Car(request.getInt(), request.get() & 0xFF));
+    }
+    try {
+      this.carJourneyService.resetCars(cars);
+      return BinaryProtocol.OK;
+    } catch (final InvalidCarSeatsException | DuplicatedIdException e) {
+      return BinaryProtocol.BAD_REQUEST;
+    }
+  }
+
+  private short journey(int journeyId, int people, ByteBuffer response) {
+    if (journeyId <= 0) {
+      return BinaryProtocol.BAD_REQUEST;
+    }
+    try {
+      this.carJourneyService.newJourney(new Journey(journeyId, people));
+      return BinaryProtocol.ACCEPTED;
+    } catch (final InvalidGroupSizeException | DuplicatedIdException e) {
+      return BinaryProtocol.BAD_REQUEST;
+    } catch (final BacklogFullException e) {
+      response.putInt((int) e.getRetryAfter().toSeconds());
+      return e.isGroupSizeLimit()
+          ? BinaryProtocol.TOO_MANY_REQUESTS
+          : BinaryProtocol.SERVICE_UNAVAILABLE;
+    }
+  }
+
+  private short dropoff(int journeyId) {
+    if (journeyId <= 0) {
+      return BinaryProtocol.BAD_REQUEST;
+    }
+    try {
+      this.carJourneyService.dropoff(journeyId);
+      return BinaryProtocol.NO_CONTENT;
+    } catch (final JourneyNotFoundException e) {
+      return BinaryProtocol.NOT_FOUND;
+    }
+  }
+
+  private short locate(int journeyId, ByteBuffer response) {
+    if (journeyId <= 0) {
+      return BinaryProtocol.BAD_REQUEST;
+    }
+    try {
+      final CarSnapshot car = this.carJourneyService.locate(journeyId);
+      if (car == null) {
+        return BinaryProtocol.NO_CONTENT;
+      }
+      response
+          .putInt(car.getId())
+          .put((byte) car.getMaxSeats())
+          .put((byte) car.getAvailableSeats());
+      return BinaryProtocol.OK;
+    } catch (final JourneyNotFoundException e) {
+      return BinaryProtocol.NOT_FOUND;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package com.egobb.carpooling.contract.binary;
+
+/**
+ * Compact binary encoding of the {@code CarPoolingController} operations.
+ *
+ * <p>Every message is a length-prefixed frame (big-endian):
+ *
+ * <pre>
+ *   request  : int32 length | byte opcode | int32 correlation | payload
+ *   response : int32 length | byte opcode | int32 correlation | int16 status | payload
+ * </pre>
+ *
+ * <p>{@code length} counts the bytes after the length field. The correlation id is echoed back so
+ * clients can pipeline requests on one connection. Status codes are the HTTP status codes the REST
+ * API returns for the same outcome, and a JOURNEY turned away by a full backlog carries the REST
+ * API's {@code Retry-After} in its payload.
+ *
+ * <table>
+ *   <caption>Operations</caption>
+ *   <tr><th>opcode</th><th>request payload</th><th>response payload</th></tr>
+ *   <tr><td>STATUS</td><td>-</td><td>-</td></tr>
+ *   <tr><td>PUT_CARS</td><td>int32 n, n x (int32 id, byte seats)</td><td>-</td></tr>
+ *   <tr><td>JOURNEY</td><td>int32 id, byte people</td><td>on 429/503: int32 retry-after seconds</td></tr>
+ *   <tr><td>DROPOFF</td><td>int32 id</td><td>-</td></tr>
+ *   <tr><td>LOCATE</td><td>int32 id</td><td>on 200: int32 car id, byte seats, byte available</td></tr>
+ * </table>
+ */
+public final class BinaryProtocol {
+
+  public static final byte STATUS = 0x01;
+  public static final byte PUT_CARS = 0x02;
+  public static final byte JOURNEY = 0x03;
+  public static final byte DROPOFF = 0x04;
+  public static final byte LOCATE = 0x05;
+
+  /** Length field size. */
+  public static final int LENGTH_BYTES = 4;
+
+  /** Opcode plus correlation id. */
+  public static final int REQUEST_HEADER_BYTES = 1 + 4;
+
+  /** Opcode, correlation id and status. */
+  public static final int RESPONSE_HEADER_BYTES = 1 + 4 + 2;
+
+  /** Bytes of one car in a PUT_CARS payload. */
+  public static final int CAR_BYTES = 4 + 1;
+
+  /** Bytes of the LOCATE payload of a 200 response. */
+  public static final int LOCATED_CAR_BYTES = 4 + 1 + 1;
+
+  /** Bytes of the JOURNEY payload of a response rejected by a full backlog. */
+  public static final int RETRY_AFTER_BYTES = 4;
+
+  public static final short OK = 200;
+  public static final short ACCEPTED = 202;
+  public static final short NO_CONTENT = 204;
+  public static final short BAD_REQUEST = 400;
+  public static final short NOT_FOUND = 404;
+
+  /** The backlog of the journey's group size is full; retry after the given delay. */
+  public static final short TOO_MANY_REQUESTS = 429;
+
+  /**
+   * The whole backlog is full (with a retry-after payload), or a write was sent to a node that does
+   * not take binary writes (without one).
+   */
+  public static final short SERVICE_UNAVAILABLE = 503;
+
+  private BinaryProtocol() {
+    // A private constructor to hide implicit public one
+  }
+}
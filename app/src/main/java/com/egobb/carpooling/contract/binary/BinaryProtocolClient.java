@@ -0,0 +1,105 @@
+package com.egobb.carpooling.contract.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Minimal blocking client of the {@link BinaryProtocol}: one connection, one outstanding request.
+ *
+ * <p>Not thread-safe; use one client per thread. Meant for tests, the load generator and as a
+ * reference for clients in other languages.
+ */
+public class BinaryProtocolClient implements AutoCloseable {
+
+  private final SocketChannel channel;
+  private final ByteBuffer in = ByteBuffer.allocate(BinaryCommandHandler.maxResponseBytes());
+  private ByteBuffer out = ByteBuffer.allocate(1024);
+  private int nextCorrelation;
+
+  public BinaryProtocolClient(String host, int port) throws IOException {
+    this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+    this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+  }
+
+  public BinaryResponse status() throws IOException {
+    return this.call(this.begin(BinaryProtocol.STATUS, 0));
+  }
+
+  public BinaryResponse putCars(int[] ids, int[] seats) throws IOException {
+    final ByteBuffer frame =
+        this.begin(BinaryProtocol.PUT_CARS, 4 + ids.length * BinaryProtocol.CAR_BYTES);
+    frame.putInt(ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      frame.putInt(ids[i]).put((byte) seats[i]);
+    }
+    return this.call(frame);
+  }
+
+  public BinaryResponse journey(int id, int people) throws IOException {
+    return this.call(this.begin(BinaryProtocol.JOURNEY, 5).putInt(id).put((byte) people));
+  }
+
+  public BinaryResponse dropoff(int id) throws IOException {
+    return this.call(this.begin(BinaryProtocol.DROPOFF, 4).putInt(id));
+  }
+
+  public BinaryResponse locate(int id) throws IOException {
+    return this.call(this.begin(BinaryProtocol.LOCATE, 4).putInt(id));
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  private ByteBuffer begin(byte opcode, int payloadBytes) {
+    final int length = BinaryProtocol.REQUEST_HEADER_BYTES + payloadBytes;
+    if (this.out.capacity() < BinaryProtocol.LENGTH_BYTES + length) {
+      this.out = ByteBuffer.allocate(BinaryProtocol.LENGTH_BYTES + length);
+    }
+    this.out.clear();
+    return this.out.putInt(length).put(opcode).putInt(++this.nextCorrelation);
+  }
+
+  private BinaryResponse call(ByteBuffer frame) throws IOException {
+    frame.flip();
+    while (frame.hasRemaining()) {
+      this.channel.write(frame);
+    }
+
+    this.in.clear().limit(BinaryProtocol.LENGTH_BYTES);
+    this.fill();
+    final int length = this.in.getInt(0);
+    if (length < BinaryProtocol.RESPONSE_HEADER_BYTES
+        || length > this.in.capacity() - BinaryProtocol.LENGTH_BYTES) {
+      throw new IOException("Malformed response frame of " + length + " bytes");
+    }
+    this.in.limit(BinaryProtocol.LENGTH_BYTES + length);
+    this.fill();
+    this.in.flip().position(BinaryProtocol.LENGTH_BYTES);
+
+    this.in.get(); // opcode
+    final int correlation = this.in.getInt();
+    final int status = this.in.getShort();
+    if (this.in.remaining() >= BinaryProtocol.LOCATED_CAR_BYTES) {
+      return new BinaryResponse(
+          correlation, status, this.in.getInt(), this.in.get() & 0xFF, this.in.get() & 0xFF);
+    }
+    if (this.in.remaining() >= BinaryProtocol.RETRY_AFTER_BYTES) {
+      return new BinaryResponse(correlation, status, 0, 0, 0, this.in.getInt());
+    }
+    return new BinaryResponse(correlation, status, 0, 0, 0);
+  }
+
+  private void fill() throws IOException {
+    while (this.in.hasRemaining()) {
+      if (this.channel.read(this.in) < 0) {
+        throw new EOFException("Connection closed by server");
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.egobb.carpooling.contract.binary;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Settings of the binary protocol listener ({@code carpooling.binary.*}). */
+@ConfigurationProperties(prefix = "carpooling.binary")
+public class BinaryProtocolProperties {
+
+  /** Whether the TCP listener is started. Off by default: HTTP/JSON stays the public API. */
+  private boolean enabled = false;
+
+  private String host = "0.0.0.0";
+
+  /** TCP port; 0 picks a free port (see {@link BinaryProtocolServer#getLocalPort()}). */
+  private int port = 9090;
+
+  /** Largest accepted frame; bigger frames close the connection. Bounds PUT_CARS fleets. */
+  private int maxFrameBytes = 1 << 20;
+
+  /**
+   * Responses a connection may have waiting to be sent. Past it the server stops reading from the
+   * connection until the client catches up, so a client that pipelines without reading is held back
+   * by TCP instead of growing the server's buffers.
+   */
+  private int maxPendingOutputBytes = 64 * 1024;
+
+  /**
+   * Threads running the decoded commands, so that one waiting for the service's locks (a fleet
+   * reset, say) does not hold up the selector thread and with it every other connection.
+   */
+  private int workerThreads = 2;
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getHost() {
+    return this.host;
+  }
+
+  public void setHost(String host) {
+    this.host = host;
+  }
+
+  public int getPort() {
+    return this.port;
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public int getMaxFrameBytes() {
+    return this.maxFrameBytes;
+  }
+
+  public void setMaxFrameBytes(int maxFrameBytes) {
+    this.maxFrameBytes = maxFrameBytes;
+  }
+
+  public int getMaxPendingOutputBytes() {
+    return this.maxPendingOutputBytes;
+  }
+
+  public void setMaxPendingOutputBytes(int maxPendingOutputBytes) {
+    this.maxPendingOutputBytes = maxPendingOutputBytes;
+  }
+
+  public int getWorkerThreads() {
+    return this.workerThreads;
+  }
+
+  public void setWorkerThreads(int workerThreads) {
+    this.workerThreads = workerThreads;
+  }
+}
@@ -0,0 +1,400 @@
+package com.egobb.carpooling.contract.binary;
+
+import com.egobb.carpooling.contract.cluster.ClusterMode;
+import com.egobb.carpooling.contract.cluster.ClusterProperties;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Non-blocking TCP listener for the {@link BinaryProtocol}.
+ *
+ * <p>A single selector thread accepts connections, reads and writes, and splits the input into
+ * frames; the frames are run through the {@link BinaryCommandHandler} on a small worker pool
+ * ({@code carpooling.binary.worker-threads}), so an operation that waits for the service's locks,
+ * such as a fleet reset, never stops the I/O of the other connections. Each connection has at most
+ * one batch of frames on a worker at a time, which keeps its responses in request order, and every
+ * complete frame read so far goes in that batch, which makes pipelined clients cheap (one hand-off
+ * and one write per batch of requests).
+ *
+ * <p>Decoding stops once a connection has {@code carpooling.binary.max-pending-output-bytes} of
+ * responses waiting to be sent, and so does reading from it: a client that pipelines without
+ * reading fills its own socket buffers instead of the server's heap. Once {@link #write} drains the
+ * backlog, the frames already read are decoded and reading resumes.
+ *
+ * <p>Only started when {@code carpooling.binary.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.binary", name = "enabled", havingValue = "true")
+public class BinaryProtocolServer implements SmartLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BinaryProtocolServer.class);
+  private static final int INITIAL_BUFFER_BYTES = 16 * 1024;
+
+  private final BinaryCommandHandler handler;
+  private final BinaryProtocolProperties properties;
+  private final int maxPendingOutputBytes;
+
+  /** Batches answered by the workers, appended to their connection by the selector thread. */
+  private final Queue<Batch> answered = new ConcurrentLinkedQueue<>();
+
+  private volatile boolean running;
+  private volatile int peakPendingOutputBytes;
+  private volatile Selector selector;
+  private volatile ServerSocketChannel serverChannel;
+  private volatile Thread thread;
+  private volatile ExecutorService workers;
+
+  public BinaryProtocolServer(
+      CarPoolingService carJourneyService,
+      BinaryProtocolProperties properties,
+      ClusterProperties clusterProperties) {
+    // Followers only change through replication, and partitioned writes must go through the
+    // router that spreads them over the nodes: neither takes binary writes.
+    final ClusterMode mode = clusterProperties.getMode();
+    this.handler =
+        new BinaryCommandHandler(
+            carJourneyService, mode == ClusterMode.FOLLOWER || mode == ClusterMode.PARTITIONED);
+    this.properties = properties;
+    // Room for at least one response, or no frame would ever be decoded.
+    this.maxPendingOutputBytes =
+        Math.max(properties.getMaxPendingOutputBytes(), BinaryCommandHandler.maxResponseBytes());
+  }
+
+  @Override
+  public synchronized void start() {
+    if (this.thread != null) {
+      return;
+    }
+    try {
+      this.selector = Selector.open();
+      this.serverChannel = ServerSocketChannel.open();
+      this.serverChannel.bind(
+          new InetSocketAddress(this.properties.getHost(), this.properties.getPort()));
+      this.serverChannel.configureBlocking(false);
+      this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Cannot open binary protocol listener", e);
+    }
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.workers =
+        Executors.newFixedThreadPool(
+            this.properties.getWorkerThreads(),
+            runnable -> {
+              final Thread worker =
+                  new Thread(runnable, "binary-worker-" + threadCount.incrementAndGet());
+              worker.setDaemon(true);
+              return worker;
+            });
+    this.running = true;
+    this.thread = new Thread(this::loop, "binary-protocol");
+    this.thread.setDaemon(true);
+    this.thread.start();
+    LOGGER.info("Binary protocol listening on port {}", this.getLocalPort());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (this.thread == null) {
+      return;
+    }
+    this.running = false;
+    this.selector.wakeup();
+    try {
+      this.thread.join(1000);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      this.thread = null;
+      this.workers.shutdownNow();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.thread != null;
+  }
+
+  /** Bound port, useful when configured with port 0; -1 when not running. */
+  public int getLocalPort() {
+    final ServerSocketChannel channel = this.serverChannel;
+    if (channel == null || !channel.isOpen()) {
+      return -1;
+    }
+    try {
+      return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    } catch (final IOException e) {
+      return -1;
+    }
+  }
+
+  /** Largest backlog of unsent responses any connection has had, for tests. */
+  int getPeakPendingOutputBytes() {
+    return this.peakPendingOutputBytes;
+  }
+
+  private void loop() {
+    final Selector sel = this.selector;
+    try {
+      while (this.running) {
+        sel.select();
+        for (Batch batch = this.answered.poll(); batch != null; batch = this.answered.poll()) {
+          try {
+            this.complete(batch);
+          } catch (final IOException e) {
+            close(batch.key);
+          }
+        }
+        final Iterator<SelectionKey> keys = sel.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          final SelectionKey key = keys.next();
+          keys.remove();
+          try {
+            if (key.isAcceptable()) {
+              this.accept(sel);
+            } else {
+              if (key.isReadable()) {
+                this.read(key);
+              }
+              if (key.isValid() && key.isWritable()) {
+                this.write(key);
+              }
+            }
+          } catch (final IOException e) {
+            close(key);
+          }
+        }
+      }
+    } catch (final IOException e) {
+      LOGGER.error("Binary protocol listener failed", e);
+    } finally {
+      // Closes the server channel and every client connection.
+      for (final SelectionKey key : sel.keys()) {
+        close(key);
+      }
+      try {
+        sel.close();
+      } catch (final IOException e) {
+        LOGGER.warn("Error closing binary protocol selector", e);
+      }
+    }
+  }
+
+  private void accept(Selector sel) throws IOException {
+    final SocketChannel channel = this.serverChannel.accept();
+    if (channel == null) {
+      return;
+    }
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    channel.register(sel, SelectionKey.OP_READ, new Connection());
+  }
+
+  private void read(SelectionKey key) throws IOException {
+    final SocketChannel channel = (SocketChannel) key.channel();
+    final Connection connection = (Connection) key.attachment();
+    if (channel.read(connection.in) < 0) {
+      close(key);
+      return;
+    }
+    if (this.dispatch(key, connection)) {
+      this.updateInterest(key, connection);
+    }
+  }
+
+  /**
+   * Hands the complete frames read so far to a worker, as many as the pending output limit leaves
+   * room for, unless the connection already has a batch on a worker.
+   *
+   * @return false when the connection was closed
+   */
+  private boolean dispatch(SelectionKey key, Connection connection) {
+    if (connection.busy) {
+      return true;
+    }
+    final int room =
+        (this.maxPendingOutputBytes - connection.out.position())
+            / BinaryCommandHandler.maxResponseBytes();
+    final ByteBuffer in = connection.in;
+    in.flip();
+    final int start = in.position();
+    int frames = 0;
+    int partialFrameBytes = 0;
+    while (frames < room && in.remaining() >= BinaryProtocol.LENGTH_BYTES) {
+      final int length = in.getInt(in.position());
+      if (length < BinaryProtocol.REQUEST_HEADER_BYTES
+          || length > this.properties.getMaxFrameBytes()) {
+        // Not a frame of this protocol: nothing sensible to answer.
+        close(key);
+        return false;
+      }
+      if (in.remaining() < BinaryProtocol.LENGTH_BYTES + length) {
+        partialFrameBytes = BinaryProtocol.LENGTH_BYTES + length;
+        break;
+      }
+      in.position(in.position() + BinaryProtocol.LENGTH_BYTES + length);
+      frames++;
+    }
+    final ByteBuffer requests = ByteBuffer.allocate(in.position() - start);
+    requests.put(in.array(), in.arrayOffset() + start, requests.capacity()).flip();
+    in.compact();
+    connection.ensureInCapacity(partialFrameBytes);
+    if (frames == 0) {
+      return true;
+    }
+
+    connection.busy = true;
+    final Batch batch = new Batch(key, requests, frames);
+    this.workers.execute(() -> this.run(batch));
+    return true;
+  }
+
+  /** Worker side: runs every frame of the batch, then hands the responses to the selector. */
+  private void run(Batch batch) {
+    final ByteBuffer requests = batch.requests;
+    final ByteBuffer responses =
+        ByteBuffer.allocate(batch.frames * BinaryCommandHandler.maxResponseBytes());
+    try {
+      while (requests.hasRemaining()) {
+        final int length = requests.getInt();
+        final int frameEnd = requests.position() + length;
+        this.handler.handle(requests.limit(frameEnd), responses);
+        requests.limit(requests.capacity()).position(frameEnd);
+      }
+      batch.responses = responses.flip();
+    } catch (final RuntimeException e) {
+      // Leaves the responses unset, which closes the connection: its answers would be incomplete.
+      LOGGER.warn("Binary command failed", e);
+    }
+    this.answered.add(batch);
+    this.selector.wakeup();
+  }
+
+  /** Selector side: queues the responses of a batch and decodes the next one. */
+  private void complete(Batch batch) throws IOException {
+    final SelectionKey key = batch.key;
+    if (!key.isValid()) {
+      return;
+    }
+    if (batch.responses == null) {
+      close(key);
+      return;
+    }
+    final Connection connection = (Connection) key.attachment();
+    connection.busy = false;
+    connection.ensureOutCapacity(batch.responses.remaining());
+    connection.out.put(batch.responses);
+    if (connection.out.position() > this.peakPendingOutputBytes) {
+      this.peakPendingOutputBytes = connection.out.position();
+    }
+    this.write(key);
+  }
+
+  private void write(SelectionKey key) throws IOException {
+    final SocketChannel channel = (SocketChannel) key.channel();
+    final Connection connection = (Connection) key.attachment();
+    final ByteBuffer out = connection.out;
+    out.flip();
+    channel.write(out);
+    out.compact();
+    // Frames held back by a full backlog are already read: no read event will bring them back.
+    if (this.dispatch(key, connection)) {
+      this.updateInterest(key, connection);
+    }
+  }
+
+  private void updateInterest(SelectionKey key, Connection connection) {
+    final int pending = connection.out.position();
+    int ops = 0;
+    // Stop reading while the client does not take its responses, or while the input buffer is
+    // full of frames waiting for the batch on a worker.
+    if (pending + BinaryCommandHandler.maxResponseBytes() <= this.maxPendingOutputBytes
+        && connection.in.hasRemaining()) {
+      ops |= SelectionKey.OP_READ;
+    }
+    // Only wait for writability while there is a backlog, otherwise the selector spins.
+    if (pending > 0) {
+      ops |= SelectionKey.OP_WRITE;
+    }
+    key.interestOps(ops);
+  }
+
+  private static void close(SelectionKey key) {
+    key.cancel();
+    try {
+      key.channel().close();
+    } catch (final IOException e) {
+      // Nothing left to release.
+    }
+  }
+
+  /** Frames of one connection on their way through a worker. */
+  private static final class Batch {
+
+    private final SelectionKey key;
+    private final ByteBuffer requests;
+    private final int frames;
+
+    /**
+     * Written by the worker before the batch is queued, read by the selector after; null when a
+     * command failed.
+     */
+    private ByteBuffer responses;
+
+    private Batch(SelectionKey key, ByteBuffer requests, int frames) {
+      this.key = key;
+      this.requests = requests;
+      this.frames = frames;
+    }
+  }
+
+  /**
+   * Per-connection buffers, both kept in write mode between events; only the selector uses them.
+   */
+  private static final class Connection {
+
+    private ByteBuffer in = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    /** Whether a batch of this connection is on a worker. */
+    private boolean busy;
+
+    /** Grows {@code in} so that a frame of {@code bytes} fits. */
+    void ensureInCapacity(int bytes) {
+      if (this.in.capacity() < bytes) {
+        final ByteBuffer bigger = ByteBuffer.allocate(Math.max(bytes, this.in.capacity() * 2));
+        this.in.flip();
+        bigger.put(this.in);
+        this.in = bigger;
+      }
+    }
+
+    void ensureOutCapacity(int bytes) {
+      if (this.out.remaining() < bytes) {
+        final ByteBuffer bigger =
+            ByteBuffer.allocate(Math.max(this.out.position() + bytes, this.out.capacity() * 2));
+        this.out.flip();
+        bigger.put(this.out);
+        this.out = bigger;
+      }
+    }
+  }
+}
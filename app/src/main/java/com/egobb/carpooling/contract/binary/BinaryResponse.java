@@ -0,0 +1,58 @@
+package com.egobb.carpooling.contract.binary;
+
+/**
+ * Decoded response frame; the car fields are only set for a LOCATE answered with 200, the retry
+ * delay only for a JOURNEY rejected by a full backlog.
+ */
+public class BinaryResponse {
+
+  private final int correlation;
+  private final int status;
+  private final int carId;
+  private final int carSeats;
+  private final int availableSeats;
+  private final int retryAfterSeconds;
+
+  public BinaryResponse(int correlation, int status, int carId, int carSeats, int availableSeats) {
+    this(correlation, status, carId, carSeats, availableSeats, 0);
+  }
+
+  public BinaryResponse(
+      int correlation,
+      int status,
+      int carId,
+      int carSeats,
+      int availableSeats,
+      int retryAfterSeconds) {
+    this.correlation = correlation;
+    this.status = status;
+    this.carId = carId;
+    this.carSeats = carSeats;
+    this.availableSeats = availableSeats;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public int getCorrelation() {
+    return this.correlation;
+  }
+
+  public int getStatus() {
+    return this.status;
+  }
+
+  public int getCarId() {
+    return this.carId;
+  }
+
+  public int getCarSeats() {
+    return this.carSeats;
+  }
+
+  public int getAvailableSeats() {
+    return this.availableSeats;
+  }
+
+  public int getRetryAfterSeconds() {
+    return this.retryAfterSeconds;
+  }
+}
@@ -0,0 +1,13 @@
+package com.egobb.carpooling.contract.cluster;
+
+/** Role of this instance in a cluster ({@code carpooling.cluster.mode}). */
+public enum ClusterMode {
+  /** Single node, no replication (default). */
+  STANDALONE,
+  /** Runs every mutation and serves snapshots plus the replication feed to followers. */
+  LEADER,
+  /** Serves reads from a replica of the leader state and forwards writes to the leader. */
+  FOLLOWER,
+  /** Owns a consistent-hash share of the fleet and routes journeys to the node that holds them. */
+  PARTITIONED
+}
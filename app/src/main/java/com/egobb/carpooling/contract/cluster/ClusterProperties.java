@@ -0,0 +1,137 @@
+package com.egobb.carpooling.contract.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Clustering settings ({@code carpooling.cluster.*}). */
+@ConfigurationProperties(prefix = "carpooling.cluster")
+public class ClusterProperties {
+
+  private ClusterMode mode = ClusterMode.STANDALONE;
+
+  /** Base URL of the leader, required on followers. */
+  private String leaderUrl;
+
+  /** Base URLs of every node of a partitioned cluster, this one included. */
+  private List<String> nodes = new ArrayList<>();
+
+  /** Base URL of this node as it appears in {@code nodes}. */
+  private String selfUrl;
+
+  /**
+   * Shared secret the nodes send each other in {@link PeerAuthentication#HEADER}; required in every
+   * mode but standalone. Requests without it cannot use the peer-only endpoints and headers.
+   */
+  private String secret;
+
+  /** Points per node on the consistent-hash ring; more points spread cars more evenly. */
+  private int virtualNodes = 128;
+
+  /** Long-poll timeout of a replication request to the leader. */
+  private Duration replicationPollTimeout = Duration.ofSeconds(25);
+
+  /** Largest number of events fetched per replication request. */
+  private int replicationBatchSize = 1024;
+
+  /** Pause before reconnecting after the leader could not be reached. */
+  private Duration retryInterval = Duration.ofSeconds(1);
+
+  /** Timeout of a request forwarded to the leader or to a peer. */
+  private Duration forwardTimeout = Duration.ofSeconds(5);
+
+  /**
+   * How long a follower holds the answer of a forwarded write until the write has been replicated
+   * back, so that the same client reads its own writes from the follower.
+   */
+  private Duration readYourWritesTimeout = Duration.ofSeconds(2);
+
+  public ClusterMode getMode() {
+    return this.mode;
+  }
+
+  public void setMode(ClusterMode mode) {
+    this.mode = mode;
+  }
+
+  public String getLeaderUrl() {
+    return this.leaderUrl;
+  }
+
+  public void setLeaderUrl(String leaderUrl) {
+    this.leaderUrl = leaderUrl;
+  }
+
+  public List<String> getNodes() {
+    return this.nodes;
+  }
+
+  public void setNodes(List<String> nodes) {
+    this.nodes = nodes;
+  }
+
+  public String getSelfUrl() {
+    return this.selfUrl;
+  }
+
+  public void setSelfUrl(String selfUrl) {
+    this.selfUrl = selfUrl;
+  }
+
+  public String getSecret() {
+    return this.secret;
+  }
+
+  public void setSecret(String secret) {
+    this.secret = secret;
+  }
+
+  public int getVirtualNodes() {
+    return this.virtualNodes;
+  }
+
+  public void setVirtualNodes(int virtualNodes) {
+    this.virtualNodes = virtualNodes;
+  }
+
+  public Duration getReplicationPollTimeout() {
+    return this.replicationPollTimeout;
+  }
+
+  public void setReplicationPollTimeout(Duration replicationPollTimeout) {
+    this.replicationPollTimeout = replicationPollTimeout;
+  }
+
+  public int getReplicationBatchSize() {
+    return this.replicationBatchSize;
+  }
+
+  public void setReplicationBatchSize(int replicationBatchSize) {
+    this.replicationBatchSize = replicationBatchSize;
+  }
+
+  public Duration getRetryInterval() {
+    return this.retryInterval;
+  }
+
+  public void setRetryInterval(Duration retryInterval) {
+    this.retryInterval = retryInterval;
+  }
+
+  public Duration getForwardTimeout() {
+    return this.forwardTimeout;
+  }
+
+  public void setForwardTimeout(Duration forwardTimeout) {
+    this.forwardTimeout = forwardTimeout;
+  }
+
+  public Duration getReadYourWritesTimeout() {
+    return this.readYourWritesTimeout;
+  }
+
+  public void setReadYourWritesTimeout(Duration readYourWritesTimeout) {
+    this.readYourWritesTimeout = readYourWritesTimeout;
+  }
+}
@@ -0,0 +1,91 @@
+package com.egobb.carpooling.contract.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring over the nodes of a partitioned cluster.
+ *
+ * <p>Every node is placed at {@code virtualNodes} pseudo-random points; a key belongs to the first
+ * point clockwise from its hash. Adding or removing a node therefore only moves the keys of the
+ * arcs it gains or loses (about {@code 1/N} of them). Cars and journeys are hashed with different
+ * salts so that the home of a journey is independent of where car {@code id} lives.
+ */
+public class ConsistentHashRing {
+
+  private static final long CAR_SALT = 0x436172L; // "Car"
+  private static final long JOURNEY_SALT = 0x4a6f75726e6579L; // "Journey"
+
+  private final NavigableMap<Long, String> ring = new TreeMap<>();
+  private final int nodeCount;
+
+  public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+    if (nodes.isEmpty() || virtualNodes <= 0) {
+      throw new IllegalArgumentException("a ring needs at least one node and one point per node");
+    }
+    for (final String node : nodes) {
+      for (int i = 0; i < virtualNodes; i++) {
+        this.ring.put(hash(node + '#' + i), node);
+      }
+    }
+    this.nodeCount = new LinkedHashSet<>(nodes).size();
+  }
+
+  /** Node that owns the car. */
+  public String ownerOfCar(int carId) {
+    return this.nodeAt(mix(carId ^ CAR_SALT));
+  }
+
+  /** Node that keeps the route of the journey and queues it when no car fits anywhere. */
+  public String homeOfJourney(int journeyId) {
+    return this.nodeAt(mix(journeyId ^ JOURNEY_SALT));
+  }
+
+  /**
+   * Every node once, starting with the home of the journey and going clockwise: the order in which
+   * nodes are asked to seat it.
+   */
+  public List<String> spillOrder(int journeyId) {
+    final Set<String> order = new LinkedHashSet<>();
+    final long h = mix(journeyId ^ JOURNEY_SALT);
+    for (final String node : this.ring.tailMap(h, true).values()) {
+      if (order.add(node) && order.size() == this.nodeCount) {
+        return new ArrayList<>(order);
+      }
+    }
+    for (final String node : this.ring.headMap(h, false).values()) {
+      if (order.add(node) && order.size() == this.nodeCount) {
+        break;
+      }
+    }
+    return new ArrayList<>(order);
+  }
+
+  private String nodeAt(long h) {
+    final Map.Entry<Long, String> entry = this.ring.ceilingEntry(h);
+    return entry != null ? entry.getValue() : this.ring.firstEntry().getValue();
+  }
+
+  /** FNV-1a over the UTF-8 bytes, finished with {@link #mix(long)}. */
+  static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  /** SplitMix64 finalizer: spreads consecutive ids over the whole ring. */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,298 @@
+package com.egobb.carpooling.contract.cluster;
+
+import com.egobb.carpooling.contract.controller.dto.EventBatchDTO;
+import com.egobb.carpooling.contract.controller.dto.EventDTO;
+import com.egobb.carpooling.contract.controller.dto.EventSubscriptionDTO;
+import com.egobb.carpooling.contract.controller.dto.FleetSnapshotDTO;
+import com.egobb.carpooling.contract.controller.mapper.EventMapper;
+import com.egobb.carpooling.contract.controller.mapper.SnapshotMapper;
+import com.egobb.carpooling.domain.event.CarPoolingEventType;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the local {@link CarPoolingService} of a follower in sync with the leader.
+ *
+ * <p>The replication log is the leader's own event feed: the follower opens a long-poll
+ * subscription, then loads a snapshot whose position tells which events it already contains, and
+ * from then on replays every later event. Events carry absolute seat counts, so replaying them in
+ * sequence order reproduces the leader state exactly, so each poll acknowledges the position
+ * reached and only the next event in sequence is ever applied. Whenever continuity is lost (events
+ * dropped because the follower fell behind, a gap in the sequence, an expired subscription, a
+ * restarted leader or a fleet reset, whose event carries no fleet) the follower simply loads a
+ * fresh snapshot.
+ *
+ * <p>The subscription and the snapshot come from peer-only endpoints of the leader, which checks
+ * the cluster secret sent with every request (see {@link PeerAuthentication}).
+ *
+ * <p>While the leader is unreachable the follower keeps serving its last known state.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.cluster", name = "mode", havingValue = "follower")
+public class FollowerReplicator implements SmartLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FollowerReplicator.class);
+
+  private final CarPoolingService carJourneyService;
+  private final ClusterProperties properties;
+  private final ObjectMapper objectMapper;
+  private final HttpClient client;
+  private final String leader;
+
+  private volatile boolean running;
+  private volatile boolean synced;
+  private Thread thread;
+
+  /** Leader subscription; only touched by the replication thread. */
+  private String subscriptionId;
+
+  /** Leader sequence of the last applied event, guarded by {@code this}. */
+  private long position;
+
+  public FollowerReplicator(
+      CarPoolingService carJourneyService,
+      ClusterProperties properties,
+      ObjectMapper objectMapper) {
+    if (properties.getLeaderUrl() == null) {
+      throw new IllegalStateException("carpooling.cluster.leader-url is required on followers");
+    }
+    if (properties.getSecret() == null) {
+      throw new IllegalStateException("carpooling.cluster.secret is required on followers");
+    }
+    this.carJourneyService = carJourneyService;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.leader = stripTrailingSlash(properties.getLeaderUrl());
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getForwardTimeout())
+            .build();
+  }
+
+  @Override
+  public synchronized void start() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    this.thread = new Thread(this::replicate, "replication");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!this.running) {
+      return;
+    }
+    this.running = false;
+    this.thread.interrupt();
+    try {
+      this.thread.join(1000);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    final String id = this.subscriptionId;
+    if (id != null) {
+      // Best effort: the leader expires idle subscriptions anyway.
+      this.client.sendAsync(
+          HttpRequest.newBuilder(this.uri("/events/subscriptions/" + id))
+              .header(PeerAuthentication.HEADER, this.properties.getSecret())
+              .DELETE()
+              .build(),
+          HttpResponse.BodyHandlers.discarding());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  public String getLeader() {
+    return this.leader;
+  }
+
+  /** Whether a snapshot has been loaded since the last loss of continuity. */
+  public boolean isSynced() {
+    return this.synced;
+  }
+
+  public synchronized long getPosition() {
+    return this.position;
+  }
+
+  /**
+   * Waits until the leader position {@code target} has been applied locally.
+   *
+   * @return false if the timeout elapsed first
+   */
+  public synchronized boolean awaitPosition(long target, Duration timeout)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while (this.position < target) {
+      final long left = deadline - System.nanoTime();
+      if (left <= 0) {
+        return false;
+      }
+      this.wait(Math.max(1, left / 1_000_000));
+    }
+    return true;
+  }
+
+  private void replicate() {
+    while (this.running) {
+      try {
+        if (this.subscriptionId == null) {
+          // Subscribe before the snapshot: no event can fall between the two.
+          this.subscriptionId = this.subscribe();
+          this.resync();
+        }
+        this.poll();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final IOException | RuntimeException e) {
+        if (!this.running) {
+          return;
+        }
+        LOGGER.warn("Replication from {} interrupted, retrying: {}", this.leader, e.toString());
+        this.subscriptionId = null;
+        this.synced = false;
+        try {
+          Thread.sleep(this.properties.getRetryInterval().toMillis());
+        } catch (final InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private String subscribe() throws IOException, InterruptedException {
+    final HttpResponse<byte[]> response =
+        this.send(
+            HttpRequest.newBuilder(this.uri("/cluster/subscriptions"))
+                .POST(HttpRequest.BodyPublishers.noBody()),
+            this.properties.getForwardTimeout());
+    expectStatus(response, 201);
+    return this.objectMapper.readValue(response.body(), EventSubscriptionDTO.class).getId();
+  }
+
+  private void resync() throws IOException, InterruptedException {
+    final HttpResponse<byte[]> response =
+        this.send(
+            HttpRequest.newBuilder(this.uri("/cluster/snapshot")).GET(),
+            this.properties.getForwardTimeout());
+    expectStatus(response, 200);
+    final FleetSnapshotDTO snapshot =
+        this.objectMapper.readValue(response.body(), FleetSnapshotDTO.class);
+    this.carJourneyService.restore(SnapshotMapper.toSnapshot(snapshot));
+    this.moveTo(snapshot.getPosition());
+    this.synced = true;
+    LOGGER.info(
+        "Loaded snapshot of {} cars and {} journeys at position {} from {}",
+        snapshot.getCars().size(),
+        snapshot.getJourneys().size(),
+        snapshot.getPosition(),
+        this.leader);
+  }
+
+  private void poll() throws IOException, InterruptedException {
+    final Duration wait = this.properties.getReplicationPollTimeout();
+    final HttpResponse<byte[]> response =
+        this.send(
+            HttpRequest.newBuilder(
+                    this.uri(
+                        "/events/subscriptions/"
+                            + this.subscriptionId
+                            + "?timeout="
+                            + wait.toMillis()
+                            + "&max="
+                            + this.properties.getReplicationBatchSize()
+                            + "&after="
+                            + this.getPosition()))
+                .GET(),
+            wait.plus(this.properties.getForwardTimeout()));
+    if (response.statusCode() == 204) {
+      return;
+    }
+    if (response.statusCode() == 404) {
+      // Expired, or the leader restarted: start over from a snapshot.
+      this.subscriptionId = null;
+      return;
+    }
+    expectStatus(response, 200);
+
+    final EventBatchDTO batch = this.objectMapper.readValue(response.body(), EventBatchDTO.class);
+    if (batch.getDropped() > 0) {
+      this.resync();
+    }
+    for (final EventDTO event : batch.getEvents()) {
+      if (event.getSequence() <= this.getPosition()) {
+        continue;
+      }
+      if (event.getSequence() != this.getPosition() + 1) {
+        // Events went missing without being reported as dropped: replaying past them would
+        // silently diverge from the leader.
+        LOGGER.warn(
+            "Replication gap after position {} (next event is {}), resyncing",
+            this.getPosition(),
+            event.getSequence());
+        this.resync();
+        if (event.getSequence() <= this.getPosition()) {
+          continue;
+        }
+      }
+      if (CarPoolingEventType.FLEET_RESET.getEventName().equals(event.getType())) {
+        this.resync();
+        continue;
+      }
+      this.carJourneyService.replay(EventMapper.toDomainEvent(event));
+      this.moveTo(event.getSequence());
+    }
+  }
+
+  private synchronized void moveTo(long newPosition) {
+    this.position = newPosition;
+    this.notifyAll();
+  }
+
+  private HttpResponse<byte[]> send(HttpRequest.Builder request, Duration timeout)
+      throws IOException, InterruptedException {
+    return this.client.send(
+        request
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .header(PeerAuthentication.HEADER, this.properties.getSecret())
+            .build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private URI uri(String path) {
+    return URI.create(this.leader + path);
+  }
+
+  private static void expectStatus(HttpResponse<?> response, int status) throws IOException {
+    if (response.statusCode() != status) {
+      throw new IOException(
+          "unexpected status " + response.statusCode() + " from " + response.uri());
+    }
+  }
+
+  static String stripTrailingSlash(String url) {
+    return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+  }
+}
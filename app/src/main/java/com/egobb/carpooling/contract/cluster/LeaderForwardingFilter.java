@@ -0,0 +1,135 @@
+package com.egobb.carpooling.contract.cluster;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Follower side of the cluster: proxies every write to the leader and relays its answer.
+ *
+ * <p>Before answering, the filter waits (bounded by {@code read-your-writes-timeout}) until the
+ * write has been replicated back, so a client that keeps talking to the same follower always sees
+ * its own journeys. Reads never reach this filter and are served from the local replica.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.cluster", name = "mode", havingValue = "follower")
+public class LeaderForwardingFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LeaderForwardingFilter.class);
+
+  /** Headers managed by the HTTP stacks themselves. */
+  private static final Set<String> HOP_BY_HOP =
+      Set.of("connection", "content-length", "date", "keep-alive", "transfer-encoding", ":status");
+
+  private final FollowerReplicator replicator;
+  private final ClusterProperties properties;
+  private final HttpClient client;
+
+  public LeaderForwardingFilter(FollowerReplicator replicator, ClusterProperties properties) {
+    this.replicator = replicator;
+    this.properties = properties;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getForwardTimeout())
+            .build();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !WriteRequests.matches(request);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final HttpResponse<byte[]> answer;
+    try {
+      answer = this.client.send(this.toLeader(request), HttpResponse.BodyHandlers.ofByteArray());
+      final String position =
+          answer.headers().firstValue(WriteRequests.POSITION_HEADER).orElse(null);
+      if (position != null
+          && !this.replicator.awaitPosition(
+              Long.parseLong(position), this.properties.getReadYourWritesTimeout())) {
+        LOGGER.debug("Answering before position {} was replicated", position);
+      }
+    } catch (final IOException e) {
+      LOGGER.warn(
+          "Cannot forward {} to leader {}: {}",
+          request.getRequestURI(),
+          this.replicator.getLeader(),
+          e.toString());
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    }
+
+    response.setStatus(answer.statusCode());
+    for (final Map.Entry<String, List<String>> header : answer.headers().map().entrySet()) {
+      if (!HOP_BY_HOP.contains(header.getKey().toLowerCase())) {
+        for (final String value : header.getValue()) {
+          response.addHeader(header.getKey(), value);
+        }
+      }
+    }
+    response.getOutputStream().write(answer.body());
+  }
+
+  private HttpRequest toLeader(HttpServletRequest request) throws IOException {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    final String query = request.getQueryString();
+    byte[] body = request.getInputStream().readAllBytes();
+    if (body.length == 0 && query == null && !request.getParameterMap().isEmpty()) {
+      // A filter upstream already parsed the form body: encode it again.
+      body = encodeForm(request.getParameterMap()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    final HttpRequest.Builder builder =
+        HttpRequest.newBuilder(
+                URI.create(this.replicator.getLeader() + path + (query == null ? "" : "?" + query)))
+            .timeout(this.properties.getForwardTimeout())
+            .method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(body));
+    if (request.getContentType() != null) {
+      builder.header("Content-Type", request.getContentType());
+    }
+    if (request.getHeader("Accept") != null) {
+      builder.header("Accept", request.getHeader("Accept"));
+    }
+    return builder.build();
+  }
+
+  private static String encodeForm(Map<String, String[]> parameters) {
+    final StringBuilder form = new StringBuilder();
+    for (final Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+      for (final String value : parameter.getValue()) {
+        if (form.length() > 0) {
+          form.append('&');
+        }
+        form.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+            .append('=')
+            .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+      }
+    }
+    return form.toString();
+  }
+}
@@ -0,0 +1,328 @@
+package com.egobb.carpooling.contract.cluster;
+
+import com.egobb.carpooling.contract.controller.dto.BulkDropoffResponseDTO;
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
+import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
+import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
+import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
+import com.egobb.carpooling.infrastructure.event.CarPoolingEventListener;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Placement and routing logic of a partitioned cluster.
+ *
+ * <p>Cars are spread over the nodes with a {@link ConsistentHashRing}; every node runs its own
+ * {@link CarPoolingService} (own repositories, own car locks) over its share. Each journey has a
+ * home node, also picked by the ring, which:
+ *
+ * <ul>
+ *   <li>makes journey ids unique cluster-wide and keeps the route journey id &rarr; owning node, so
+ *       {@code locate} and {@code dropoff} take at most two hops;
+ *   <li>seats the journey in its own best-fit car if one fits, otherwise asks the other nodes in
+ *       ring order, and queues it locally when no node can seat it.
+ * </ul>
+ *
+ * <p>A queued journey waits for seats freed on its home node only: there is no global FIFO across
+ * nodes. That keeps every decision local to one node's locks.
+ *
+ * <p>Routes of journeys held by the home node itself are dropped on its {@link JourneyDroppedOff}
+ * events, whether the journey left through a dropoff, a batch dropoff or pending expiry; routes to
+ * a peer are dropped once the peer answers the dropoff relayed to it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.cluster", name = "mode", havingValue = "partitioned")
+public class PartitionRouter implements CarPoolingEventListener {
+
+  /**
+   * Marks requests between peers that must be executed where they arrive; only honoured together
+   * with the cluster secret (see {@link PeerAuthentication}).
+   */
+  public static final String LOCAL_HEADER = "X-Partition-Local";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PartitionRouter.class);
+  private static final String JSON = "application/json";
+
+  private final CarPoolingService carJourneyService;
+  private final ClusterProperties properties;
+  private final ObjectMapper objectMapper;
+  private final ConsistentHashRing ring;
+  private final List<String> nodes;
+  private final String self;
+  private final HttpClient client;
+
+  /** Owning node of every journey whose home is this node. */
+  private final ConcurrentHashMap<Integer, String> routes = new ConcurrentHashMap<>();
+
+  public PartitionRouter(
+      CarPoolingService carJourneyService,
+      ClusterProperties properties,
+      ObjectMapper objectMapper,
+      InMemoryEventBus eventBus) {
+    this.nodes = new ArrayList<>();
+    for (final String node : properties.getNodes()) {
+      this.nodes.add(FollowerReplicator.stripTrailingSlash(node));
+    }
+    if (properties.getSelfUrl() == null) {
+      throw new IllegalStateException("carpooling.cluster.self-url is required when partitioned");
+    }
+    this.self = FollowerReplicator.stripTrailingSlash(properties.getSelfUrl());
+    if (!this.nodes.contains(this.self)) {
+      throw new IllegalStateException(
+          "carpooling.cluster.nodes must contain self-url " + this.self);
+    }
+    this.carJourneyService = carJourneyService;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.ring = new ConsistentHashRing(this.nodes, properties.getVirtualNodes());
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getForwardTimeout())
+            .build();
+    eventBus.addListener(this);
+  }
+
+  @Override
+  public void onEvent(CarPoolingEvent event) {
+    if (event instanceof JourneyDroppedOff dropped) {
+      // Only this node's own journeys: a journey held by a peer never leaves from here.
+      this.routes.remove(dropped.getJourneyId(), this.self);
+    } else if (event instanceof FleetReset) {
+      // This node's share was replaced: the journeys it routed are gone with it.
+      this.routes.clear();
+    }
+  }
+
+  public boolean isSelf(String node) {
+    return this.self.equals(node);
+  }
+
+  public String homeOf(int journeyId) {
+    return this.ring.homeOfJourney(journeyId);
+  }
+
+  /** Node holding the journey, or null if this home node does not know it. */
+  public String routeOf(int journeyId) {
+    return this.routes.get(journeyId);
+  }
+
+  public void forget(int journeyId) {
+    this.routes.remove(journeyId);
+  }
+
+  public int routeCount() {
+    return this.routes.size();
+  }
+
+  /**
+   * Validates the whole fleet, then hands every node its share. Each share replaces the node's
+   * state, so a failed peer leaves the cluster with a partially applied fleet and the client must
+   * retry (503).
+   */
+  public int putCars(List<Car> cars) {
+    try {
+      this.carJourneyService.validateCars(cars);
+    } catch (final InvalidCarSeatsException | DuplicatedIdException e) {
+      return 400;
+    }
+
+    final Map<String, List<Map<String, Integer>>> shares = new LinkedHashMap<>();
+    final List<Car> local = new ArrayList<>();
+    for (final String node : this.nodes) {
+      shares.put(node, new ArrayList<>());
+    }
+    for (final Car car : cars) {
+      final String owner = this.ring.ownerOfCar(car.getId());
+      if (this.isSelf(owner)) {
+        local.add(car);
+      } else {
+        shares.get(owner).add(Map.of("id", car.getId(), "seats", car.getMaxSeats()));
+      }
+    }
+
+    int status = 200;
+    for (final Map.Entry<String, List<Map<String, Integer>>> share : shares.entrySet()) {
+      if (this.isSelf(share.getKey())) {
+        this.carJourneyService.resetCars(local);
+        continue;
+      }
+      try {
+        final RoutedResponse answer =
+            this.send(
+                share.getKey(),
+                "PUT",
+                "/cars",
+                JSON,
+                this.objectMapper.writeValueAsBytes(share.getValue()),
+                true);
+        if (answer.getStatus() != 200) {
+          status = 503;
+        }
+      } catch (final IOException e) {
+        LOGGER.warn("Cannot load cars on {}: {}", share.getKey(), e.toString());
+        status = 503;
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Places a journey whose home is this node.
+   *
+   * @param body the original request body, resent as is to peers
+   */
+  public int placeJourney(Journey journey, byte[] body) {
+    if (journey.getId() <= 0
+        || journey.getPassengers() < Journey.MIN_PASSENGERS
+        || journey.getPassengers() > Journey.MAX_PASSENGERS) {
+      return 400;
+    }
+    if (this.routes.putIfAbsent(journey.getId(), this.self) != null) {
+      return 400;
+    }
+    try {
+      if (this.carJourneyService.assignIfFits(journey)) {
+        return 202;
+      }
+      for (final String peer : this.ring.spillOrder(journey.getId())) {
+        if (this.isSelf(peer)) {
+          continue;
+        }
+        try {
+          if (this.send(peer, "POST", "/cluster/journeys", JSON, body, true).getStatus() == 202) {
+            this.routes.put(journey.getId(), peer);
+            return 202;
+          }
+        } catch (final IOException e) {
+          LOGGER.warn("Cannot spill journey {} to {}: {}", journey.getId(), peer, e.toString());
+        }
+      }
+      // No node can seat it now: queue it here, where its route lives.
+      this.carJourneyService.newJourney(journey);
+      return 202;
+    } catch (final InvalidGroupSizeException | DuplicatedIdException e) {
+      this.routes.remove(journey.getId());
+      return 400;
+    } catch (final BacklogFullException e) {
+      this.routes.remove(journey.getId());
+      return e.isGroupSizeLimit() ? 429 : 503;
+    }
+  }
+
+  /**
+   * Drops off a batch of journeys wherever they are: this node's own journeys in one local batch,
+   * the rest in one request per node, to their home node or, when this node is their home, straight
+   * to the node holding them.
+   *
+   * @throws IOException if a node could not be reached; the journeys of the other nodes may already
+   *     be dropped off, and a retry reports them as not found
+   */
+  public BulkDropoffResponseDTO dropoffAll(List<Integer> journeyIds) throws IOException {
+    final List<Integer> local = new ArrayList<>();
+    final Map<String, List<Integer>> byHome = new LinkedHashMap<>();
+    final Map<String, List<Integer>> byOwner = new LinkedHashMap<>();
+    for (final Integer journeyId : new LinkedHashSet<>(journeyIds)) {
+      final String home = this.homeOf(journeyId);
+      final String owner = this.routes.get(journeyId);
+      if (!this.isSelf(home)) {
+        byHome.computeIfAbsent(home, node -> new ArrayList<>()).add(journeyId);
+      } else if (owner == null || this.isSelf(owner)) {
+        local.add(journeyId);
+      } else {
+        byOwner.computeIfAbsent(owner, node -> new ArrayList<>()).add(journeyId);
+      }
+    }
+
+    final Set<Integer> droppedOff = new HashSet<>(this.carJourneyService.dropoffAll(local));
+    for (final Map.Entry<String, List<Integer>> share : byOwner.entrySet()) {
+      droppedOff.addAll(this.dropoffAllOn(share.getKey(), share.getValue(), true));
+      // Dropped or unknown, the peer no longer holds any of them.
+      share.getValue().forEach(this.routes::remove);
+    }
+    for (final Map.Entry<String, List<Integer>> share : byHome.entrySet()) {
+      droppedOff.addAll(this.dropoffAllOn(share.getKey(), share.getValue(), false));
+    }
+
+    final List<Integer> dropped = new ArrayList<>(droppedOff.size());
+    final List<Integer> notFound = new ArrayList<>();
+    for (final Integer journeyId : new LinkedHashSet<>(journeyIds)) {
+      (droppedOff.contains(journeyId) ? dropped : notFound).add(journeyId);
+    }
+    return new BulkDropoffResponseDTO(dropped, notFound);
+  }
+
+  private List<Integer> dropoffAllOn(String node, List<Integer> journeyIds, boolean local)
+      throws IOException {
+    final RoutedResponse answer =
+        this.send(
+            node,
+            "POST",
+            "/dropoff/batch",
+            JSON,
+            this.objectMapper.writeValueAsBytes(journeyIds),
+            local);
+    if (answer.getStatus() != 200) {
+      throw new IOException("unexpected status " + answer.getStatus() + " from " + node);
+    }
+    return this.objectMapper
+        .readValue(answer.getBody(), BulkDropoffResponseDTO.class)
+        .getDroppedOff();
+  }
+
+  /** Sends a request to a peer; {@code local} asks the peer to execute it without routing. */
+  public RoutedResponse send(
+      String node,
+      String method,
+      String pathAndQuery,
+      String contentType,
+      byte[] body,
+      boolean local)
+      throws IOException {
+    final HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+            .timeout(this.properties.getForwardTimeout())
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+            .header(PeerAuthentication.HEADER, this.properties.getSecret());
+    if (contentType != null) {
+      request.header("Content-Type", contentType);
+    }
+    if (local) {
+      request.header(LOCAL_HEADER, "true");
+    }
+    try {
+      final HttpResponse<byte[]> response =
+          this.client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+      return new RoutedResponse(
+          response.statusCode(),
+          response.headers().firstValue("Content-Type").orElse(null),
+          response.body());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("interrupted while calling " + node, e);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.egobb.carpooling.contract.cluster;
+
+import com.egobb.carpooling.contract.controller.CarPoolingController;
+import com.egobb.carpooling.contract.controller.dto.BulkDropoffResponseDTO;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sends every public request of a partitioned cluster to the node that has to execute it (see
+ * {@link PartitionRouter}). Requests that end up on the right node go through the regular
+ * controllers, so validation and status codes stay those of a single node.
+ *
+ * <p>The {@code /locate/batch}, long-poll and event feed endpoints are not routed and only see the
+ * local partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.cluster", name = "mode", havingValue = "partitioned")
+public class PartitionRoutingFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PartitionRoutingFilter.class);
+  private static final String FORM = "application/x-www-form-urlencoded";
+
+  private final PartitionRouter router;
+  private final ObjectMapper objectMapper;
+  private final PeerAuthentication peers;
+
+  public PartitionRoutingFilter(
+      PartitionRouter router, ObjectMapper objectMapper, PeerAuthentication peers) {
+    this.router = router;
+    this.objectMapper = objectMapper;
+    this.peers = peers;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    switch (request.getMethod()) {
+      case "PUT":
+        return !"/cars".equals(path);
+      case "POST":
+        return !("/journey".equals(path)
+            || "/dropoff".equals(path)
+            || "/dropoff/batch".equals(path)
+            || ("/locate".equals(path) && request.getParameter("wait") == null));
+      default:
+        return true;
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    if (request.getHeader(PartitionRouter.LOCAL_HEADER) != null) {
+      // Skipping the routing is only for peers: a client would bypass the journey ids' home node.
+      if (this.peers.isPeer(request)) {
+        chain.doFilter(request, response);
+      } else {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+      }
+      return;
+    }
+
+    switch (path) {
+      case "/cars" -> this.putCars(request, response);
+      case "/journey" -> this.postJourney(request, response);
+      case "/dropoff/batch" -> this.postDropoffBatch(request, response);
+      default -> this.routeById(path, request, response, chain);
+    }
+  }
+
+  private void putCars(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    final List<Car> cars;
+    try {
+      cars = this.objectMapper.readValue(request.getInputStream(), new TypeReference<>() {});
+    } catch (final IOException e) {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+    response.setStatus(this.router.putCars(cars));
+  }
+
+  private void postJourney(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    final byte[] body = request.getInputStream().readAllBytes();
+    final Journey journey;
+    try {
+      journey = this.objectMapper.readValue(body, Journey.class);
+    } catch (final IOException e) {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+
+    final String home = this.router.homeOf(journey.getId());
+    if (this.router.isSelf(home)) {
+      response.setStatus(this.router.placeJourney(journey, body));
+    } else {
+      this.relay(home, request, body, false, response);
+    }
+  }
+
+  private void postDropoffBatch(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    final List<Integer> journeyIds;
+    try {
+      journeyIds = this.objectMapper.readValue(request.getInputStream(), new TypeReference<>() {});
+    } catch (final IOException e) {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+    if (!CarPoolingController.isValidBatch(journeyIds)) {
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+
+    final BulkDropoffResponseDTO result;
+    try {
+      result = this.router.dropoffAll(journeyIds);
+    } catch (final IOException e) {
+      LOGGER.warn("Cannot route /dropoff/batch: {}", e.toString());
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    }
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    this.objectMapper.writeValue(response.getOutputStream(), result);
+  }
+
+  /** Locate and dropoff: home node first, then the node holding the journey. */
+  private void routeById(
+      String path, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final int journeyId;
+    try {
+      journeyId = Integer.parseInt(request.getParameter("ID"));
+    } catch (final NumberFormatException e) {
+      // Let the controller produce its usual 400.
+      chain.doFilter(request, response);
+      return;
+    }
+    final byte[] form = ("ID=" + journeyId).getBytes(StandardCharsets.UTF_8);
+    final boolean dropoff = "/dropoff".equals(path);
+
+    final String home = this.router.homeOf(journeyId);
+    if (!this.router.isSelf(home)) {
+      this.relay(home, request, form, false, response);
+      return;
+    }
+
+    final String owner = this.router.routeOf(journeyId);
+    if (owner == null || this.router.isSelf(owner)) {
+      // A local dropoff forgets the route through its event.
+      chain.doFilter(request, response);
+      return;
+    }
+
+    final int status = this.relay(owner, request, form, true, response);
+    if (dropoff && (status == HttpServletResponse.SC_NO_CONTENT || status == 404)) {
+      this.router.forget(journeyId);
+    }
+  }
+
+  private int relay(
+      String node,
+      HttpServletRequest request,
+      byte[] body,
+      boolean local,
+      HttpServletResponse response)
+      throws IOException {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    final String contentType = "/journey".equals(path) ? request.getContentType() : FORM;
+    final RoutedResponse answer;
+    try {
+      answer = this.router.send(node, request.getMethod(), path, contentType, body, local);
+    } catch (final IOException e) {
+      LOGGER.warn("Cannot route {} to {}: {}", path, node, e.toString());
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+    }
+    response.setStatus(answer.getStatus());
+    if (answer.getContentType() != null) {
+      response.setContentType(answer.getContentType());
+    }
+    response.getOutputStream().write(answer.getBody());
+    return answer.getStatus();
+  }
+}
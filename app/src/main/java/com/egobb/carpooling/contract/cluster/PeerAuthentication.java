@@ -0,0 +1,40 @@
+package com.egobb.carpooling.contract.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the requests of other nodes of the cluster from public ones: peers send the shared {@code
+ * carpooling.cluster.secret} in {@link #HEADER}. Without a secret no request is a peer's.
+ */
+@Component
+public class PeerAuthentication {
+
+  /** Header carrying the cluster secret on requests between nodes. */
+  public static final String HEADER = "X-Cluster-Secret";
+
+  private final byte[] secret;
+
+  public PeerAuthentication(ClusterProperties properties) {
+    final String configured = properties.getSecret();
+    if (properties.getMode() != ClusterMode.STANDALONE
+        && (configured == null || configured.isBlank())) {
+      throw new IllegalStateException(
+          "carpooling.cluster.secret is required in " + properties.getMode() + " mode");
+    }
+    this.secret =
+        configured == null || configured.isBlank()
+            ? null
+            : configured.getBytes(StandardCharsets.UTF_8);
+  }
+
+  public boolean isPeer(HttpServletRequest request) {
+    final String presented = request.getHeader(HEADER);
+    // Constant time, so the secret cannot be guessed byte by byte from response times.
+    return this.secret != null
+        && presented != null
+        && MessageDigest.isEqual(this.secret, presented.getBytes(StandardCharsets.UTF_8));
+  }
+}
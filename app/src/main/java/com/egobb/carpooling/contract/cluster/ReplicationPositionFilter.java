@@ -0,0 +1,44 @@
+package com.egobb.carpooling.contract.cluster;
+
+import com.egobb.carpooling.infrastructure.event.EventFeed;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Leader side of read-your-writes: stamps the answer of every write with the replication position
+ * reached once the write is applied. A follower that forwarded the write waits until it has
+ * replicated up to that position before answering its client.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.cluster", name = "mode", havingValue = "leader")
+public class ReplicationPositionFilter extends OncePerRequestFilter {
+
+  private final EventFeed eventFeed;
+
+  public ReplicationPositionFilter(EventFeed eventFeed) {
+    this.eventFeed = eventFeed;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !WriteRequests.matches(request);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    // Write answers are tiny; buffering them keeps the header settable after the handler ran.
+    final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    chain.doFilter(request, wrapper);
+    wrapper.setHeader(WriteRequests.POSITION_HEADER, Long.toString(this.eventFeed.lastSequence()));
+    wrapper.copyBodyToResponse();
+  }
+}
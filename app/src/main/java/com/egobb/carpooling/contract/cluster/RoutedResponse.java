@@ -0,0 +1,28 @@
+package com.egobb.carpooling.contract.cluster;
+
+/** Answer of a peer, relayed as is to the client. */
+public class RoutedResponse {
+
+  private final int status;
+  private final String contentType;
+  private final byte[] body;
+
+  public RoutedResponse(int status, String contentType, byte[] body) {
+    this.status = status;
+    this.contentType = contentType;
+    this.body = body;
+  }
+
+  public int getStatus() {
+    return this.status;
+  }
+
+  /** Content type of the body, or null when there is none. */
+  public String getContentType() {
+    return this.contentType;
+  }
+
+  public byte[] getBody() {
+    return this.body;
+  }
+}
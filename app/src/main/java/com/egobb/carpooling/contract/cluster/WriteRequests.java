@@ -0,0 +1,26 @@
+package com.egobb.carpooling.contract.cluster;
+
+import javax.servlet.http.HttpServletRequest;
+
+/** Recognises the REST requests that mutate state and therefore must run on the leader. */
+public final class WriteRequests {
+
+  /** Header carrying the leader's replication position once a write has been applied. */
+  public static final String POSITION_HEADER = "X-Replication-Position";
+
+  private WriteRequests() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static boolean matches(HttpServletRequest request) {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    switch (request.getMethod()) {
+      case "PUT":
+        return "/cars".equals(path);
+      case "POST":
+        return "/journey".equals(path) || "/dropoff".equals(path) || "/dropoff/batch".equals(path);
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.controller.mapper.CarLocateResponseMapper;
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.infrastructure.event.CarPoolingEventListener;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Parked {@code /locate} requests waiting for their journey to be assigned.
+ *
+ * <p>A parked request is only a {@link DeferredResult} in a map: it holds no servlet thread. The
+ * registry listens to the domain events and completes the waiters of a journey as soon as it is
+ * assigned (with the car from the event), dropped off or wiped by a fleet reset (with {@code 404}).
+ */
+@Component
+public class AssignmentWaiters implements CarPoolingEventListener {
+
+  private final ConcurrentHashMap<
+          Integer, List<DeferredResult<ResponseEntity<CarLocateResponseDTO>>>>
+      waiters = new ConcurrentHashMap<>();
+
+  public AssignmentWaiters(InMemoryEventBus eventBus) {
+    eventBus.addListener(this);
+  }
+
+  /**
+   * Parks a request for the given journey. The result completes with {@code 204 No Content} if the
+   * journey is still pending after {@code timeoutMillis}.
+   *
+   * <p>Callers must register the waiter <em>before</em> reading the journey state, so an assignment
+   * that happens in between is never missed.
+   */
+  public DeferredResult<ResponseEntity<CarLocateResponseDTO>> register(
+      int journeyId, long timeoutMillis) {
+    final DeferredResult<ResponseEntity<CarLocateResponseDTO>> result =
+        new DeferredResult<>(timeoutMillis, new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    this.waiters.compute(
+        journeyId,
+        (id, list) -> {
+          final List<DeferredResult<ResponseEntity<CarLocateResponseDTO>>> updated =
+              list == null ? new ArrayList<>(1) : list;
+          updated.add(result);
+          return updated;
+        });
+    result.onCompletion(() -> this.unregister(journeyId, result));
+    return result;
+  }
+
+  /** Number of parked requests, for diagnostics and tests. */
+  public int size() {
+    return this.waiters.values().stream().mapToInt(List::size).sum();
+  }
+
+  @Override
+  public void onEvent(CarPoolingEvent event) {
+    if (this.waiters.isEmpty()) {
+      return;
+    }
+    if (event instanceof JourneyAssigned assigned) {
+      this.complete(
+          assigned.getJourneyId(),
+          new ResponseEntity<>(CarLocateResponseMapper.fromAssignment(assigned), HttpStatus.OK));
+    } else if (event instanceof JourneyDroppedOff droppedOff) {
+      this.complete(droppedOff.getJourneyId(), new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    } else if (event instanceof FleetReset) {
+      for (final Integer journeyId : this.waiters.keySet()) {
+        this.complete(journeyId, new ResponseEntity<>(HttpStatus.NOT_FOUND));
+      }
+    }
+  }
+
+  private void complete(int journeyId, ResponseEntity<CarLocateResponseDTO> response) {
+    final List<DeferredResult<ResponseEntity<CarLocateResponseDTO>>> parked =
+        this.waiters.remove(journeyId);
+    if (parked == null) {
+      return;
+    }
+    // Once removed from the map the list is no longer shared. setResult only schedules the async
+    // dispatch, so it is cheap enough to run under a car lock.
+    for (final DeferredResult<ResponseEntity<CarLocateResponseDTO>> result : parked) {
+      result.setResult(response);
+    }
+  }
+
+  private void unregister(
+      int journeyId, DeferredResult<ResponseEntity<CarLocateResponseDTO>> result) {
+    this.waiters.computeIfPresent(
+        journeyId,
+        (id, list) -> {
+          list.remove(result);
+          return list.isEmpty() ? null : list;
+        });
+  }
+}
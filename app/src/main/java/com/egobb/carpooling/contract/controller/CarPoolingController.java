@@ -1,15 +1,26 @@
 package com.egobb.carpooling.contract.controller;
 
-import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.controller.dto.BulkDropoffResponseDTO;
+import com.egobb.carpooling.contract.controller.dto.FleetStatisticsDTO;
+import com.egobb.carpooling.contract.controller.dto.JourneyLocationDTO;
 import com.egobb.carpooling.contract.controller.mapper.CarLocateResponseMapper;
+import com.egobb.carpooling.contract.controller.mapper.FleetStatisticsMapper;
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.CarSnapshot;
 import com.egobb.carpooling.domain.model.Journey;
 import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
 import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
 import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
 import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
 import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,10 +30,15 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/")
 public class CarPoolingController {
 
+  /** Largest number of ids accepted by the bulk endpoints. */
+  static final int MAX_BATCH_SIZE = 1000;
+
   private final CarPoolingService carJourneyService;
+  private final LocateResponseCache locateResponses;
 
-  public CarPoolingController(CarPoolingService carJourneyService) {
+  CarPoolingController(CarPoolingService carJourneyService, LocateResponseCache locateResponses) {
     this.carJourneyService = carJourneyService;
+    this.locateResponses = locateResponses;
   }
 
   @GetMapping("/status")
@@ -31,6 +47,12 @@ public class CarPoolingController {
     // Simple health-check endpoint required by the acceptance tests.
   }
 
+  @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+  public FleetStatisticsDTO getStats() {
+    // Constant-time counters, no copy of the fleet or the backlog.
+    return FleetStatisticsMapper.toDto(this.carJourneyService.statistics());
+  }
+
   @PutMapping(value = "/cars", consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Void> putCars(@RequestBody List<Car> cars) {
     try {
@@ -57,6 +79,13 @@ public class CarPoolingController {
     } catch (final InvalidGroupSizeException | DuplicatedIdException e) {
       // Invalid group size or duplicated journey id are client errors.
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    } catch (final BacklogFullException e) {
+      // Overload: fail fast and tell the client when to come back. A full backlog for one group
+      // size only limits that kind of request; a full backlog means the service is saturated.
+      return ResponseEntity.status(
+              e.isGroupSizeLimit() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+          .build();
     }
   }
 
@@ -79,21 +108,35 @@ public class CarPoolingController {
       value = "/locate",
       consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<CarLocateResponseDTO> postLocate(@RequestParam("ID") int journeyID) {
+  public ResponseEntity<byte[]> postLocate(
+      @RequestParam("ID") int journeyID,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     if (journeyID <= 0) {
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
     try {
-      final Car car = this.carJourneyService.locate(journeyID);
+      final CarSnapshot car = this.carJourneyService.locate(journeyID);
 
       // If the journey exists but has no assigned car yet,
       // the API responds with 204 No Content.
       if (car == null) {
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        return ResponseEntity.status(
+                matches(ifNoneMatch, LocateResponseCache.PENDING_ETAG)
+                    ? HttpStatus.NOT_MODIFIED
+                    : HttpStatus.NO_CONTENT)
+            .eTag(LocateResponseCache.PENDING_ETAG)
+            .build();
       }
 
-      final CarLocateResponseDTO response = CarLocateResponseMapper.toLocateResponse(car);
-      return new ResponseEntity<>(response, HttpStatus.OK);
+      // Polls of an unchanged car get 304, or at least the bytes already encoded for it.
+      final LocateResponseCache.Entry response = this.locateResponses.get(car);
+      if (matches(ifNoneMatch, response.etag())) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.etag()).build();
+      }
+      return ResponseEntity.ok()
+          .eTag(response.etag())
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(response.body());
 
     } catch (final JourneyNotFoundException e) {
       // When the journey does not exist at all,
@@ -101,4 +144,89 @@ public class CarPoolingController {
       return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
   }
+
+  @PostMapping(
+      value = "/locate/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<JourneyLocationDTO>> postLocateBatch(
+      @RequestBody List<Integer> journeyIDs) {
+    if (!isValidBatch(journeyIDs)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    // Lock-free reads of the current version of every car.
+    final Map<Integer, Optional<CarSnapshot>> located =
+        this.carJourneyService.locateAll(journeyIDs);
+
+    final List<JourneyLocationDTO> response = new ArrayList<>(journeyIDs.size());
+    for (final Integer id : journeyIDs) {
+      final Optional<CarSnapshot> car = located.get(id);
+      if (car == null) {
+        response.add(new JourneyLocationDTO(id, JourneyLocationDTO.Status.NOT_FOUND, null));
+      } else if (car.isEmpty()) {
+        response.add(new JourneyLocationDTO(id, JourneyLocationDTO.Status.PENDING, null));
+      } else {
+        response.add(
+            new JourneyLocationDTO(
+                id,
+                JourneyLocationDTO.Status.ASSIGNED,
+                CarLocateResponseMapper.toLocateResponse(car.get())));
+      }
+    }
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
+  @PostMapping(
+      value = "/dropoff/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkDropoffResponseDTO> postDropoffBatch(
+      @RequestBody List<Integer> journeyIDs) {
+    if (!isValidBatch(journeyIDs)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    // Seats are freed per car in one pass, followed by one reassignment sweep per car.
+    final List<Integer> droppedOff = this.carJourneyService.dropoffAll(journeyIDs);
+
+    final Set<Integer> done = new HashSet<>(droppedOff);
+    final List<Integer> notFound = new ArrayList<>();
+    for (final Integer id : journeyIDs) {
+      if (done.add(id)) {
+        notFound.add(id);
+      }
+    }
+    return new ResponseEntity<>(new BulkDropoffResponseDTO(droppedOff, notFound), HttpStatus.OK);
+  }
+
+  /** A batch must be non-empty, bounded, and contain only positive ids. */
+  public static boolean isValidBatch(List<Integer> journeyIDs) {
+    if (journeyIDs == null || journeyIDs.isEmpty() || journeyIDs.size() > MAX_BATCH_SIZE) {
+      return false;
+    }
+    for (final Integer id : journeyIDs) {
+      if (id == null || id <= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether an {@code If-None-Match} header lists the given ETag. {@code /locate} is a read, so it
+   * answers 304 like a GET would, even though it is a POST.
+   */
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (final String candidate : ifNoneMatch.split(",")) {
+      final String tag = candidate.trim();
+      if ("*".equals(tag) || etag.equals(tag.startsWith("W/") ? tag.substring(2) : tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,83 @@
+package com.egobb.carpooling.contract.controller;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limit using the generic cell rate algorithm: the whole state of a client is the
+ * theoretical arrival time of its next call, moved forward with one compare-and-set per call. No
+ * lock, no timer and nothing allocated once a client is known.
+ *
+ * <p>At most {@code maxClients} clients are tracked between two {@link #evictIdle() evictions}:
+ * past that, calls from clients it does not know yet are rejected rather than growing the map.
+ */
+class ClientRateLimiter {
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final int maxClients;
+  private final LongSupplier nanoClock;
+  private final ConcurrentHashMap<String, AtomicLong> nextArrival = new ConcurrentHashMap<>();
+
+  ClientRateLimiter(double perSecond, int burst, int maxClients, LongSupplier nanoClock) {
+    if (perSecond <= 0 || burst < 1 || maxClients < 1) {
+      throw new IllegalArgumentException("rate limit needs a positive rate, burst and client cap");
+    }
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+    this.toleranceNanos = this.intervalNanos * (burst - 1);
+    this.maxClients = maxClients;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Takes one call from the client's allowance.
+   *
+   * @return 0 if the call is allowed, otherwise how many nanoseconds the client should wait
+   */
+  long tryAcquire(String client) {
+    final long now = this.nanoClock.getAsLong();
+    AtomicLong arrival = this.nextArrival.get(client);
+    if (arrival == null) {
+      if (this.nextArrival.size() >= this.maxClients) {
+        // Full until the next eviction: one more unknown client is one entry too many.
+        return this.intervalNanos;
+      }
+      final AtomicLong fresh = new AtomicLong(now);
+      arrival = this.nextArrival.putIfAbsent(client, fresh);
+      if (arrival == null) {
+        arrival = fresh;
+      }
+    }
+    while (true) {
+      final long expected = arrival.get();
+      // Idle clients do not bank calls beyond the burst.
+      final long start = expected - now > 0 ? expected : now;
+      final long ahead = start - now;
+      if (ahead > this.toleranceNanos) {
+        return ahead - this.toleranceNanos;
+      }
+      if (arrival.compareAndSet(expected, start + this.intervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Forgets clients whose allowance is full again, which is the state a new client starts in. A
+   * call racing with the eviction may get a fresh allowance, at most one burst too many.
+   *
+   * @return how many clients were forgotten
+   */
+  int evictIdle() {
+    final long now = this.nanoClock.getAsLong();
+    final int before = this.nextArrival.size();
+    this.nextArrival.values().removeIf(arrival -> arrival.get() - now <= 0);
+    return before - this.nextArrival.size();
+  }
+
+  int clients() {
+    return this.nextArrival.size();
+  }
+}
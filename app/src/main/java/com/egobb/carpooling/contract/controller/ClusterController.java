@@ -0,0 +1,120 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.cluster.ClusterMode;
+import com.egobb.carpooling.contract.cluster.ClusterProperties;
+import com.egobb.carpooling.contract.cluster.FollowerReplicator;
+import com.egobb.carpooling.contract.cluster.PeerAuthentication;
+import com.egobb.carpooling.contract.controller.dto.ClusterStatusDTO;
+import com.egobb.carpooling.contract.controller.dto.EventSubscriptionDTO;
+import com.egobb.carpooling.contract.controller.dto.FleetSnapshotDTO;
+import com.egobb.carpooling.contract.controller.mapper.SnapshotMapper;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
+import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
+import com.egobb.carpooling.infrastructure.event.EventFeed;
+import com.egobb.carpooling.infrastructure.event.EventSubscription;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Endpoints used between the nodes of a cluster (replication and partition spill-over). */
+@RestController
+@RequestMapping("/cluster")
+public class ClusterController {
+
+  private final CarPoolingService carJourneyService;
+  private final ClusterProperties properties;
+  private final EventFeed eventFeed;
+  private final ObjectProvider<FollowerReplicator> replicator;
+  private final PeerAuthentication peers;
+
+  public ClusterController(
+      CarPoolingService carJourneyService,
+      ClusterProperties properties,
+      EventFeed eventFeed,
+      ObjectProvider<FollowerReplicator> replicator,
+      PeerAuthentication peers) {
+    this.carJourneyService = carJourneyService;
+    this.properties = properties;
+    this.eventFeed = eventFeed;
+    this.replicator = replicator;
+    this.peers = peers;
+  }
+
+  @GetMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ClusterStatusDTO getStatus() {
+    final FollowerReplicator follower = this.replicator.getIfAvailable();
+    if (follower != null) {
+      return new ClusterStatusDTO(
+          this.properties.getMode().name(), follower.getLeader(), follower.getPosition());
+    }
+    return new ClusterStatusDTO(
+        this.properties.getMode().name(), null, this.eventFeed.lastSequence());
+  }
+
+  /**
+   * Full state of the leader together with the event feed position it corresponds to. Only the
+   * leader serves snapshots, and only to its followers: follower positions are not comparable with
+   * the leader's, and the snapshot holds every journey.
+   */
+  @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<FleetSnapshotDTO> getSnapshot(HttpServletRequest request) {
+    if (this.properties.getMode() != ClusterMode.LEADER) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    if (!this.peers.isPeer(request)) {
+      return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    }
+    return new ResponseEntity<>(
+        SnapshotMapper.toSnapshotDTO(this.carJourneyService.snapshot(this.eventFeed::lastSequence)),
+        HttpStatus.OK);
+  }
+
+  /**
+   * Opens the replication subscription of a follower, polled through {@code GET
+   * /events/subscriptions/{id}} like any other. Not counted against {@code
+   * carpooling.events.max-subscriptions}, so public subscribers cannot lock followers out.
+   */
+  @PostMapping(value = "/subscriptions", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<EventSubscriptionDTO> postReplicationSubscription(
+      HttpServletRequest request) {
+    if (this.properties.getMode() != ClusterMode.LEADER) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    if (!this.peers.isPeer(request)) {
+      return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    }
+    final EventSubscription subscription = this.eventFeed.subscribe(false);
+    return new ResponseEntity<>(new EventSubscriptionDTO(subscription.getId()), HttpStatus.CREATED);
+  }
+
+  /**
+   * Seats a journey spilled over by its home node, only if a local car fits it now. Answers {@code
+   * 409 Conflict} when none does, so the home node can try the next peer. Peers only: the journey
+   * gets no route on its home node, so a client could never drop it off.
+   */
+  @PostMapping(value = "/journeys", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Void> postSpilledJourney(
+      @RequestBody Journey journey, HttpServletRequest request) {
+    if (this.properties.getMode() != ClusterMode.PARTITIONED) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    if (!this.peers.isPeer(request)) {
+      return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    }
+    try {
+      return new ResponseEntity<>(
+          this.carJourneyService.assignIfFits(journey) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT);
+    } catch (final InvalidGroupSizeException | DuplicatedIdException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+  }
+}
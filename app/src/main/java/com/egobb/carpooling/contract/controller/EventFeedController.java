@@ -0,0 +1,119 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.controller.dto.EventBatchDTO;
+import com.egobb.carpooling.contract.controller.dto.EventSubscriptionDTO;
+import com.egobb.carpooling.contract.controller.mapper.EventMapper;
+import com.egobb.carpooling.infrastructure.event.EventBatch;
+import com.egobb.carpooling.infrastructure.event.EventFeed;
+import com.egobb.carpooling.infrastructure.event.EventFeedProperties;
+import com.egobb.carpooling.infrastructure.event.EventSubscription;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Change feed of assignment events, so that downstream systems do not have to poll {@code /locate}.
+ *
+ * <p>Two flavours are offered: a Server-Sent Events stream ({@code GET /events}) and long-poll
+ * subscriptions for clients that cannot keep a streaming connection open.
+ */
+@RestController
+@RequestMapping("/events")
+public class EventFeedController {
+
+  private static final int MAX_BATCH = 1024;
+
+  private final EventFeed eventFeed;
+  private final EventFeedProperties properties;
+  private final SseEventStreamer streamer;
+
+  public EventFeedController(
+      EventFeed eventFeed, EventFeedProperties properties, SseEventStreamer streamer) {
+    this.eventFeed = eventFeed;
+    this.properties = properties;
+    this.streamer = streamer;
+  }
+
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream() {
+    return this.streamer.open();
+  }
+
+  @PostMapping("/subscriptions")
+  public ResponseEntity<EventSubscriptionDTO> subscribe() {
+    final int max = this.properties.getMaxSubscriptions();
+    if (max > 0 && this.eventFeed.subscriptionCount() >= max) {
+      return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    final EventSubscription subscription = this.eventFeed.subscribe(false);
+    return new ResponseEntity<>(new EventSubscriptionDTO(subscription.getId()), HttpStatus.CREATED);
+  }
+
+  /**
+   * Returns the buffered events of a subscription, waiting up to {@code timeout} milliseconds for
+   * the first one without holding a request thread. Responds {@code 204 No Content} when nothing
+   * happened before the timeout.
+   *
+   * <p>With {@code after}, the events up to that sequence are acknowledged and everything later is
+   * returned until a following poll acknowledges it, so a response lost on the way is simply
+   * fetched again. Without it, the returned events are acknowledged once the response is handed to
+   * the container.
+   */
+  @GetMapping(value = "/subscriptions/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public DeferredResult<ResponseEntity<EventBatchDTO>> poll(
+      @PathVariable("id") String id,
+      @RequestParam(value = "timeout", defaultValue = "25000") long timeoutMillis,
+      @RequestParam(value = "max", defaultValue = "256") int max,
+      @RequestParam(value = "after", required = false) Long after) {
+    final long wait =
+        Math.max(1, Math.min(timeoutMillis, this.properties.getMaxPollWait().toMillis()));
+    final DeferredResult<ResponseEntity<EventBatchDTO>> result =
+        new DeferredResult<>(wait, new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+    final Optional<EventSubscription> found = this.eventFeed.find(id);
+    if (found.isEmpty() || max <= 0) {
+      result.setResult(
+          new ResponseEntity<>(found.isEmpty() ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST));
+      return result;
+    }
+
+    final EventSubscription subscription = found.get();
+    subscription.touch(System.currentTimeMillis());
+    if (after != null) {
+      subscription.acknowledge(after);
+    }
+    final int batchSize = Math.min(max, MAX_BATCH);
+    final Runnable complete =
+        () -> {
+          if (result.isSetOrExpired()) {
+            return;
+          }
+          final EventBatch batch = subscription.peek(batchSize, System.currentTimeMillis());
+          final boolean handedOver =
+              result.setResult(new ResponseEntity<>(EventMapper.toBatch(batch), HttpStatus.OK));
+          if (handedOver && after == null && !batch.getEvents().isEmpty()) {
+            subscription.acknowledge(
+                batch.getEvents().get(batch.getEvents().size() - 1).getSequence());
+          }
+        };
+    // However the request ends, a later event must not run the callback of a finished poll.
+    result.onTimeout(() -> subscription.clearSignal(complete));
+    result.onError(error -> subscription.clearSignal(complete));
+    result.onCompletion(() -> subscription.clearSignal(complete));
+    subscription.onAvailable(complete);
+    return result;
+  }
+
+  @DeleteMapping("/subscriptions/{id}")
+  public ResponseEntity<Void> unsubscribe(@PathVariable("id") String id) {
+    if (this.eventFeed.find(id).isEmpty()) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    this.eventFeed.cancel(id);
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+}
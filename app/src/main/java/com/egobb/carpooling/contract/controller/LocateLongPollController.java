@@ -0,0 +1,74 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.controller.mapper.CarLocateResponseMapper;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Wait-for-assignment variant of {@code POST /locate}, selected by the {@code wait} parameter.
+ *
+ * <p>Instead of answering {@code 204 No Content} straight away for a pending journey, the request
+ * is parked for up to {@code wait} milliseconds and answered the moment the journey gets a car.
+ * Responses are otherwise identical to the plain {@code /locate}.
+ */
+@RestController
+public class LocateLongPollController {
+
+  private final CarPoolingService carJourneyService;
+  private final AssignmentWaiters waiters;
+  private final LocateWaitProperties properties;
+
+  public LocateLongPollController(
+      CarPoolingService carJourneyService,
+      AssignmentWaiters waiters,
+      LocateWaitProperties properties) {
+    this.carJourneyService = carJourneyService;
+    this.waiters = waiters;
+    this.properties = properties;
+  }
+
+  @PostMapping(
+      value = "/locate",
+      params = "wait",
+      consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public DeferredResult<ResponseEntity<CarLocateResponseDTO>> postLocateAndWait(
+      @RequestParam("ID") int journeyID, @RequestParam("wait") long waitMillis) {
+    if (journeyID <= 0 || waitMillis < 0) {
+      return completed(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
+    final long wait = Math.min(waitMillis, this.properties.getMaxWait().toMillis());
+    // Park first, then read: an assignment between both steps completes the parked result.
+    final DeferredResult<ResponseEntity<CarLocateResponseDTO>> result =
+        wait > 0 ? this.waiters.register(journeyID, wait) : new DeferredResult<>();
+    try {
+      final CarSnapshot car = this.carJourneyService.locate(journeyID);
+      if (car != null) {
+        result.setResult(
+            new ResponseEntity<>(CarLocateResponseMapper.toLocateResponse(car), HttpStatus.OK));
+      } else if (wait == 0) {
+        result.setResult(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+      }
+    } catch (final JourneyNotFoundException e) {
+      result.setResult(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    return result;
+  }
+
+  private static DeferredResult<ResponseEntity<CarLocateResponseDTO>> completed(
+      ResponseEntity<CarLocateResponseDTO> response) {
+    final DeferredResult<ResponseEntity<CarLocateResponseDTO>> result = new DeferredResult<>();
+    result.setResult(response);
+    return result;
+  }
+}
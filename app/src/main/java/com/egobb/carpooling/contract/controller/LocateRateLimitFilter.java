@@ -0,0 +1,95 @@
+package com.egobb.carpooling.contract.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Answers {@code 429 Too Many Requests} with a {@code Retry-After} to clients polling {@code
+ * /locate} (single, waiting or batch) faster than {@code carpooling.locate.rate-limit.per-second}.
+ * Runs before any other filter, so throttled calls never reach the cluster routing or the service.
+ * Rejections are counted in the {@code carpooling.locate.throttled} metric.
+ *
+ * <p>Clients are keyed by remote address; the configured client header only replaces it on requests
+ * relayed by a trusted proxy, so a client cannot escape its limit by making up a new id per call.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnExpression("${carpooling.locate.rate-limit.per-second:0} > 0")
+public class LocateRateLimitFilter extends OncePerRequestFilter {
+
+  private final ClientRateLimiter limiter;
+  private final String clientHeader;
+  private final Set<String> trustedProxies;
+  private final Counter throttled;
+
+  public LocateRateLimitFilter(LocateRateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.limiter =
+        new ClientRateLimiter(
+            properties.getPerSecond(),
+            properties.getBurst(),
+            properties.getMaxClients(),
+            System::nanoTime);
+    this.clientHeader = properties.getClientHeader();
+    this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+    this.throttled =
+        Counter.builder("carpooling.locate.throttled")
+            .description("Locate calls rejected by the per-client rate limit")
+            .baseUnit("requests")
+            .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !("POST".equals(request.getMethod())
+        && ("/locate".equals(path) || "/locate/batch".equals(path)));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final long waitNanos = this.limiter.tryAcquire(this.client(request));
+    if (waitNanos == 0) {
+      chain.doFilter(request, response);
+      return;
+    }
+    this.throttled.increment();
+    // Round up: a client retrying after exactly this many seconds is let through.
+    final long second = TimeUnit.SECONDS.toNanos(1);
+    final long seconds = Math.max(1, (waitNanos + second - 1) / second);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+  }
+
+  @Scheduled(fixedDelayString = "PT1M")
+  public void evictIdleClients() {
+    this.limiter.evictIdle();
+  }
+
+  String client(HttpServletRequest request) {
+    final String address = request.getRemoteAddr();
+    if (this.clientHeader != null && this.trustedProxies.contains(address)) {
+      final String id = request.getHeader(this.clientHeader);
+      if (id != null && !id.isEmpty()) {
+        return id;
+      }
+    }
+    return address;
+  }
+}
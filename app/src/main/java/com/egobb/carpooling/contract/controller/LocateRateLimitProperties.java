@@ -0,0 +1,72 @@
+package com.egobb.carpooling.contract.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Per-client rate limit of {@code /locate} polling ({@code carpooling.locate.rate-limit.*}). */
+@ConfigurationProperties(prefix = "carpooling.locate.rate-limit")
+public class LocateRateLimitProperties {
+
+  /** Sustained {@code /locate} calls per second allowed to each client. 0 disables the limit. */
+  private double perSecond = 0;
+
+  /** Calls a client may make at once after being idle. */
+  private int burst = 10;
+
+  /**
+   * Request header naming the client, e.g. {@code X-Client-Id}, set by a proxy in front of the
+   * service. Only read on requests coming from one of {@code trusted-proxies}: everywhere else
+   * clients are told apart by remote address, since anyone can send any header.
+   */
+  private String clientHeader;
+
+  /** Remote addresses of the proxies whose {@code client-header} is trusted. */
+  private List<String> trustedProxies = new ArrayList<>();
+
+  /**
+   * Clients tracked at once; idle ones are forgotten every minute. Past it, calls from new clients
+   * are rejected, so a flood of distinct addresses cannot grow the limiter without bound.
+   */
+  private int maxClients = 100_000;
+
+  public double getPerSecond() {
+    return this.perSecond;
+  }
+
+  public void setPerSecond(double perSecond) {
+    this.perSecond = perSecond;
+  }
+
+  public int getBurst() {
+    return this.burst;
+  }
+
+  public void setBurst(int burst) {
+    this.burst = burst;
+  }
+
+  public String getClientHeader() {
+    return this.clientHeader;
+  }
+
+  public void setClientHeader(String clientHeader) {
+    this.clientHeader = clientHeader;
+  }
+
+  public List<String> getTrustedProxies() {
+    return this.trustedProxies;
+  }
+
+  public void setTrustedProxies(List<String> trustedProxies) {
+    this.trustedProxies = trustedProxies;
+  }
+
+  public int getMaxClients() {
+    return this.maxClients;
+  }
+
+  public void setMaxClients(int maxClients) {
+    this.maxClients = maxClients;
+  }
+}
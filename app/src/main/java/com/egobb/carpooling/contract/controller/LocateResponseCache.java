@@ -0,0 +1,98 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.controller.mapper.CarLocateResponseMapper;
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.infrastructure.event.CarPoolingEventListener;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encoded {@code /locate} answers, one per car, so clients polling a journey that did not move get
+ * the same bytes and ETag back without serializing anything.
+ *
+ * <p>An entry is valid for exactly one {@link CarSnapshot}: any assignment or dropoff in the car
+ * publishes a new snapshot, which makes the entry stale without an explicit invalidation. A fleet
+ * reset (or restore) empties the cache, so it only holds cars of the current fleet.
+ *
+ * <p>The ETag is built from the car id, its seats and its free seats, i.e. the values the body
+ * carries, so two versions with the same answer share it, even across fleet resets.
+ */
+@Component
+class LocateResponseCache implements CarPoolingEventListener {
+
+  /** ETag of the answer for a journey still waiting for a car. */
+  static final String PENDING_ETAG = "\"pending\"";
+
+  private final ObjectWriter writer;
+  private final ConcurrentHashMap<Integer, Entry> byCar = new ConcurrentHashMap<>();
+
+  LocateResponseCache(ObjectMapper objectMapper, InMemoryEventBus eventBus) {
+    this.writer = objectMapper.writer();
+    eventBus.addListener(this);
+  }
+
+  @Override
+  public void onEvent(CarPoolingEvent event) {
+    if (event instanceof FleetReset) {
+      // A poll racing the reset may put back one car of the old fleet; the next poll of a car
+      // with that id replaces it.
+      this.byCar.clear();
+    }
+  }
+
+  /** Number of cached answers, for tests. */
+  int size() {
+    return this.byCar.size();
+  }
+
+  /** The encoded answer for the given car version. */
+  Entry get(CarSnapshot car) {
+    final Entry cached = this.byCar.get(car.getId());
+    if (cached != null && cached.car == car) {
+      return cached;
+    }
+    final Entry fresh = new Entry(car, this.encode(car));
+    // Last writer wins: a racing reader may briefly put back an older version, which the next
+    // poll of that car simply replaces.
+    this.byCar.put(car.getId(), fresh);
+    return fresh;
+  }
+
+  private byte[] encode(CarSnapshot car) {
+    try {
+      return this.writer.writeValueAsBytes(CarLocateResponseMapper.toLocateResponse(car));
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The encoded body and ETag of one car version. */
+  static final class Entry {
+
+    private final CarSnapshot car;
+    private final byte[] body;
+    private final String etag;
+
+    private Entry(CarSnapshot car, byte[] body) {
+      this.car = car;
+      this.body = body;
+      this.etag =
+          "\"" + car.getId() + "-" + car.getMaxSeats() + "-" + car.getAvailableSeats() + "\"";
+    }
+
+    byte[] body() {
+      return this.body;
+    }
+
+    String etag() {
+      return this.etag;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.egobb.carpooling.contract.controller;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Limits of the wait-for-assignment variant of {@code /locate} ({@code carpooling.locate.*}). */
+@ConfigurationProperties(prefix = "carpooling.locate")
+public class LocateWaitProperties {
+
+  /** Upper bound of the {@code wait} a client may ask for. */
+  private Duration maxWait = Duration.ofSeconds(30);
+
+  public Duration getMaxWait() {
+    return this.maxWait;
+  }
+
+  public void setMaxWait(Duration maxWait) {
+    this.maxWait = maxWait;
+  }
+}
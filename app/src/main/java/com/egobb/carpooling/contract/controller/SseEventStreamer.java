@@ -0,0 +1,109 @@
+package com.egobb.carpooling.contract.controller;
+
+import com.egobb.carpooling.contract.controller.mapper.EventMapper;
+import com.egobb.carpooling.infrastructure.event.EventBatch;
+import com.egobb.carpooling.infrastructure.event.EventFeed;
+import com.egobb.carpooling.infrastructure.event.EventFeedProperties;
+import com.egobb.carpooling.infrastructure.event.EventSubscription;
+import com.egobb.carpooling.infrastructure.event.SequencedEvent;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes a feed subscription to a Server-Sent Events connection.
+ *
+ * <p>Connections do not own a thread: a subscription signals when events are buffered and a small
+ * shared pool drains it into the emitter. A drain writes to the socket, so a slow client only slows
+ * down its own drains; meanwhile its ring buffer absorbs (and eventually drops) new events, and the
+ * client is told about the gap through a {@code dropped} event.
+ */
+@Component
+public class SseEventStreamer {
+
+  private static final int MAX_EVENTS_PER_DRAIN = 256;
+
+  private final EventFeed eventFeed;
+  private final EventFeedProperties properties;
+  private final ExecutorService executor;
+
+  public SseEventStreamer(EventFeed eventFeed, EventFeedProperties properties) {
+    this.eventFeed = eventFeed;
+    this.properties = properties;
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            properties.getStreamThreads(),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "sse-events-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public SseEmitter open() {
+    final EventSubscription subscription = this.eventFeed.subscribe(true);
+    final SseEmitter emitter = new SseEmitter(this.properties.getStreamTimeout().toMillis());
+    final Runnable close = () -> this.eventFeed.cancel(subscription.getId());
+    emitter.onCompletion(close);
+    emitter.onTimeout(close);
+    emitter.onError(error -> close.run());
+
+    final Pump pump = new Pump(subscription, emitter);
+    subscription.onAvailable(pump::schedule);
+    return emitter;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.executor.shutdownNow();
+  }
+
+  private final class Pump {
+
+    private final EventSubscription subscription;
+    private final SseEmitter emitter;
+
+    private Pump(EventSubscription subscription, SseEmitter emitter) {
+      this.subscription = subscription;
+      this.emitter = emitter;
+    }
+
+    private void schedule() {
+      SseEventStreamer.this.executor.execute(this::drain);
+    }
+
+    private void drain() {
+      final EventBatch batch =
+          this.subscription.poll(MAX_EVENTS_PER_DRAIN, System.currentTimeMillis());
+      try {
+        if (batch.getDropped() > 0) {
+          this.emitter.send(
+              SseEmitter.event()
+                  .name("dropped")
+                  .data(Map.of("dropped", batch.getDropped()), MediaType.APPLICATION_JSON));
+        }
+        for (final SequencedEvent event : batch.getEvents()) {
+          this.emitter.send(
+              SseEmitter.event()
+                  .id(Long.toString(event.getSequence()))
+                  .name(event.getEvent().getType().getEventName())
+                  .data(EventMapper.toEvent(event), MediaType.APPLICATION_JSON));
+        }
+      } catch (final IOException | IllegalStateException e) {
+        // Client went away (or the emitter already completed): stop feeding it.
+        SseEventStreamer.this.eventFeed.cancel(this.subscription.getId());
+        return;
+      }
+      // Re-arm; runs immediately if more events arrived while we were sending.
+      this.subscription.onAvailable(this::schedule);
+    }
+  }
+}
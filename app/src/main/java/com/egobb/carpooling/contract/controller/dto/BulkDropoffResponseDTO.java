@@ -0,0 +1,24 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.List;
+
+public class BulkDropoffResponseDTO {
+
+  private final List<Integer> droppedOff;
+  private final List<Integer> notFound;
+
+  @JsonCreator
+  public BulkDropoffResponseDTO(List<Integer> droppedOff, List<Integer> notFound) {
+    this.droppedOff = droppedOff;
+    this.notFound = notFound;
+  }
+
+  public List<Integer> getDroppedOff() {
+    return this.droppedOff;
+  }
+
+  public List<Integer> getNotFound() {
+    return this.notFound;
+  }
+}
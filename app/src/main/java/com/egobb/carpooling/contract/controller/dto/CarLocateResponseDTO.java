@@ -1,11 +1,14 @@
 package com.egobb.carpooling.contract.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 public class CarLocateResponseDTO {
 
   private final int id;
   private final int seats;
   private final int availableSeats;
 
+  @JsonCreator
   public CarLocateResponseDTO(int id, int seats, int availableSeats) {
     this.id = id;
     this.seats = seats;
@@ -0,0 +1,34 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClusterStatusDTO {
+
+  private final String mode;
+  private final String leader;
+  private final long position;
+
+  public ClusterStatusDTO(String mode, String leader, long position) {
+    this.mode = mode;
+    this.leader = leader;
+    this.position = position;
+  }
+
+  public String getMode() {
+    return this.mode;
+  }
+
+  /** Leader URL, on followers only. */
+  public String getLeader() {
+    return this.leader;
+  }
+
+  /**
+   * Replication position: last event sequence published by the leader, or last leader sequence
+   * applied by a follower.
+   */
+  public long getPosition() {
+    return this.position;
+  }
+}
@@ -0,0 +1,25 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.List;
+
+public class EventBatchDTO {
+
+  private final List<EventDTO> events;
+  private final long dropped;
+
+  @JsonCreator
+  public EventBatchDTO(List<EventDTO> events, long dropped) {
+    this.events = events;
+    this.dropped = dropped;
+  }
+
+  public List<EventDTO> getEvents() {
+    return this.events;
+  }
+
+  /** Events discarded since the previous poll because the subscriber fell behind. */
+  public long getDropped() {
+    return this.dropped;
+  }
+}
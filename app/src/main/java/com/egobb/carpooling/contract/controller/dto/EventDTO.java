@@ -0,0 +1,77 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** Wire representation of a feed event. Fields that do not apply to the event type are omitted. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventDTO {
+
+  private final long sequence;
+  private final long timestamp;
+  private final String type;
+  private final Integer journeyId;
+  private final Integer passengers;
+  private final Integer carId;
+  private final Integer carSeats;
+  private final Integer availableSeats;
+  private final Integer cars;
+
+  @JsonCreator
+  public EventDTO(
+      long sequence,
+      long timestamp,
+      String type,
+      Integer journeyId,
+      Integer passengers,
+      Integer carId,
+      Integer carSeats,
+      Integer availableSeats,
+      Integer cars) {
+    this.sequence = sequence;
+    this.timestamp = timestamp;
+    this.type = type;
+    this.journeyId = journeyId;
+    this.passengers = passengers;
+    this.carId = carId;
+    this.carSeats = carSeats;
+    this.availableSeats = availableSeats;
+    this.cars = cars;
+  }
+
+  public long getSequence() {
+    return this.sequence;
+  }
+
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  public String getType() {
+    return this.type;
+  }
+
+  public Integer getJourneyId() {
+    return this.journeyId;
+  }
+
+  public Integer getPassengers() {
+    return this.passengers;
+  }
+
+  public Integer getCarId() {
+    return this.carId;
+  }
+
+  public Integer getCarSeats() {
+    return this.carSeats;
+  }
+
+  public Integer getAvailableSeats() {
+    return this.availableSeats;
+  }
+
+  public Integer getCars() {
+    return this.cars;
+  }
+}
@@ -0,0 +1,17 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public class EventSubscriptionDTO {
+
+  private final String id;
+
+  @JsonCreator
+  public EventSubscriptionDTO(String id) {
+    this.id = id;
+  }
+
+  public String getId() {
+    return this.id;
+  }
+}
@@ -0,0 +1,33 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.List;
+
+public class FleetSnapshotDTO {
+
+  private final long position;
+  private final List<CarLocateResponseDTO> cars;
+  private final List<SnapshotJourneyDTO> journeys;
+
+  @JsonCreator
+  public FleetSnapshotDTO(
+      long position, List<CarLocateResponseDTO> cars, List<SnapshotJourneyDTO> journeys) {
+    this.position = position;
+    this.cars = cars;
+    this.journeys = journeys;
+  }
+
+  /** Sequence of the last event (as seen on the event feed) already contained in the snapshot. */
+  public long getPosition() {
+    return this.position;
+  }
+
+  public List<CarLocateResponseDTO> getCars() {
+    return this.cars;
+  }
+
+  /** Assigned journeys first, then pending journeys in queue order. */
+  public List<SnapshotJourneyDTO> getJourneys() {
+    return this.journeys;
+  }
+}
@@ -0,0 +1,54 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import java.util.Map;
+
+public class FleetStatisticsDTO {
+
+  private final int cars;
+  private final int freeSeats;
+  private final Map<Integer, Integer> carsByFreeSeats;
+  private final int activeJourneys;
+  private final int pendingJourneys;
+  private final Map<Integer, Integer> pendingByGroupSize;
+
+  public FleetStatisticsDTO(
+      int cars,
+      int freeSeats,
+      Map<Integer, Integer> carsByFreeSeats,
+      int activeJourneys,
+      int pendingJourneys,
+      Map<Integer, Integer> pendingByGroupSize) {
+    this.cars = cars;
+    this.freeSeats = freeSeats;
+    this.carsByFreeSeats = carsByFreeSeats;
+    this.activeJourneys = activeJourneys;
+    this.pendingJourneys = pendingJourneys;
+    this.pendingByGroupSize = pendingByGroupSize;
+  }
+
+  public int getCars() {
+    return this.cars;
+  }
+
+  public int getFreeSeats() {
+    return this.freeSeats;
+  }
+
+  /** Number of cars per count of free seats, from 0 (full) to 6. */
+  public Map<Integer, Integer> getCarsByFreeSeats() {
+    return this.carsByFreeSeats;
+  }
+
+  public int getActiveJourneys() {
+    return this.activeJourneys;
+  }
+
+  public int getPendingJourneys() {
+    return this.pendingJourneys;
+  }
+
+  /** Number of pending journeys per group size, from 1 to 6. */
+  public Map<Integer, Integer> getPendingByGroupSize() {
+    return this.pendingByGroupSize;
+  }
+}
@@ -0,0 +1,36 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** Outcome of locating one journey of a batch. {@code car} is only present when assigned. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JourneyLocationDTO {
+
+  public enum Status {
+    ASSIGNED,
+    PENDING,
+    NOT_FOUND
+  }
+
+  private final int id;
+  private final Status status;
+  private final CarLocateResponseDTO car;
+
+  public JourneyLocationDTO(int id, Status status, CarLocateResponseDTO car) {
+    this.id = id;
+    this.status = status;
+    this.car = car;
+  }
+
+  public int getId() {
+    return this.id;
+  }
+
+  public Status getStatus() {
+    return this.status;
+  }
+
+  public CarLocateResponseDTO getCar() {
+    return this.car;
+  }
+}
@@ -0,0 +1,32 @@
+package com.egobb.carpooling.contract.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** Journey of a {@link FleetSnapshotDTO}; {@code carId} is omitted for pending journeys. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SnapshotJourneyDTO {
+
+  private final int id;
+  private final int people;
+  private final Integer carId;
+
+  @JsonCreator
+  public SnapshotJourneyDTO(int id, int people, Integer carId) {
+    this.id = id;
+    this.people = people;
+    this.carId = carId;
+  }
+
+  public int getId() {
+    return this.id;
+  }
+
+  public int getPeople() {
+    return this.people;
+  }
+
+  public Integer getCarId() {
+    return this.carId;
+  }
+}
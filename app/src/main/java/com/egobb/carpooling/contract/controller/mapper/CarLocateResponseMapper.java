@@ -1,7 +1,8 @@
 package com.egobb.carpooling.contract.controller.mapper;
 
 import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
-import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.model.CarSnapshot;
 
 public class CarLocateResponseMapper {
 
@@ -9,10 +10,15 @@ public class CarLocateResponseMapper {
     // A private constructor to hide implicit public one
   }
 
-  public static CarLocateResponseDTO toLocateResponse(Car car) {
+  public static CarLocateResponseDTO toLocateResponse(CarSnapshot car) {
     if (car == null) {
       return null;
     }
     return new CarLocateResponseDTO(car.getId(), car.getMaxSeats(), car.getAvailableSeats());
   }
+
+  public static CarLocateResponseDTO fromAssignment(JourneyAssigned assigned) {
+    return new CarLocateResponseDTO(
+        assigned.getCarId(), assigned.getCarSeats(), assigned.getAvailableSeats());
+  }
 }
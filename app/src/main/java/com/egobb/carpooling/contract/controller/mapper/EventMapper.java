@@ -0,0 +1,90 @@
+package com.egobb.carpooling.contract.controller.mapper;
+
+import com.egobb.carpooling.contract.controller.dto.EventBatchDTO;
+import com.egobb.carpooling.contract.controller.dto.EventDTO;
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.event.JourneyQueued;
+import com.egobb.carpooling.infrastructure.event.EventBatch;
+import com.egobb.carpooling.infrastructure.event.SequencedEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventMapper {
+
+  private EventMapper() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static EventBatchDTO toBatch(EventBatch batch) {
+    final List<EventDTO> events = new ArrayList<>(batch.getEvents().size());
+    for (final SequencedEvent event : batch.getEvents()) {
+      events.add(toEvent(event));
+    }
+    return new EventBatchDTO(events, batch.getDropped());
+  }
+
+  public static EventDTO toEvent(SequencedEvent sequenced) {
+    final CarPoolingEvent event = sequenced.getEvent();
+    final long seq = sequenced.getSequence();
+    final long ts = sequenced.getTimestamp();
+    final String type = event.getType().getEventName();
+
+    if (event instanceof JourneyQueued e) {
+      return new EventDTO(
+          seq, ts, type, e.getJourneyId(), e.getPassengers(), null, null, null, null);
+    }
+    if (event instanceof JourneyAssigned e) {
+      return new EventDTO(
+          seq,
+          ts,
+          type,
+          e.getJourneyId(),
+          e.getPassengers(),
+          e.getCarId(),
+          e.getCarSeats(),
+          e.getAvailableSeats(),
+          null);
+    }
+    if (event instanceof JourneyDroppedOff e) {
+      return new EventDTO(
+          seq,
+          ts,
+          type,
+          e.getJourneyId(),
+          e.getPassengers(),
+          e.getCarId(),
+          null,
+          e.getAvailableSeats(),
+          null);
+    }
+    if (event instanceof FleetReset e) {
+      return new EventDTO(seq, ts, type, null, null, null, null, null, e.getCars());
+    }
+    throw new IllegalArgumentException("unsupported event " + event.getType());
+  }
+
+  /** Rebuilds the domain event of a wire event received from another instance. */
+  public static CarPoolingEvent toDomainEvent(EventDTO dto) {
+    switch (dto.getType()) {
+      case "JourneyQueued":
+        return new JourneyQueued(dto.getJourneyId(), dto.getPassengers());
+      case "JourneyAssigned":
+        return new JourneyAssigned(
+            dto.getJourneyId(),
+            dto.getPassengers(),
+            dto.getCarId(),
+            dto.getCarSeats(),
+            dto.getAvailableSeats());
+      case "JourneyDroppedOff":
+        return new JourneyDroppedOff(
+            dto.getJourneyId(), dto.getPassengers(), dto.getCarId(), dto.getAvailableSeats());
+      case "FleetReset":
+        return new FleetReset(dto.getCars());
+      default:
+        throw new IllegalArgumentException("unsupported event " + dto.getType());
+    }
+  }
+}
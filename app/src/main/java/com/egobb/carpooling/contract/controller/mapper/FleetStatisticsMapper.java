@@ -0,0 +1,33 @@
+package com.egobb.carpooling.contract.controller.mapper;
+
+import com.egobb.carpooling.contract.controller.dto.FleetStatisticsDTO;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.FleetStatistics;
+import com.egobb.carpooling.domain.model.Journey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FleetStatisticsMapper {
+
+  private FleetStatisticsMapper() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static FleetStatisticsDTO toDto(FleetStatistics statistics) {
+    final Map<Integer, Integer> carsByFreeSeats = new LinkedHashMap<>();
+    for (int free = 0; free <= Car.MAX_SEATS; free++) {
+      carsByFreeSeats.put(free, statistics.getCarsWithFreeSeats(free));
+    }
+    final Map<Integer, Integer> pendingByGroupSize = new LinkedHashMap<>();
+    for (int size = Journey.MIN_PASSENGERS; size <= Journey.MAX_PASSENGERS; size++) {
+      pendingByGroupSize.put(size, statistics.getPendingJourneys(size));
+    }
+    return new FleetStatisticsDTO(
+        statistics.getCars(),
+        statistics.getFreeSeats(),
+        carsByFreeSeats,
+        statistics.getActiveJourneys(),
+        statistics.getPendingJourneys(),
+        pendingByGroupSize);
+  }
+}
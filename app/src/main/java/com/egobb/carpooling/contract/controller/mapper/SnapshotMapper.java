@@ -0,0 +1,52 @@
+package com.egobb.carpooling.contract.controller.mapper;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.controller.dto.FleetSnapshotDTO;
+import com.egobb.carpooling.contract.controller.dto.SnapshotJourneyDTO;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.FleetSnapshot;
+import com.egobb.carpooling.domain.model.Journey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SnapshotMapper {
+
+  private SnapshotMapper() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static FleetSnapshotDTO toSnapshotDTO(FleetSnapshot snapshot) {
+    final List<CarLocateResponseDTO> cars = new ArrayList<>(snapshot.getCars().size());
+    for (final Car car : snapshot.getCars()) {
+      cars.add(CarLocateResponseMapper.toLocateResponse(car.snapshot()));
+    }
+    final List<SnapshotJourneyDTO> journeys = new ArrayList<>(snapshot.getJourneys().size());
+    for (final Journey journey : snapshot.getJourneys()) {
+      final Car car = journey.getAssignedTo();
+      journeys.add(
+          new SnapshotJourneyDTO(
+              journey.getId(), journey.getPassengers(), car == null ? null : car.getId()));
+    }
+    return new FleetSnapshotDTO(snapshot.getPosition(), cars, journeys);
+  }
+
+  public static FleetSnapshot toSnapshot(FleetSnapshotDTO dto) {
+    final Map<Integer, Car> cars = new HashMap<>();
+    final List<Car> fleet = new ArrayList<>(dto.getCars().size());
+    for (final CarLocateResponseDTO c : dto.getCars()) {
+      final Car car = new Car(c.getId(), c.getSeats());
+      car.setAvailableSeats(c.getAvailableSeats());
+      cars.put(car.getId(), car);
+      fleet.add(car);
+    }
+    final List<Journey> journeys = new ArrayList<>(dto.getJourneys().size());
+    for (final SnapshotJourneyDTO j : dto.getJourneys()) {
+      journeys.add(
+          new Journey(
+              j.getId(), j.getPeople(), j.getCarId() == null ? null : cars.get(j.getCarId())));
+    }
+    return new FleetSnapshot(dto.getPosition(), fleet, journeys);
+  }
+}
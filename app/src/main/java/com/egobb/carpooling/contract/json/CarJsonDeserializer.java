@@ -0,0 +1,44 @@
+package com.egobb.carpooling.contract.json;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Reads {@code {"id": 1, "seats": 4}} in one streaming pass. Both fields are required, the id must
+ * be positive and the seat count within {@link Car#MIN_SEATS} and {@link Car#MAX_SEATS}; the {@link
+ * Car} is only created once they are valid. Unknown fields are skipped.
+ *
+ * <p>{@code maxSeats}, the name the reflective binding also accepted, is read as {@code seats}.
+ * Duplicated ids span the whole list, so they are still detected by the service.
+ */
+public class CarJsonDeserializer extends StdDeserializer<Car> {
+
+  private static final long serialVersionUID = 1L;
+
+  public CarJsonDeserializer() {
+    super(Car.class);
+  }
+
+  @Override
+  public Car deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+    JsonFields.expectObject(parser, ctxt, Car.class);
+
+    int id = 0;
+    int seats = 0;
+    for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case "id" -> id = JsonFields.readInt(parser, ctxt, this, field);
+        case "seats", "maxSeats" -> seats = JsonFields.readInt(parser, ctxt, this, field);
+        default -> parser.skipChildren();
+      }
+    }
+
+    JsonFields.checkRange(ctxt, this, "id", id, 1, Integer.MAX_VALUE);
+    JsonFields.checkRange(ctxt, this, "seats", seats, Car.MIN_SEATS, Car.MAX_SEATS);
+    return new Car(id, seats);
+  }
+}
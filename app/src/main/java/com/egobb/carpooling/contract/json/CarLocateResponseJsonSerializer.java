@@ -0,0 +1,36 @@
+package com.egobb.carpooling.contract.json;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/** Writes {@code {"id":1,"seats":4,"availableSeats":2}} with pre-encoded field names. */
+public class CarLocateResponseJsonSerializer extends StdSerializer<CarLocateResponseDTO> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString SEATS = new SerializedString("seats");
+  private static final SerializedString AVAILABLE_SEATS = new SerializedString("availableSeats");
+
+  public CarLocateResponseJsonSerializer() {
+    super(CarLocateResponseDTO.class);
+  }
+
+  @Override
+  public void serialize(
+      CarLocateResponseDTO value, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(value);
+    generator.writeFieldName(ID);
+    generator.writeNumber(value.getId());
+    generator.writeFieldName(SEATS);
+    generator.writeNumber(value.getSeats());
+    generator.writeFieldName(AVAILABLE_SEATS);
+    generator.writeNumber(value.getAvailableSeats());
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,26 @@
+package com.egobb.carpooling.contract.json;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written codecs for the types on the hot path, picked up by Spring Boot's {@code
+ * ObjectMapper} like any other {@code Module} bean. They replace reflective databind (constructor
+ * detection, parameter names, setters) with a single streaming pass, and validate ids and sizes
+ * while parsing.
+ */
+@Component
+public class CarPoolingJsonModule extends SimpleModule {
+
+  private static final long serialVersionUID = 1L;
+
+  public CarPoolingJsonModule() {
+    super("car-pooling");
+    this.addDeserializer(Journey.class, new JourneyJsonDeserializer());
+    this.addDeserializer(Car.class, new CarJsonDeserializer());
+    this.addSerializer(CarLocateResponseDTO.class, new CarLocateResponseJsonSerializer());
+  }
+}
@@ -0,0 +1,45 @@
+package com.egobb.carpooling.contract.json;
+
+import com.egobb.carpooling.domain.model.Journey;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Reads {@code {"id": 1, "people": 4}} in one streaming pass. Both fields are required, the id must
+ * be positive and the group size within {@link Journey#MIN_PASSENGERS} and {@link
+ * Journey#MAX_PASSENGERS}; the {@link Journey} is only created once they are valid. Unknown fields
+ * are skipped.
+ *
+ * <p>{@code passengers}, the name the reflective binding also accepted, is read as {@code people}.
+ */
+public class JourneyJsonDeserializer extends StdDeserializer<Journey> {
+
+  private static final long serialVersionUID = 1L;
+
+  public JourneyJsonDeserializer() {
+    super(Journey.class);
+  }
+
+  @Override
+  public Journey deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+    JsonFields.expectObject(parser, ctxt, Journey.class);
+
+    int id = 0;
+    int people = 0;
+    for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case "id" -> id = JsonFields.readInt(parser, ctxt, this, field);
+        case "people", "passengers" -> people = JsonFields.readInt(parser, ctxt, this, field);
+        default -> parser.skipChildren();
+      }
+    }
+
+    JsonFields.checkRange(ctxt, this, "id", id, 1, Integer.MAX_VALUE);
+    JsonFields.checkRange(
+        ctxt, this, "people", people, Journey.MIN_PASSENGERS, Journey.MAX_PASSENGERS);
+    return new Journey(id, people);
+  }
+}
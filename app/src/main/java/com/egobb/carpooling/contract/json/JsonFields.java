@@ -0,0 +1,52 @@
+package com.egobb.carpooling.contract.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+
+/** Streaming helpers shared by the hand-written deserializers. */
+final class JsonFields {
+
+  private JsonFields() {
+    // A private constructor to hide implicit public one
+  }
+
+  /**
+   * Reads the current token as a 32-bit integer. Strings, decimals, nulls and values that do not
+   * fit an {@code int} are rejected rather than coerced.
+   */
+  static int readInt(
+      JsonParser parser, DeserializationContext ctxt, JsonDeserializer<?> owner, String field)
+      throws IOException {
+    if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT
+        || parser.getNumberType() != JsonParser.NumberType.INT) {
+      return ctxt.reportInputMismatch(owner, "'%s' must be a 32-bit integer", field);
+    }
+    return parser.getIntValue();
+  }
+
+  /** Rejects anything but a JSON object where an object is expected. */
+  static void expectObject(JsonParser parser, DeserializationContext ctxt, Class<?> type)
+      throws IOException {
+    if (!parser.isExpectedStartObjectToken()) {
+      ctxt.handleUnexpectedToken(type, parser);
+    }
+  }
+
+  /** Rejects a value outside {@code [min, max]}. */
+  static void checkRange(
+      DeserializationContext ctxt,
+      JsonDeserializer<?> owner,
+      String field,
+      int value,
+      int min,
+      int max)
+      throws IOException {
+    if (value < min || value > max) {
+      ctxt.reportInputMismatch(
+          owner, "'%s' must be between %d and %d, was %d", field, min, max, value);
+    }
+  }
+}
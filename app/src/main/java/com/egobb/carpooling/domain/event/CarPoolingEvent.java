@@ -0,0 +1,20 @@
+package com.egobb.carpooling.domain.event;
+
+/**
+ * Base type of the immutable events describing state transitions of the car pooling domain.
+ *
+ * <p>Events carry plain values (ids and seat counts), never live domain objects, so they can be
+ * handed to other threads and serialized without further synchronization.
+ */
+public abstract class CarPoolingEvent {
+
+  private final CarPoolingEventType type;
+
+  protected CarPoolingEvent(CarPoolingEventType type) {
+    this.type = type;
+  }
+
+  public CarPoolingEventType getType() {
+    return this.type;
+  }
+}
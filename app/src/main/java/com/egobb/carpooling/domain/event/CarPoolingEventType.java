@@ -0,0 +1,20 @@
+package com.egobb.carpooling.domain.event;
+
+/** Kinds of state transitions published by the domain service. */
+public enum CarPoolingEventType {
+  JOURNEY_QUEUED("JourneyQueued"),
+  JOURNEY_ASSIGNED("JourneyAssigned"),
+  JOURNEY_DROPPED_OFF("JourneyDroppedOff"),
+  FLEET_RESET("FleetReset");
+
+  private final String eventName;
+
+  CarPoolingEventType(String eventName) {
+    this.eventName = eventName;
+  }
+
+  /** Name used on the wire (e.g. the SSE {@code event:} field). */
+  public String getEventName() {
+    return this.eventName;
+  }
+}
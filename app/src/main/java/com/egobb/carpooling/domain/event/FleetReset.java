@@ -0,0 +1,16 @@
+package com.egobb.carpooling.domain.event;
+
+/** The fleet was replaced; every previous journey, assigned or pending, was discarded. */
+public final class FleetReset extends CarPoolingEvent {
+
+  private final int cars;
+
+  public FleetReset(int cars) {
+    super(CarPoolingEventType.FLEET_RESET);
+    this.cars = cars;
+  }
+
+  public int getCars() {
+    return this.cars;
+  }
+}
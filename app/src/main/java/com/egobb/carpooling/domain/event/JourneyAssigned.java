@@ -0,0 +1,45 @@
+package com.egobb.carpooling.domain.event;
+
+/**
+ * A journey was seated in a car, either on arrival or later when seats were freed.
+ *
+ * <p>{@code availableSeats} is the car's free capacity right after this assignment.
+ */
+public final class JourneyAssigned extends CarPoolingEvent {
+
+  private final int journeyId;
+  private final int passengers;
+  private final int carId;
+  private final int carSeats;
+  private final int availableSeats;
+
+  public JourneyAssigned(
+      int journeyId, int passengers, int carId, int carSeats, int availableSeats) {
+    super(CarPoolingEventType.JOURNEY_ASSIGNED);
+    this.journeyId = journeyId;
+    this.passengers = passengers;
+    this.carId = carId;
+    this.carSeats = carSeats;
+    this.availableSeats = availableSeats;
+  }
+
+  public int getJourneyId() {
+    return this.journeyId;
+  }
+
+  public int getPassengers() {
+    return this.passengers;
+  }
+
+  public int getCarId() {
+    return this.carId;
+  }
+
+  public int getCarSeats() {
+    return this.carSeats;
+  }
+
+  public int getAvailableSeats() {
+    return this.availableSeats;
+  }
+}
@@ -0,0 +1,40 @@
+package com.egobb.carpooling.domain.event;
+
+/**
+ * A journey left the system, either from its car or straight from the pending queue (including when
+ * its time to wait expired).
+ *
+ * <p>For a pending journey {@link #getCarId()} is {@code null}. Otherwise {@code availableSeats} is
+ * the car's free capacity once the group left and before any pending journey was moved in.
+ */
+public final class JourneyDroppedOff extends CarPoolingEvent {
+
+  private final int journeyId;
+  private final int passengers;
+  private final Integer carId;
+  private final Integer availableSeats;
+
+  public JourneyDroppedOff(int journeyId, int passengers, Integer carId, Integer availableSeats) {
+    super(CarPoolingEventType.JOURNEY_DROPPED_OFF);
+    this.journeyId = journeyId;
+    this.passengers = passengers;
+    this.carId = carId;
+    this.availableSeats = availableSeats;
+  }
+
+  public int getJourneyId() {
+    return this.journeyId;
+  }
+
+  public int getPassengers() {
+    return this.passengers;
+  }
+
+  public Integer getCarId() {
+    return this.carId;
+  }
+
+  public Integer getAvailableSeats() {
+    return this.availableSeats;
+  }
+}
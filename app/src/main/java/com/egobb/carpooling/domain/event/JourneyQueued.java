@@ -0,0 +1,22 @@
+package com.egobb.carpooling.domain.event;
+
+/** A journey was registered but no car could seat it, so it waits in the pending queue. */
+public final class JourneyQueued extends CarPoolingEvent {
+
+  private final int journeyId;
+  private final int passengers;
+
+  public JourneyQueued(int journeyId, int passengers) {
+    super(CarPoolingEventType.JOURNEY_QUEUED);
+    this.journeyId = journeyId;
+    this.passengers = passengers;
+  }
+
+  public int getJourneyId() {
+    return this.journeyId;
+  }
+
+  public int getPassengers() {
+    return this.passengers;
+  }
+}
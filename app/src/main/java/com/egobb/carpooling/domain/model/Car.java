@@ -1,14 +1,39 @@
 package com.egobb.carpooling.domain.model;
 
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A car of the fleet. Its identity is fixed; its seat availability is a sequence of immutable
+ * {@link CarSnapshot versions}.
+ *
+ * <p>Readers take the current version with {@link #snapshot()} without any lock. Writers hold the
+ * car's own {@link #lock()} and publish the next version through a single volatile write, so a
+ * reader never sees a half-applied change.
+ *
+ * <p>The lock lives and dies with the car: taking it needs no lookup, and replacing the fleet
+ * discards the locks of the old one with it.
+ *
+ * <p>A car in the fleet is also {@link #bind bound} to a dense slot of the fleet's {@link
+ * SeatTable}, where every change of its free seats is mirrored.
+ */
 public class Car {
+
+  /** Smallest and largest seat count a car may have. */
+  public static final int MIN_SEATS = 4;
+
+  public static final int MAX_SEATS = 6;
+
   private final int id;
   private final int maxSeats;
-  private int availableSeats;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile CarSnapshot current;
+  private SeatTable seatTable;
+  private int slot = -1;
 
   public Car(int id, int seats) {
     this.id = id;
     this.maxSeats = seats;
-    this.availableSeats = seats;
+    this.current = new CarSnapshot(id, seats, seats, 0);
   }
 
   public int getId() {
@@ -20,10 +45,42 @@ public class Car {
   }
 
   public int getAvailableSeats() {
-    return this.availableSeats;
+    return this.current.getAvailableSeats();
+  }
+
+  /** Guards changes to this car's seats (not a bean property, so it is never serialized). */
+  public ReentrantLock lock() {
+    return this.lock;
+  }
+
+  /**
+   * Places the car in {@code slot} of a fleet's seat table. Called once the fleet is known and
+   * before the car is shared, since a repository only publishes a fleet after binding it.
+   */
+  public void bind(SeatTable seatTable, int slot) {
+    this.seatTable = seatTable;
+    this.slot = slot;
+    seatTable.set(slot, this.current.getAvailableSeats());
+  }
+
+  /** Dense slot of the car in its fleet, or -1 if it does not belong to one. */
+  public int slot() {
+    return this.slot;
+  }
+
+  /** The current version of this car. */
+  public CarSnapshot snapshot() {
+    return this.current;
   }
 
+  /**
+   * Publishes a new version with the given availability. Precondition: the caller must hold the car
+   * lock, which keeps versions of the same car strictly increasing.
+   */
   public void setAvailableSeats(int availableSeats) {
-    this.availableSeats = availableSeats;
+    this.current = this.current.withAvailableSeats(availableSeats);
+    if (this.seatTable != null) {
+      this.seatTable.set(this.slot, availableSeats);
+    }
   }
 }
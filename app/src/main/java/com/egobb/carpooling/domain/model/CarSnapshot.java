@@ -0,0 +1,41 @@
+package com.egobb.carpooling.domain.model;
+
+/**
+ * Immutable state of a {@link Car} at one version. Every field belongs to the same version, so a
+ * snapshot can be read without locks and is always internally consistent.
+ */
+public final class CarSnapshot {
+
+  private final int id;
+  private final int maxSeats;
+  private final int availableSeats;
+  private final long version;
+
+  public CarSnapshot(int id, int maxSeats, int availableSeats, long version) {
+    this.id = id;
+    this.maxSeats = maxSeats;
+    this.availableSeats = availableSeats;
+    this.version = version;
+  }
+
+  public int getId() {
+    return this.id;
+  }
+
+  public int getMaxSeats() {
+    return this.maxSeats;
+  }
+
+  public int getAvailableSeats() {
+    return this.availableSeats;
+  }
+
+  /** Starts at 0 and grows by one with every published change of the car. */
+  public long getVersion() {
+    return this.version;
+  }
+
+  CarSnapshot withAvailableSeats(int seats) {
+    return new CarSnapshot(this.id, this.maxSeats, seats, this.version + 1);
+  }
+}
@@ -0,0 +1,35 @@
+package com.egobb.carpooling.domain.model;
+
+import java.util.List;
+
+/**
+ * Detached copy of the whole car pooling state, used to bootstrap replicas.
+ *
+ * <p>Journeys reference the cars of the same snapshot. Assigned journeys come first, followed by
+ * the pending ones in queue order.
+ */
+public class FleetSnapshot {
+
+  private final long position;
+  private final List<Car> cars;
+  private final List<Journey> journeys;
+
+  public FleetSnapshot(long position, List<Car> cars, List<Journey> journeys) {
+    this.position = position;
+    this.cars = cars;
+    this.journeys = journeys;
+  }
+
+  /** Position of the last published event reflected in this snapshot. */
+  public long getPosition() {
+    return this.position;
+  }
+
+  public List<Car> getCars() {
+    return this.cars;
+  }
+
+  public List<Journey> getJourneys() {
+    return this.journeys;
+  }
+}
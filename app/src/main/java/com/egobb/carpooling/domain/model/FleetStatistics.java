@@ -0,0 +1,63 @@
+package com.egobb.carpooling.domain.model;
+
+/**
+ * Counters describing the fleet and the backlog at one moment, read in constant time from counters
+ * maintained on every assignment, queueing and dropoff.
+ *
+ * <p>Each counter is exact when read, but they are not read atomically together, so under traffic
+ * they may disagree by the few operations in flight.
+ */
+public class FleetStatistics {
+
+  private final int[] carsByFreeSeats;
+  private final int[] pendingByGroupSize;
+  private final int activeJourneys;
+
+  /**
+   * @param carsByFreeSeats cars indexed by free seats, 0..{@link Car#MAX_SEATS}
+   * @param pendingByGroupSize pending journeys indexed by group size, 0..{@link
+   *     Journey#MAX_PASSENGERS} (index 0 is unused)
+   */
+  public FleetStatistics(int[] carsByFreeSeats, int[] pendingByGroupSize, int activeJourneys) {
+    this.carsByFreeSeats = carsByFreeSeats;
+    this.pendingByGroupSize = pendingByGroupSize;
+    this.activeJourneys = activeJourneys;
+  }
+
+  public int getCars() {
+    int cars = 0;
+    for (final int count : this.carsByFreeSeats) {
+      cars += count;
+    }
+    return cars;
+  }
+
+  public int getFreeSeats() {
+    int seats = 0;
+    for (int free = 1; free < this.carsByFreeSeats.length; free++) {
+      seats += free * this.carsByFreeSeats[free];
+    }
+    return seats;
+  }
+
+  public int getCarsWithFreeSeats(int freeSeats) {
+    return this.carsByFreeSeats[freeSeats];
+  }
+
+  public int getPendingJourneys() {
+    int pending = 0;
+    for (final int count : this.pendingByGroupSize) {
+      pending += count;
+    }
+    return pending;
+  }
+
+  public int getPendingJourneys(int passengers) {
+    return this.pendingByGroupSize[passengers];
+  }
+
+  /** Journeys seated in a car. */
+  public int getActiveJourneys() {
+    return this.activeJourneys;
+  }
+}
@@ -1,33 +1,69 @@
 package com.egobb.carpooling.domain.model;
 
+/**
+ * Immutable journey. Seating it produces a new instance ({@link #assignTo(Car)}) that replaces this
+ * one in the repository, so a journey read from there never changes under the reader.
+ *
+ * <p>Equality is identity on purpose: the repository swaps versions with compare-and-set.
+ *
+ * <p>A journey also remembers when it was requested and when it was seated ({@link
+ * System#nanoTime()} readings, only meaningful as differences), so timings are measured without any
+ * side table.
+ */
 public class Journey {
-  private int id;
+
+  /** Smallest and largest group a journey may carry. */
+  public static final int MIN_PASSENGERS = 1;
+
+  public static final int MAX_PASSENGERS = 6;
+
+  private final int id;
   private final int passengers;
-  private Car assignedTo;
+  private final Car assignedTo;
+  private final long requestedAt;
+  private final long assignedAt;
 
   public Journey(int id, int people) {
+    this(id, people, null);
+  }
+
+  public Journey(int id, int people, Car assignedTo) {
+    this(id, people, assignedTo, System.nanoTime());
+  }
+
+  private Journey(int id, int people, Car assignedTo, long requestedAt) {
     this.id = id;
     this.passengers = people;
-    this.assignedTo = null;
+    this.assignedTo = assignedTo;
+    this.requestedAt = requestedAt;
+    this.assignedAt = assignedTo == null ? 0 : System.nanoTime();
   }
 
   public int getId() {
     return this.id;
   }
 
-  public void setId(int id) {
-    this.id = id;
-  }
-
   public int getPassengers() {
     return this.passengers;
   }
 
+  /** The car the journey rides in, or null while it is pending. */
   public Car getAssignedTo() {
     return this.assignedTo;
   }
 
-  public void setAssignedTo(Car assignedTo) {
-    this.assignedTo = assignedTo;
+  /** When the journey was requested (not a bean property, so it is never serialized). */
+  public long requestedAt() {
+    return this.requestedAt;
+  }
+
+  /** When the journey was seated, or 0 while it is pending. */
+  public long assignedAt() {
+    return this.assignedAt;
+  }
+
+  /** The same journey, seated in the given car. */
+  public Journey assignTo(Car car) {
+    return new Journey(this.id, this.passengers, car, this.requestedAt);
   }
 }
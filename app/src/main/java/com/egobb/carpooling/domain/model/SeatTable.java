@@ -0,0 +1,81 @@
+package com.egobb.carpooling.domain.model;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Free seats of a whole fleet in one flat array, indexed by each car's dense slot (0..N-1).
+ *
+ * <p>Every {@link Car} bound to a table mirrors its seat changes into it, so a scan for a car with
+ * enough room walks contiguous ints instead of dereferencing one car and one snapshot per slot. The
+ * table is only a hint for such scans: readers that act on a value re-check it under the car lock.
+ *
+ * <p>Two layouts trade scan speed against write contention. {@link Layout#PACKED} puts sixteen cars
+ * in a 64-byte cache line, best for scans but, when cores update neighbouring cars at a high rate,
+ * every write invalidates the line in the other cores (false sharing). {@link Layout#PADDED} gives
+ * every car a line of its own, so writes never collide but a scan touches one line per car.
+ *
+ * <p>The table also counts the cars per number of free seats, updated with each change, so fleet
+ * statistics cost the same for ten cars or ten thousand. The counters are {@link LongAdder}s so
+ * that cores updating different cars do not all write the same counter.
+ */
+public final class SeatTable {
+
+  /** How slots are laid out in memory. */
+  public enum Layout {
+    PACKED,
+    PADDED
+  }
+
+  /** Ints per 64-byte cache line, the usual line size on x86 and most ARM cores. */
+  private static final int INTS_PER_LINE = 16;
+
+  private final AtomicIntegerArray seats;
+  private final int size;
+  private final int stride;
+  private final int offset;
+
+  /** Cars per number of free seats (0..{@link Car#MAX_SEATS}). */
+  private final LongAdder[] carsByFreeSeats = new LongAdder[Car.MAX_SEATS + 1];
+
+  public SeatTable(int size, Layout layout) {
+    this.size = size;
+    this.stride = layout == Layout.PADDED ? INTS_PER_LINE : 1;
+    // A padded table also keeps its first slot off the line holding the array header.
+    this.offset = layout == Layout.PADDED ? INTS_PER_LINE : 0;
+    this.seats = new AtomicIntegerArray(this.offset * 2 + size * this.stride);
+    for (int free = 0; free < this.carsByFreeSeats.length; free++) {
+      this.carsByFreeSeats[free] = new LongAdder();
+    }
+    // Every slot starts with zero free seats until its car is bound.
+    this.carsByFreeSeats[0].add(size);
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /** Free seats of the car in {@code slot}, possibly slightly stale. */
+  public int get(int slot) {
+    return this.seats.getOpaque(this.offset + slot * this.stride);
+  }
+
+  /**
+   * Number of cars with exactly {@code freeSeats} free seats. Exact for every single value, but the
+   * counts of different values may be read in the middle of a car moving from one to another.
+   */
+  public int countCars(int freeSeats) {
+    return this.carsByFreeSeats[freeSeats].intValue();
+  }
+
+  /** Precondition: the caller holds the lock of the car in {@code slot}, or the car is unshared. */
+  void set(int slot, int freeSeats) {
+    final int index = this.offset + slot * this.stride;
+    final int previous = this.seats.getPlain(index);
+    this.seats.setRelease(index, freeSeats);
+    if (previous != freeSeats) {
+      this.carsByFreeSeats[previous].decrement();
+      this.carsByFreeSeats[freeSeats].increment();
+    }
+  }
+}
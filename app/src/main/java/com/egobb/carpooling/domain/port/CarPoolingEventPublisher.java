@@ -0,0 +1,14 @@
+package com.egobb.carpooling.domain.port;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+
+public interface CarPoolingEventPublisher {
+
+  /**
+   * Publishes a domain event.
+   *
+   * <p>Called from inside the service's critical sections (car locks, journey creation lock), so
+   * implementations must be fast and must never block.
+   */
+  void publish(CarPoolingEvent event);
+}
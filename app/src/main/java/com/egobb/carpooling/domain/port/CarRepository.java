@@ -2,12 +2,25 @@ package com.egobb.carpooling.domain.port;
 
 import com.egobb.carpooling.domain.model.Car;
 import java.util.List;
+import java.util.Optional;
 
 public interface CarRepository {
 
   /** Returns the current list of cars in the system. */
   List<Car> findAll();
 
+  /** Finds a car by id, if it belongs to the current fleet. */
+  Optional<Car> findById(int id);
+
+  /**
+   * Finds a car whose free seats fit {@code requiredSeats} with the least room to spare. The scan
+   * takes no lock, so the caller must re-check the car under its lock before using it.
+   */
+  Optional<Car> findBestFit(int requiredSeats);
+
+  /** Number of cars in the fleet with exactly {@code freeSeats} free seats, in constant time. */
+  int countCars(int freeSeats);
+
   /** Resets the current fleet with the given list of cars. Any previous state is discarded. */
   void reset(List<Car> cars);
 }
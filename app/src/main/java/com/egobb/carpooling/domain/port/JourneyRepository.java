@@ -1,6 +1,7 @@
 package com.egobb.carpooling.domain.port;
 
 import com.egobb.carpooling.domain.model.Journey;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,15 @@ public interface JourneyRepository {
   /** Returns all pending journeys. */
   List<Journey> findPending();
 
+  /** Number of pending journeys. */
+  int countPending();
+
+  /** Number of pending journeys of the given group size. */
+  int countPending(int passengers);
+
+  /** Number of journeys seated in a car. */
+  int countAssigned();
+
   /** Finds a journey by id, if it exists. */
   Optional<Journey> findById(int id);
 
@@ -23,8 +33,29 @@ public interface JourneyRepository {
    */
   void savePending(Journey journey);
 
-  /** Deletes a journey by id from both active and pending collections. */
-  void deleteById(int id);
+  /**
+   * Atomically swaps {@code current}, which must be the stored version, for {@code updated} (same
+   * id). Seated versions leave the pending queue.
+   *
+   * @return false if the stored version is no longer {@code current}, for instance because another
+   *     thread seated or dropped off the journey in the meantime
+   */
+  boolean replace(Journey current, Journey updated);
+
+  /**
+   * Deletes a journey by id from both active and pending collections.
+   *
+   * @return the version that was removed, if any
+   */
+  Optional<Journey> deleteById(int id);
+
+  /**
+   * Deletes the given journeys that are still stored as pending, in exactly these versions.
+   * Journeys seated, dropped off or replaced since they were read are left alone.
+   *
+   * @return the journeys that were deleted
+   */
+  List<Journey> deletePending(Collection<Journey> candidates);
 
   /** Clears all journeys and pending state. */
   void clearAll();
@@ -1,19 +1,38 @@
 package com.egobb.carpooling.domain.service;
 
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.event.JourneyQueued;
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.domain.model.FleetSnapshot;
+import com.egobb.carpooling.domain.model.FleetStatistics;
 import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.port.CarPoolingEventPublisher;
 import com.egobb.carpooling.domain.port.CarRepository;
 import com.egobb.carpooling.domain.port.JourneyRepository;
-import com.egobb.carpooling.domain.service.concurrency.concurrency.CarLockRegistry;
+import com.egobb.carpooling.domain.service.admission.AdmissionControl;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
 import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
 import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
 import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
 import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import com.egobb.carpooling.domain.service.expiry.PendingExpiry;
+import com.egobb.carpooling.domain.service.jfr.DropoffEvent;
+import com.egobb.carpooling.domain.service.jfr.FleetResetEvent;
+import com.egobb.carpooling.domain.service.jfr.JourneyAssignedEvent;
+import com.egobb.carpooling.domain.service.jfr.JourneyQueuedEvent;
+import com.egobb.carpooling.domain.service.reassignment.ReassignmentDispatcher;
+import com.egobb.carpooling.domain.service.timing.JourneyTimings;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,17 +42,35 @@ import org.springframework.stereotype.Service;
  * mutations to a specific car state (available seats) are guarded by a per-car lock; a global
  * read/write lock prevents concurrent traffic during administrative resets; method signatures and
  * parameter names are kept compatible with the original v1.0.0 API.
+ *
+ * <p>Cars publish immutable, versioned {@link CarSnapshot snapshots} and journeys are immutable, so
+ * {@link #locate(int)} and {@link #locateAll(Collection)} read without any lock and always return
+ * an internally consistent car. Seating a pending journey swaps its stored version with a
+ * compare-and-set, so two cars freed at the same time cannot both take it.
+ *
+ * <p>Every state transition is published as a {@link
+ * com.egobb.carpooling.domain.event.CarPoolingEvent} from inside the critical section that performs
+ * it, so events of the same car are published in the order they happened.
+ *
+ * <p>Assignments, queued journeys, dropoffs and resets are also recorded as JDK Flight Recorder
+ * events ({@link com.egobb.carpooling.domain.service.jfr}), disabled by default. Each operation
+ * calls {@code begin()} on its event first and fills it only if the recording wants it; while an
+ * event is disabled the JIT drops the allocation and the calls.
  */
 @Service
 public class CarPoolingService {
 
   private final CarRepository carRepository;
   private final JourneyRepository journeyRepository;
-  private final CarLockRegistry carLocks;
+  private final CarPoolingEventPublisher eventPublisher;
+  private final AdmissionControl admission;
+  private final PendingExpiry expiry;
+  private final ReassignmentDispatcher reassignments;
+  private final JourneyTimings timings;
 
   /**
    * Guards administrative operations versus runtime operations. resetCars(...) takes the write
-   * lock; newJourney, dropoff, reassign and locate take the read lock.
+   * lock; newJourney, dropoff and reassign take the read lock. Reads take no lock at all.
    */
   private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
 
@@ -41,9 +78,40 @@ public class CarPoolingService {
   private final Object journeyCreationLock = new Object();
 
   public CarPoolingService(CarRepository carRepository, JourneyRepository journeyRepository) {
+    this(carRepository, journeyRepository, event -> {});
+  }
+
+  public CarPoolingService(
+      CarRepository carRepository,
+      JourneyRepository journeyRepository,
+      CarPoolingEventPublisher eventPublisher) {
+    this(
+        carRepository,
+        journeyRepository,
+        eventPublisher,
+        AdmissionControl.unlimited(),
+        PendingExpiry.disabled(),
+        ReassignmentDispatcher.synchronous(),
+        JourneyTimings.disabled());
+  }
+
+  @Autowired
+  public CarPoolingService(
+      CarRepository carRepository,
+      JourneyRepository journeyRepository,
+      CarPoolingEventPublisher eventPublisher,
+      AdmissionControl admission,
+      PendingExpiry expiry,
+      ReassignmentDispatcher reassignments,
+      JourneyTimings timings) {
     this.carRepository = carRepository;
     this.journeyRepository = journeyRepository;
-    this.carLocks = new CarLockRegistry();
+    this.eventPublisher = eventPublisher;
+    this.admission = admission;
+    this.expiry = expiry;
+    this.reassignments = reassignments;
+    this.timings = timings;
+    reassignments.bind(this::reassignFreedCars);
   }
 
   /**
@@ -52,15 +120,23 @@ public class CarPoolingService {
    * <p>This is treated as an administrative operation. It clears the car fleet and all journeys.
    */
   public void resetCars(List<Car> newCars) {
+    final FleetResetEvent flight = new FleetResetEvent();
+    flight.begin();
+    final long lockRequested = flight.now();
     final Lock writeLock = this.stateLock.writeLock();
     writeLock.lock();
+    final long lockAcquired = flight.now();
     try {
       this.validateCars(newCars);
       this.carRepository.reset(newCars);
       this.journeyRepository.clearAll();
+      this.expiry.clear();
+      this.reassignments.clear();
+      this.eventPublisher.publish(new FleetReset(newCars.size()));
     } finally {
       writeLock.unlock();
     }
+    flight.record(newCars.size(), false, lockRequested, lockAcquired, flight.now());
   }
 
   /**
@@ -68,8 +144,12 @@ public class CarPoolingService {
    *
    * <p>Validates group size; checks for duplicate IDs; tries to assign the journey to a suitable
    * car using a best-fit strategy; otherwise stores it as pending.
+   *
+   * @throws BacklogFullException if the journey would have to wait but the backlog is full
    */
   public void newJourney(Journey journey) {
+    final JourneyQueuedEvent flight = new JourneyQueuedEvent();
+    flight.begin();
     final Lock readLock = this.stateLock.readLock();
     readLock.lock();
     try {
@@ -79,26 +159,43 @@ public class CarPoolingService {
       synchronized (this.journeyCreationLock) {
         this.ensureJourneyIdIsUnique(journey.getId());
 
-        // Try best-fit assignment using optimistic scan + per-car lock.
-        final Optional<Car> selectedCar = this.findBestFitCar(journey.getPassengers());
-        if (selectedCar.isPresent()) {
-          final Car car = selectedCar.get();
-          final ReentrantLock carLock = this.carLocks.lockFor(car.getId());
-          carLock.lock();
-          try {
-            // Re-check under lock.
-            if (car.getAvailableSeats() >= journey.getPassengers()) {
-              this.assignJourneyToCar(journey, car);
-              this.journeyRepository.save(journey);
-              return;
-            }
-          } finally {
-            carLock.unlock();
-          }
+        if (this.assignToBestFit(journey)) {
+          return;
         }
 
-        // No car available right now -> mark as pending.
+        // No car available right now -> mark as pending, if the backlog has room. Creation is
+        // serialized here, so the backlog can only shrink between the check and the save.
+        final int backlog = this.journeyRepository.countPending();
+        final int backlogOfSize = this.journeyRepository.countPending(journey.getPassengers());
+        this.admission.checkBacklog(journey.getPassengers(), backlog, backlogOfSize);
+
+        // The event is published before the journey becomes visible to reassignment, so
+        // JourneyQueued always precedes the JourneyAssigned of the same journey.
+        this.eventPublisher.publish(new JourneyQueued(journey.getId(), journey.getPassengers()));
         this.journeyRepository.savePending(journey);
+        this.expiry.track(journey);
+        flight.record(journey, backlog + 1, backlogOfSize + 1);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Seats a new journey only if a car fits it right now; never queues it.
+   *
+   * <p>Used by partitioned clusters to try other nodes before queueing a journey.
+   *
+   * @return true if the journey was assigned, false if no car can take it
+   */
+  public boolean assignIfFits(Journey journey) {
+    final Lock readLock = this.stateLock.readLock();
+    readLock.lock();
+    try {
+      this.validateGroupSize(journey.getPassengers());
+      synchronized (this.journeyCreationLock) {
+        this.ensureJourneyIdIsUnique(journey.getId());
+        return this.assignToBestFit(journey);
       }
     } finally {
       readLock.unlock();
@@ -109,34 +206,54 @@ public class CarPoolingService {
    * Drops off a journey.
    *
    * <p>* Frees the seats in its assigned car (if any), removes the journey from the * repository
-   * and attempts to reassign pending journeys into the freed car.
+   * and attempts to reassign pending journeys into the freed car. In asynchronous mode that last
+   * step is left to the {@link ReassignmentDispatcher}.
    *
    * @return the car that the journey was assigned to, or null if it was pending.
    */
   public Car dropoff(int journeyId) {
+    final DropoffEvent flight = new DropoffEvent();
+    flight.begin();
     final Lock readLock = this.stateLock.readLock();
     readLock.lock();
     try {
+      // Removing returns the latest version, so a journey seated concurrently frees its seats.
       final Journey journey =
           this.journeyRepository
-              .findById(journeyId)
+              .deleteById(journeyId)
               .orElseThrow(() -> new JourneyNotFoundException("journey not found"));
 
-      final Car car = journey.getAssignedTo();
-      this.journeyRepository.deleteById(journeyId);
+      this.admission.recordDropoffs(1);
 
+      final Car car = journey.getAssignedTo();
       if (car == null) {
+        this.eventPublisher.publish(
+            new JourneyDroppedOff(journeyId, journey.getPassengers(), null, null));
         return null;
       }
 
-      final ReentrantLock carLock = this.carLocks.lockFor(car.getId());
+      final ReentrantLock carLock = car.lock();
+      final long lockRequested = flight.now();
       carLock.lock();
+      final long lockAcquired = flight.now();
       try {
         // Free seats.
         car.setAvailableSeats(car.getAvailableSeats() + journey.getPassengers());
+        this.eventPublisher.publish(
+            new JourneyDroppedOff(
+                journeyId, journey.getPassengers(), car.getId(), car.getAvailableSeats()));
+        this.timings.droppedOff(journey);
 
         // Try to reassign pending journeys that now fit.
-        this.reassignUnderCarLock(car);
+        final boolean deferred = this.reassignments.isAsync();
+        int reassigned = 0;
+        if (deferred) {
+          this.reassignments.submit(car);
+        } else if (this.reassignUnderCarLock(car)) {
+          reassigned = 1;
+        }
+        flight.record(
+            car, 1, journey.getPassengers(), reassigned, deferred, lockRequested, lockAcquired);
       } finally {
         carLock.unlock();
       }
@@ -148,23 +265,371 @@ public class CarPoolingService {
   }
 
   /**
-   * Returns the car currently assigned to a given journey.
+   * Returns the current version of the car assigned to a given journey, without taking any lock.
    *
    * @return the assigned car, or null if the journey is pending.
    */
-  public Car locate(int journeyId) {
+  public CarSnapshot locate(int journeyId) {
+    final Car car =
+        this.journeyRepository
+            .findById(journeyId)
+            .orElseThrow(() -> new JourneyNotFoundException("journey not found"))
+            .getAssignedTo();
+    return car == null ? null : car.snapshot();
+  }
+
+  /**
+   * Fleet and backlog counters. Takes no lock and costs the same whatever the size of the fleet or
+   * the backlog, so it is cheap enough to scrape every second.
+   */
+  public FleetStatistics statistics() {
+    final int[] carsByFreeSeats = new int[Car.MAX_SEATS + 1];
+    for (int free = 0; free < carsByFreeSeats.length; free++) {
+      carsByFreeSeats[free] = this.carRepository.countCars(free);
+    }
+    final int[] pendingByGroupSize = new int[Journey.MAX_PASSENGERS + 1];
+    for (int size = Journey.MIN_PASSENGERS; size < pendingByGroupSize.length; size++) {
+      pendingByGroupSize[size] = this.journeyRepository.countPending(size);
+    }
+    return new FleetStatistics(
+        carsByFreeSeats, pendingByGroupSize, this.journeyRepository.countAssigned());
+  }
+
+  /**
+   * Locates several journeys without taking any lock.
+   *
+   * @return for every known id (in request order), the assigned car or an empty optional if the
+   *     journey is pending; unknown ids are absent from the map.
+   */
+  public Map<Integer, Optional<CarSnapshot>> locateAll(Collection<Integer> journeyIds) {
+    final Map<Integer, Optional<CarSnapshot>> located = new LinkedHashMap<>();
+    for (final Integer journeyId : journeyIds) {
+      this.journeyRepository
+          .findById(journeyId)
+          .ifPresent(
+              j ->
+                  located.put(
+                      journeyId, Optional.ofNullable(j.getAssignedTo()).map(Car::snapshot)));
+    }
+    return located;
+  }
+
+  /**
+   * Drops off several journeys at once.
+   *
+   * <p>Journeys are grouped by car: each affected car is locked once, has the seats of all its
+   * departing groups freed in one pass, and then gets a single reassignment sweep that seats as
+   * many pending journeys as now fit. The pending queue is read once for the whole batch.
+   *
+   * @return the ids that were dropped off, in request order; unknown ids are skipped.
+   */
+  public List<Integer> dropoffAll(Collection<Integer> journeyIds) {
     final Lock readLock = this.stateLock.readLock();
     readLock.lock();
     try {
-      return this.journeyRepository
-          .findById(journeyId)
-          .orElseThrow(() -> new JourneyNotFoundException("journey not found"))
-          .getAssignedTo();
+      final List<Integer> droppedOff = new ArrayList<>(journeyIds.size());
+      final Map<Car, List<Journey>> byCar = new LinkedHashMap<>();
+      for (final Integer journeyId : new LinkedHashSet<>(journeyIds)) {
+        final Optional<Journey> found = this.journeyRepository.deleteById(journeyId);
+        if (found.isEmpty()) {
+          continue;
+        }
+        final Journey journey = found.get();
+        droppedOff.add(journeyId);
+
+        final Car car = journey.getAssignedTo();
+        if (car == null) {
+          this.eventPublisher.publish(
+              new JourneyDroppedOff(journeyId, journey.getPassengers(), null, null));
+        } else {
+          byCar.computeIfAbsent(car, c -> new ArrayList<>()).add(journey);
+        }
+      }
+      this.admission.recordDropoffs(droppedOff.size());
+      if (byCar.isEmpty()) {
+        return droppedOff;
+      }
+
+      final List<Journey> pending =
+          this.reassignments.isAsync()
+              ? null
+              : new ArrayList<>(this.journeyRepository.findPending());
+      for (final Map.Entry<Car, List<Journey>> entry : byCar.entrySet()) {
+        final Car car = entry.getKey();
+        final DropoffEvent flight = new DropoffEvent();
+        flight.begin();
+        final ReentrantLock carLock = car.lock();
+        final long lockRequested = flight.now();
+        carLock.lock();
+        final long lockAcquired = flight.now();
+        try {
+          int seatsFreed = 0;
+          for (final Journey journey : entry.getValue()) {
+            seatsFreed += journey.getPassengers();
+            car.setAvailableSeats(car.getAvailableSeats() + journey.getPassengers());
+            this.eventPublisher.publish(
+                new JourneyDroppedOff(
+                    journey.getId(),
+                    journey.getPassengers(),
+                    car.getId(),
+                    car.getAvailableSeats()));
+            this.timings.droppedOff(journey);
+          }
+          int reassigned = 0;
+          if (pending == null) {
+            this.reassignments.submit(car);
+          } else {
+            reassigned = this.fillUnderCarLock(car, pending);
+          }
+          flight.record(
+              car,
+              entry.getValue().size(),
+              seatsFreed,
+              reassigned,
+              pending == null,
+              lockRequested,
+              lockAcquired);
+        } finally {
+          carLock.unlock();
+        }
+      }
+      return droppedOff;
     } finally {
       readLock.unlock();
     }
   }
 
+  /**
+   * Seats as many pending journeys as the free seats of the whole fleet allow, in one pass. Seated
+   * groups are never moved.
+   *
+   * <p>Arrival best-fit and the one-journey reassignment on dropoff leave scattered free seats
+   * behind; this pass packs them with best-fit decreasing: pending journeys are taken from the
+   * largest group down (oldest first within a size), and each goes to the car whose free seats fit
+   * it most tightly, found through a {@link SeatBuckets} index built from one lock-free scan of the
+   * fleet. Every seat is re-checked under the car lock and claimed with the same compare-and-set as
+   * any reassignment.
+   *
+   * @return the number of journeys seated
+   */
+  public int rebalance() {
+    final Lock readLock = this.stateLock.readLock();
+    readLock.lock();
+    try {
+      final List<Journey> pending = new ArrayList<>(this.journeyRepository.findPending());
+      if (pending.isEmpty()) {
+        return 0;
+      }
+      final SeatBuckets buckets = new SeatBuckets();
+      for (final Car car : this.carRepository.findAll()) {
+        buckets.add(car, car.getAvailableSeats());
+      }
+      // The sort is stable, so journeys of the same size keep their queue order.
+      pending.sort(Comparator.comparingInt(Journey::getPassengers).reversed());
+
+      int seated = 0;
+      for (final Journey journey : pending) {
+        if (buckets.maxFreeSeats() == 0) {
+          break;
+        }
+        final JourneyAssignedEvent flight = new JourneyAssignedEvent();
+        flight.begin();
+        Car car;
+        while ((car = buckets.takeBestFit(journey.getPassengers())) != null) {
+          final ReentrantLock carLock = car.lock();
+          carLock.lock();
+          try {
+            final boolean fits = car.getAvailableSeats() >= journey.getPassengers();
+            if (fits && this.seatPending(journey, car, flight, 0)) {
+              seated++;
+            }
+            // Filed again under what it really has left, which may differ from the scan.
+            buckets.add(car, car.getAvailableSeats());
+            if (fits) {
+              // Seated here, or seated or dropped off elsewhere since the scan.
+              break;
+            }
+          } finally {
+            carLock.unlock();
+          }
+        }
+      }
+      return seated;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Runs the reassignments queued by asynchronous dropoffs on the calling thread and returns once
+   * none is left. No-op in synchronous mode.
+   */
+  public void flushReassignments() {
+    this.reassignments.flush();
+  }
+
+  /**
+   * Drops off the pending journeys that waited longer than their time-to-live, as if their groups
+   * had given up. Journeys seated in the meantime are not touched.
+   *
+   * <p>Each expired journey is published as a {@link JourneyDroppedOff} without a car, so followers
+   * and waiting clients see it leave like any other dropoff.
+   *
+   * @return the number of journeys that expired
+   */
+  public int expirePending() {
+    if (!this.expiry.isEnabled()) {
+      return 0;
+    }
+    final Lock readLock = this.stateLock.readLock();
+    readLock.lock();
+    try {
+      final List<Journey> due = this.expiry.due();
+      if (due.isEmpty()) {
+        return 0;
+      }
+      final List<Journey> expired = this.journeyRepository.deletePending(due);
+      for (final Journey journey : expired) {
+        this.eventPublisher.publish(
+            new JourneyDroppedOff(journey.getId(), journey.getPassengers(), null, null));
+      }
+      return expired.size();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Copies the whole state between two mutations (under the write lock).
+   *
+   * @param position sampled while mutations are excluded, so it tells exactly which of the
+   *     published events the snapshot already reflects
+   */
+  public FleetSnapshot snapshot(LongSupplier position) {
+    final Lock writeLock = this.stateLock.writeLock();
+    writeLock.lock();
+    try {
+      final Map<Integer, Car> cars = new LinkedHashMap<>();
+      for (final Car car : this.carRepository.findAll()) {
+        final Car copy = new Car(car.getId(), car.getMaxSeats());
+        copy.setAvailableSeats(car.getAvailableSeats());
+        cars.put(copy.getId(), copy);
+      }
+      final List<Journey> journeys = new ArrayList<>();
+      for (final Journey journey : this.journeyRepository.findAll()) {
+        if (journey.getAssignedTo() != null) {
+          journeys.add(journey.assignTo(cars.get(journey.getAssignedTo().getId())));
+        }
+      }
+      // Pending journeys are immutable and reference no car, so they are shared as they are.
+      journeys.addAll(this.journeyRepository.findPending());
+      return new FleetSnapshot(position.getAsLong(), new ArrayList<>(cars.values()), journeys);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the whole state with a snapshot taken by {@link #snapshot(LongSupplier)}, typically on
+   * another instance. Local listeners are told with a {@link FleetReset}.
+   */
+  public void restore(FleetSnapshot snapshot) {
+    final FleetResetEvent flight = new FleetResetEvent();
+    flight.begin();
+    final long lockRequested = flight.now();
+    final Lock writeLock = this.stateLock.writeLock();
+    writeLock.lock();
+    final long lockAcquired = flight.now();
+    try {
+      this.carRepository.reset(snapshot.getCars());
+      this.journeyRepository.clearAll();
+      this.expiry.clear();
+      this.reassignments.clear();
+      for (final Journey journey : snapshot.getJourneys()) {
+        if (journey.getAssignedTo() != null) {
+          this.journeyRepository.save(journey);
+        } else {
+          this.journeyRepository.savePending(journey);
+        }
+      }
+      this.eventPublisher.publish(new FleetReset(snapshot.getCars().size()));
+    } finally {
+      writeLock.unlock();
+    }
+    flight.record(snapshot.getCars().size(), true, lockRequested, lockAcquired, flight.now());
+  }
+
+  /**
+   * Applies a state transition that was decided by another instance, without running any assignment
+   * logic, and republishes it locally.
+   *
+   * <p>Events carry absolute seat counts, so applying the events of a car in publication order
+   * reproduces its state. A {@link FleetReset} carries no fleet and cannot be replayed: the caller
+   * has to {@link #restore(FleetSnapshot)} instead.
+   *
+   * <p>Neither replayed nor restored journeys are tracked for expiry: the instance that queued them
+   * expires them and its dropoff is replayed like any other.
+   */
+  public void replay(CarPoolingEvent event) {
+    final Lock readLock = this.stateLock.readLock();
+    readLock.lock();
+    try {
+      if (event instanceof JourneyQueued e) {
+        this.journeyRepository.savePending(new Journey(e.getJourneyId(), e.getPassengers()));
+      } else if (event instanceof JourneyAssigned e) {
+        final Car car = this.replicatedCar(e.getCarId());
+        final ReentrantLock carLock = car.lock();
+        carLock.lock();
+        try {
+          final Journey journey =
+              this.journeyRepository
+                  .findById(e.getJourneyId())
+                  .orElseGet(() -> new Journey(e.getJourneyId(), e.getPassengers()));
+          this.journeyRepository.save(journey.assignTo(car));
+          car.setAvailableSeats(e.getAvailableSeats());
+        } finally {
+          carLock.unlock();
+        }
+      } else if (event instanceof JourneyDroppedOff e) {
+        this.journeyRepository.deleteById(e.getJourneyId());
+        if (e.getCarId() != null) {
+          final Car car = this.replicatedCar(e.getCarId());
+          final ReentrantLock carLock = car.lock();
+          carLock.lock();
+          try {
+            car.setAvailableSeats(e.getAvailableSeats());
+          } finally {
+            carLock.unlock();
+          }
+        }
+      } else {
+        throw new IllegalArgumentException("cannot replay " + event.getType());
+      }
+      this.eventPublisher.publish(event);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Validates cars before resetting. Ensures seat counts are within allowed bounds and that car IDs
+   * are unique.
+   *
+   * <p>Public so that a fleet can be checked as a whole before it is split across nodes.
+   */
+  public void validateCars(List<Car> cars) {
+    final Set<Integer> ids = new HashSet<>();
+
+    for (final Car car : cars) {
+      if (car.getMaxSeats() < Car.MIN_SEATS || car.getMaxSeats() > Car.MAX_SEATS) {
+        throw new InvalidCarSeatsException("invalid seats");
+      }
+      if (!ids.add(car.getId())) {
+        throw new DuplicatedIdException("IDs are duplicated");
+      }
+    }
+  }
+
   // -------------------------------------------------------------------------
   // Private helpers
   // -------------------------------------------------------------------------
@@ -173,53 +638,138 @@ public class CarPoolingService {
    * Best-fit strategy: among all cars that can seat the group, picks the one with the least
    * remaining available seats to minimize wasted capacity.
    *
-   * <p>Concurrency note: an optimistic scan without locks is used to find a candidate; locking is
-   * only applied when mutating a specific car.
+   * <p>Concurrency note: an optimistic scan without locks (over the repository's flat seat table)
+   * is used to find a candidate; locking is only applied when mutating a specific car.
    */
   private Optional<Car> findBestFitCar(int requiredSeats) {
-    return this.carRepository.findAll().stream()
-        .filter(c -> c.getAvailableSeats() >= requiredSeats)
-        .min(Comparator.comparingInt(c -> c.getAvailableSeats() - requiredSeats));
+    return this.carRepository.findBestFit(requiredSeats);
+  }
+
+  /**
+   * Tries best-fit assignment using an optimistic scan plus the per-car lock.
+   *
+   * <p>Precondition: the caller must hold the journey creation lock.
+   */
+  private boolean assignToBestFit(Journey journey) {
+    final JourneyAssignedEvent flight = new JourneyAssignedEvent();
+    flight.begin();
+    final Optional<Car> selectedCar = this.findBestFitCar(journey.getPassengers());
+    if (selectedCar.isPresent()) {
+      final Car car = selectedCar.get();
+      final ReentrantLock carLock = car.lock();
+      carLock.lock();
+      try {
+        // Re-check under lock.
+        if (car.getAvailableSeats() >= journey.getPassengers()) {
+          final Journey seated = journey.assignTo(car);
+          car.setAvailableSeats(car.getAvailableSeats() - journey.getPassengers());
+          this.journeyRepository.save(seated);
+          this.publishAssigned(seated, car);
+          flight.record(seated, car, false, 0);
+          return true;
+        }
+      } finally {
+        carLock.unlock();
+      }
+    }
+    return false;
   }
 
   /**
    * Reassigns at most one pending journey into the given car.
    *
    * <p>Precondition: the caller must already hold the car lock.
+   *
+   * @return true if a journey was seated
    */
-  private void reassignUnderCarLock(Car car) {
+  private boolean reassignUnderCarLock(Car car) {
+    final JourneyAssignedEvent flight = new JourneyAssignedEvent();
+    flight.begin();
     // Preserve "oldest pending" semantics by iterating the pending snapshot in
     // order.
     final List<Journey> pending = this.journeyRepository.findPending();
+    int scanned = 0;
     for (final Journey j : pending) {
-      if (j.getPassengers() <= car.getAvailableSeats()) {
-        this.assignJourneyToCar(j, car);
-        this.journeyRepository.save(j); // will also remove it from pending in the repository
-        return;
+      scanned++;
+      if (j.getPassengers() <= car.getAvailableSeats()
+          && this.seatPending(j, car, flight, scanned)) {
+        return true;
       }
     }
+    return false;
   }
 
   /**
-   * Validates cars before resetting. Ensures seat counts are within allowed bounds and that car IDs
-   * are unique.
+   * Seats pending journeys, oldest first, into the given car until no remaining one fits. Journeys
+   * seated here, or found seated or gone meanwhile, are removed from the caller's pending snapshot
+   * so that the next car of the same sweep does not consider them again.
+   *
+   * <p>Precondition: the caller must already hold the car lock.
+   *
+   * @return the number of journeys seated here
    */
-  private void validateCars(List<Car> cars) {
-    final Set<Integer> ids = new HashSet<>();
-
-    for (final Car car : cars) {
-      if (car.getMaxSeats() < 4 || car.getMaxSeats() > 6) {
-        throw new InvalidCarSeatsException("invalid seats");
+  private int fillUnderCarLock(Car car, List<Journey> pending) {
+    int seated = 0;
+    JourneyAssignedEvent flight = new JourneyAssignedEvent();
+    flight.begin();
+    int scanned = 0;
+    final Iterator<Journey> it = pending.iterator();
+    while (it.hasNext() && car.getAvailableSeats() > 0) {
+      final Journey j = it.next();
+      scanned++;
+      if (j.getPassengers() <= car.getAvailableSeats()) {
+        // Either seated here or, if the swap fails, by another operation since the snapshot.
+        if (this.seatPending(j, car, flight, scanned)) {
+          seated++;
+          flight = new JourneyAssignedEvent();
+          flight.begin();
+          scanned = 0;
+        }
+        it.remove();
       }
-      if (!ids.add(car.getId())) {
-        throw new DuplicatedIdException("IDs are duplicated");
+    }
+    return seated;
+  }
+
+  /**
+   * Seats pending journeys, oldest first, into cars whose seats were freed by asynchronous
+   * dropoffs. The pending queue is read once for the whole batch.
+   */
+  private void reassignFreedCars(List<Car> cars) {
+    final Lock readLock = this.stateLock.readLock();
+    readLock.lock();
+    try {
+      final List<Journey> pending = new ArrayList<>(this.journeyRepository.findPending());
+      for (final Car car : cars) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        // Skip cars of a fleet that was replaced since they were queued.
+        if (this.carRepository.findById(car.getId()).orElse(null) != car) {
+          continue;
+        }
+        final ReentrantLock carLock = car.lock();
+        carLock.lock();
+        try {
+          this.fillUnderCarLock(car, pending);
+        } finally {
+          carLock.unlock();
+        }
       }
+    } finally {
+      readLock.unlock();
     }
   }
 
+  private Car replicatedCar(int carId) {
+    return this.carRepository
+        .findById(carId)
+        .orElseThrow(() -> new IllegalStateException("replicated event for unknown car " + carId));
+  }
+
   /** Ensures the group size is between 1 and 6 passengers. */
   private void validateGroupSize(int passengers) {
-    if (passengers < 1 || passengers > 6) {
+    if (passengers < Journey.MIN_PASSENGERS || passengers > Journey.MAX_PASSENGERS) {
       throw new InvalidGroupSizeException("invalid group size");
     }
   }
@@ -233,11 +783,38 @@ public class CarPoolingService {
   }
 
   /**
-   * Assigns the journey to the given car and updates seat availability. Precondition: The caller
-   * must hold the car lock.
+   * Seats a pending journey in the given car, unless another operation seated or dropped it off
+   * since it was read. Precondition: The caller must hold the car lock.
+   *
+   * @param flight begun when the search for this seat started
+   * @param scanLength pending journeys examined to find this one, or 0 if a car was searched for it
+   * @return true if the journey was seated here
+   */
+  private boolean seatPending(
+      Journey pending, Car car, JourneyAssignedEvent flight, int scanLength) {
+    final Journey seated = pending.assignTo(car);
+    if (!this.journeyRepository.replace(pending, seated)) {
+      return false;
+    }
+    car.setAvailableSeats(car.getAvailableSeats() - pending.getPassengers());
+    this.publishAssigned(seated, car);
+    flight.record(seated, car, true, scanLength);
+    return true;
+  }
+
+  /**
+   * Publishes the assignment once it is persisted, so consumers reacting to the event already see
+   * it through {@link #locate(int)}, and records how long the journey waited. Precondition: The
+   * caller must hold the car lock.
    */
-  private void assignJourneyToCar(Journey journey, Car car) {
-    journey.setAssignedTo(car);
-    car.setAvailableSeats(car.getAvailableSeats() - journey.getPassengers());
+  private void publishAssigned(Journey journey, Car car) {
+    this.eventPublisher.publish(
+        new JourneyAssigned(
+            journey.getId(),
+            journey.getPassengers(),
+            car.getId(),
+            car.getMaxSeats(),
+            car.getAvailableSeats()));
+    this.timings.seated(journey);
   }
 }
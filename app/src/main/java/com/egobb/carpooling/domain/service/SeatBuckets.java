@@ -0,0 +1,55 @@
+package com.egobb.carpooling.domain.service;
+
+import com.egobb.carpooling.domain.model.Car;
+import java.util.ArrayDeque;
+
+/**
+ * Cars indexed by free seats: bucket {@code n} holds the cars with exactly {@code n} free seats
+ * when they were last filed. Finding the tightest car for a group checks at most {@link
+ * Car#MAX_SEATS} buckets, whatever the fleet size.
+ *
+ * <p>Not thread-safe and only a hint: callers re-check a car under its lock before seating anyone.
+ */
+final class SeatBuckets {
+
+  private final ArrayDeque<Car>[] buckets;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  SeatBuckets() {
+    this.buckets = new ArrayDeque[Car.MAX_SEATS + 1];
+    for (int seats = 1; seats <= Car.MAX_SEATS; seats++) {
+      this.buckets[seats] = new ArrayDeque<>();
+    }
+  }
+
+  /** Files a car under its free seats; full cars are left out. */
+  void add(Car car, int freeSeats) {
+    if (freeSeats > 0) {
+      this.buckets[Math.min(freeSeats, Car.MAX_SEATS)].add(car);
+    }
+  }
+
+  /**
+   * Removes and returns a car with the fewest free seats that still fit {@code people}, or null if
+   * no filed car has that many.
+   */
+  Car takeBestFit(int people) {
+    for (int seats = Math.max(1, people); seats <= Car.MAX_SEATS; seats++) {
+      final Car car = this.buckets[seats].poll();
+      if (car != null) {
+        return car;
+      }
+    }
+    return null;
+  }
+
+  /** Largest number of free seats of any filed car. */
+  int maxFreeSeats() {
+    for (int seats = Car.MAX_SEATS; seats >= 1; seats--) {
+      if (!this.buckets[seats].isEmpty()) {
+        return seats;
+      }
+    }
+    return 0;
+  }
+}
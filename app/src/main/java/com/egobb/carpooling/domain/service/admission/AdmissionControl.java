@@ -0,0 +1,93 @@
+package com.egobb.carpooling.domain.service.admission;
+
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds the pending backlog, globally and per group size, so memory and the cost of every
+ * reassignment scan stay bounded when arrivals outpace the fleet.
+ *
+ * <p>Only journeys that would have to wait are checked: a journey that fits a car right now is
+ * always admitted. Rejections carry a Retry-After estimated from the observed dropoff rate, since
+ * dropoffs are what let pending journeys leave the backlog.
+ */
+@Component
+public class AdmissionControl {
+
+  private final int maxPending;
+  private final int[] maxPendingBySize;
+  private final Duration maxRetryAfter;
+  private final DropoffRate dropoffRate;
+
+  @Autowired
+  public AdmissionControl(AdmissionProperties properties) {
+    this(properties, System::nanoTime);
+  }
+
+  AdmissionControl(AdmissionProperties properties, LongSupplier nanoClock) {
+    this.maxPending = properties.getMaxPending();
+    this.maxPendingBySize = new int[Journey.MAX_PASSENGERS + 1];
+    properties
+        .getMaxPendingPerGroupSize()
+        .forEach(
+            (size, limit) -> {
+              if (size < Journey.MIN_PASSENGERS || size > Journey.MAX_PASSENGERS) {
+                throw new IllegalArgumentException("no group size " + size);
+              }
+              this.maxPendingBySize[size] = limit;
+            });
+    this.maxRetryAfter = properties.getMaxRetryAfter();
+    this.dropoffRate = new DropoffRate(properties.getDropoffRateWindow(), nanoClock);
+  }
+
+  /** Admits every journey; used when no limits are configured. */
+  public static AdmissionControl unlimited() {
+    return new AdmissionControl(new AdmissionProperties());
+  }
+
+  /**
+   * Checks that one more journey of the given size may wait.
+   *
+   * @param pending journeys waiting right now, all sizes
+   * @param pendingOfSize journeys of the same size waiting right now
+   * @throws BacklogFullException if a limit is reached
+   */
+  public void checkBacklog(int passengers, int pending, int pendingOfSize) {
+    if (this.maxPending > 0 && pending >= this.maxPending) {
+      throw new BacklogFullException(
+          "pending backlog is full", false, this.retryAfter(pending - this.maxPending + 1));
+    }
+    final int limit = this.maxPendingBySize[passengers];
+    if (limit > 0 && pendingOfSize >= limit) {
+      throw new BacklogFullException(
+          "pending backlog of groups of " + passengers + " is full",
+          true,
+          this.retryAfter(pendingOfSize - limit + 1));
+    }
+  }
+
+  public void recordDropoffs(int dropoffs) {
+    this.dropoffRate.mark(dropoffs);
+  }
+
+  /** Recent dropoffs per second (moving average). */
+  public double dropoffsPerSecond() {
+    return this.dropoffRate.perSecond();
+  }
+
+  /** Time for the recent dropoff rate to free {@code excess} backlog slots, within bounds. */
+  private Duration retryAfter(int excess) {
+    final double rate = this.dropoffRate.perSecond();
+    if (rate <= 0) {
+      return this.maxRetryAfter;
+    }
+    final long seconds = (long) Math.ceil(excess / rate);
+    return seconds >= this.maxRetryAfter.toSeconds()
+        ? this.maxRetryAfter
+        : Duration.ofSeconds(Math.max(1, seconds));
+  }
+}
@@ -0,0 +1,55 @@
+package com.egobb.carpooling.domain.service.admission;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Limits of the pending backlog ({@code carpooling.admission.*}). 0 means unlimited. */
+@ConfigurationProperties(prefix = "carpooling.admission")
+public class AdmissionProperties {
+
+  /** Largest number of pending journeys, all group sizes together. */
+  private int maxPending;
+
+  /** Largest number of pending journeys per group size, e.g. {@code {6: 1000}}. */
+  private Map<Integer, Integer> maxPendingPerGroupSize = new HashMap<>();
+
+  /** Upper bound of the Retry-After given to rejected journeys. */
+  private Duration maxRetryAfter = Duration.ofSeconds(60);
+
+  /** Time constant of the moving average of the dropoff rate used for Retry-After. */
+  private Duration dropoffRateWindow = Duration.ofMinutes(1);
+
+  public int getMaxPending() {
+    return this.maxPending;
+  }
+
+  public void setMaxPending(int maxPending) {
+    this.maxPending = maxPending;
+  }
+
+  public Map<Integer, Integer> getMaxPendingPerGroupSize() {
+    return this.maxPendingPerGroupSize;
+  }
+
+  public void setMaxPendingPerGroupSize(Map<Integer, Integer> maxPendingPerGroupSize) {
+    this.maxPendingPerGroupSize = maxPendingPerGroupSize;
+  }
+
+  public Duration getMaxRetryAfter() {
+    return this.maxRetryAfter;
+  }
+
+  public void setMaxRetryAfter(Duration maxRetryAfter) {
+    this.maxRetryAfter = maxRetryAfter;
+  }
+
+  public Duration getDropoffRateWindow() {
+    return this.dropoffRateWindow;
+  }
+
+  public void setDropoffRateWindow(Duration dropoffRateWindow) {
+    this.dropoffRateWindow = dropoffRateWindow;
+  }
+}
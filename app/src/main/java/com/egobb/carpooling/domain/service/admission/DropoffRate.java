@@ -0,0 +1,71 @@
+package com.egobb.carpooling.domain.service.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially weighted moving average of dropoffs per second.
+ *
+ * <p>Recording is a {@link LongAdder} increment. The average is folded in lazily, one fixed tick at
+ * a time, by whichever thread first notices that a tick has elapsed, so no background thread is
+ * needed and idle periods decay the rate towards zero.
+ */
+final class DropoffRate {
+
+  private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** After this many idle ticks the rate is zero for all practical purposes. */
+  private static final long MAX_CATCH_UP_TICKS = 10_000;
+
+  private final LongAdder uncounted = new LongAdder();
+  private final LongSupplier nanoClock;
+  private final AtomicLong lastTick;
+  private final double alpha;
+
+  /** Written only while holding this object's monitor, once per tick. */
+  private volatile double perSecond;
+
+  private boolean initialized;
+
+  DropoffRate(Duration window, LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    this.lastTick = new AtomicLong(nanoClock.getAsLong());
+    this.alpha = 1 - Math.exp(-(double) TICK_NANOS / Math.max(TICK_NANOS, window.toNanos()));
+  }
+
+  void mark(long dropoffs) {
+    this.tickIfDue();
+    this.uncounted.add(dropoffs);
+  }
+
+  double perSecond() {
+    this.tickIfDue();
+    return this.perSecond;
+  }
+
+  private void tickIfDue() {
+    final long previous = this.lastTick.get();
+    final long age = this.nanoClock.getAsLong() - previous;
+    if (age < TICK_NANOS) {
+      return;
+    }
+    final long ticks = age / TICK_NANOS;
+    if (this.lastTick.compareAndSet(previous, previous + ticks * TICK_NANOS)) {
+      // Only the thread that advanced lastTick folds these ticks in.
+      this.fold(this.uncounted.sumThenReset(), Math.min(ticks, MAX_CATCH_UP_TICKS));
+    }
+  }
+
+  /** Folds one tick with {@code count} dropoffs, then {@code ticks - 1} idle ones. */
+  private synchronized void fold(long count, long ticks) {
+    double rate = this.initialized ? this.perSecond + this.alpha * (count - this.perSecond) : count;
+    for (long i = 1; i < ticks; i++) {
+      rate -= this.alpha * rate;
+    }
+    this.perSecond = rate;
+    this.initialized = true;
+  }
+}
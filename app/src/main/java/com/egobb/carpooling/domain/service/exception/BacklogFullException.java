@@ -0,0 +1,27 @@
+package com.egobb.carpooling.domain.service.exception;
+
+import java.time.Duration;
+
+/** A journey would have to wait, but the pending backlog is already at its configured limit. */
+public class BacklogFullException extends RuntimeException {
+  private static final long serialVersionUID = 6150958414935112707L;
+
+  private final boolean groupSizeLimit;
+  private final transient Duration retryAfter;
+
+  public BacklogFullException(String message, boolean groupSizeLimit, Duration retryAfter) {
+    super(message);
+    this.groupSizeLimit = groupSizeLimit;
+    this.retryAfter = retryAfter;
+  }
+
+  /** True if only the backlog of this group size is full, false if the whole backlog is. */
+  public boolean isGroupSizeLimit() {
+    return this.groupSizeLimit;
+  }
+
+  /** When a new attempt is likely to be admitted, estimated from the recent dropoff rate. */
+  public Duration getRetryAfter() {
+    return this.retryAfter;
+  }
+}
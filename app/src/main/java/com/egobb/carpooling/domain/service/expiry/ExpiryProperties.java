@@ -0,0 +1,31 @@
+package com.egobb.carpooling.domain.service.expiry;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Time-to-live of pending journeys ({@code carpooling.expiry.*}). */
+@ConfigurationProperties(prefix = "carpooling.expiry")
+public class ExpiryProperties {
+
+  /** How long a journey may wait for a car before it is dropped off. 0 disables expiry. */
+  private Duration pendingTtl = Duration.ZERO;
+
+  /** Granularity of the timer wheel: journeys expire up to one tick late. */
+  private Duration tick = Duration.ofSeconds(1);
+
+  public Duration getPendingTtl() {
+    return this.pendingTtl;
+  }
+
+  public void setPendingTtl(Duration pendingTtl) {
+    this.pendingTtl = pendingTtl;
+  }
+
+  public Duration getTick() {
+    return this.tick;
+  }
+
+  public void setTick(Duration tick) {
+    this.tick = tick;
+  }
+}
@@ -0,0 +1,92 @@
+package com.egobb.carpooling.domain.service.expiry;
+
+import com.egobb.carpooling.domain.model.Journey;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers when each pending journey runs out of time to wait.
+ *
+ * <p>Journeys are filed in a {@link TimerWheel} when they are queued and never touched again: a
+ * journey seated or dropped off meanwhile is simply no longer the stored pending version when it
+ * falls due, and the repository skips it. Finding what expired therefore costs O(expired), not a
+ * scan of the whole pending queue.
+ */
+@Component
+public class PendingExpiry {
+
+  private final long ttlNanos;
+  private final long tickNanos;
+  private final LongSupplier nanoClock;
+  private final TimerWheel<Journey> wheel;
+
+  @Autowired
+  public PendingExpiry(ExpiryProperties properties) {
+    this(properties, System::nanoTime);
+  }
+
+  PendingExpiry(ExpiryProperties properties, LongSupplier nanoClock) {
+    if (properties.getPendingTtl().isNegative()) {
+      throw new IllegalArgumentException("pending TTL must not be negative");
+    }
+    if (properties.getTick().isNegative() || properties.getTick().isZero()) {
+      throw new IllegalArgumentException("expiry tick must be positive");
+    }
+    this.ttlNanos = properties.getPendingTtl().toNanos();
+    this.tickNanos = properties.getTick().toNanos();
+    this.nanoClock = nanoClock;
+    // Every deadline lies at most ttl/tick + 1 ticks ahead, so with that many buckets each one
+    // holds a single rotation as long as the sweeper keeps up.
+    this.wheel =
+        this.isEnabled()
+            ? new TimerWheel<>(
+                (int) Math.min(1 << 20, this.ttlNanos / this.tickNanos + 2), this.now())
+            : null;
+  }
+
+  /** Never expires anything; used when no TTL is configured. */
+  public static PendingExpiry disabled() {
+    return new PendingExpiry(new ExpiryProperties());
+  }
+
+  public boolean isEnabled() {
+    return this.ttlNanos > 0;
+  }
+
+  public Duration getTtl() {
+    return Duration.ofNanos(this.ttlNanos);
+  }
+
+  /** Starts the clock of a journey that was just queued. */
+  public void track(Journey pending) {
+    if (this.isEnabled()) {
+      // Round up, so a journey never expires before its full TTL.
+      this.wheel.schedule(
+          pending,
+          Math.floorDiv(
+              this.nanoClock.getAsLong() + this.ttlNanos + this.tickNanos - 1, this.tickNanos));
+    }
+  }
+
+  /**
+   * Removes and returns the journeys whose TTL elapsed. Some of them may have been seated or
+   * dropped off since they were tracked.
+   */
+  public List<Journey> due() {
+    return this.isEnabled() ? this.wheel.advance(this.now()) : List.of();
+  }
+
+  /** Forgets every tracked journey, e.g. after the fleet was reset. */
+  public void clear() {
+    if (this.isEnabled()) {
+      this.wheel.clear();
+    }
+  }
+
+  private long now() {
+    return Math.floorDiv(this.nanoClock.getAsLong(), this.tickNanos);
+  }
+}
@@ -0,0 +1,87 @@
+package com.egobb.carpooling.domain.service.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel: a ring of buckets, one per tick, each holding the entries that fall due in
+ * that tick.
+ *
+ * <p>Scheduling is a lock-free append to one bucket. Advancing only visits the buckets of the ticks
+ * that elapsed since the previous advance, so its cost is the number of entries due (plus the ones
+ * of a later rotation sharing a bucket), never the number of entries scheduled.
+ */
+final class TimerWheel<T> {
+
+  private final ConcurrentLinkedQueue<Entry<T>>[] buckets;
+  private final int mask;
+
+  /** Last tick whose bucket was drained; written only while holding this object's monitor. */
+  private long lastTick;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  TimerWheel(int minBuckets, long startTick) {
+    final int size = Integer.highestOneBit(Math.max(2, minBuckets) * 2 - 1);
+    this.buckets = new ConcurrentLinkedQueue[size];
+    for (int i = 0; i < size; i++) {
+      this.buckets[i] = new ConcurrentLinkedQueue<>();
+    }
+    this.mask = size - 1;
+    this.lastTick = startTick;
+  }
+
+  void schedule(T value, long dueTick) {
+    this.buckets[(int) (dueTick & this.mask)].add(new Entry<>(value, dueTick));
+  }
+
+  /** Removes and returns every entry due at or before {@code tick}. */
+  synchronized List<T> advance(long tick) {
+    final List<T> due = new ArrayList<>();
+    if (tick <= this.lastTick) {
+      return due;
+    }
+    // Past one full rotation every bucket has been visited once.
+    final long from = Math.max(this.lastTick + 1, tick - this.mask);
+    for (long t = from; t <= tick; t++) {
+      this.drain(this.buckets[(int) (t & this.mask)], tick, due);
+    }
+    this.lastTick = tick;
+    return due;
+  }
+
+  synchronized void clear() {
+    for (final ConcurrentLinkedQueue<Entry<T>> bucket : this.buckets) {
+      bucket.clear();
+    }
+  }
+
+  private void drain(ConcurrentLinkedQueue<Entry<T>> bucket, long tick, List<T> due) {
+    List<Entry<T>> later = null;
+    for (Entry<T> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+      if (entry.dueTick <= tick) {
+        due.add(entry.value);
+      } else {
+        if (later == null) {
+          later = new ArrayList<>();
+        }
+        later.add(entry);
+      }
+    }
+    // Put back entries of a later rotation once the bucket is empty, so polling terminates.
+    if (later != null) {
+      bucket.addAll(later);
+    }
+  }
+
+  private static final class Entry<T> {
+
+    private final T value;
+    private final long dueTick;
+
+    private Entry(T value, long dueTick) {
+      this.value = value;
+      this.dueTick = dueTick;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.egobb.carpooling.domain.service.jfr;
+
+import com.egobb.carpooling.domain.model.Car;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Seated journeys left a car: one event per car, so a batch dropoff records one per car it freed
+ * seats in. The duration runs from the start of the dropoff (from the car's turn in a batch) until
+ * the car is settled, including the reassignment of pending journeys into the freed seats unless it
+ * was deferred. Pending journeys that leave free no seats and are not recorded.
+ */
+@Name("carpooling.Dropoff")
+@Label("Dropoff")
+@Category("Car Pooling")
+@Description("Seated journeys left a car and freed its seats")
+@Enabled(false)
+@StackTrace(false)
+public class DropoffEvent extends Event {
+
+  @Label("Car")
+  private int carId;
+
+  @Label("Journeys")
+  private int journeys;
+
+  @Label("Seats Freed")
+  private int seatsFreed;
+
+  @Label("Seats Left")
+  @Description("Free seats of the car once pending journeys were reassigned into it")
+  private int seatsLeft;
+
+  @Label("Reassigned")
+  @Description("Pending journeys seated into the freed seats")
+  private int reassigned;
+
+  @Label("Deferred")
+  @Description("Reassignment left to the asynchronous dispatcher")
+  private boolean deferred;
+
+  @Label("Car Lock Wait")
+  @Timespan
+  private long lockWait;
+
+  /**
+   * Time to pass as the lock wait: a reading of {@link System#nanoTime()}, or 0 without the call
+   * when the event is disabled.
+   */
+  public long now() {
+    return this.isEnabled() ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Fills and commits the event if the recording wants it; a no-op otherwise. Called with the car
+   * lock still held, so the seats left are those of this dropoff.
+   *
+   * @param lockRequested {@link #now()} before asking for the car lock
+   * @param lockAcquired {@link #now()} once holding it
+   */
+  public void record(
+      Car car,
+      int journeys,
+      int seatsFreed,
+      int reassigned,
+      boolean deferred,
+      long lockRequested,
+      long lockAcquired) {
+    if (!this.shouldCommit()) {
+      return;
+    }
+    this.carId = car.getId();
+    this.journeys = journeys;
+    this.seatsFreed = seatsFreed;
+    this.seatsLeft = car.getAvailableSeats();
+    this.reassigned = reassigned;
+    this.deferred = deferred;
+    this.lockWait = lockAcquired - lockRequested;
+    this.commit();
+  }
+}
@@ -0,0 +1,64 @@
+package com.egobb.carpooling.domain.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The fleet was replaced, by a reset or by restoring a snapshot. Both hold the state write lock,
+ * which stops every dropoff and new journey, so the lock times tell how long traffic stalled.
+ */
+@Name("carpooling.FleetReset")
+@Label("Fleet Reset")
+@Category("Car Pooling")
+@Description("The fleet was replaced; traffic is stopped while the write lock is held")
+@Enabled(false)
+@StackTrace(false)
+public class FleetResetEvent extends Event {
+
+  @Label("Cars")
+  private int cars;
+
+  @Label("Restore")
+  @Description("Restored from a snapshot rather than reset")
+  private boolean restore;
+
+  @Label("Lock Wait")
+  @Description("Time to get the write lock, i.e. for in-flight operations to drain")
+  @Timespan
+  private long lockWait;
+
+  @Label("Lock Hold")
+  @Timespan
+  private long lockHold;
+
+  /** A reading of {@link System#nanoTime()}, or 0 without the call when the event is disabled. */
+  public long now() {
+    return this.isEnabled() ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Fills and commits the event if the recording wants it; a no-op otherwise. Called once the write
+   * lock is released.
+   *
+   * @param lockRequested {@link #now()} before asking for the write lock
+   * @param lockAcquired {@link #now()} once holding it
+   * @param lockReleased {@link #now()} once it is released
+   */
+  public void record(
+      int cars, boolean restore, long lockRequested, long lockAcquired, long lockReleased) {
+    if (!this.shouldCommit()) {
+      return;
+    }
+    this.cars = cars;
+    this.restore = restore;
+    this.lockWait = lockAcquired - lockRequested;
+    this.lockHold = lockReleased - lockAcquired;
+    this.commit();
+  }
+}
@@ -0,0 +1,66 @@
+package com.egobb.carpooling.domain.service.jfr;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A journey was seated. The duration covers the search: the best-fit scan of the fleet for a new
+ * journey (or the bucket lookup of a rebalance), or the walk through the pending queue that found
+ * it when a dropoff freed seats.
+ */
+@Name("carpooling.JourneyAssigned")
+@Label("Journey Assigned")
+@Category("Car Pooling")
+@Description("A journey was seated; the duration covers the search for its car")
+@Enabled(false)
+@StackTrace(false)
+public class JourneyAssignedEvent extends Event {
+
+  @Label("Journey")
+  private int journeyId;
+
+  @Label("Passengers")
+  private int passengers;
+
+  @Label("Car")
+  private int carId;
+
+  @Label("Seats Left")
+  @Description("Free seats of the car once the journey is seated")
+  private int seatsLeft;
+
+  @Label("Reassignment")
+  @Description("Seated from the pending queue rather than on arrival")
+  private boolean reassignment;
+
+  @Label("Scan Length")
+  @Description("Pending journeys examined to find this one; 0 when a car was searched for it")
+  private int scanLength;
+
+  @Label("Waited")
+  @Timespan
+  private long waited;
+
+  /** Fills and commits the event if the recording wants it; a no-op otherwise. */
+  public void record(Journey seated, Car car, boolean reassignment, int scanLength) {
+    if (!this.shouldCommit()) {
+      return;
+    }
+    this.journeyId = seated.getId();
+    this.passengers = seated.getPassengers();
+    this.carId = car.getId();
+    this.seatsLeft = car.getAvailableSeats();
+    this.reassignment = reassignment;
+    this.scanLength = scanLength;
+    this.waited = seated.assignedAt() - seated.requestedAt();
+    this.commit();
+  }
+}
@@ -0,0 +1,49 @@
+package com.egobb.carpooling.domain.service.jfr;
+
+import com.egobb.carpooling.domain.model.Journey;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * No car could take a new journey, so it joined the pending queue. The duration covers the whole
+ * request, including the wait for the journey creation lock and the fruitless best-fit scan.
+ */
+@Name("carpooling.JourneyQueued")
+@Label("Journey Queued")
+@Category("Car Pooling")
+@Description("A new journey found no car and joined the pending queue")
+@Enabled(false)
+@StackTrace(false)
+public class JourneyQueuedEvent extends Event {
+
+  @Label("Journey")
+  private int journeyId;
+
+  @Label("Passengers")
+  private int passengers;
+
+  @Label("Backlog")
+  @Description("Pending journeys, this one included")
+  private int backlog;
+
+  @Label("Backlog Of Size")
+  @Description("Pending journeys of the same group size, this one included")
+  private int backlogOfSize;
+
+  /** Fills and commits the event if the recording wants it; a no-op otherwise. */
+  public void record(Journey journey, int backlog, int backlogOfSize) {
+    if (!this.shouldCommit()) {
+      return;
+    }
+    this.journeyId = journey.getId();
+    this.passengers = journey.getPassengers();
+    this.backlog = backlog;
+    this.backlogOfSize = backlogOfSize;
+    this.commit();
+  }
+}
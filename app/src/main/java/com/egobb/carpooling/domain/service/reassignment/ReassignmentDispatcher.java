@@ -0,0 +1,212 @@
+package com.egobb.carpooling.domain.service.reassignment;
+
+import com.egobb.carpooling.domain.model.Car;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the cars that got seats back and hands them, in batches, to a reassignment handler
+ * running on one dedicated thread.
+ *
+ * <p>A car is queued at most once however many of its groups leave before it is processed, and a
+ * batch of up to {@code batchSize} cars shares one read of the pending queue, so a burst of
+ * dropoffs costs a few pending scans instead of one per request. Batches never overlap, whether run
+ * by the dispatcher thread or by {@link #flush()}.
+ *
+ * <p>In synchronous mode nothing is queued: callers reassign on their own thread.
+ */
+@Component
+public class ReassignmentDispatcher implements SmartLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReassignmentDispatcher.class);
+
+  private final boolean async;
+  private final int batchSize;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = this.lock.newCondition();
+
+  /** Cars waiting for reassignment, in the order their seats were freed; guarded by lock. */
+  private final LinkedHashSet<Car> queued = new LinkedHashSet<>();
+
+  /** True while a batch runs; guarded by lock. */
+  private boolean busy;
+
+  private Consumer<List<Car>> handler;
+  private volatile boolean running;
+  private Thread thread;
+
+  @Autowired
+  public ReassignmentDispatcher(ReassignmentProperties properties) {
+    if (properties.getBatchSize() < 1) {
+      throw new IllegalArgumentException("reassignment batch size must be positive");
+    }
+    this.async = properties.isAsync();
+    this.batchSize = properties.getBatchSize();
+  }
+
+  /** Queues nothing; callers reassign synchronously. */
+  public static ReassignmentDispatcher synchronous() {
+    return new ReassignmentDispatcher(new ReassignmentProperties());
+  }
+
+  public boolean isAsync() {
+    return this.async;
+  }
+
+  /** Sets the code that seats pending journeys into a batch of cars. Called once, at wiring. */
+  public void bind(Consumer<List<Car>> handler) {
+    if (this.handler != null) {
+      throw new IllegalStateException("reassignment handler already bound");
+    }
+    this.handler = handler;
+  }
+
+  /** Queues a car whose seats were freed. No-op if it is already queued. */
+  public void submit(Car car) {
+    this.lock.lock();
+    try {
+      if (this.queued.add(car)) {
+        this.changed.signalAll();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Processes every queued car on the calling thread, after any batch in flight, and returns once
+   * nothing is left. Lets tests and administrative operations observe a settled state.
+   */
+  public void flush() {
+    while (true) {
+      final List<Car> batch = this.takeBatch(Integer.MAX_VALUE, false);
+      if (batch == null) {
+        return;
+      }
+      this.process(batch);
+    }
+  }
+
+  /** Drops the queued cars, e.g. because the fleet they belong to was replaced. */
+  public void clear() {
+    this.lock.lock();
+    try {
+      this.queued.clear();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  public int queuedCars() {
+    this.lock.lock();
+    try {
+      return this.queued.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (this.running || !this.async) {
+      return;
+    }
+    this.running = true;
+    this.thread = new Thread(this::dispatch, "reassignment");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!this.running) {
+      return;
+    }
+    this.running = false;
+    this.lock.lock();
+    try {
+      this.changed.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+    try {
+      this.thread.join(1000);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Whatever is left is seated before the context goes away.
+    this.flush();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  private void dispatch() {
+    while (this.running) {
+      try {
+        final List<Car> batch = this.takeBatch(this.batchSize, true);
+        if (batch != null) {
+          this.process(batch);
+        }
+      } catch (final RuntimeException e) {
+        // Keep the dispatcher alive: the affected cars get another chance on their next dropoff.
+        LOGGER.error("Reassignment batch failed", e);
+      }
+    }
+  }
+
+  /**
+   * Waits until no batch is in flight, then takes up to {@code max} queued cars and marks a batch
+   * as in flight.
+   *
+   * @param block whether to wait for cars to be queued, until the dispatcher stops
+   * @return the batch, or null if nothing is queued
+   */
+  private List<Car> takeBatch(int max, boolean block) {
+    this.lock.lock();
+    try {
+      while (this.busy || (block && this.running && this.queued.isEmpty())) {
+        this.changed.awaitUninterruptibly();
+      }
+      if (this.queued.isEmpty()) {
+        return null;
+      }
+      final List<Car> batch = new ArrayList<>(Math.min(max, this.queued.size()));
+      for (final Iterator<Car> it = this.queued.iterator(); it.hasNext() && batch.size() < max; ) {
+        batch.add(it.next());
+        it.remove();
+      }
+      this.busy = true;
+      return batch;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void process(List<Car> batch) {
+    try {
+      this.handler.accept(batch);
+    } finally {
+      this.lock.lock();
+      try {
+        this.busy = false;
+        this.changed.signalAll();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+}
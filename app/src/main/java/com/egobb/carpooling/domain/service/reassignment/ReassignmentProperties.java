@@ -0,0 +1,35 @@
+package com.egobb.carpooling.domain.service.reassignment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How seats freed by dropoffs are offered to pending journeys ({@code carpooling.reassignment.*}).
+ */
+@ConfigurationProperties(prefix = "carpooling.reassignment")
+public class ReassignmentProperties {
+
+  /**
+   * When true, dropoffs only free seats and a dedicated thread seats pending journeys afterwards.
+   * When false, the dropoff request does it before answering.
+   */
+  private boolean async;
+
+  /** Largest number of cars reassigned with one read of the pending queue. */
+  private int batchSize = 256;
+
+  public boolean isAsync() {
+    return this.async;
+  }
+
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+}
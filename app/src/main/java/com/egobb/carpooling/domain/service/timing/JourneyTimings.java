@@ -0,0 +1,125 @@
+package com.egobb.carpooling.domain.service.timing;
+
+import com.egobb.carpooling.domain.model.Journey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wait times (request to assignment) and ride times (assignment to dropoff) per group size, in HDR
+ * histograms that start over every window.
+ *
+ * <p>Recording is wait-free and allocation-free: each group size has a pair of {@link Recorder}s
+ * sized for {@link TimingProperties#getMaxTrackable()} up front. Closing a window swaps their
+ * active histograms for recycled ones and summarizes what was recorded, off the request path.
+ */
+@Component
+public class JourneyTimings {
+
+  /** Two significant digits: percentiles within 1 %. */
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  private final boolean enabled;
+  private final long maxMicros;
+  private final LongSupplier nanoClock;
+  private final Clock clock;
+  private final Recorder[] waits = new Recorder[Journey.MAX_PASSENGERS + 1];
+  private final Recorder[] rides = new Recorder[Journey.MAX_PASSENGERS + 1];
+
+  /** Histograms handed back to the recorders at the next window, guarded by {@code this}. */
+  private final Histogram[] spareWaits = new Histogram[Journey.MAX_PASSENGERS + 1];
+
+  private final Histogram[] spareRides = new Histogram[Journey.MAX_PASSENGERS + 1];
+
+  private Instant windowStart;
+  private volatile TimingWindow lastWindow;
+
+  @Autowired
+  public JourneyTimings(TimingProperties properties) {
+    this(properties, System::nanoTime, Clock.systemUTC());
+  }
+
+  JourneyTimings(TimingProperties properties, LongSupplier nanoClock, Clock clock) {
+    if (properties.getMaxTrackable().toMillis() < 1) {
+      throw new IllegalArgumentException("max trackable time must be at least 1ms");
+    }
+    this.enabled = properties.isEnabled();
+    this.maxMicros = TimeUnit.NANOSECONDS.toMicros(properties.getMaxTrackable().toNanos());
+    this.nanoClock = nanoClock;
+    this.clock = clock;
+    if (this.enabled) {
+      for (int size = Journey.MIN_PASSENGERS; size <= Journey.MAX_PASSENGERS; size++) {
+        this.waits[size] = new Recorder(1, this.maxMicros, SIGNIFICANT_DIGITS);
+        this.rides[size] = new Recorder(1, this.maxMicros, SIGNIFICANT_DIGITS);
+      }
+    }
+    this.windowStart = clock.instant();
+  }
+
+  /** Records nothing; used when the service is built without Spring. */
+  public static JourneyTimings disabled() {
+    final TimingProperties properties = new TimingProperties();
+    properties.setEnabled(false);
+    return new JourneyTimings(properties);
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /** Records how long a journey that was just seated waited for its car. */
+  public void seated(Journey seated) {
+    if (this.enabled) {
+      this.record(this.waits, seated.getPassengers(), seated.assignedAt() - seated.requestedAt());
+    }
+  }
+
+  /** Records how long a journey that was just dropped off rode in its car, if it was seated. */
+  public void droppedOff(Journey journey) {
+    if (this.enabled && journey.getAssignedTo() != null) {
+      this.record(
+          this.rides, journey.getPassengers(), this.nanoClock.getAsLong() - journey.assignedAt());
+    }
+  }
+
+  /**
+   * Closes the current window: summarizes what was recorded since the previous call and starts
+   * over.
+   *
+   * @return the window that was closed, also served by {@link #lastWindow()} until the next one
+   */
+  public synchronized TimingWindow closeWindow() {
+    final Instant end = this.clock.instant();
+    final Map<Integer, TimingSummary> wait = new LinkedHashMap<>();
+    final Map<Integer, TimingSummary> ride = new LinkedHashMap<>();
+    if (this.enabled) {
+      for (int size = Journey.MIN_PASSENGERS; size <= Journey.MAX_PASSENGERS; size++) {
+        this.spareWaits[size] = this.waits[size].getIntervalHistogram(this.spareWaits[size]);
+        wait.put(size, TimingSummary.of(this.spareWaits[size]));
+        this.spareRides[size] = this.rides[size].getIntervalHistogram(this.spareRides[size]);
+        ride.put(size, TimingSummary.of(this.spareRides[size]));
+      }
+    }
+    final TimingWindow closed = new TimingWindow(this.windowStart, end, wait, ride);
+    this.windowStart = end;
+    this.lastWindow = closed;
+    return closed;
+  }
+
+  /** The last closed window, or null before the first one closes. */
+  public TimingWindow lastWindow() {
+    return this.lastWindow;
+  }
+
+  private void record(Recorder[] recorders, int passengers, long nanos) {
+    final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    recorders[passengers].recordValue(Math.min(micros, this.maxMicros));
+  }
+}
@@ -0,0 +1,42 @@
+package com.egobb.carpooling.domain.service.timing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Wait and ride time histograms ({@code carpooling.timings.*}). */
+@ConfigurationProperties(prefix = "carpooling.timings")
+public class TimingProperties {
+
+  /** Whether wait and ride times are recorded at all. */
+  private boolean enabled = true;
+
+  /** How long each window of the histograms lasts before they start over. */
+  private Duration window = Duration.ofMinutes(1);
+
+  /** Longest time told apart; longer ones are recorded as this. */
+  private Duration maxTrackable = Duration.ofHours(1);
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Duration getWindow() {
+    return this.window;
+  }
+
+  public void setWindow(Duration window) {
+    this.window = window;
+  }
+
+  public Duration getMaxTrackable() {
+    return this.maxTrackable;
+  }
+
+  public void setMaxTrackable(Duration maxTrackable) {
+    this.maxTrackable = maxTrackable;
+  }
+}
@@ -0,0 +1,53 @@
+package com.egobb.carpooling.domain.service.timing;
+
+import org.HdrHistogram.Histogram;
+
+/** Count and percentiles of the times recorded in one window, in milliseconds. */
+public class TimingSummary {
+
+  private static final double MICROS_PER_MILLI = 1_000.0;
+
+  private final long count;
+  private final double mean;
+  private final double p50;
+  private final double p90;
+  private final double p99;
+  private final double max;
+
+  private TimingSummary(Histogram micros) {
+    this.count = micros.getTotalCount();
+    this.mean = micros.getMean() / MICROS_PER_MILLI;
+    this.p50 = micros.getValueAtPercentile(50) / MICROS_PER_MILLI;
+    this.p90 = micros.getValueAtPercentile(90) / MICROS_PER_MILLI;
+    this.p99 = micros.getValueAtPercentile(99) / MICROS_PER_MILLI;
+    this.max = micros.getMaxValue() / MICROS_PER_MILLI;
+  }
+
+  static TimingSummary of(Histogram micros) {
+    return new TimingSummary(micros);
+  }
+
+  public long getCount() {
+    return this.count;
+  }
+
+  public double getMean() {
+    return this.mean;
+  }
+
+  public double getP50() {
+    return this.p50;
+  }
+
+  public double getP90() {
+    return this.p90;
+  }
+
+  public double getP99() {
+    return this.p99;
+  }
+
+  public double getMax() {
+    return this.max;
+  }
+}
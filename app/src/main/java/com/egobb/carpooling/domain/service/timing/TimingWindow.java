@@ -0,0 +1,42 @@
+package com.egobb.carpooling.domain.service.timing;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** Wait and ride times of one closed window, per group size. */
+public class TimingWindow {
+
+  private final Instant start;
+  private final Instant end;
+  private final Map<Integer, TimingSummary> wait;
+  private final Map<Integer, TimingSummary> ride;
+
+  TimingWindow(
+      Instant start,
+      Instant end,
+      Map<Integer, TimingSummary> wait,
+      Map<Integer, TimingSummary> ride) {
+    this.start = start;
+    this.end = end;
+    this.wait = wait;
+    this.ride = ride;
+  }
+
+  public Instant getStart() {
+    return this.start;
+  }
+
+  public Instant getEnd() {
+    return this.end;
+  }
+
+  /** From the request to the assignment, by group size. */
+  public Map<Integer, TimingSummary> getWait() {
+    return this.wait;
+  }
+
+  /** From the assignment to the dropoff, by group size. */
+  public Map<Integer, TimingSummary> getRide() {
+    return this.ride;
+  }
+}
@@ -0,0 +1,15 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+
+/**
+ * Synchronous consumer of domain events registered on the {@link InMemoryEventBus}.
+ *
+ * <p>Listeners run on the thread that performed the state transition, usually while it holds a car
+ * lock: they must only record or hand off the event, never block or call back into the service.
+ */
+@FunctionalInterface
+public interface CarPoolingEventListener {
+
+  void onEvent(CarPoolingEvent event);
+}
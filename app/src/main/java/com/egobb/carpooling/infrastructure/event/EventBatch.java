@@ -0,0 +1,30 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import java.util.List;
+
+/**
+ * Events drained from a subscription, plus the number of events that were discarded since the
+ * previous drain because the subscriber fell behind.
+ */
+public final class EventBatch {
+
+  private final List<SequencedEvent> events;
+  private final long dropped;
+
+  public EventBatch(List<SequencedEvent> events, long dropped) {
+    this.events = events;
+    this.dropped = dropped;
+  }
+
+  public List<SequencedEvent> getEvents() {
+    return this.events;
+  }
+
+  public long getDropped() {
+    return this.dropped;
+  }
+
+  public boolean isEmpty() {
+    return this.events.isEmpty() && this.dropped == 0;
+  }
+}
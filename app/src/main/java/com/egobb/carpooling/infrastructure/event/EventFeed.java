@@ -0,0 +1,136 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Change feed of domain events for downstream consumers (driver apps, billing, ...).
+ *
+ * <p>Each subscriber owns a bounded {@link EventSubscription}; the feed stamps every event with a
+ * global sequence number and appends it to every live subscription. Events are published inside the
+ * domain service's car locks, so nothing here is shared by all publishers but an atomic counter:
+ * each subscription slots events by sequence number and only hands out contiguous runs, which keeps
+ * them in sequence order, and wakes its consumer on a separate thread.
+ */
+@Component
+public class EventFeed implements CarPoolingEventListener {
+
+  private final EventFeedProperties properties;
+  private final ConcurrentHashMap<String, EventSubscription> subscriptions =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong sequence = new AtomicLong();
+  private final ExecutorService signalExecutor;
+
+  @Autowired
+  public EventFeed(InMemoryEventBus eventBus, EventFeedProperties properties) {
+    this(eventBus, properties, newSignalExecutor(properties.getSignalThreads()));
+  }
+
+  EventFeed(
+      InMemoryEventBus eventBus, EventFeedProperties properties, ExecutorService signalExecutor) {
+    this.properties = properties;
+    this.signalExecutor = signalExecutor;
+    eventBus.addListener(this);
+  }
+
+  private static ExecutorService newSignalExecutor(int threads) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threads,
+        runnable -> {
+          final Thread thread =
+              new Thread(runnable, "event-signals-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @Override
+  public void onEvent(CarPoolingEvent event) {
+    if (this.subscriptions.isEmpty()) {
+      return;
+    }
+    final SequencedEvent sequenced =
+        new SequencedEvent(this.sequence.incrementAndGet(), System.currentTimeMillis(), event);
+    for (final EventSubscription subscription : this.subscriptions.values()) {
+      subscription.offer(sequenced);
+    }
+  }
+
+  /**
+   * Sequence number of the last event handed to subscribers. Only advances while at least one
+   * subscription is open.
+   */
+  public long lastSequence() {
+    return this.sequence.get();
+  }
+
+  /**
+   * Opens a subscription. Only events published after this call are delivered.
+   *
+   * @param streaming true for connection-bound (SSE) subscribers, which are exempt from idle expiry
+   */
+  public EventSubscription subscribe(boolean streaming) {
+    final EventSubscription subscription =
+        new EventSubscription(
+            UUID.randomUUID().toString(),
+            this.properties.getBufferSize(),
+            streaming,
+            System.currentTimeMillis(),
+            this.signalExecutor);
+    synchronized (subscription) {
+      // Registered before reading the counter: a publisher that numbers an event after the read
+      // finds the subscription, and one that got here first waits on its monitor for the start.
+      this.subscriptions.put(subscription.getId(), subscription);
+      subscription.startAfter(this.sequence.get());
+    }
+    return subscription;
+  }
+
+  public Optional<EventSubscription> find(String id) {
+    return Optional.ofNullable(this.subscriptions.get(id));
+  }
+
+  public void cancel(String id) {
+    final EventSubscription subscription = this.subscriptions.remove(id);
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  public int subscriptionCount() {
+    return this.subscriptions.size();
+  }
+
+  Collection<EventSubscription> subscriptions() {
+    return this.subscriptions.values();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    this.signalExecutor.shutdownNow();
+  }
+
+  /** Discards long-poll subscriptions whose consumer stopped polling. */
+  @Scheduled(fixedDelayString = "${carpooling.events.sweep-interval:PT10S}")
+  public void expireIdleSubscriptions() {
+    final long deadline = System.currentTimeMillis() - this.properties.getIdleTimeout().toMillis();
+    for (final EventSubscription subscription : this.subscriptions.values()) {
+      if (!subscription.isStreaming() && subscription.getLastActivity() < deadline) {
+        this.cancel(subscription.getId());
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Tuning of the event feed ({@code carpooling.events.*}). */
+@ConfigurationProperties(prefix = "carpooling.events")
+public class EventFeedProperties {
+
+  /** Ring buffer capacity of each subscriber. */
+  private int bufferSize = 1024;
+
+  /** Long-poll subscriptions that are not polled for this long are discarded. */
+  private Duration idleTimeout = Duration.ofSeconds(60);
+
+  /**
+   * Subscriptions of any kind the feed holds at once before {@code POST /events/subscriptions}
+   * answers {@code 503}; 0 for no limit. Each one keeps a ring buffer of {@code buffer-size}
+   * events.
+   */
+  private int maxSubscriptions = 1024;
+
+  /** Upper bound of the {@code timeout} a long-poll request may ask for. */
+  private Duration maxPollWait = Duration.ofSeconds(30);
+
+  /** Lifetime of a Server-Sent Events connection before the client has to reconnect. */
+  private Duration streamTimeout = Duration.ofMinutes(30);
+
+  /** Threads pushing events to Server-Sent Events connections. */
+  private int streamThreads = 2;
+
+  /** Threads waking up consumers when events arrive, so that publishers never run their code. */
+  private int signalThreads = 1;
+
+  public int getBufferSize() {
+    return this.bufferSize;
+  }
+
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public int getMaxSubscriptions() {
+    return this.maxSubscriptions;
+  }
+
+  public void setMaxSubscriptions(int maxSubscriptions) {
+    this.maxSubscriptions = maxSubscriptions;
+  }
+
+  public Duration getIdleTimeout() {
+    return this.idleTimeout;
+  }
+
+  public void setIdleTimeout(Duration idleTimeout) {
+    this.idleTimeout = idleTimeout;
+  }
+
+  public Duration getMaxPollWait() {
+    return this.maxPollWait;
+  }
+
+  public void setMaxPollWait(Duration maxPollWait) {
+    this.maxPollWait = maxPollWait;
+  }
+
+  public Duration getStreamTimeout() {
+    return this.streamTimeout;
+  }
+
+  public void setStreamTimeout(Duration streamTimeout) {
+    this.streamTimeout = streamTimeout;
+  }
+
+  public int getStreamThreads() {
+    return this.streamThreads;
+  }
+
+  public void setStreamThreads(int streamThreads) {
+    this.streamThreads = streamThreads;
+  }
+
+  public int getSignalThreads() {
+    return this.signalThreads;
+  }
+
+  public void setSignalThreads(int signalThreads) {
+    this.signalThreads = signalThreads;
+  }
+}
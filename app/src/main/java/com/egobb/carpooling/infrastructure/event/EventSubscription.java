@@ -0,0 +1,204 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * A subscriber's bounded ring buffer of events.
+ *
+ * <p>Events are stored at the slot of their sequence number, so publishers that number events
+ * concurrently may append them in any order: readers only ever see the contiguous run that follows
+ * the last event they consumed, and an event that is still on its way holds back the later ones for
+ * the few instructions it takes to arrive.
+ *
+ * <p>Backpressure policy: publishers never wait for subscribers. When the ring is full the oldest
+ * event is overwritten and counted as dropped; the count is reported with the next {@link
+ * EventBatch}, so the consumer knows it missed transitions and can resynchronize through {@code
+ * /locate}. Memory per subscriber is therefore bounded by the ring capacity no matter how slow it
+ * is.
+ *
+ * <p>Consumers are notified through a one-shot {@link #onAvailable(Runnable)} callback instead of a
+ * blocked thread, so thousands of idle subscribers cost no threads at all.
+ */
+public final class EventSubscription {
+
+  private final String id;
+  private final SequencedEvent[] ring;
+  private final boolean streaming;
+  private final Executor signalExecutor;
+
+  /** Sequence of the oldest event not consumed yet. */
+  private long head;
+
+  /** Sequence following the contiguous run of buffered events that starts at {@code head}. */
+  private long tail;
+
+  private long dropped;
+  private Runnable signal;
+  private volatile long lastActivity;
+  private volatile boolean cancelled;
+
+  EventSubscription(String id, int capacity, boolean streaming, long now, Executor signalExecutor) {
+    this.id = id;
+    this.ring = new SequencedEvent[capacity];
+    this.streaming = streaming;
+    this.lastActivity = now;
+    this.signalExecutor = signalExecutor;
+  }
+
+  public String getId() {
+    return this.id;
+  }
+
+  /** Streaming (SSE) subscriptions are bound to a connection and are never expired as idle. */
+  public boolean isStreaming() {
+    return this.streaming;
+  }
+
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  long getLastActivity() {
+    return this.lastActivity;
+  }
+
+  /** Marks the subscription as in use, postponing its idle expiry. */
+  public void touch(long now) {
+    this.lastActivity = now;
+  }
+
+  /** Only events numbered after {@code sequence} are accepted. Called once, before any offer. */
+  void startAfter(long sequence) {
+    this.head = sequence + 1;
+    this.tail = this.head;
+  }
+
+  void offer(SequencedEvent event) {
+    final Runnable toRun;
+    synchronized (this) {
+      final long sequence = event.getSequence();
+      if (this.cancelled || sequence < this.head) {
+        // Published before the subscription, or already counted as dropped.
+        return;
+      }
+      if (sequence - this.head >= this.ring.length) {
+        // Full: overwrite the oldest events, including any whose publisher is still on its way.
+        final long newHead = sequence - this.ring.length + 1;
+        for (long s = this.head; s < Math.min(newHead, this.head + this.ring.length); s++) {
+          this.ring[this.slot(s)] = null;
+        }
+        this.dropped += newHead - this.head;
+        this.head = newHead;
+        this.tail = Math.max(this.tail, newHead);
+      }
+      this.ring[this.slot(sequence)] = event;
+      final long previousTail = this.tail;
+      while (this.tail - this.head < this.ring.length && this.isBuffered(this.tail)) {
+        this.tail++;
+      }
+      if (this.tail == previousTail && this.dropped == 0) {
+        // Still waiting for an earlier event: its publisher will signal.
+        return;
+      }
+      toRun = this.signal;
+      this.signal = null;
+    }
+    // The publisher may hold domain locks, and the callback may complete an HTTP response.
+    if (toRun != null) {
+      this.signalExecutor.execute(toRun);
+    }
+  }
+
+  /** Removes and returns up to {@code max} buffered events, oldest first. */
+  public EventBatch poll(int max, long now) {
+    this.lastActivity = now;
+    synchronized (this) {
+      final EventBatch batch = this.read(max);
+      this.consume(this.head + batch.getEvents().size());
+      this.dropped = 0;
+      return batch;
+    }
+  }
+
+  /**
+   * Returns up to {@code max} buffered events, oldest first, without consuming them: they are
+   * returned again until {@link #acknowledge(long) acknowledged}.
+   */
+  public EventBatch peek(int max, long now) {
+    this.lastActivity = now;
+    synchronized (this) {
+      return this.read(max);
+    }
+  }
+
+  /**
+   * Discards the events up to sequence {@code sequence} included. Acknowledging an event that
+   * followed a gap also clears the dropped count reported with it.
+   */
+  public synchronized void acknowledge(long sequence) {
+    if (sequence < this.head) {
+      return;
+    }
+    this.consume(Math.min(sequence + 1, this.tail));
+    this.dropped = 0;
+  }
+
+  /**
+   * Registers a one-shot callback run as soon as an event is available, replacing any previous one.
+   * If events are already buffered the callback runs immediately on the calling thread.
+   */
+  public void onAvailable(Runnable callback) {
+    synchronized (this) {
+      if (this.cancelled) {
+        return;
+      }
+      if (this.tail == this.head && this.dropped == 0) {
+        this.signal = callback;
+        return;
+      }
+    }
+    callback.run();
+  }
+
+  /** Forgets a previously registered callback if it has not fired yet. */
+  public synchronized void clearSignal(Runnable callback) {
+    if (this.signal == callback) {
+      this.signal = null;
+    }
+  }
+
+  synchronized void cancel() {
+    this.cancelled = true;
+    this.signal = null;
+    Arrays.fill(this.ring, null);
+    this.head = this.tail;
+  }
+
+  private EventBatch read(int max) {
+    final int count = (int) Math.min(max, this.tail - this.head);
+    final List<SequencedEvent> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      events.add(this.ring[this.slot(this.head + i)]);
+    }
+    return new EventBatch(events, this.dropped);
+  }
+
+  private void consume(long newHead) {
+    for (long s = this.head; s < newHead; s++) {
+      this.ring[this.slot(s)] = null;
+    }
+    this.head = newHead;
+  }
+
+  private boolean isBuffered(long sequence) {
+    final SequencedEvent event = this.ring[this.slot(sequence)];
+    return event != null && event.getSequence() == sequence;
+  }
+
+  private int slot(long sequence) {
+    return (int) (sequence % this.ring.length);
+  }
+}
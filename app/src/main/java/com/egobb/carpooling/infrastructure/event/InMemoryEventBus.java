@@ -0,0 +1,44 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.port.CarPoolingEventPublisher;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process implementation of {@link CarPoolingEventPublisher} that fans events out to the
+ * registered {@link CarPoolingEventListener}s.
+ *
+ * <p>Listeners are kept in a {@link CopyOnWriteArrayList}: they are registered once at startup and
+ * iterated on every state transition, so iteration must be lock-free. A failing listener is logged
+ * and skipped; it never fails the domain operation that published the event.
+ */
+@Component
+public class InMemoryEventBus implements CarPoolingEventPublisher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemoryEventBus.class);
+
+  private final CopyOnWriteArrayList<CarPoolingEventListener> listeners =
+      new CopyOnWriteArrayList<>();
+
+  public void addListener(CarPoolingEventListener listener) {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(CarPoolingEventListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  @Override
+  public void publish(CarPoolingEvent event) {
+    for (final CarPoolingEventListener listener : this.listeners) {
+      try {
+        listener.onEvent(event);
+      } catch (final RuntimeException e) {
+        LOG.warn("Event listener {} failed on {}", listener, event.getType(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+
+/** A domain event stamped with its position in the feed and its publication time. */
+public final class SequencedEvent {
+
+  private final long sequence;
+  private final long timestamp;
+  private final CarPoolingEvent event;
+
+  public SequencedEvent(long sequence, long timestamp, CarPoolingEvent event) {
+    this.sequence = sequence;
+    this.timestamp = timestamp;
+    this.event = event;
+  }
+
+  /** Strictly increasing across the whole feed, starting at 1. */
+  public long getSequence() {
+    return this.sequence;
+  }
+
+  /** Publication time in epoch milliseconds. */
+  public long getTimestamp() {
+    return this.timestamp;
+  }
+
+  public CarPoolingEvent getEvent() {
+    return this.event;
+  }
+}
@@ -0,0 +1,69 @@
+package com.egobb.carpooling.infrastructure.expiry;
+
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.expiry.ExpiryProperties;
+import com.egobb.carpooling.domain.service.expiry.PendingExpiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expires pending journeys in the background, one wheel tick at a time, and counts them in the
+ * {@code carpooling.journeys.expired} metric.
+ *
+ * <p>Each sweep only looks at the journeys that fell due since the previous one and holds no lock
+ * that traffic waits on, so it does not pause the service.
+ *
+ * <p>Only registered when {@code carpooling.expiry.pending-ttl} is positive: with expiry off there
+ * is nothing to sweep, and no reason to wake up every tick.
+ */
+@Component
+@Conditional(PendingExpirySweeper.ExpiryEnabled.class)
+public class PendingExpirySweeper {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PendingExpirySweeper.class);
+
+  private final CarPoolingService carJourneyService;
+  private final Counter expired;
+
+  public PendingExpirySweeper(
+      CarPoolingService carJourneyService, PendingExpiry expiry, MeterRegistry meterRegistry) {
+    this.carJourneyService = carJourneyService;
+    this.expired =
+        Counter.builder("carpooling.journeys.expired")
+            .description("Pending journeys dropped off because their time to wait elapsed")
+            .baseUnit("journeys")
+            .register(meterRegistry);
+    LOGGER.info("Pending journeys expire after {}", expiry.getTtl());
+  }
+
+  @Scheduled(fixedDelayString = "${carpooling.expiry.tick:PT1S}")
+  public void sweep() {
+    final int count = this.carJourneyService.expirePending();
+    if (count > 0) {
+      this.expired.increment(count);
+      LOGGER.debug("Expired {} pending journeys", count);
+    }
+  }
+
+  /** Binds {@code pending-ttl} like {@link ExpiryProperties} does, so every format is accepted. */
+  static final class ExpiryEnabled implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+      return Binder.get(context.getEnvironment())
+          .bind("carpooling.expiry.pending-ttl", Duration.class)
+          .map(ttl -> !ttl.isZero() && !ttl.isNegative())
+          .orElse(false);
+    }
+  }
+}
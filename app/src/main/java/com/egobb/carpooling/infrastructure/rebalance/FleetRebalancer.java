@@ -0,0 +1,46 @@
+package com.egobb.carpooling.infrastructure.rebalance;
+
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically packs pending journeys into the free seats of the fleet (see {@link
+ * CarPoolingService#rebalance()}) and counts them in the {@code carpooling.rebalance.seated}
+ * metric.
+ *
+ * <p>Off by default. Followers never run it: they only apply the assignments their leader decided.
+ */
+@Component
+@ConditionalOnExpression(
+    "${carpooling.rebalance.enabled:false} and '${carpooling.cluster.mode:standalone}'.toLowerCase() != 'follower'")
+public class FleetRebalancer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FleetRebalancer.class);
+
+  private final CarPoolingService carJourneyService;
+  private final Counter seated;
+
+  public FleetRebalancer(CarPoolingService carJourneyService, MeterRegistry meterRegistry) {
+    this.carJourneyService = carJourneyService;
+    this.seated =
+        Counter.builder("carpooling.rebalance.seated")
+            .description("Pending journeys seated by the periodic rebalancing pass")
+            .baseUnit("journeys")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${carpooling.rebalance.interval:PT5S}")
+  public void rebalance() {
+    final int count = this.carJourneyService.rebalance();
+    if (count > 0) {
+      this.seated.increment(count);
+      LOGGER.debug("Rebalancing seated {} pending journeys", count);
+    }
+  }
+}
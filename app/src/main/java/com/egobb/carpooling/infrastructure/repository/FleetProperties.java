@@ -0,0 +1,23 @@
+package com.egobb.carpooling.infrastructure.repository;
+
+import com.egobb.carpooling.domain.model.SeatTable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Memory layout of the in-memory fleet ({@code carpooling.fleet.*}). */
+@ConfigurationProperties(prefix = "carpooling.fleet")
+public class FleetProperties {
+
+  /**
+   * {@code packed} (fastest best-fit scans) or {@code padded} (one cache line per car, for many
+   * cores seating and dropping off on neighbouring cars at a high rate).
+   */
+  private SeatTable.Layout seatLayout = SeatTable.Layout.PACKED;
+
+  public SeatTable.Layout getSeatLayout() {
+    return this.seatLayout;
+  }
+
+  public void setSeatLayout(SeatTable.Layout seatLayout) {
+    this.seatLayout = seatLayout;
+  }
+}
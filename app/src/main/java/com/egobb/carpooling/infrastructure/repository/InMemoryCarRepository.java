@@ -1,37 +1,114 @@
 package com.egobb.carpooling.infrastructure.repository;
 
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.SeatTable;
 import com.egobb.carpooling.domain.port.CarRepository;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+/**
+ * In-memory fleet with dense slots.
+ *
+ * <p>Every reset numbers the cars 0..N-1 in the given order. Cars live in an array indexed by slot,
+ * their free seats in a flat {@link SeatTable}, and the only map is the external id &rarr; slot
+ * one. The whole fleet is one immutable object swapped by a single volatile write, so readers never
+ * see half of a reset, and {@link #findAll()} serves a view built once per reset. The layout of the
+ * seat table is configurable ({@link FleetProperties}).
+ */
 @Repository
 public class InMemoryCarRepository implements CarRepository {
 
   /**
-   * Cars indexed by id.
+   * Current fleet.
    *
-   * <p>Concurrency note: ConcurrentHashMap makes individual map operations thread-safe, while
-   * business-level atomicity is enforced in the service layer using per-car locks.
+   * <p>Concurrency note: the fleet itself never changes once published, while business-level
+   * atomicity of seat changes is enforced in the service layer using per-car locks.
    */
-  private final ConcurrentHashMap<Integer, Car> cars = new ConcurrentHashMap<>();
+  private volatile Fleet fleet;
+
+  private final SeatTable.Layout seatLayout;
+
+  public InMemoryCarRepository() {
+    this(new FleetProperties());
+  }
+
+  @Autowired
+  public InMemoryCarRepository(FleetProperties properties) {
+    this.seatLayout = properties.getSeatLayout();
+    this.fleet = new Fleet(List.of(), this.seatLayout);
+  }
 
   @Override
   public List<Car> findAll() {
-    // Expose an unmodifiable snapshot to avoid accidental external mutation.
-    // We create a defensive copy because the underlying map is concurrent.
-    return List.copyOf(new ArrayList<>(this.cars.values()));
+    return this.fleet.view;
+  }
+
+  @Override
+  public Optional<Car> findById(int id) {
+    final Fleet current = this.fleet;
+    final Integer slot = current.slotById.get(id);
+    return slot == null ? Optional.empty() : Optional.of(current.bySlot[slot]);
+  }
+
+  @Override
+  public Optional<Car> findBestFit(int requiredSeats) {
+    final Fleet current = this.fleet;
+    final SeatTable seats = current.seats;
+    int best = -1;
+    int bestFree = Integer.MAX_VALUE;
+    for (int slot = 0; slot < seats.size(); slot++) {
+      final int free = seats.get(slot);
+      if (free >= requiredSeats && free < bestFree) {
+        best = slot;
+        bestFree = free;
+        if (free == requiredSeats) {
+          // Nothing fits tighter than an exact fit.
+          break;
+        }
+      }
+    }
+    return best < 0 ? Optional.empty() : Optional.of(current.bySlot[best]);
+  }
+
+  @Override
+  public int countCars(int freeSeats) {
+    return this.fleet.seats.countCars(freeSeats);
   }
 
   @Override
   public void reset(List<Car> newCars) {
     // This method is typically called as an administrative operation.
     // The service layer ensures there is no concurrent traffic while resetting.
-    this.cars.clear();
-    for (final Car car : newCars) {
-      this.cars.put(car.getId(), car);
+    this.fleet = new Fleet(newCars, this.seatLayout);
+  }
+
+  /** Cars of one reset, bound to their slots. */
+  private static final class Fleet {
+
+    private final Car[] bySlot;
+
+    /**
+     * Unmodifiable, so callers cannot change the fleet behind the repository's back. Seat changes
+     * need no new view: they live in the cars (and their seat table slots), not in the list.
+     */
+    private final List<Car> view;
+
+    private final Map<Integer, Integer> slotById;
+    private final SeatTable seats;
+
+    private Fleet(List<Car> cars, SeatTable.Layout seatLayout) {
+      this.bySlot = cars.toArray(new Car[0]);
+      this.view = List.of(this.bySlot);
+      this.slotById = new HashMap<>(cars.size() * 2);
+      this.seats = new SeatTable(this.bySlot.length, seatLayout);
+      for (int slot = 0; slot < this.bySlot.length; slot++) {
+        this.bySlot[slot].bind(this.seats, slot);
+        this.slotById.put(this.bySlot[slot].getId(), slot);
+      }
     }
   }
 }
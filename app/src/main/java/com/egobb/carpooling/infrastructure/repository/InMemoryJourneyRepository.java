@@ -3,10 +3,16 @@ package com.egobb.carpooling.infrastructure.repository;
 import com.egobb.carpooling.domain.model.Journey;
 import com.egobb.carpooling.domain.port.JourneyRepository;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,6 +25,10 @@ import org.springframework.stereotype.Repository;
  * <p>Important: the pending queue is tolerant to stale IDs. A journey may be assigned or deleted
  * while its ID is still present in the queue, so callers must re-validate state. This trade-off
  * keeps the implementation simple and scalable for the challenge scope.
+ *
+ * <p>{@link #findAll()} serves a cached immutable copy, rebuilt only after a write. Every write
+ * bumps a version after touching the map, and a copy is tagged with the version read before it was
+ * taken, so a copy racing with a write is at worst rebuilt once more, never served stale.
  */
 @Repository
 public class InMemoryJourneyRepository implements JourneyRepository {
@@ -29,12 +39,28 @@ public class InMemoryJourneyRepository implements JourneyRepository {
   /** FIFO order of pending journey ids. */
   private final ConcurrentLinkedQueue<Integer> pendingOrder = new ConcurrentLinkedQueue<>();
 
-  /** Membership map to avoid inserting the same pending id multiple times. */
-  private final ConcurrentHashMap<Integer, Boolean> pendingIndex = new ConcurrentHashMap<>();
+  /** Membership map (id to group size) to avoid inserting the same pending id multiple times. */
+  private final ConcurrentHashMap<Integer, Integer> pendingIndex = new ConcurrentHashMap<>();
+
+  /** Pending journeys per group size, kept in step with {@link #pendingIndex}. */
+  private final AtomicIntegerArray pendingBySize =
+      new AtomicIntegerArray(Journey.MAX_PASSENGERS + 1);
+
+  /** Bumped after every change to {@link #journeys}. */
+  private final AtomicLong version = new AtomicLong();
+
+  private volatile JourneysView view = new JourneysView(0, List.of());
 
   @Override
   public List<Journey> findAll() {
-    return List.copyOf(new ArrayList<>(this.journeys.values()));
+    final long current = this.version.get();
+    final JourneysView cached = this.view;
+    if (cached.version == current) {
+      return cached.journeys;
+    }
+    final List<Journey> copy = List.copyOf(this.journeys.values());
+    this.view = new JourneysView(current, copy);
+    return copy;
   }
 
   @Override
@@ -57,6 +83,27 @@ public class InMemoryJourneyRepository implements JourneyRepository {
     return List.copyOf(pending);
   }
 
+  @Override
+  public int countPending() {
+    int count = 0;
+    for (int size = Journey.MIN_PASSENGERS; size <= Journey.MAX_PASSENGERS; size++) {
+      count += this.pendingBySize.get(size);
+    }
+    return count;
+  }
+
+  @Override
+  public int countPending(int passengers) {
+    return this.pendingBySize.get(passengers);
+  }
+
+  @Override
+  public int countAssigned() {
+    // Both counts are kept up to date on every write; a write between the two reads can make the
+    // difference briefly off by one, never negative.
+    return Math.max(0, this.journeys.size() - this.countPending());
+  }
+
   @Override
   public Optional<Journey> findById(int id) {
     return Optional.ofNullable(this.journeys.get(id));
@@ -66,6 +113,7 @@ public class InMemoryJourneyRepository implements JourneyRepository {
   public void save(Journey journey) {
     // Replace existing instance (by id) with the updated one.
     this.journeys.put(journey.getId(), journey);
+    this.version.incrementAndGet();
 
     // If it is assigned, ensure it is no longer pending.
     if (journey.getAssignedTo() != null) {
@@ -76,34 +124,104 @@ public class InMemoryJourneyRepository implements JourneyRepository {
   @Override
   public void savePending(Journey journey) {
     this.journeys.put(journey.getId(), journey);
+    this.version.incrementAndGet();
 
     // Only enqueue once.
-    if (this.pendingIndex.putIfAbsent(journey.getId(), Boolean.TRUE) == null) {
+    if (this.pendingIndex.putIfAbsent(journey.getId(), journey.getPassengers()) == null) {
       this.pendingOrder.add(journey.getId());
+      this.pendingBySize.incrementAndGet(journey.getPassengers());
+    }
+  }
+
+  @Override
+  public boolean replace(Journey current, Journey updated) {
+    // Journeys compare by identity, so this only succeeds against the exact stored version.
+    if (!this.journeys.replace(current.getId(), current, updated)) {
+      return false;
+    }
+    this.version.incrementAndGet();
+    if (updated.getAssignedTo() != null) {
+      this.removePending(updated.getId());
     }
+    return true;
   }
 
   @Override
-  public void deleteById(int id) {
-    this.journeys.remove(id);
+  public Optional<Journey> deleteById(int id) {
+    final Journey removed = this.journeys.remove(id);
+    if (removed != null) {
+      this.version.incrementAndGet();
+    }
     this.removePending(id);
+    return Optional.ofNullable(removed);
+  }
+
+  @Override
+  public List<Journey> deletePending(Collection<Journey> candidates) {
+    final List<Journey> deleted = new ArrayList<>();
+    final Set<Integer> unlinked = new HashSet<>();
+    for (final Journey journey : candidates) {
+      // Journeys compare by identity: this fails if the journey was seated or deleted meanwhile.
+      if (journey.getAssignedTo() == null && this.journeys.remove(journey.getId(), journey)) {
+        if (this.pendingIndex.remove(journey.getId()) != null) {
+          this.pendingBySize.decrementAndGet(journey.getPassengers());
+          unlinked.add(journey.getId());
+        }
+        deleted.add(journey);
+      }
+    }
+    if (!deleted.isEmpty()) {
+      this.version.incrementAndGet();
+    }
+    // One pass over the queue for the whole batch, removing the oldest occurrence of each id.
+    if (!unlinked.isEmpty()) {
+      for (final Iterator<Integer> it = this.pendingOrder.iterator(); it.hasNext(); ) {
+        if (unlinked.remove(it.next())) {
+          it.remove();
+          if (unlinked.isEmpty()) {
+            break;
+          }
+        }
+      }
+    }
+    return deleted;
   }
 
   @Override
   public void clearAll() {
     this.journeys.clear();
+    this.version.incrementAndGet();
     this.pendingOrder.clear();
     this.pendingIndex.clear();
+    for (int size = 0; size < this.pendingBySize.length(); size++) {
+      this.pendingBySize.set(size, 0);
+    }
   }
 
   /**
    * Removes a journey id from pending structures.
    *
    * <p>We remove from queue using {@link ConcurrentLinkedQueue#remove(Object)} which is O(n), but
-   * acceptable for the coding challenge and keeps the repository interface unchanged.
+   * acceptable for the coding challenge and keeps the repository interface unchanged. Journeys that
+   * were never pending skip it.
    */
   private void removePending(int journeyId) {
-    this.pendingIndex.remove(journeyId);
-    this.pendingOrder.remove(journeyId);
+    final Integer passengers = this.pendingIndex.remove(journeyId);
+    if (passengers != null) {
+      this.pendingBySize.decrementAndGet(passengers);
+      this.pendingOrder.remove(journeyId);
+    }
+  }
+
+  /** A copy of all journeys and the version it was taken at. */
+  private static final class JourneysView {
+
+    private final long version;
+    private final List<Journey> journeys;
+
+    private JourneysView(long version, List<Journey> journeys) {
+      this.version = version;
+      this.journeys = journeys;
+    }
   }
 }
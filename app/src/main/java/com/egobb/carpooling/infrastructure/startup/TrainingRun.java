@@ -0,0 +1,80 @@
+package com.egobb.carpooling.infrastructure.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short scripted run used to record which classes the application needs: once ready, sends one
+ * request of every kind to itself and exits.
+ *
+ * <p>Started with {@code carpooling.startup.training-run=true} by the AppCDS build ({@code
+ * -XX:ArchiveClassesAtExit}) and by the GraalVM tracing agent, so that both cover the request path
+ * and not only the startup path.
+ */
+@Component
+@ConditionalOnProperty(prefix = "carpooling.startup", name = "training-run", havingValue = "true")
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrainingRun.class);
+  private static final String JSON = "application/json";
+  private static final String FORM = "application/x-www-form-urlencoded";
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    int exitCode = 0;
+    try {
+      this.exercise(
+          "http://127.0.0.1:"
+              + ((WebServerApplicationContext) event.getApplicationContext())
+                  .getWebServer()
+                  .getPort());
+    } catch (final IOException | RuntimeException e) {
+      LOGGER.error("Training run failed", e);
+      exitCode = 1;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      exitCode = 1;
+    }
+    final int code = exitCode;
+    System.exit(SpringApplication.exit(event.getApplicationContext(), () -> code));
+  }
+
+  private void exercise(String base) throws IOException, InterruptedException {
+    final HttpClient client = HttpClient.newHttpClient();
+    this.send(client, HttpRequest.newBuilder(URI.create(base + "/status")).GET());
+    this.send(client, this.request(base, "/cars", JSON, "[{\"id\":1,\"seats\":4}]", "PUT"));
+    this.send(client, this.request(base, "/journey", JSON, "{\"id\":1,\"people\":4}", "POST"));
+    this.send(client, this.request(base, "/journey", JSON, "{\"id\":2,\"people\":2}", "POST"));
+    this.send(client, this.request(base, "/locate", FORM, "ID=1", "POST"));
+    this.send(client, this.request(base, "/locate", FORM, "ID=2", "POST"));
+    this.send(client, this.request(base, "/dropoff", FORM, "ID=1", "POST"));
+    this.send(client, this.request(base, "/locate", FORM, "ID=1", "POST"));
+    this.send(client, this.request(base, "/journey", JSON, "{\"id\":3,\"people\":9}", "POST"));
+  }
+
+  private HttpRequest.Builder request(
+      String base, String path, String contentType, String body, String method) {
+    return HttpRequest.newBuilder(URI.create(base + path))
+        .header("Content-Type", contentType)
+        .header("Accept", JSON)
+        .method(method, HttpRequest.BodyPublishers.ofString(body));
+  }
+
+  private void send(HttpClient client, HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    final HttpResponse<Void> response =
+        client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    LOGGER.info("Training {} -> {}", response.request().uri().getPath(), response.statusCode());
+  }
+}
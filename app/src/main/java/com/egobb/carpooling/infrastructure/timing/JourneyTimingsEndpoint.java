@@ -0,0 +1,41 @@
+package com.egobb.carpooling.infrastructure.timing;
+
+import com.egobb.carpooling.domain.service.timing.JourneyTimings;
+import com.egobb.carpooling.domain.service.timing.TimingWindow;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves the wait and ride times of the last closed window at {@code /actuator/journeytimes} and
+ * closes a window every {@code carpooling.timings.window}.
+ *
+ * <p>A scrape always reads a finished window, so every scraper sees the same numbers and reading
+ * never resets anything.
+ */
+@Component
+@Endpoint(id = "journeytimes")
+public class JourneyTimingsEndpoint {
+
+  private final JourneyTimings timings;
+
+  public JourneyTimingsEndpoint(JourneyTimings timings) {
+    this.timings = timings;
+  }
+
+  @Scheduled(
+      fixedRateString = "${carpooling.timings.window:PT1M}",
+      initialDelayString = "${carpooling.timings.window:PT1M}")
+  public void closeWindow() {
+    if (this.timings.isEnabled()) {
+      this.timings.closeWindow();
+    }
+  }
+
+  /** The last closed window; actuator answers 404 before the first one closes. */
+  @ReadOperation
+  public TimingWindow lastWindow() {
+    return this.timings.lastWindow();
+  }
+}
@@ -0,0 +1,43 @@
+package com.egobb.carpooling.infrastructure.web;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link Http2Properties} to the HTTP/2 protocol Spring Boot adds to the Tomcat connector
+ * when {@code server.http2.enabled} is true. Without TLS that is h2c: clients either upgrade an
+ * HTTP/1.1 connection or speak HTTP/2 right away (prior knowledge), which is what gateways do.
+ *
+ * <p>Tomcat only upgrades requests whose body fits its small save buffer ({@code 413} beyond 4 KB),
+ * so clients that upgrade should do it on a request without a body, e.g. {@code GET /status}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "server.http2", name = "enabled", havingValue = "true")
+public class Http2Customizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+  private final Http2Properties properties;
+
+  public Http2Customizer(Http2Properties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public void customize(TomcatServletWebServerFactory factory) {
+    // Connector customizers run after Boot has added the protocol.
+    factory.addConnectorCustomizers(
+        connector -> {
+          for (final UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+            if (protocol instanceof Http2Protocol http2) {
+              http2.setMaxConcurrentStreams(this.properties.getMaxConcurrentStreams());
+              http2.setMaxConcurrentStreamExecution(
+                  this.properties.getMaxConcurrentStreamExecution());
+              http2.setKeepAliveTimeout(this.properties.getKeepAliveTimeout().toMillis());
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,45 @@
+package com.egobb.carpooling.infrastructure.web;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Tomcat HTTP/2 settings Spring Boot does not expose ({@code carpooling.http2.*}). */
+@ConfigurationProperties(prefix = "carpooling.http2")
+public class Http2Properties {
+
+  /** Streams a client may open at once on one connection. */
+  private int maxConcurrentStreams = 256;
+
+  /**
+   * Streams of one connection processed at once; the rest wait for a worker. Tomcat defaults to 20,
+   * which throttles a gateway multiplexing all its traffic over a few connections.
+   */
+  private int maxConcurrentStreamExecution = 200;
+
+  /** How long an idle HTTP/2 connection is kept open. */
+  private Duration keepAliveTimeout = Duration.ofSeconds(60);
+
+  public int getMaxConcurrentStreams() {
+    return this.maxConcurrentStreams;
+  }
+
+  public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+    this.maxConcurrentStreams = maxConcurrentStreams;
+  }
+
+  public int getMaxConcurrentStreamExecution() {
+    return this.maxConcurrentStreamExecution;
+  }
+
+  public void setMaxConcurrentStreamExecution(int maxConcurrentStreamExecution) {
+    this.maxConcurrentStreamExecution = maxConcurrentStreamExecution;
+  }
+
+  public Duration getKeepAliveTimeout() {
+    return this.keepAliveTimeout;
+  }
+
+  public void setKeepAliveTimeout(Duration keepAliveTimeout) {
+    this.keepAliveTimeout = keepAliveTimeout;
+  }
+}
@@ -0,0 +1,125 @@
+package com.egobb.carpooling.perf.dispatch;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import com.egobb.carpooling.CarPoolingApplication;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Cost of pushing one request through the full Spring MVC dispatch path (filters, handler mappings,
+ * argument resolution, message conversion) of the real application context, without the network.
+ * Compares the default and {@code lean} profiles.
+ *
+ * <p>Run with {@code make bench ARGS="DispatchBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+  private static final int CARS = 1_000;
+  private static final int SEATED_JOURNEY = 1;
+  private static final int CHURN_JOURNEY = 2;
+
+  @Param({"default", "lean"})
+  public String profile;
+
+  private ConfigurableApplicationContext context;
+  private MockMvc mvc;
+  private RequestBuilder status;
+  private RequestBuilder locate;
+  private RequestBuilder journey;
+  private RequestBuilder dropoff;
+  private RequestBuilder unknown;
+
+  @Setup(Level.Trial)
+  public void start() throws Exception {
+    this.context =
+        new SpringApplicationBuilder(CarPoolingApplication.class)
+            .profiles(this.profile)
+            .properties("server.port=0", "logging.level.root=WARN")
+            .run();
+    this.mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) this.context).build();
+
+    final StringBuilder cars = new StringBuilder(CARS * 20).append('[');
+    for (int id = 1; id <= CARS; id++) {
+      cars.append(id > 1 ? "," : "").append("{\"id\":").append(id).append(",\"seats\":6}");
+    }
+    this.mvc.perform(
+        put("/cars").contentType(MediaType.APPLICATION_JSON).content(cars.append(']').toString()));
+    this.mvc.perform(this.journeyRequest(SEATED_JOURNEY));
+
+    this.status = get("/status");
+    this.locate = this.formRequest("/locate", SEATED_JOURNEY);
+    this.journey = this.journeyRequest(CHURN_JOURNEY);
+    this.dropoff = this.formRequest("/dropoff", CHURN_JOURNEY);
+    this.unknown = get("/no-such-endpoint");
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    this.context.close();
+  }
+
+  @Benchmark
+  public MvcResult status() throws Exception {
+    return this.mvc.perform(this.status).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult locate() throws Exception {
+    return this.mvc.perform(this.locate).andReturn();
+  }
+
+  /** A journey and its dropoff, so the fleet is back where it started after each invocation. */
+  @Benchmark
+  public MvcResult journeyAndDropoff() throws Exception {
+    this.mvc.perform(this.journey);
+    return this.mvc.perform(this.dropoff).andReturn();
+  }
+
+  /** Walks every handler mapping before giving up. */
+  @Benchmark
+  public MvcResult notFound() throws Exception {
+    return this.mvc.perform(this.unknown).andReturn();
+  }
+
+  private RequestBuilder journeyRequest(int id) {
+    return post("/journey")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"id\":" + id + ",\"people\":4}");
+  }
+
+  private RequestBuilder formRequest(String path, int id) {
+    return post(path)
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .param("ID", String.valueOf(id))
+        .accept(MediaType.APPLICATION_JSON);
+  }
+}
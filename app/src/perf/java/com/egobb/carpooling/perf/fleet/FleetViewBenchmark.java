@@ -0,0 +1,73 @@
+package com.egobb.carpooling.perf.fleet;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@code findAll()} on a steady fleet of 1000 cars and 1000 journeys, half of them seated.
+ * Seat changes in between reads must not force a new copy of the car list.
+ *
+ * <p>Run with {@code make bench ARGS="FleetViewBenchmark -prof gc"} and compare {@code
+ * gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetViewBenchmark {
+
+  private static final int FLEET_SIZE = 1_000;
+
+  private InMemoryCarRepository cars;
+  private InMemoryJourneyRepository journeys;
+  private Car first;
+
+  @Setup
+  public void setUp() {
+    final List<Car> fleet = new ArrayList<>(FLEET_SIZE);
+    for (int id = 1; id <= FLEET_SIZE; id++) {
+      fleet.add(new Car(id, Car.MAX_SEATS));
+    }
+    this.cars = new InMemoryCarRepository();
+    this.cars.reset(fleet);
+    this.first = fleet.get(0);
+
+    this.journeys = new InMemoryJourneyRepository();
+    for (int id = 1; id <= FLEET_SIZE; id++) {
+      final Journey journey = new Journey(id, 2);
+      if (id % 2 == 0) {
+        this.journeys.save(journey.assignTo(fleet.get(id - 1)));
+      } else {
+        this.journeys.savePending(journey);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Car> carsAfterSeatChange() {
+    this.first.setAvailableSeats(this.first.getAvailableSeats() == 0 ? Car.MAX_SEATS : 0);
+    return this.cars.findAll();
+  }
+
+  @Benchmark
+  public List<Journey> journeys() {
+    return this.journeys.findAll();
+  }
+}
@@ -0,0 +1,97 @@
+package com.egobb.carpooling.perf.fleet;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.SeatTable;
+import com.egobb.carpooling.infrastructure.repository.FleetProperties;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Packed against padded {@link SeatTable} layouts.
+ *
+ * <p>{@code storm}: every thread seats and drops off a group on its own car, and the cars are
+ * neighbours in the fleet, so in the packed layout all threads write the same cache line. Only
+ * meaningful with as many free cores as threads. {@code bestFitScan}: the price of padding, a scan
+ * of 1000 cars touching one cache line per car instead of one per sixteen.
+ *
+ * <p>Run with {@code make bench ARGS="SeatLayoutBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatLayoutBenchmark {
+
+  private static final int FLEET_SIZE = 1_000;
+
+  @Param({"PACKED", "PADDED"})
+  public SeatTable.Layout layout;
+
+  private final AtomicInteger nextSlot = new AtomicInteger();
+  private InMemoryCarRepository repository;
+  private List<Car> cars;
+
+  @Setup
+  public void setUp() {
+    final FleetProperties properties = new FleetProperties();
+    properties.setSeatLayout(this.layout);
+    this.repository = new InMemoryCarRepository(properties);
+    this.cars = new ArrayList<>(FLEET_SIZE);
+    for (int id = 1; id <= FLEET_SIZE; id++) {
+      this.cars.add(new Car(id, Car.MAX_SEATS));
+    }
+    this.repository.reset(this.cars);
+  }
+
+  /** The car a benchmark thread keeps updating: neighbouring slots for neighbouring threads. */
+  @State(Scope.Thread)
+  public static class OwnCar {
+
+    private Car car;
+
+    @Setup
+    public void setUp(SeatLayoutBenchmark benchmark) {
+      this.car = benchmark.cars.get(benchmark.nextSlot.getAndIncrement());
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int storm(OwnCar own) {
+    final Car car = own.car;
+    final ReentrantLock lock = car.lock();
+    lock.lock();
+    try {
+      car.setAvailableSeats(car.getAvailableSeats() - 2);
+      car.setAvailableSeats(car.getAvailableSeats() + 2);
+      return car.getAvailableSeats();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Benchmark
+  public Optional<Car> bestFitScan() {
+    // No car has exactly one free seat, so the scan always covers the whole fleet.
+    return this.repository.findBestFit(1);
+  }
+}
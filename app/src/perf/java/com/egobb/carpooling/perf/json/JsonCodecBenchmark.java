@@ -0,0 +1,99 @@
+package com.egobb.carpooling.perf.json;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.json.CarPoolingJsonModule;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request CPU of the JSON codecs on the hot path: reflective databind (constructor detection
+ * through parameter names, as Spring Boot configures it) against the hand-written streaming codecs
+ * of {@link CarPoolingJsonModule}. Add {@code -prof gc} for allocation per operation.
+ *
+ * <p>Run with {@code make bench ARGS="JsonCodecBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+  private static final int FLEET_SIZE = 1_000;
+
+  @Param({"reflective", "streaming"})
+  public String codec;
+
+  private ObjectReader journeyReader;
+  private ObjectReader carsReader;
+  private ObjectWriter locateWriter;
+  private byte[] journey;
+  private byte[] cars;
+  private CarLocateResponseDTO located;
+
+  @Setup
+  public void setUp() {
+    final ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new ParameterNamesModule(JsonCreator.Mode.DEFAULT))
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    if ("streaming".equals(this.codec)) {
+      objectMapper.registerModule(new CarPoolingJsonModule());
+    }
+    this.journeyReader = objectMapper.readerFor(Journey.class);
+    this.carsReader = objectMapper.readerFor(new TypeReference<List<Car>>() {});
+    this.locateWriter = objectMapper.writerFor(CarLocateResponseDTO.class);
+
+    this.journey = "{\"id\":123456,\"people\":4}".getBytes(StandardCharsets.UTF_8);
+    final StringBuilder fleet = new StringBuilder(FLEET_SIZE * 20).append('[');
+    for (int id = 1; id <= FLEET_SIZE; id++) {
+      fleet
+          .append(id > 1 ? "," : "")
+          .append("{\"id\":")
+          .append(id)
+          .append(",\"seats\":")
+          .append(4 + id % 3)
+          .append('}');
+    }
+    this.cars = fleet.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    this.located = new CarLocateResponseDTO(42, 6, 2);
+  }
+
+  @Benchmark
+  public Journey readJourney() throws Exception {
+    return this.journeyReader.readValue(this.journey);
+  }
+
+  /** A whole {@code PUT /cars} body of {@value #FLEET_SIZE} cars. */
+  @Benchmark
+  public List<Car> readFleet() throws Exception {
+    return this.carsReader.readValue(this.cars);
+  }
+
+  @Benchmark
+  public byte[] writeLocateResponse() throws Exception {
+    return this.locateWriter.writeValueAsBytes(this.located);
+  }
+}
@@ -0,0 +1,67 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import com.egobb.carpooling.contract.binary.BinaryProtocolClient;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Drives a running instance over the binary TCP protocol ({@code carpooling.binary.enabled=true}).
+ * Each worker thread gets its own connection, the same way the HTTP client keeps one keep-alive
+ * connection per in-flight request.
+ */
+public final class BinaryTarget implements Target {
+
+  private final String host;
+  private final int port;
+  private final List<BinaryProtocolClient> clients = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<BinaryProtocolClient> client = ThreadLocal.withInitial(this::connect);
+
+  public BinaryTarget(String host, int port) {
+    this.host = host;
+    this.port = port;
+  }
+
+  @Override
+  public int putCars(int[] ids, int[] seats) throws Exception {
+    return this.client.get().putCars(ids, seats).getStatus();
+  }
+
+  @Override
+  public int journey(int id, int people) throws Exception {
+    return this.client.get().journey(id, people).getStatus();
+  }
+
+  @Override
+  public int dropoff(int id) throws Exception {
+    return this.client.get().dropoff(id).getStatus();
+  }
+
+  @Override
+  public int locate(int id) throws Exception {
+    return this.client.get().locate(id).getStatus();
+  }
+
+  @Override
+  public String describe() {
+    return "binary tcp://" + this.host + ":" + this.port;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (final BinaryProtocolClient c : this.clients) {
+      c.close();
+    }
+  }
+
+  private BinaryProtocolClient connect() {
+    try {
+      final BinaryProtocolClient c = new BinaryProtocolClient(this.host, this.port);
+      this.clients.add(c);
+      return c;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.event.JourneyQueued;
+import com.egobb.carpooling.domain.port.CarPoolingEventPublisher;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Outcome of a run as the riders see it, built from the domain events of an in-process service: how
+ * long queued journeys waited for a car, how many gave up first, and how full the fleet was.
+ *
+ * <p>Seat utilization is the average, over evenly spaced {@link #sample()} calls, of occupied seats
+ * over fleet seats.
+ */
+final class FleetStats implements CarPoolingEventPublisher {
+
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final ConcurrentHashMap<Integer, Long> queuedAt = new ConcurrentHashMap<>();
+  private final Recorder waitTime = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+  private final AtomicLong occupiedSeats = new AtomicLong();
+  private final LongAdder seatedOnArrival = new LongAdder();
+  private final LongAdder seatedAfterWait = new LongAdder();
+  private final LongAdder gaveUp = new LongAdder();
+
+  private volatile long fleetSeats;
+  private double utilizationSum;
+  private long utilizationSamples;
+
+  void fleet(int[] seats) {
+    long total = 0;
+    for (final int s : seats) {
+      total += s;
+    }
+    this.fleetSeats = total;
+  }
+
+  @Override
+  public void publish(CarPoolingEvent event) {
+    if (event instanceof JourneyQueued e) {
+      this.queuedAt.put(e.getJourneyId(), System.nanoTime());
+    } else if (event instanceof JourneyAssigned e) {
+      this.occupiedSeats.addAndGet(e.getPassengers());
+      final Long since = this.queuedAt.remove(e.getJourneyId());
+      if (since == null) {
+        this.seatedOnArrival.increment();
+      } else {
+        this.waitTime.recordValue(Math.min(System.nanoTime() - since, HIGHEST_TRACKABLE_NANOS));
+        this.seatedAfterWait.increment();
+      }
+    } else if (event instanceof JourneyDroppedOff e) {
+      if (e.getCarId() != null) {
+        this.occupiedSeats.addAndGet(-e.getPassengers());
+      } else if (this.queuedAt.remove(e.getJourneyId()) != null) {
+        // The trip was over before the group got a car.
+        this.gaveUp.increment();
+      }
+    } else if (event instanceof FleetReset) {
+      this.occupiedSeats.set(0);
+      this.queuedAt.clear();
+    }
+  }
+
+  /** Records the current seat utilization; called at a fixed rate while the workload runs. */
+  synchronized void sample() {
+    if (this.fleetSeats > 0) {
+      this.utilizationSum += (double) this.occupiedSeats.get() / this.fleetSeats;
+      this.utilizationSamples++;
+    }
+  }
+
+  synchronized void print(PrintStream out) {
+    final Histogram waits = this.waitTime.getIntervalHistogram();
+    final long seated = this.seatedOnArrival.sum() + this.seatedAfterWait.sum();
+    out.printf(
+        Locale.ROOT,
+        "%nfleet      : %.1f %% seat utilization%n",
+        this.utilizationSamples == 0 ? 0 : 100 * this.utilizationSum / this.utilizationSamples);
+    out.printf(
+        Locale.ROOT,
+        "journeys   : %d seated on arrival, %d after waiting, %d gave up waiting, %d still waiting%n",
+        this.seatedOnArrival.sum(),
+        this.seatedAfterWait.sum(),
+        this.gaveUp.sum(),
+        this.queuedAt.size());
+    out.printf(
+        Locale.ROOT,
+        "wait       : mean %.1f ms over seated journeys; p50 %.1f, p90 %.1f, p99 %.1f, max %.1f ms"
+            + " over waiting ones%n",
+        seated == 0 ? 0 : waits.getMean() * waits.getTotalCount() / seated / NANOS_PER_MILLI,
+        waits.getValueAtPercentile(50) / NANOS_PER_MILLI,
+        waits.getValueAtPercentile(90) / NANOS_PER_MILLI,
+        waits.getValueAtPercentile(99) / NANOS_PER_MILLI,
+        waits.getMaxValue() / NANOS_PER_MILLI);
+  }
+}
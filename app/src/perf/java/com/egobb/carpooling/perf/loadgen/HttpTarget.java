@@ -0,0 +1,125 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the real REST API of a running instance with the JDK HTTP client, over HTTP/1.1 (one
+ * request per pooled connection at a time) or cleartext HTTP/2 (all requests multiplexed over one
+ * upgraded connection).
+ */
+public final class HttpTarget implements Target {
+
+  private static final String JSON = "application/json";
+  private static final String FORM = "application/x-www-form-urlencoded";
+
+  private final ExecutorService executor;
+  private final HttpClient client;
+  private final URI status;
+  private final URI cars;
+  private final URI journey;
+  private final URI dropoff;
+  private final URI locate;
+  private final LongAdder responses = new LongAdder();
+  private final LongAdder http2Responses = new LongAdder();
+
+  public HttpTarget(String baseUrl, int threads, boolean http2) {
+    final String base =
+        baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.executor = Executors.newFixedThreadPool(Math.max(2, threads / 4));
+    this.client =
+        HttpClient.newBuilder()
+            .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(this.executor)
+            .build();
+    this.status = URI.create(base + "/status");
+    this.cars = URI.create(base + "/cars");
+    this.journey = URI.create(base + "/journey");
+    this.dropoff = URI.create(base + "/dropoff");
+    this.locate = URI.create(base + "/locate");
+  }
+
+  @Override
+  public int putCars(int[] ids, int[] seats) throws Exception {
+    if (this.client.version() == HttpClient.Version.HTTP_2) {
+      // Upgrade on a request without a body first, as a gateway would before sending traffic.
+      this.send(HttpRequest.newBuilder(this.status).GET().build());
+    }
+    final StringBuilder body = new StringBuilder(ids.length * 20).append('[');
+    for (int i = 0; i < ids.length; i++) {
+      if (i > 0) {
+        body.append(',');
+      }
+      body.append("{\"id\":").append(ids[i]).append(",\"seats\":").append(seats[i]).append('}');
+    }
+    body.append(']');
+    return this.send(
+        HttpRequest.newBuilder(this.cars)
+            .header("Content-Type", JSON)
+            .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build());
+  }
+
+  @Override
+  public int journey(int id, int people) throws Exception {
+    return this.send(
+        HttpRequest.newBuilder(this.journey)
+            .header("Content-Type", JSON)
+            .POST(
+                HttpRequest.BodyPublishers.ofString(
+                    "{\"id\":" + id + ",\"people\":" + people + "}"))
+            .build());
+  }
+
+  @Override
+  public int dropoff(int id) throws Exception {
+    return this.send(this.form(this.dropoff, id));
+  }
+
+  @Override
+  public int locate(int id) throws Exception {
+    return this.send(this.form(this.locate, id));
+  }
+
+  @Override
+  public String describe() {
+    return "HTTP " + this.cars.resolve("/");
+  }
+
+  @Override
+  public void printSummary(PrintStream out) {
+    // The client silently stays on HTTP/1.1 when the server refuses the upgrade.
+    out.printf("HTTP/2 responses: %d of %d%n", this.http2Responses.sum(), this.responses.sum());
+  }
+
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+  }
+
+  private HttpRequest form(URI uri, int id) {
+    return HttpRequest.newBuilder(uri)
+        .header("Content-Type", FORM)
+        .header("Accept", JSON)
+        .POST(HttpRequest.BodyPublishers.ofString("ID=" + id))
+        .build();
+  }
+
+  private int send(HttpRequest request) throws Exception {
+    final HttpResponse<Void> response =
+        this.client.send(request, HttpResponse.BodyHandlers.discarding());
+    this.responses.increment();
+    if (response.version() == HttpClient.Version.HTTP_2) {
+      this.http2Responses.increment();
+    }
+    return response.statusCode();
+  }
+}
@@ -0,0 +1,69 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+
+/**
+ * Entry point of the load generator.
+ *
+ * <p>Generates (or replays) a workload and drives either a running instance over HTTP or an
+ * instance over its binary TCP protocol or an in-process {@code CarPoolingService}. Needs nothing
+ * but a JDK and, for the HTTP target, a local instance started with {@code make run}. See {@link
+ * LoadGeneratorOptions#USAGE} for the options.
+ */
+public final class LoadGenerator {
+
+  private LoadGenerator() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static void main(String[] args) throws Exception {
+    final LoadGeneratorOptions options;
+    try {
+      options = LoadGeneratorOptions.parse(args);
+    } catch (final IllegalArgumentException e) {
+      System.err.println(LoadGeneratorOptions.USAGE);
+      throw e;
+    }
+
+    final Workload workload =
+        options.getReplay() != null
+            ? TraceFile.read(options.getReplay())
+            : WorkloadGenerator.generate(options);
+    System.out.printf(
+        "workload   : %d cars, %d operations over %.1f s%n",
+        workload.getCarIds().length,
+        workload.getOperations().size(),
+        workload.getDurationMicros() / 1e6);
+
+    if (options.getRecord() != null) {
+      TraceFile.write(workload, options.getRecord());
+      System.out.printf(
+          "recorded   : %s (%d bytes)%n", options.getRecord(), Files.size(options.getRecord()));
+    }
+    if (options.isDryRun()) {
+      return;
+    }
+
+    final LoadReport report;
+    try (Target target = createTarget(options)) {
+      report = new WorkloadRunner(target, options.getThreads()).run(workload);
+      report.print(System.out);
+      target.printSummary(System.out);
+    }
+
+    if (options.getHdrOutput() != null) {
+      try (PrintStream out = new PrintStream(Files.newOutputStream(options.getHdrOutput()))) {
+        report.printDistributions(out);
+      }
+    }
+  }
+
+  private static Target createTarget(LoadGeneratorOptions options) {
+    return switch (options.getTarget()) {
+      case "service" -> new ServiceTarget(options.getRebalanceIntervalMillis());
+      case "binary" -> new BinaryTarget(options.getBinaryHost(), options.getBinaryPort());
+      default -> new HttpTarget(options.getUrl(), options.getThreads(), options.isHttp2());
+    };
+  }
+}
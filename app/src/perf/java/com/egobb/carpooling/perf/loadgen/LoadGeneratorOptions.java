@@ -0,0 +1,207 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the {@link LoadGenerator}. Every option is passed as {@code
+ * --name=value}; unknown options are rejected so typos do not silently fall back to defaults.
+ */
+public final class LoadGeneratorOptions {
+
+  static final String USAGE =
+      String.join(
+          System.lineSeparator(),
+          "Usage: LoadGenerator [--option=value ...]",
+          "  --target=http|binary|service",
+          "                            drive the HTTP API, the binary TCP protocol or",
+          "                            CarPoolingService in-process (http)",
+          "  --url=URL                 base URL of the HTTP target (http://localhost:8080)",
+          "  --http-version=1.1|2      HTTP/1.1, or HTTP/2 in cleartext (h2c) (1.1)",
+          "  --binary=HOST:PORT        address of the binary target (localhost:9090)",
+          "  --cars=N                  fleet size loaded before the run (100)",
+          "  --seat-mix=4:w,5:w,6:w    weights of the car seat counts (4:1,5:1,6:1)",
+          "  --duration=SECONDS        length of the arrival window (30)",
+          "  --arrival-rate=N          new journeys per second, Poisson arrivals (100)",
+          "  --group-sizes=1:w,...     weights of the group sizes 1..6 (1:4,2:4,3:2,4:2,5:1,6:1)",
+          "  --dropoff-delay=MILLIS    mean trip length, exponentially distributed (5000)",
+          "  --locate-rate=N           /locate polls per second per live journey (1.0)",
+          "  --threads=N               request worker threads (32)",
+          "  --rebalance-interval=MS   run the rebalancing pass every MS milliseconds",
+          "                            (service target only; 0 = never, the default)",
+          "  --seed=N                  random seed of the generated workload (42)",
+          "  --record=FILE             write the workload to a binary trace file",
+          "  --replay=FILE             replay a recorded trace instead of generating one",
+          "  --hdr-output=FILE         write the full HDR percentile distributions to FILE",
+          "  --dry-run=true            only generate/record, do not send any request");
+
+  private String target = "http";
+  private String url = "http://localhost:8080";
+  private String httpVersion = "1.1";
+  private String binary = "localhost:9090";
+  private int cars = 100;
+  private double[] seatMix = {0, 0, 0, 0, 1, 1, 1};
+  private int durationSeconds = 30;
+  private double arrivalRate = 100;
+  private double[] groupSizes = {0, 4, 4, 2, 2, 1, 1};
+  private long dropoffDelayMillis = 5_000;
+  private double locateRate = 1.0;
+  private int threads = 32;
+  private long rebalanceIntervalMillis;
+  private long seed = 42;
+  private Path record;
+  private Path replay;
+  private Path hdrOutput;
+  private boolean dryRun;
+
+  private LoadGeneratorOptions() {}
+
+  public static LoadGeneratorOptions parse(String[] args) {
+    final Map<String, String> values = new HashMap<>();
+    for (final String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("expected --option=value but got '" + arg + "'");
+      }
+      final int eq = arg.indexOf('=');
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+
+    final LoadGeneratorOptions options = new LoadGeneratorOptions();
+    for (final Map.Entry<String, String> entry : values.entrySet()) {
+      final String value = entry.getValue();
+      switch (entry.getKey()) {
+        case "target" -> options.target = value;
+        case "url" -> options.url = value;
+        case "http-version" -> options.httpVersion = value;
+        case "binary" -> options.binary = value;
+        case "cars" -> options.cars = Integer.parseInt(value);
+        case "seat-mix" -> options.seatMix = parseWeights(value, 4, 6);
+        case "duration" -> options.durationSeconds = Integer.parseInt(value);
+        case "arrival-rate" -> options.arrivalRate = Double.parseDouble(value);
+        case "group-sizes" -> options.groupSizes = parseWeights(value, 1, 6);
+        case "dropoff-delay" -> options.dropoffDelayMillis = Long.parseLong(value);
+        case "locate-rate" -> options.locateRate = Double.parseDouble(value);
+        case "threads" -> options.threads = Integer.parseInt(value);
+        case "rebalance-interval" -> options.rebalanceIntervalMillis = Long.parseLong(value);
+        case "seed" -> options.seed = Long.parseLong(value);
+        case "record" -> options.record = Path.of(value);
+        case "replay" -> options.replay = Path.of(value);
+        case "hdr-output" -> options.hdrOutput = Path.of(value);
+        case "dry-run" -> options.dryRun = Boolean.parseBoolean(value);
+        default -> throw new IllegalArgumentException("unknown option --" + entry.getKey());
+      }
+    }
+
+    if (!"http".equals(options.target)
+        && !"binary".equals(options.target)
+        && !"service".equals(options.target)) {
+      throw new IllegalArgumentException("--target must be 'http', 'binary' or 'service'");
+    }
+    if (!"1.1".equals(options.httpVersion) && !"2".equals(options.httpVersion)) {
+      throw new IllegalArgumentException("--http-version must be '1.1' or '2'");
+    }
+    if (options.binary.lastIndexOf(':') <= 0) {
+      throw new IllegalArgumentException("--binary must be HOST:PORT");
+    }
+    return options;
+  }
+
+  /**
+   * Parses {@code key:weight} pairs into an array indexed by key. Keys outside {@code [min, max]}
+   * are rejected.
+   */
+  static double[] parseWeights(String spec, int min, int max) {
+    final double[] weights = new double[max + 1];
+    for (final String pair : spec.split(",")) {
+      final String[] parts = pair.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("expected key:weight but got '" + pair + "'");
+      }
+      final int key = Integer.parseInt(parts[0]);
+      if (key < min || key > max) {
+        throw new IllegalArgumentException("key " + key + " outside [" + min + ", " + max + "]");
+      }
+      weights[key] = Double.parseDouble(parts[1]);
+    }
+    return weights;
+  }
+
+  public String getTarget() {
+    return this.target;
+  }
+
+  public String getUrl() {
+    return this.url;
+  }
+
+  public boolean isHttp2() {
+    return "2".equals(this.httpVersion);
+  }
+
+  public String getBinaryHost() {
+    return this.binary.substring(0, this.binary.lastIndexOf(':'));
+  }
+
+  public int getBinaryPort() {
+    return Integer.parseInt(this.binary.substring(this.binary.lastIndexOf(':') + 1));
+  }
+
+  public int getCars() {
+    return this.cars;
+  }
+
+  /** Seat count weights indexed by seat count (only 4..6 are non-zero). */
+  public double[] getSeatMix() {
+    return this.seatMix;
+  }
+
+  public int getDurationSeconds() {
+    return this.durationSeconds;
+  }
+
+  public double getArrivalRate() {
+    return this.arrivalRate;
+  }
+
+  /** Group size weights indexed by group size (only 1..6 are non-zero). */
+  public double[] getGroupSizes() {
+    return this.groupSizes;
+  }
+
+  public long getDropoffDelayMillis() {
+    return this.dropoffDelayMillis;
+  }
+
+  public double getLocateRate() {
+    return this.locateRate;
+  }
+
+  public int getThreads() {
+    return this.threads;
+  }
+
+  public long getRebalanceIntervalMillis() {
+    return this.rebalanceIntervalMillis;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  public Path getRecord() {
+    return this.record;
+  }
+
+  public Path getReplay() {
+    return this.replay;
+  }
+
+  public Path getHdrOutput() {
+    return this.hdrOutput;
+  }
+
+  public boolean isDryRun() {
+    return this.dryRun;
+  }
+}
@@ -0,0 +1,83 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/** Throughput and latency percentiles of a finished run. */
+public final class LoadReport {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final String target;
+  private final long elapsedNanos;
+  private final Map<OperationType, Histogram> responseTimes = new EnumMap<>(OperationType.class);
+  private final Map<OperationType, Histogram> serviceTimes = new EnumMap<>(OperationType.class);
+  private final Map<OperationType, Long> errors = new EnumMap<>(OperationType.class);
+
+  public LoadReport(String target, long elapsedNanos) {
+    this.target = target;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  void add(OperationType type, Histogram responseTime, Histogram serviceTime, long errorCount) {
+    this.responseTimes.put(type, responseTime);
+    this.serviceTimes.put(type, serviceTime);
+    this.errors.put(type, errorCount);
+  }
+
+  public void print(PrintStream out) {
+    final double seconds = this.elapsedNanos / 1e9;
+    long total = 0;
+    for (final Histogram h : this.responseTimes.values()) {
+      total += h.getTotalCount();
+    }
+
+    out.printf(Locale.ROOT, "target     : %s%n", this.target);
+    out.printf(Locale.ROOT, "elapsed    : %.2f s%n", seconds);
+    out.printf(Locale.ROOT, "throughput : %.1f req/s (%d requests)%n%n", total / seconds, total);
+
+    out.printf(
+        Locale.ROOT,
+        "%-8s %-9s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+        "op",
+        "latency",
+        "count",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "p99.99 ms",
+        "max ms",
+        "errors");
+    for (final OperationType type : this.responseTimes.keySet()) {
+      this.printRow(out, type, "response", this.responseTimes.get(type), this.errors.get(type));
+      this.printRow(out, type, "service", this.serviceTimes.get(type), this.errors.get(type));
+    }
+  }
+
+  /** Writes the full HDR percentile distribution of every histogram, in HdrHistogram's format. */
+  public void printDistributions(PrintStream out) {
+    for (final OperationType type : this.responseTimes.keySet()) {
+      out.printf(Locale.ROOT, "# %s response time (ms)%n", type);
+      this.responseTimes.get(type).outputPercentileDistribution(out, NANOS_PER_MILLI);
+      out.printf(Locale.ROOT, "# %s service time (ms)%n", type);
+      this.serviceTimes.get(type).outputPercentileDistribution(out, NANOS_PER_MILLI);
+    }
+  }
+
+  private void printRow(
+      PrintStream out, OperationType type, String kind, Histogram histogram, long errorCount) {
+    if (histogram.getTotalCount() == 0) {
+      return;
+    }
+    out.printf(Locale.ROOT, "%-8s %-9s %9d", type, kind, histogram.getTotalCount());
+    for (final double p : PERCENTILES) {
+      out.printf(Locale.ROOT, " %9.3f", histogram.getValueAtPercentile(p) / NANOS_PER_MILLI);
+    }
+    out.printf(Locale.ROOT, " %9.3f %7d%n", histogram.getMaxValue() / NANOS_PER_MILLI, errorCount);
+  }
+}
@@ -0,0 +1,40 @@
+package com.egobb.carpooling.perf.loadgen;
+
+/**
+ * A single scheduled request of a workload.
+ *
+ * <p>{@code atMicros} is the intended send time relative to the start of the run. Latencies are
+ * measured from this instant (not from the actual send time) so that a stalled server is not hidden
+ * by the generator slowing down with it (coordinated omission).
+ */
+public final class Operation {
+
+  private final long atMicros;
+  private final OperationType type;
+  private final int journeyId;
+  private final int people;
+
+  public Operation(long atMicros, OperationType type, int journeyId, int people) {
+    this.atMicros = atMicros;
+    this.type = type;
+    this.journeyId = journeyId;
+    this.people = people;
+  }
+
+  public long getAtMicros() {
+    return this.atMicros;
+  }
+
+  public OperationType getType() {
+    return this.type;
+  }
+
+  public int getJourneyId() {
+    return this.journeyId;
+  }
+
+  /** Group size for {@link OperationType#JOURNEY}; 0 for the other operations. */
+  public int getPeople() {
+    return this.people;
+  }
+}
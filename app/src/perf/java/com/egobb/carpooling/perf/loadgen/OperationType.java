@@ -0,0 +1,27 @@
+package com.egobb.carpooling.perf.loadgen;
+
+/** Operations a workload can issue against the service. The code is the on-disk trace tag. */
+public enum OperationType {
+  JOURNEY(1),
+  DROPOFF(2),
+  LOCATE(3);
+
+  private final int code;
+
+  OperationType(int code) {
+    this.code = code;
+  }
+
+  public int getCode() {
+    return this.code;
+  }
+
+  public static OperationType fromCode(int code) {
+    for (final OperationType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("unknown operation code " + code);
+  }
+}
@@ -0,0 +1,134 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
+import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
+import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
+import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@link CarPoolingService} in-process with the in-memory repositories, bypassing HTTP.
+ *
+ * <p>Useful to separate the cost of the domain and its locking from the web stack. Outcomes are
+ * mapped to the status codes {@code CarPoolingController} would have returned.
+ *
+ * <p>Being in-process, it also sees every domain event and reports the riders' side of the run
+ * (seat utilization, wait for a car), optionally with the periodic {@link
+ * CarPoolingService#rebalance()} pass running as it would in the application.
+ */
+public final class ServiceTarget implements Target {
+
+  private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+  private final CarPoolingService service;
+  private final FleetStats stats = new FleetStats();
+  private final long rebalanceIntervalMillis;
+  private final LongAdder rebalanced = new LongAdder();
+  private final ScheduledExecutorService background =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            final Thread thread = new Thread(r, "service-target");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public ServiceTarget() {
+    this(0);
+  }
+
+  /**
+   * @param rebalanceIntervalMillis period of the rebalancing pass, 0 to never run it
+   */
+  public ServiceTarget(long rebalanceIntervalMillis) {
+    this.service =
+        new CarPoolingService(
+            new InMemoryCarRepository(), new InMemoryJourneyRepository(), this.stats);
+    this.rebalanceIntervalMillis = rebalanceIntervalMillis;
+  }
+
+  @Override
+  public int putCars(int[] ids, int[] seats) {
+    final List<Car> cars = new ArrayList<>(ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      cars.add(new Car(ids[i], seats[i]));
+    }
+    try {
+      this.service.resetCars(cars);
+      this.stats.fleet(seats);
+      this.background.scheduleAtFixedRate(
+          this.stats::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      if (this.rebalanceIntervalMillis > 0) {
+        this.background.scheduleWithFixedDelay(
+            () -> this.rebalanced.add(this.service.rebalance()),
+            this.rebalanceIntervalMillis,
+            this.rebalanceIntervalMillis,
+            TimeUnit.MILLISECONDS);
+      }
+      return 200;
+    } catch (final InvalidCarSeatsException | DuplicatedIdException e) {
+      return 400;
+    }
+  }
+
+  @Override
+  public int journey(int id, int people) {
+    try {
+      this.service.newJourney(new Journey(id, people));
+      return 202;
+    } catch (final InvalidGroupSizeException | DuplicatedIdException e) {
+      return 400;
+    }
+  }
+
+  @Override
+  public int dropoff(int id) {
+    try {
+      this.service.dropoff(id);
+      return 204;
+    } catch (final JourneyNotFoundException e) {
+      return 404;
+    }
+  }
+
+  @Override
+  public int locate(int id) {
+    try {
+      return this.service.locate(id) == null ? 204 : 200;
+    } catch (final JourneyNotFoundException e) {
+      return 404;
+    }
+  }
+
+  @Override
+  public String describe() {
+    return this.rebalanceIntervalMillis > 0
+        ? "in-process CarPoolingService, rebalancing every " + this.rebalanceIntervalMillis + " ms"
+        : "in-process CarPoolingService";
+  }
+
+  @Override
+  public void printSummary(PrintStream out) {
+    this.stats.print(out);
+    if (this.rebalanceIntervalMillis > 0) {
+      out.printf(
+          Locale.ROOT, "rebalance  : %d journeys seated by the pass%n", this.rebalanced.sum());
+    }
+  }
+
+  @Override
+  public void close() {
+    this.background.shutdownNow();
+  }
+}
@@ -0,0 +1,33 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * System under test. Every call is synchronous and returns the HTTP status code the operation
+ * produced (or the one it would have produced, for in-process targets).
+ */
+public interface Target extends Closeable {
+
+  int putCars(int[] ids, int[] seats) throws Exception;
+
+  int journey(int id, int people) throws Exception;
+
+  int dropoff(int id) throws Exception;
+
+  int locate(int id) throws Exception;
+
+  /** Human readable description used in the report header. */
+  String describe();
+
+  /** Prints what only this kind of target can observe, after the latency report. */
+  default void printSummary(PrintStream out) {
+    // Nothing beyond the latencies by default.
+  }
+
+  @Override
+  default void close() throws IOException {
+    // Nothing to release by default.
+  }
+}
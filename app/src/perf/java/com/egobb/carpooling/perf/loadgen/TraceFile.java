@@ -0,0 +1,140 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of a {@link Workload}.
+ *
+ * <p>Layout (all integers are unsigned LEB128 varints unless stated otherwise):
+ *
+ * <pre>
+ *   int32   magic "CPTR"
+ *   byte    format version
+ *   varint  car count, then per car: varint id, byte seats
+ *   varint  operation count, then per operation:
+ *             varint  micros since the previous operation
+ *             byte    operation code
+ *             varint  journey id
+ *             byte    people (JOURNEY only)
+ * </pre>
+ *
+ * <p>Delta-encoded timestamps keep a typical operation at 4-6 bytes, so a one hour production
+ * capture comfortably fits on a laptop.
+ */
+public final class TraceFile {
+
+  private static final int MAGIC = 0x43505452; // "CPTR"
+  private static final int VERSION = 1;
+
+  private TraceFile() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static void write(Workload workload, Path path) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      write(workload, out);
+    }
+  }
+
+  public static Workload read(Path path) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      return read(in);
+    }
+  }
+
+  public static void write(Workload workload, OutputStream stream) throws IOException {
+    final DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+
+    final int[] ids = workload.getCarIds();
+    final int[] seats = workload.getCarSeats();
+    writeVarint(out, ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      writeVarint(out, ids[i]);
+      out.writeByte(seats[i]);
+    }
+
+    final List<Operation> operations = workload.getOperations();
+    writeVarint(out, operations.size());
+    long previous = 0;
+    for (final Operation op : operations) {
+      writeVarint(out, op.getAtMicros() - previous);
+      previous = op.getAtMicros();
+      out.writeByte(op.getType().getCode());
+      writeVarint(out, op.getJourneyId());
+      if (op.getType() == OperationType.JOURNEY) {
+        out.writeByte(op.getPeople());
+      }
+    }
+    out.flush();
+  }
+
+  public static Workload read(InputStream stream) throws IOException {
+    final DataInputStream in = new DataInputStream(stream);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("not a car pooling trace file");
+    }
+    final int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("unsupported trace version " + version);
+    }
+
+    final int carCount = (int) readVarint(in);
+    final int[] ids = new int[carCount];
+    final int[] seats = new int[carCount];
+    for (int i = 0; i < carCount; i++) {
+      ids[i] = (int) readVarint(in);
+      seats[i] = in.readUnsignedByte();
+    }
+
+    final int operationCount = (int) readVarint(in);
+    final List<Operation> operations = new ArrayList<>(operationCount);
+    long at = 0;
+    for (int i = 0; i < operationCount; i++) {
+      at += readVarint(in);
+      final OperationType type = OperationType.fromCode(in.readUnsignedByte());
+      final int journeyId = (int) readVarint(in);
+      final int people = type == OperationType.JOURNEY ? in.readUnsignedByte() : 0;
+      operations.add(new Operation(at, type, journeyId, people));
+    }
+    return new Workload(ids, seats, operations);
+  }
+
+  private static void writeVarint(DataOutputStream out, long value) throws IOException {
+    if (value < 0) {
+      throw new IllegalArgumentException("varints must be non-negative: " + value);
+    }
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarint(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = in.read();
+      if (b < 0) {
+        throw new EOFException("truncated trace file");
+      }
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("malformed varint");
+  }
+}
@@ -0,0 +1,42 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.util.List;
+
+/**
+ * A complete, replayable workload: the fleet loaded with {@code PUT /cars} before the run, followed
+ * by a time-ordered list of operations.
+ */
+public final class Workload {
+
+  private final int[] carIds;
+  private final int[] carSeats;
+  private final List<Operation> operations;
+
+  public Workload(int[] carIds, int[] carSeats, List<Operation> operations) {
+    if (carIds.length != carSeats.length) {
+      throw new IllegalArgumentException("car ids and seats must have the same length");
+    }
+    this.carIds = carIds;
+    this.carSeats = carSeats;
+    this.operations = List.copyOf(operations);
+  }
+
+  public int[] getCarIds() {
+    return this.carIds;
+  }
+
+  public int[] getCarSeats() {
+    return this.carSeats;
+  }
+
+  public List<Operation> getOperations() {
+    return this.operations;
+  }
+
+  /** Intended duration of the run, i.e. the schedule time of the last operation. */
+  public long getDurationMicros() {
+    return this.operations.isEmpty()
+        ? 0
+        : this.operations.get(this.operations.size() - 1).getAtMicros();
+  }
+}
@@ -0,0 +1,100 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a synthetic workload from a {@link LoadGeneratorOptions} description.
+ *
+ * <p>Model: journeys arrive as a Poisson process; every journey is dropped off after an
+ * exponentially distributed trip length (clamped to [100 ms, 10x the mean] so that a dropoff never
+ * races its own journey request and the run does not end with a long sparse tail) and its client
+ * polls {@code /locate} at a fixed rate while the journey is alive. The generator is deterministic
+ * for a given seed, so two runs with the same options produce exactly the same request schedule.
+ */
+public final class WorkloadGenerator {
+
+  private static final long MIN_TRIP_MICROS = 100_000;
+
+  private WorkloadGenerator() {
+    // A private constructor to hide implicit public one
+  }
+
+  public static Workload generate(LoadGeneratorOptions options) {
+    final SplittableRandom random = new SplittableRandom(options.getSeed());
+
+    final int[] carIds = new int[options.getCars()];
+    final int[] carSeats = new int[options.getCars()];
+    for (int i = 0; i < carIds.length; i++) {
+      carIds[i] = i + 1;
+      carSeats[i] = pickWeighted(options.getSeatMix(), random);
+    }
+
+    final long windowMicros = options.getDurationSeconds() * 1_000_000L;
+    final double meanInterArrivalMicros = 1_000_000d / options.getArrivalRate();
+    final double meanTripMicros = options.getDropoffDelayMillis() * 1_000d;
+    final long pollIntervalMicros =
+        options.getLocateRate() > 0 ? (long) (1_000_000d / options.getLocateRate()) : 0;
+
+    final List<Operation> operations = new ArrayList<>();
+    long now = 0;
+    int journeyId = 0;
+    while (true) {
+      now += exponential(meanInterArrivalMicros, random);
+      if (now >= windowMicros) {
+        break;
+      }
+      journeyId++;
+      final int people = pickWeighted(options.getGroupSizes(), random);
+      final long trip =
+          Math.min(
+              Math.max(MIN_TRIP_MICROS, exponential(meanTripMicros, random)),
+              (long) (10 * meanTripMicros));
+      final long dropoffAt = now + trip;
+
+      operations.add(new Operation(now, OperationType.JOURNEY, journeyId, people));
+      if (pollIntervalMicros > 0) {
+        for (long pollAt = now + pollIntervalMicros;
+            pollAt < dropoffAt;
+            pollAt += pollIntervalMicros) {
+          operations.add(new Operation(pollAt, OperationType.LOCATE, journeyId, 0));
+        }
+      }
+      operations.add(new Operation(dropoffAt, OperationType.DROPOFF, journeyId, 0));
+    }
+
+    // Stable sort: operations of the same journey keep their relative order on ties.
+    operations.sort(Comparator.comparingLong(Operation::getAtMicros));
+    return new Workload(carIds, carSeats, operations);
+  }
+
+  private static long exponential(double mean, SplittableRandom random) {
+    return (long) (-Math.log(1 - random.nextDouble()) * mean);
+  }
+
+  private static int pickWeighted(double[] weights, SplittableRandom random) {
+    double total = 0;
+    for (final double w : weights) {
+      total += w;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("at least one weight must be positive");
+    }
+    double r = random.nextDouble() * total;
+    for (int i = 0; i < weights.length; i++) {
+      r -= weights[i];
+      if (r < 0 && weights[i] > 0) {
+        return i;
+      }
+    }
+    // Rounding fallback: last non-zero key.
+    for (int i = weights.length - 1; i >= 0; i--) {
+      if (weights[i] > 0) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("unreachable");
+  }
+}
@@ -0,0 +1,109 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-loop executor of a {@link Workload}.
+ *
+ * <p>A single dispatcher thread releases every operation at its scheduled time and hands it to a
+ * fixed pool of worker threads, so a slow server builds up a queue instead of slowing down the
+ * arrival rate. Two latencies are recorded per operation type: the response time measured from the
+ * intended send time (what a client observes) and the service time measured from the actual send
+ * time (what the server spent).
+ */
+public final class WorkloadRunner {
+
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private final Target target;
+  private final int threads;
+
+  public WorkloadRunner(Target target, int threads) {
+    this.target = target;
+    this.threads = threads;
+  }
+
+  public LoadReport run(Workload workload) throws Exception {
+    final int status = this.target.putCars(workload.getCarIds(), workload.getCarSeats());
+    if (status != 200) {
+      throw new IllegalStateException("PUT /cars failed with status " + status);
+    }
+
+    final Map<OperationType, Stats> stats = new EnumMap<>(OperationType.class);
+    for (final OperationType type : OperationType.values()) {
+      stats.put(type, new Stats());
+    }
+
+    final ExecutorService workers = Executors.newFixedThreadPool(this.threads);
+    final long start = System.nanoTime();
+    try {
+      for (final Operation op : workload.getOperations()) {
+        final long intended = start + TimeUnit.MICROSECONDS.toNanos(op.getAtMicros());
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        workers.execute(() -> this.execute(op, intended, stats.get(op.getType())));
+      }
+    } finally {
+      workers.shutdown();
+      workers.awaitTermination(10, TimeUnit.MINUTES);
+    }
+    final long elapsed = System.nanoTime() - start;
+
+    final LoadReport report = new LoadReport(this.target.describe(), elapsed);
+    for (final Map.Entry<OperationType, Stats> entry : stats.entrySet()) {
+      final Stats s = entry.getValue();
+      report.add(
+          entry.getKey(),
+          s.responseTime.getIntervalHistogram(),
+          s.serviceTime.getIntervalHistogram(),
+          s.errors.get());
+    }
+    return report;
+  }
+
+  private void execute(Operation op, long intended, Stats stats) {
+    final long sent = System.nanoTime();
+    int status;
+    try {
+      status =
+          switch (op.getType()) {
+            case JOURNEY -> this.target.journey(op.getJourneyId(), op.getPeople());
+            case DROPOFF -> this.target.dropoff(op.getJourneyId());
+            case LOCATE -> this.target.locate(op.getJourneyId());
+          };
+    } catch (final Exception e) {
+      status = -1;
+    }
+    final long done = System.nanoTime();
+
+    stats.responseTime.recordValue(Math.min(done - intended, HIGHEST_TRACKABLE_NANOS));
+    stats.serviceTime.recordValue(Math.min(done - sent, HIGHEST_TRACKABLE_NANOS));
+    if (!isExpected(op.getType(), status)) {
+      stats.errors.incrementAndGet();
+    }
+  }
+
+  /** Status codes the API contract allows for a well-formed workload. */
+  private static boolean isExpected(OperationType type, int status) {
+    return switch (type) {
+      case JOURNEY -> status == 202;
+      case DROPOFF -> status == 204;
+      case LOCATE -> status == 200 || status == 204;
+    };
+  }
+
+  private static final class Stats {
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final AtomicLong errors = new AtomicLong();
+  }
+}
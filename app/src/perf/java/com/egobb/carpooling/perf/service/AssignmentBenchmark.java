@@ -0,0 +1,63 @@
+package com.egobb.carpooling.perf.service;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Assignments per second of the in-process {@link CarPoolingService}: every operation seats a new
+ * group of two in its best-fit car and drops it off again, so it takes the car lock twice. A small
+ * fleet keeps the best-fit scan short enough for the locking cost to show. Pass {@code -t N} for
+ * contention.
+ *
+ * <p>Run with {@code make bench ARGS="AssignmentBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentBenchmark {
+
+  @Param({"8", "1000"})
+  public int fleetSize;
+
+  private final AtomicInteger journeyIds = new AtomicInteger();
+  private CarPoolingService service;
+
+  @Setup
+  public void setUp() {
+    this.service =
+        new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository());
+    final List<Car> cars = new ArrayList<>(this.fleetSize);
+    for (int id = 1; id <= this.fleetSize; id++) {
+      cars.add(new Car(id, Car.MAX_SEATS));
+    }
+    this.service.resetCars(cars);
+  }
+
+  @Benchmark
+  public Car journeyAndDropoff() {
+    final int id = this.journeyIds.incrementAndGet();
+    this.service.newJourney(new Journey(id, 2));
+    return this.service.dropoff(id);
+  }
+}
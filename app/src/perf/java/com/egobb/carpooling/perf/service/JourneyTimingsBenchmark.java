@@ -0,0 +1,46 @@
+package com.egobb.carpooling.perf.service;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.egobb.carpooling.domain.service.timing.JourneyTimings;
+import com.egobb.carpooling.domain.service.timing.TimingProperties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of recording the wait and ride time of a journey, which happens on every assignment and
+ * dropoff. Run with {@code make bench ARGS="JourneyTimingsBenchmark -prof gc"}: {@code
+ * gc.alloc.rate.norm} must stay at zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JourneyTimingsBenchmark {
+
+  private JourneyTimings timings;
+  private Journey seated;
+
+  @Setup
+  public void setUp() {
+    this.timings = new JourneyTimings(new TimingProperties());
+    this.seated = new Journey(1, 4).assignTo(new Car(1, 6));
+  }
+
+  @Benchmark
+  public void seatedAndDroppedOff() {
+    this.timings.seated(this.seated);
+    this.timings.droppedOff(this.seated);
+  }
+}
@@ -1,9 +1,14 @@
 package com.egobb.carpooling;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.egobb.carpooling.domain.model.Car;
@@ -16,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -57,4 +63,66 @@ class CarPoolingApplicationTests {
                 .content("ID=" + journey.getId()))
         .andExpect(status().isNoContent());
   }
+
+  @Test
+  public void itShouldDeliverAssignmentEventsToLongPollSubscribers(@Autowired MockMvc mvc)
+      throws Exception {
+    final String body =
+        mvc.perform(post("/events/subscriptions"))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    final String subscription = this.objectMapper.readTree(body).get("id").asText();
+
+    // Nothing happened yet: the poll is parked until the first event arrives.
+    final MvcResult parked =
+        mvc.perform(get("/events/subscriptions/" + subscription).param("timeout", "5000"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    assertThat(parked.getResponse().getStatus()).isEqualTo(200);
+    assertThat(parked.getResponse().getContentAsString()).isEmpty();
+
+    mvc.perform(
+            put("/cars")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(List.of(new Car(7, 4)))))
+        .andExpect(status().isOk());
+
+    final String reset =
+        mvc.perform(asyncDispatch(parked))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.events[0].type").value("FleetReset"))
+            .andExpect(jsonPath("$.dropped").value(0))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    final long resetSequence =
+        this.objectMapper.readTree(reset).get("events").get(0).get("sequence").asLong();
+
+    mvc.perform(
+            post("/journey")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(new Journey(70, 2))))
+        .andExpect(status().isAccepted());
+
+    // The assignment was buffered in the meantime and is returned straight away, and again until
+    // a poll acknowledges it.
+    for (int attempt = 0; attempt < 2; attempt++) {
+      final MvcResult next =
+          mvc.perform(
+                  get("/events/subscriptions/" + subscription)
+                      .param("after", Long.toString(resetSequence)))
+              .andReturn();
+      mvc.perform(asyncDispatch(next))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.events.length()").value(1))
+          .andExpect(jsonPath("$.events[0].type").value("JourneyAssigned"))
+          .andExpect(jsonPath("$.events[0].journeyId").value(70))
+          .andExpect(jsonPath("$.events[0].carId").value(7))
+          .andExpect(jsonPath("$.events[0].availableSeats").value(2));
+    }
+
+    mvc.perform(delete("/events/subscriptions/" + subscription)).andExpect(status().isNoContent());
+  }
 }
@@ -0,0 +1,52 @@
+package com.egobb.carpooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.egobb.carpooling.domain.port.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("lean")
+class LeanProfileTests {
+
+  @Test
+  void servesTheApiWithoutRestRepositoryMachineryOrRepositoryProxies(
+      @Autowired MockMvc mvc, @Autowired ApplicationContext context, @Autowired CarRepository cars)
+      throws Exception {
+    assertThat(context.containsBean("repositoryRestConfiguration")).isFalse();
+    assertThat(AopUtils.isAopProxy(cars)).isFalse();
+
+    mvc.perform(get("/status")).andExpect(status().isOk());
+    mvc.perform(
+            put("/cars")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":1,\"seats\":4}]"))
+        .andExpect(status().isOk());
+    mvc.perform(
+            post("/journey")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":1,\"people\":4}"))
+        .andExpect(status().isAccepted());
+    mvc.perform(
+            post("/locate")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("ID", "1")
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(1));
+  }
+}
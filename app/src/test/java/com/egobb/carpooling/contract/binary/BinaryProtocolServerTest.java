@@ -0,0 +1,309 @@
+package com.egobb.carpooling.contract.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import com.egobb.carpooling.contract.cluster.ClusterMode;
+import com.egobb.carpooling.contract.cluster.ClusterProperties;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.admission.AdmissionControl;
+import com.egobb.carpooling.domain.service.admission.AdmissionProperties;
+import com.egobb.carpooling.domain.service.expiry.PendingExpiry;
+import com.egobb.carpooling.domain.service.reassignment.ReassignmentDispatcher;
+import com.egobb.carpooling.domain.service.timing.JourneyTimings;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BinaryProtocolServerTest {
+
+  private BinaryProtocolServer server;
+  private BinaryProtocolClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    final BinaryProtocolProperties properties = new BinaryProtocolProperties();
+    properties.setHost("127.0.0.1");
+    properties.setPort(0);
+    properties.setMaxFrameBytes(1024);
+    this.server =
+        new BinaryProtocolServer(
+            new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository()),
+            properties,
+            new ClusterProperties());
+    this.server.start();
+    this.client = new BinaryProtocolClient("127.0.0.1", this.server.getLocalPort());
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    this.client.close();
+    this.server.stop();
+  }
+
+  @Test
+  void answersEveryOperationWithTheRestStatusCodes() throws IOException {
+    assertThat(this.client.status().getStatus()).isEqualTo(200);
+    assertThat(this.client.putCars(new int[] {1, 2}, new int[] {4, 6}).getStatus()).isEqualTo(200);
+
+    assertThat(this.client.journey(10, 4).getStatus()).isEqualTo(202);
+    assertThat(this.client.journey(10, 2).getStatus()).isEqualTo(400);
+    assertThat(this.client.journey(11, 7).getStatus()).isEqualTo(400);
+
+    final BinaryResponse located = this.client.locate(10);
+    assertThat(located.getStatus()).isEqualTo(200);
+    assertThat(located.getCarId()).isEqualTo(1);
+    assertThat(located.getCarSeats()).isEqualTo(4);
+    assertThat(located.getAvailableSeats()).isZero();
+
+    assertThat(this.client.journey(12, 6).getStatus()).isEqualTo(202);
+    assertThat(this.client.journey(13, 1).getStatus()).isEqualTo(202);
+    assertThat(this.client.locate(13).getStatus()).isEqualTo(204);
+
+    assertThat(this.client.dropoff(10).getStatus()).isEqualTo(204);
+    assertThat(this.client.locate(13).getCarId()).isEqualTo(1);
+    assertThat(this.client.dropoff(10).getStatus()).isEqualTo(404);
+    assertThat(this.client.locate(99).getStatus()).isEqualTo(404);
+    assertThat(this.client.locate(0).getStatus()).isEqualTo(400);
+  }
+
+  @Test
+  void rejectsJourneysLikeTheRestApiWhenTheBacklogIsFull() throws IOException {
+    final AdmissionProperties admission = new AdmissionProperties();
+    admission.setMaxPending(2);
+    admission.setMaxPendingPerGroupSize(Map.of(6, 1));
+    admission.setMaxRetryAfter(Duration.ofSeconds(30));
+    final BinaryProtocolProperties properties = new BinaryProtocolProperties();
+    properties.setHost("127.0.0.1");
+    properties.setPort(0);
+    final BinaryProtocolServer limited =
+        new BinaryProtocolServer(
+            new CarPoolingService(
+                new InMemoryCarRepository(),
+                new InMemoryJourneyRepository(),
+                event -> {},
+                new AdmissionControl(admission),
+                PendingExpiry.disabled(),
+                ReassignmentDispatcher.synchronous(),
+                JourneyTimings.disabled()),
+            properties,
+            new ClusterProperties());
+    limited.start();
+    try (BinaryProtocolClient limitedClient =
+        new BinaryProtocolClient("127.0.0.1", limited.getLocalPort())) {
+      // No cars: every journey waits.
+      assertThat(limitedClient.journey(1, 6).getStatus()).isEqualTo(202);
+
+      final BinaryResponse sizeFull = limitedClient.journey(2, 6);
+      assertThat(sizeFull.getStatus()).isEqualTo(429);
+      assertThat(sizeFull.getRetryAfterSeconds()).isEqualTo(30);
+
+      assertThat(limitedClient.journey(3, 2).getStatus()).isEqualTo(202);
+      final BinaryResponse full = limitedClient.journey(4, 2);
+      assertThat(full.getStatus()).isEqualTo(503);
+      assertThat(full.getRetryAfterSeconds()).isEqualTo(30);
+    } finally {
+      limited.stop();
+    }
+  }
+
+  @Test
+  void partitionedNodesRefuseBinaryWrites() throws IOException {
+    final ClusterProperties cluster = new ClusterProperties();
+    cluster.setMode(ClusterMode.PARTITIONED);
+    final BinaryProtocolProperties properties = new BinaryProtocolProperties();
+    properties.setHost("127.0.0.1");
+    properties.setPort(0);
+    final BinaryProtocolServer partitioned =
+        new BinaryProtocolServer(
+            new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository()),
+            properties,
+            cluster);
+    partitioned.start();
+    try (BinaryProtocolClient partitionedClient =
+        new BinaryProtocolClient("127.0.0.1", partitioned.getLocalPort())) {
+      // A local fleet reset would leave the other partitions untouched.
+      assertThat(partitionedClient.putCars(new int[] {1}, new int[] {4}).getStatus())
+          .isEqualTo(503);
+      assertThat(partitionedClient.journey(1, 2).getStatus()).isEqualTo(503);
+      assertThat(partitionedClient.dropoff(1).getStatus()).isEqualTo(503);
+      assertThat(partitionedClient.status().getStatus()).isEqualTo(200);
+    } finally {
+      partitioned.stop();
+    }
+  }
+
+  @Test
+  void rejectsInvalidFleets() throws IOException {
+    assertThat(this.client.putCars(new int[] {1, 1}, new int[] {4, 4}).getStatus()).isEqualTo(400);
+    assertThat(this.client.putCars(new int[] {1}, new int[] {3}).getStatus()).isEqualTo(400);
+  }
+
+  @Test
+  void answersPipelinedRequestsInOrder() throws IOException {
+    try (Socket socket = new Socket("127.0.0.1", this.server.getLocalPort())) {
+      final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      // Three frames in a single write: STATUS, an unknown opcode and a truncated LOCATE.
+      out.writeInt(5);
+      out.writeByte(BinaryProtocol.STATUS);
+      out.writeInt(7);
+      out.writeInt(5);
+      out.writeByte(0x7F);
+      out.writeInt(8);
+      out.writeInt(6);
+      out.writeByte(BinaryProtocol.LOCATE);
+      out.writeInt(9);
+      out.writeByte(0);
+      out.flush();
+
+      final DataInputStream in = new DataInputStream(socket.getInputStream());
+      for (final int[] expected : new int[][] {{7, 200}, {8, 400}, {9, 400}}) {
+        assertThat(in.readInt()).isEqualTo(BinaryProtocol.RESPONSE_HEADER_BYTES);
+        in.readByte();
+        assertThat(in.readInt()).isEqualTo(expected[0]);
+        assertThat(in.readShort()).isEqualTo((short) expected[1]);
+      }
+    }
+  }
+
+  @Test
+  void keepsAnsweringOtherConnectionsWhileAFleetResetRuns() throws Exception {
+    this.server.stop();
+    final CountDownLatch resetStarted = new CountDownLatch(1);
+    final CountDownLatch releaseReset = new CountDownLatch(1);
+    final CarPoolingService service =
+        spy(new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository()));
+    doAnswer(
+            invocation -> {
+              resetStarted.countDown();
+              releaseReset.await(10, TimeUnit.SECONDS);
+              return invocation.callRealMethod();
+            })
+        .when(service)
+        .resetCars(anyList());
+    final BinaryProtocolProperties properties = new BinaryProtocolProperties();
+    properties.setHost("127.0.0.1");
+    properties.setPort(0);
+    this.server = new BinaryProtocolServer(service, properties, new ClusterProperties());
+    this.server.start();
+    this.client.close();
+    this.client = new BinaryProtocolClient("127.0.0.1", this.server.getLocalPort());
+
+    try (Socket socket = new Socket("127.0.0.1", this.server.getLocalPort())) {
+      // PUT_CARS, then a journey and a locate pipelined behind it.
+      final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      out.writeInt(BinaryProtocol.REQUEST_HEADER_BYTES + 9);
+      out.writeByte(BinaryProtocol.PUT_CARS);
+      out.writeInt(1);
+      out.writeInt(1);
+      out.writeInt(1);
+      out.writeByte(4);
+      out.writeInt(BinaryProtocol.REQUEST_HEADER_BYTES + 5);
+      out.writeByte(BinaryProtocol.JOURNEY);
+      out.writeInt(2);
+      out.writeInt(10);
+      out.writeByte(4);
+      out.writeInt(BinaryProtocol.REQUEST_HEADER_BYTES + 4);
+      out.writeByte(BinaryProtocol.LOCATE);
+      out.writeInt(3);
+      out.writeInt(10);
+      out.flush();
+      assertThat(resetStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // The reset is stuck on a worker; another connection is still served.
+      assertThat(this.client.status().getStatus()).isEqualTo(200);
+      assertThat(this.client.locate(10).getStatus()).isEqualTo(404);
+
+      releaseReset.countDown();
+      final DataInputStream in = new DataInputStream(socket.getInputStream());
+      for (final int[] expected : new int[][] {{1, 200}, {2, 202}, {3, 200}}) {
+        in.readInt();
+        in.readByte();
+        assertThat(in.readInt()).isEqualTo(expected[0]);
+        assertThat(in.readShort()).isEqualTo((short) expected[1]);
+      }
+      // The locate ran after the reset: journey 10 sits in car 1.
+      assertThat(in.readInt()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void stopsReadingFromClientsThatDoNotReadTheirResponses() throws Exception {
+    this.server.stop();
+    final BinaryProtocolProperties properties = new BinaryProtocolProperties();
+    properties.setHost("127.0.0.1");
+    properties.setPort(0);
+    properties.setMaxPendingOutputBytes(4096);
+    this.server =
+        new BinaryProtocolServer(
+            new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository()),
+            properties,
+            new ClusterProperties());
+    this.server.start();
+
+    // Far more than the socket buffers of both ends hold, so the writer has to block.
+    final int frames = 4 << 20;
+    try (Socket socket = new Socket("127.0.0.1", this.server.getLocalPort())) {
+      final CompletableFuture<Void> pipelined =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  final DataOutputStream out =
+                      new DataOutputStream(
+                          new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                  for (int i = 0; i < frames; i++) {
+                    out.writeInt(BinaryProtocol.REQUEST_HEADER_BYTES);
+                    out.writeByte(BinaryProtocol.STATUS);
+                    out.writeInt(i);
+                  }
+                  out.flush();
+                } catch (final IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+
+      Thread.sleep(500);
+      assertThat(pipelined).isNotDone();
+      assertThat(this.server.getPeakPendingOutputBytes()).isPositive().isLessThanOrEqualTo(4096);
+
+      // Reading the responses lets the server decode the rest, in order.
+      final DataInputStream in =
+          new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+      for (int i = 0; i < frames; i++) {
+        assertThat(in.readInt()).isEqualTo(BinaryProtocol.RESPONSE_HEADER_BYTES);
+        in.readByte();
+        assertThat(in.readInt()).isEqualTo(i);
+        in.readShort();
+      }
+      pipelined.get(10, TimeUnit.SECONDS);
+      assertThat(this.server.getPeakPendingOutputBytes()).isLessThanOrEqualTo(4096);
+    }
+  }
+
+  @Test
+  void closesConnectionsSendingOversizedFrames() throws IOException {
+    try (Socket socket = new Socket("127.0.0.1", this.server.getLocalPort())) {
+      final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      out.writeInt(1 << 20);
+      out.flush();
+
+      assertThat(socket.getInputStream().read()).isEqualTo(-1);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.egobb.carpooling.contract.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final List<String> NODES = List.of("http://a", "http://b", "http://c");
+
+  @Test
+  void spreadsCarsEvenlyOverTheNodes() {
+    final ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+    final Map<String, Integer> owned = new HashMap<>();
+    for (int id = 1; id <= 30_000; id++) {
+      owned.merge(ring.ownerOfCar(id), 1, Integer::sum);
+    }
+
+    assertThat(owned).containsOnlyKeys(NODES);
+    assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+  }
+
+  @Test
+  void addingANodeOnlyMovesTheCarsItTakesOver() {
+    final ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+    final ConsistentHashRing after =
+        new ConsistentHashRing(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+
+    int moved = 0;
+    for (int id = 1; id <= 10_000; id++) {
+      final String owner = after.ownerOfCar(id);
+      if (!owner.equals(before.ownerOfCar(id))) {
+        assertThat(owner).isEqualTo("http://d");
+        moved++;
+      }
+    }
+    assertThat(moved).isBetween(1_500, 3_500);
+  }
+
+  @Test
+  void spillOrderStartsAtTheHomeAndVisitsEveryNodeOnce() {
+    final ConsistentHashRing ring = new ConsistentHashRing(NODES, 16);
+    for (int id = 1; id <= 100; id++) {
+      final List<String> order = ring.spillOrder(id);
+
+      assertThat(order).hasSize(3).containsExactlyInAnyOrderElementsOf(NODES);
+      assertThat(order.get(0)).isEqualTo(ring.homeOfJourney(id));
+    }
+  }
+}
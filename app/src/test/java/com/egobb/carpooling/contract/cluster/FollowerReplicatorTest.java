@@ -0,0 +1,155 @@
+package com.egobb.carpooling.contract.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.contract.controller.dto.EventBatchDTO;
+import com.egobb.carpooling.contract.controller.dto.EventDTO;
+import com.egobb.carpooling.contract.controller.dto.EventSubscriptionDTO;
+import com.egobb.carpooling.contract.controller.dto.FleetSnapshotDTO;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Replicates from a scripted leader, to control exactly which batches the follower receives. */
+class FollowerReplicatorTest {
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new ParameterNamesModule(JsonCreator.Mode.DEFAULT))
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final BlockingQueue<EventBatchDTO> batches = new LinkedBlockingQueue<>();
+  private final List<String> polls = new CopyOnWriteArrayList<>();
+  private final AtomicInteger snapshots = new AtomicInteger();
+  private final AtomicLong snapshotPosition = new AtomicLong();
+  private final List<String> secrets = new CopyOnWriteArrayList<>();
+
+  private HttpServer leader;
+  private FollowerReplicator replicator;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    this.leader = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.leader.createContext("/cluster/subscriptions", this::subscribe);
+    this.leader.createContext("/events/subscriptions", this::events);
+    this.leader.createContext("/cluster/snapshot", this::snapshot);
+    this.leader.start();
+
+    final ClusterProperties properties = new ClusterProperties();
+    properties.setLeaderUrl("http://127.0.0.1:" + this.leader.getAddress().getPort());
+    properties.setReplicationPollTimeout(Duration.ofMillis(200));
+    properties.setRetryInterval(Duration.ofMillis(50));
+    properties.setSecret("follower-test");
+    this.replicator =
+        new FollowerReplicator(
+            new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository()),
+            properties,
+            this.objectMapper);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.replicator.stop();
+    this.leader.stop(0);
+  }
+
+  @Test
+  void resyncsWhenABatchGoesMissing() throws Exception {
+    this.replicator.start();
+    await(() -> this.replicator.isSynced());
+    assertThat(this.snapshots).hasValue(1);
+
+    this.batches.add(batch(assigned(1, 1, 2)));
+    assertThat(this.replicator.awaitPosition(1, Duration.ofSeconds(5))).isTrue();
+
+    // The batch holding event 2 never arrives, and nothing reports it as dropped.
+    this.snapshotPosition.set(3);
+    this.batches.add(batch(assigned(3, 2, 2)));
+    await(() -> this.snapshots.get() == 2);
+    assertThat(this.replicator.awaitPosition(3, Duration.ofSeconds(5))).isTrue();
+
+    // Every poll acknowledged the position reached so far.
+    assertThat(this.polls).contains("after=0", "after=1");
+    // The replication subscription, the snapshots and every poll carried the cluster secret.
+    assertThat(this.secrets).isNotEmpty().containsOnly("follower-test");
+  }
+
+  private void subscribe(HttpExchange exchange) throws IOException {
+    this.secrets.add(exchange.getRequestHeaders().getFirst(PeerAuthentication.HEADER));
+    this.respond(exchange, 201, new EventSubscriptionDTO("follower"));
+  }
+
+  private void events(HttpExchange exchange) throws IOException {
+    this.secrets.add(exchange.getRequestHeaders().getFirst(PeerAuthentication.HEADER));
+    final String query = exchange.getRequestURI().getQuery();
+    this.polls.add(query.substring(query.indexOf("after=")));
+    final EventBatchDTO batch;
+    try {
+      batch = this.batches.poll(100, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    if (batch == null) {
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+      return;
+    }
+    this.respond(exchange, 200, batch);
+  }
+
+  private void snapshot(HttpExchange exchange) throws IOException {
+    this.secrets.add(exchange.getRequestHeaders().getFirst(PeerAuthentication.HEADER));
+    this.snapshots.incrementAndGet();
+    this.respond(
+        exchange,
+        200,
+        new FleetSnapshotDTO(
+            this.snapshotPosition.get(), List.of(new CarLocateResponseDTO(1, 6, 6)), List.of()));
+  }
+
+  private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+    final byte[] bytes = this.objectMapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    exchange.getResponseBody().write(bytes);
+    exchange.close();
+  }
+
+  private static EventBatchDTO batch(EventDTO... events) {
+    return new EventBatchDTO(List.of(events), 0);
+  }
+
+  private static EventDTO assigned(long sequence, int journeyId, int passengers) {
+    return new EventDTO(
+        sequence, 0, "JourneyAssigned", journeyId, passengers, 1, 6, 6 - passengers, null);
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
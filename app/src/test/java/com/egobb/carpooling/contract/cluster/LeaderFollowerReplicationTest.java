@@ -0,0 +1,130 @@
+package com.egobb.carpooling.contract.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.egobb.carpooling.CarPoolingApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Runs a leader and a follower on loopback and drives them over HTTP. */
+class LeaderFollowerReplicationTest {
+
+  private static final HttpClient CLIENT = HttpClient.newHttpClient();
+  private static final String SECRET = "replication-test";
+
+  private static ConfigurableApplicationContext leader;
+  private static ConfigurableApplicationContext follower;
+  private static String leaderUrl;
+  private static String followerUrl;
+
+  @BeforeAll
+  static void startCluster() {
+    leader = start("--carpooling.cluster.mode=leader", "--carpooling.cluster.secret=" + SECRET);
+    leaderUrl = url(leader);
+    follower =
+        start(
+            "--carpooling.cluster.mode=follower",
+            "--carpooling.cluster.leader-url=" + leaderUrl,
+            "--carpooling.cluster.secret=" + SECRET,
+            "--carpooling.cluster.replication-poll-timeout=2s",
+            "--carpooling.cluster.retry-interval=100ms");
+    followerUrl = url(follower);
+  }
+
+  @AfterAll
+  static void stopCluster() {
+    follower.close();
+    leader.close();
+  }
+
+  @Test
+  void followerForwardsWritesAndServesItsOwnReadsLocally() throws Exception {
+    assertThat(send(followerUrl, "PUT", "/cars", "[{\"id\":1,\"seats\":4},{\"id\":2,\"seats\":6}]"))
+        .isEqualTo(200);
+    assertThat(send(followerUrl, "POST", "/journey", "{\"id\":1,\"people\":4}")).isEqualTo(202);
+    assertThat(send(followerUrl, "POST", "/journey", "{\"id\":1,\"people\":4}")).isEqualTo(400);
+
+    // Read-your-writes: the follower answered the write only once it was replicated.
+    assertThat(locate(followerUrl, 1)).isEqualTo(200);
+    assertThat(locate(leaderUrl, 1)).isEqualTo(200);
+
+    // A write that goes straight to the leader reaches the follower through replication.
+    assertThat(send(leaderUrl, "POST", "/journey", "{\"id\":2,\"people\":6}")).isEqualTo(202);
+    assertThat(send(leaderUrl, "POST", "/journey", "{\"id\":3,\"people\":6}")).isEqualTo(202);
+    awaitLocate(followerUrl, 3, 204);
+
+    assertThat(send(leaderUrl, "POST", "/dropoff", "ID=2")).isEqualTo(204);
+    awaitLocate(followerUrl, 2, 404);
+    awaitLocate(followerUrl, 3, 200);
+  }
+
+  @Test
+  void followerDoesNotServeSnapshots() throws Exception {
+    final HttpResponse<String> snapshot =
+        CLIENT.send(
+            HttpRequest.newBuilder(URI.create(followerUrl + "/cluster/snapshot")).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+    assertThat(snapshot.statusCode()).isEqualTo(404);
+  }
+
+  @Test
+  void leaderOnlyServesReplicationToPeers() throws Exception {
+    assertThat(get(leaderUrl + "/cluster/snapshot", "guessed")).isEqualTo(403);
+    assertThat(send(leaderUrl, "POST", "/cluster/subscriptions", "")).isEqualTo(403);
+    assertThat(get(leaderUrl + "/cluster/snapshot", SECRET)).isEqualTo(200);
+    // Public, so clients can still see the replication position.
+    assertThat(get(leaderUrl + "/cluster/status", null)).isEqualTo(200);
+  }
+
+  private static ConfigurableApplicationContext start(String... args) {
+    final String[] all = new String[args.length + 1];
+    all[0] = "--server.port=0";
+    System.arraycopy(args, 0, all, 1, args.length);
+    return new SpringApplicationBuilder(CarPoolingApplication.class).run(all);
+  }
+
+  private static String url(ConfigurableApplicationContext context) {
+    return "http://127.0.0.1:"
+        + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+  }
+
+  private static int send(String base, String method, String path, String body) throws Exception {
+    final HttpRequest request =
+        HttpRequest.newBuilder(URI.create(base + path))
+            .header(
+                "Content-Type",
+                body.startsWith("ID=") ? "application/x-www-form-urlencoded" : "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    return CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private static int get(String url, String secret) throws Exception {
+    final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+    if (secret != null) {
+      request.header(PeerAuthentication.HEADER, secret);
+    }
+    return CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private static int locate(String base, int journeyId) throws Exception {
+    return send(base, "POST", "/locate", "ID=" + journeyId);
+  }
+
+  private static void awaitLocate(String base, int journeyId, int status) throws Exception {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (locate(base, journeyId) != status && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(locate(base, journeyId)).isEqualTo(status);
+  }
+}
@@ -0,0 +1,225 @@
+package com.egobb.carpooling.contract.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.egobb.carpooling.CarPoolingApplication;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Runs a two-node partitioned cluster on loopback and drives it over HTTP. */
+class PartitionedClusterTest {
+
+  private static final HttpClient CLIENT = HttpClient.newHttpClient();
+  private static final String SECRET = "partitioned-cluster-test";
+
+  private static final List<ConfigurableApplicationContext> NODES = new ArrayList<>();
+  private static String a;
+  private static String b;
+  private static ConsistentHashRing ring;
+
+  @BeforeAll
+  static void startCluster() throws IOException {
+    a = "http://127.0.0.1:" + freePort();
+    b = "http://127.0.0.1:" + freePort();
+    ring = new ConsistentHashRing(List.of(a, b), 128);
+    NODES.add(start(a));
+    NODES.add(start(b));
+  }
+
+  @AfterAll
+  static void stopCluster() {
+    NODES.forEach(ConfigurableApplicationContext::close);
+  }
+
+  @Test
+  void spillsJourneysToThePeerOwningTheOnlyFreeCarAndRoutesLocateAndDropoff() throws Exception {
+    // Two cars, both owned by node b.
+    final List<Integer> carsOfB = idsOwnedBy(b, 2, true);
+    assertThat(put(a, carsOfB)).isEqualTo(200);
+
+    // A journey whose home is node a, which has no cars at all.
+    final int journey = idsOwnedBy(a, 1, false).get(0);
+    assertThat(post(b, "/journey", "{\"id\":" + journey + ",\"people\":4}")).isEqualTo(202);
+    assertThat(post(a, "/journey", "{\"id\":" + journey + ",\"people\":4}")).isEqualTo(400);
+
+    final HttpResponse<String> located = locate(a, journey);
+    assertThat(located.statusCode()).isEqualTo(200);
+    assertThat(located.body()).contains("\"id\":" + carsOfB.get(0));
+    assertThat(locate(b, journey).statusCode()).isEqualTo(200);
+
+    assertThat(post(b, "/dropoff", "ID=" + journey)).isEqualTo(204);
+    assertThat(locate(a, journey).statusCode()).isEqualTo(404);
+    assertThat(post(a, "/dropoff", "ID=" + journey)).isEqualTo(404);
+  }
+
+  @Test
+  void queuesOnTheHomeNodeWhenNoNodeFitsAndSeatsItWhenTheHomeFreesACar() throws Exception {
+    final List<Integer> carsOfA = idsOwnedBy(a, 1, true);
+    assertThat(put(b, carsOfA)).isEqualTo(200);
+
+    final List<Integer> journeysOfA = idsOwnedBy(a, 2, false);
+    assertThat(post(a, "/journey", "{\"id\":" + journeysOfA.get(0) + ",\"people\":4}"))
+        .isEqualTo(202);
+    assertThat(post(b, "/journey", "{\"id\":" + journeysOfA.get(1) + ",\"people\":3}"))
+        .isEqualTo(202);
+    assertThat(locate(b, journeysOfA.get(1)).statusCode()).isEqualTo(204);
+
+    assertThat(post(b, "/dropoff", "ID=" + journeysOfA.get(0))).isEqualTo(204);
+    assertThat(locate(b, journeysOfA.get(1)).statusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void routesBatchDropoffsAndForgetsTheRoutesOfEveryJourneyThatLeft() throws Exception {
+    // One car on each node; a fleet reset also clears the routes of earlier tests.
+    assertThat(put(a, List.of(idsOwnedBy(a, 1, true).get(0), idsOwnedBy(b, 1, true).get(0))))
+        .isEqualTo(200);
+    final List<Integer> journeysOfA = idsOwnedBy(a, 2, false);
+    final int journeyOfB = idsOwnedBy(b, 1, false).get(0);
+
+    // Seated on a, spilled to b's car, and queued on b.
+    assertThat(post(a, "/journey", "{\"id\":" + journeysOfA.get(0) + ",\"people\":4}"))
+        .isEqualTo(202);
+    assertThat(post(a, "/journey", "{\"id\":" + journeysOfA.get(1) + ",\"people\":4}"))
+        .isEqualTo(202);
+    assertThat(post(b, "/journey", "{\"id\":" + journeyOfB + ",\"people\":1}")).isEqualTo(202);
+    assertThat(router(a).routeCount()).isEqualTo(2);
+    assertThat(router(b).routeCount()).isEqualTo(1);
+
+    final HttpResponse<String> dropped =
+        CLIENT.send(
+            HttpRequest.newBuilder(URI.create(b + "/dropoff/batch"))
+                .header("Content-Type", "application/json")
+                .POST(
+                    HttpRequest.BodyPublishers.ofString(
+                        List.of(journeysOfA.get(0), journeysOfA.get(1), journeyOfB, 999_999)
+                            .toString()))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+
+    assertThat(dropped.statusCode()).isEqualTo(200);
+    assertThat(dropped.body())
+        .isEqualTo(
+            "{\"droppedOff\":["
+                + journeysOfA.get(0)
+                + ","
+                + journeysOfA.get(1)
+                + ","
+                + journeyOfB
+                + "],\"notFound\":[999999]}");
+    assertThat(router(a).routeCount()).isZero();
+    assertThat(router(b).routeCount()).isZero();
+    assertThat(locate(a, journeysOfA.get(1)).statusCode()).isEqualTo(404);
+  }
+
+  @Test
+  void rejectsInvalidFleetsBeforeSplittingThem() throws Exception {
+    assertThat(send(a, "PUT", "/cars", "application/json", "[{\"id\":1,\"seats\":3}]"))
+        .isEqualTo(400);
+  }
+
+  @Test
+  void onlyPeersMaySkipTheRoutingOrSpillJourneys() throws Exception {
+    final String journey = "{\"id\":" + idsOwnedBy(a, 1, false).get(0) + ",\"people\":4}";
+    final String json = "application/json";
+    // Executed locally, the journey would skip its home node and never be routed.
+    assertThat(send(b, "POST", "/journey", json, journey, PartitionRouter.LOCAL_HEADER, "true"))
+        .isEqualTo(403);
+    assertThat(
+            send(
+                b,
+                "POST",
+                "/journey",
+                json,
+                journey,
+                PartitionRouter.LOCAL_HEADER,
+                "true",
+                PeerAuthentication.HEADER,
+                "guessed"))
+        .isEqualTo(403);
+    assertThat(send(b, "PUT", "/cars", json, "[]", PartitionRouter.LOCAL_HEADER, "true"))
+        .isEqualTo(403);
+    assertThat(send(b, "POST", "/cluster/journeys", json, journey)).isEqualTo(403);
+  }
+
+  private static ConfigurableApplicationContext start(String self) {
+    return new SpringApplicationBuilder(CarPoolingApplication.class)
+        .run(
+            "--server.port=" + URI.create(self).getPort(),
+            "--carpooling.cluster.mode=partitioned",
+            "--carpooling.cluster.nodes=" + a + "," + b,
+            "--carpooling.cluster.self-url=" + self,
+            "--carpooling.cluster.secret=" + SECRET);
+  }
+
+  private static PartitionRouter router(String node) {
+    return NODES.get(a.equals(node) ? 0 : 1).getBean(PartitionRouter.class);
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  /** First {@code count} ids whose car owner (or journey home) is {@code node}. */
+  private static List<Integer> idsOwnedBy(String node, int count, boolean cars) {
+    final List<Integer> ids = new ArrayList<>();
+    for (int id = 1; ids.size() < count; id++) {
+      if (node.equals(cars ? ring.ownerOfCar(id) : ring.homeOfJourney(id))) {
+        ids.add(id);
+      }
+    }
+    return ids;
+  }
+
+  private static int put(String node, List<Integer> carIds) throws Exception {
+    final String body =
+        carIds.stream()
+            .map(id -> "{\"id\":" + id + ",\"seats\":4}")
+            .collect(Collectors.joining(",", "[", "]"));
+    return send(node, "PUT", "/cars", "application/json", body);
+  }
+
+  private static int post(String node, String path, String body) throws Exception {
+    return send(
+        node,
+        "POST",
+        path,
+        body.startsWith("ID=") ? "application/x-www-form-urlencoded" : "application/json",
+        body);
+  }
+
+  private static HttpResponse<String> locate(String node, int journeyId) throws Exception {
+    return CLIENT.send(
+        HttpRequest.newBuilder(URI.create(node + "/locate"))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString("ID=" + journeyId))
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static int send(
+      String node, String method, String path, String type, String body, String... headers)
+      throws Exception {
+    final HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(node + path))
+            .header("Content-Type", type)
+            .method(method, HttpRequest.BodyPublishers.ofString(body));
+    if (headers.length > 0) {
+      request.headers(headers);
+    }
+    return CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
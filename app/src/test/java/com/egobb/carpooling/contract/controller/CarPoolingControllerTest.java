@@ -1,33 +1,56 @@
 package com.egobb.carpooling.contract.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.domain.model.FleetStatistics;
 import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
 import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
 import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
 import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
 import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = CarPoolingController.class)
+@Import({LocateResponseCache.class, InMemoryEventBus.class})
 class CarPoolingControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private LocateResponseCache locateResponses;
+
+  @Autowired private InMemoryEventBus eventBus;
+
   @MockBean private CarPoolingService carJourneyService;
 
   // ---------- /status ----------
@@ -39,6 +62,30 @@ class CarPoolingControllerTest {
     verifyNoInteractions(this.carJourneyService);
   }
 
+  // ---------- GET /stats ----------
+
+  @Test
+  void getStats_shouldReturnTheCounters() throws Exception {
+    Mockito.when(this.carJourneyService.statistics())
+        .thenReturn(
+            new FleetStatistics(
+                new int[] {1, 0, 2, 0, 0, 0, 3}, new int[] {0, 0, 0, 0, 4, 0, 1}, 5));
+
+    this.mockMvc
+        .perform(get("/stats"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .json(
+                    "{\"cars\":6,\"freeSeats\":22,"
+                        + "\"carsByFreeSeats\":{\"0\":1,\"1\":0,\"2\":2,\"3\":0,"
+                        + "\"4\":0,\"5\":0,\"6\":3},"
+                        + "\"activeJourneys\":5,\"pendingJourneys\":5,"
+                        + "\"pendingByGroupSize\":{\"1\":0,\"2\":0,\"3\":0,\"4\":4,"
+                        + "\"5\":0,\"6\":1}}",
+                    true));
+  }
+
   // ---------- PUT /cars ----------
 
   @Test
@@ -63,6 +110,17 @@ class CarPoolingControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void putCars_withOutOfRangeSeats_shouldBeRejectedBeforeReachingTheService() throws Exception {
+    final String carsJson = "[{\"id\": 1, \"seats\": 4}, {\"id\": 2, \"seats\": 9}]";
+
+    this.mockMvc
+        .perform(put("/cars").contentType(MediaType.APPLICATION_JSON).content(carsJson))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.carJourneyService);
+  }
+
   @Test
   void putCars_withDuplicatedId_shouldReturnBadRequest() throws Exception {
     final String carsJson = "[{\"id\": 1, \"seats\": 4}, {\"id\": 1, \"seats\": 5}]";
@@ -109,6 +167,18 @@ class CarPoolingControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void postJourney_withNonIntegerGroupSize_shouldBeRejectedBeforeReachingTheService()
+      throws Exception {
+    final String journeyJson = "{\"id\": 1, \"people\": \"three\"}";
+
+    this.mockMvc
+        .perform(post("/journey").contentType(MediaType.APPLICATION_JSON).content(journeyJson))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.carJourneyService);
+  }
+
   @Test
   void postJourney_withDuplicatedId_shouldReturnBadRequest() throws Exception {
     final String journeyJson = "{\"id\": 1, \"people\": 3}";
@@ -120,6 +190,35 @@ class CarPoolingControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void postJourney_whenBacklogIsFull_shouldReturnServiceUnavailableWithRetryAfter()
+      throws Exception {
+    final String journeyJson = "{\"id\": 1, \"people\": 3}";
+
+    doThrow(new BacklogFullException("full", false, Duration.ofSeconds(7)))
+        .when(this.carJourneyService)
+        .newJourney(Mockito.any());
+
+    this.mockMvc
+        .perform(post("/journey").contentType(MediaType.APPLICATION_JSON).content(journeyJson))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+  }
+
+  @Test
+  void postJourney_whenBacklogOfGroupSizeIsFull_shouldReturnTooManyRequests() throws Exception {
+    final String journeyJson = "{\"id\": 1, \"people\": 6}";
+
+    doThrow(new BacklogFullException("full", true, Duration.ofSeconds(60)))
+        .when(this.carJourneyService)
+        .newJourney(Mockito.any());
+
+    this.mockMvc
+        .perform(post("/journey").contentType(MediaType.APPLICATION_JSON).content(journeyJson))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+  }
+
   // ---------- POST /dropoff ----------
 
   @Test
@@ -165,6 +264,72 @@ class CarPoolingControllerTest {
         .andExpect(status().isNoContent());
   }
 
+  @Test
+  void postLocate_whenAssigned_shouldReturnTheCarWithAnETag() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(new Car(7, 5).snapshot());
+
+    this.mockMvc
+        .perform(
+            post("/locate").contentType(MediaType.APPLICATION_FORM_URLENCODED).param("ID", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"7-5-5\""))
+        .andExpect(content().json("{\"id\":7,\"seats\":5,\"availableSeats\":5}", true));
+  }
+
+  @Test
+  void postLocate_whenTheCarDidNotChange_shouldReturnNotModified() throws Exception {
+    final Car car = new Car(7, 5);
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(car.snapshot());
+
+    this.mockMvc
+        .perform(
+            post("/locate")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("ID", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7-5-5\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    // Another group boarded: same car, new body.
+    car.setAvailableSeats(2);
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(car.snapshot());
+    this.mockMvc
+        .perform(
+            post("/locate")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("ID", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7-5-5\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"7-5-2\""));
+  }
+
+  @Test
+  void postLocate_cacheIsEmptiedByAFleetReset() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(new Car(7, 5).snapshot());
+    this.mockMvc
+        .perform(
+            post("/locate").contentType(MediaType.APPLICATION_FORM_URLENCODED).param("ID", "1"))
+        .andExpect(status().isOk());
+    assertThat(this.locateResponses.size()).isEqualTo(1);
+
+    this.eventBus.publish(new FleetReset(0));
+
+    assertThat(this.locateResponses.size()).isZero();
+  }
+
+  @Test
+  void postLocate_whenStillPending_shouldReturnNotModified() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(null);
+
+    this.mockMvc
+        .perform(
+            post("/locate")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("ID", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"pending\""))
+        .andExpect(status().isNotModified());
+  }
+
   @Test
   void postLocate_whenJourneyNotFound_shouldReturnNotFound() throws Exception {
     Mockito.when(this.carJourneyService.locate(999)).thenThrow(JourneyNotFoundException.class);
@@ -174,4 +339,65 @@ class CarPoolingControllerTest {
             post("/locate").contentType(MediaType.APPLICATION_FORM_URLENCODED).param("ID", "999"))
         .andExpect(status().isNotFound());
   }
+
+  // ---------- POST /locate/batch ----------
+
+  @Test
+  void postLocateBatch_shouldReportEveryJourney() throws Exception {
+    final Map<Integer, Optional<CarSnapshot>> located = new LinkedHashMap<>();
+    located.put(1, Optional.of(new Car(7, 5).snapshot()));
+    located.put(2, Optional.empty());
+    Mockito.when(this.carJourneyService.locateAll(List.of(1, 2, 3))).thenReturn(located);
+
+    this.mockMvc
+        .perform(post("/locate/batch").contentType(MediaType.APPLICATION_JSON).content("[1, 2, 3]"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .json(
+                    "[{\"id\":1,\"status\":\"ASSIGNED\","
+                        + "\"car\":{\"id\":7,\"seats\":5,\"availableSeats\":5}},"
+                        + "{\"id\":2,\"status\":\"PENDING\"},"
+                        + "{\"id\":3,\"status\":\"NOT_FOUND\"}]",
+                    true));
+  }
+
+  @Test
+  void postLocateBatch_withInvalidId_shouldReturnBadRequest() throws Exception {
+    this.mockMvc
+        .perform(post("/locate/batch").contentType(MediaType.APPLICATION_JSON).content("[1, 0]"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.carJourneyService);
+  }
+
+  // ---------- POST /dropoff/batch ----------
+
+  @Test
+  void postDropoffBatch_shouldReportDroppedOffAndUnknownJourneys() throws Exception {
+    Mockito.when(this.carJourneyService.dropoffAll(List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+
+    this.mockMvc
+        .perform(
+            post("/dropoff/batch").contentType(MediaType.APPLICATION_JSON).content("[1, 2, 3]"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"droppedOff\":[1,3],\"notFound\":[2]}", true));
+  }
+
+  @Test
+  void postDropoffBatch_withEmptyOrOversizedBatch_shouldReturnBadRequest() throws Exception {
+    this.mockMvc
+        .perform(post("/dropoff/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isBadRequest());
+
+    final String oversized =
+        IntStream.rangeClosed(1, CarPoolingController.MAX_BATCH_SIZE + 1)
+            .mapToObj(Integer::toString)
+            .collect(Collectors.joining(",", "[", "]"));
+    this.mockMvc
+        .perform(post("/dropoff/batch").contentType(MediaType.APPLICATION_JSON).content(oversized))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(this.carJourneyService);
+  }
 }
@@ -0,0 +1,76 @@
+package com.egobb.carpooling.contract.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+  private void advanceMillis(long millis) {
+    this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  void allowsABurstThenTheSustainedRate() {
+    final ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, this.now::get);
+
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    // One call every 100 ms once the burst is spent.
+    assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+    this.advanceMillis(100);
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isPositive();
+  }
+
+  @Test
+  void clientsHaveTheirOwnAllowance() {
+    final ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, this.now::get);
+
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isPositive();
+    assertThat(limiter.tryAcquire("b")).isZero();
+  }
+
+  @Test
+  void idleClientsDoNotBankMoreThanTheBurst() {
+    final ClientRateLimiter limiter = new ClientRateLimiter(10, 2, 100, this.now::get);
+    limiter.tryAcquire("a");
+
+    this.advanceMillis(60_000);
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isZero();
+    assertThat(limiter.tryAcquire("a")).isPositive();
+  }
+
+  @Test
+  void evictsOnlyClientsWithAFullAllowance() {
+    final ClientRateLimiter limiter = new ClientRateLimiter(10, 1, 100, this.now::get);
+    limiter.tryAcquire("a");
+    this.advanceMillis(100);
+    limiter.tryAcquire("b");
+
+    assertThat(limiter.evictIdle()).isEqualTo(1);
+    assertThat(limiter.clients()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectsNewClientsOnceFullUntilIdleOnesAreEvicted() {
+    final ClientRateLimiter limiter = new ClientRateLimiter(10, 1, 2, this.now::get);
+    limiter.tryAcquire("a");
+    limiter.tryAcquire("b");
+
+    assertThat(limiter.tryAcquire("c")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(limiter.clients()).isEqualTo(2);
+
+    this.advanceMillis(100);
+    limiter.evictIdle();
+    assertThat(limiter.tryAcquire("c")).isZero();
+  }
+}
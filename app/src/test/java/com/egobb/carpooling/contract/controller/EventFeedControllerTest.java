@@ -0,0 +1,32 @@
+package com.egobb.carpooling.contract.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.egobb.carpooling.infrastructure.event.EventFeed;
+import com.egobb.carpooling.infrastructure.event.EventFeedProperties;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class EventFeedControllerTest {
+
+  @Test
+  void refusesSubscriptionsPastTheLimit() {
+    final EventFeedProperties properties = new EventFeedProperties();
+    properties.setMaxSubscriptions(2);
+    final EventFeed feed = new EventFeed(new InMemoryEventBus(), properties);
+    final EventFeedController controller =
+        new EventFeedController(feed, properties, mock(SseEventStreamer.class));
+    try {
+      assertThat(controller.subscribe().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+      final String second = controller.subscribe().getBody().getId();
+      assertThat(controller.subscribe().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+      controller.unsubscribe(second);
+      assertThat(controller.subscribe().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    } finally {
+      feed.shutdown();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.egobb.carpooling.contract.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import com.egobb.carpooling.infrastructure.event.InMemoryEventBus;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@WebMvcTest(controllers = {CarPoolingController.class, LocateLongPollController.class})
+@Import({AssignmentWaiters.class, LocateResponseCache.class, InMemoryEventBus.class})
+@EnableConfigurationProperties(LocateWaitProperties.class)
+class LocateLongPollControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private InMemoryEventBus eventBus;
+
+  @Autowired private AssignmentWaiters waiters;
+
+  @MockBean private CarPoolingService carJourneyService;
+
+  @Test
+  void respondsAsSoonAsThePendingJourneyIsAssigned() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(null);
+
+    final MvcResult parked =
+        this.mockMvc.perform(locate(1, "5000")).andExpect(request().asyncStarted()).andReturn();
+    assertThat(this.waiters.size()).isEqualTo(1);
+
+    this.eventBus.publish(new JourneyAssigned(1, 2, 10, 5, 3));
+
+    this.mockMvc
+        .perform(asyncDispatch(parked))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"id\":10,\"seats\":5,\"availableSeats\":3}"));
+    assertThat(this.waiters.size()).isZero();
+  }
+
+  @Test
+  void respondsImmediatelyWhenAlreadyAssigned() throws Exception {
+    final Car car = new Car(4, 6);
+    car.setAvailableSeats(2);
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(car.snapshot());
+
+    final MvcResult result = this.mockMvc.perform(locate(1, "5000")).andReturn();
+
+    this.mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"id\":4,\"seats\":6,\"availableSeats\":2}"));
+  }
+
+  @Test
+  void respondsNoContentWhenStillPendingAtTimeout() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(null);
+
+    final MvcResult parked = this.mockMvc.perform(locate(1, "50")).andReturn();
+    // MockMvc does not run container timeouts: fire the timeout the way the container would.
+    final MockAsyncContext asyncContext = (MockAsyncContext) parked.getRequest().getAsyncContext();
+    for (final AsyncListener listener : asyncContext.getListeners()) {
+      listener.onTimeout(new AsyncEvent(asyncContext));
+    }
+
+    this.mockMvc.perform(asyncDispatch(parked)).andExpect(status().isNoContent());
+  }
+
+  @Test
+  void respondsNotFoundWhenTheJourneyIsDroppedOffWhileWaiting() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(null);
+
+    final MvcResult parked = this.mockMvc.perform(locate(1, "5000")).andReturn();
+    this.eventBus.publish(new JourneyDroppedOff(1, 2, null, null));
+
+    this.mockMvc.perform(asyncDispatch(parked)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void respondsNotFoundForUnknownJourney() throws Exception {
+    Mockito.when(this.carJourneyService.locate(99)).thenThrow(JourneyNotFoundException.class);
+
+    final MvcResult result = this.mockMvc.perform(locate(99, "5000")).andReturn();
+
+    this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    assertThat(this.waiters.size()).isZero();
+  }
+
+  @Test
+  void plainLocateIsStillServedWithoutWaiting() throws Exception {
+    Mockito.when(this.carJourneyService.locate(1)).thenReturn(null);
+
+    this.mockMvc
+        .perform(
+            post("/locate").contentType(MediaType.APPLICATION_FORM_URLENCODED).param("ID", "1"))
+        .andExpect(request().asyncNotStarted())
+        .andExpect(status().isNoContent());
+  }
+
+  private static MockHttpServletRequestBuilder locate(int id, String wait) {
+    return post("/locate")
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .param("ID", Integer.toString(id))
+        .param("wait", wait);
+  }
+}
@@ -0,0 +1,37 @@
+package com.egobb.carpooling.contract.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class LocateRateLimitFilterTest {
+
+  @Test
+  void keysOnTheRemoteAddressUnlessAProxyWeTrustNamedTheClient() {
+    final LocateRateLimitProperties properties = new LocateRateLimitProperties();
+    properties.setPerSecond(1);
+    properties.setClientHeader("X-Client-Id");
+    properties.setTrustedProxies(List.of("10.0.0.5"));
+    final LocateRateLimitFilter filter =
+        new LocateRateLimitFilter(properties, new SimpleMeterRegistry());
+
+    // A client naming itself is still limited by its address.
+    assertThat(filter.client(request("192.0.2.7", "made-up-1"))).isEqualTo("192.0.2.7");
+    assertThat(filter.client(request("192.0.2.7", "made-up-2"))).isEqualTo("192.0.2.7");
+
+    assertThat(filter.client(request("10.0.0.5", "driver-42"))).isEqualTo("driver-42");
+    assertThat(filter.client(request("10.0.0.5", null))).isEqualTo("10.0.0.5");
+  }
+
+  private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+    final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/locate");
+    request.setRemoteAddr(remoteAddress);
+    if (clientId != null) {
+      request.addHeader("X-Client-Id", clientId);
+    }
+    return request;
+  }
+}
@@ -20,7 +20,7 @@ class CarLocateResponseMapperTest {
     final Car car = new Car(10, 6);
     car.setAvailableSeats(3); // Simulate partial availability
 
-    final CarLocateResponseDTO dto = CarLocateResponseMapper.toLocateResponse(car);
+    final CarLocateResponseDTO dto = CarLocateResponseMapper.toLocateResponse(car.snapshot());
 
     assertNotNull(dto, "DTO should not be null");
     assertEquals(10, dto.getId(), "ID should match");
@@ -32,7 +32,7 @@ class CarLocateResponseMapperTest {
   void toLocateResponse_returnsFullAvailability_whenCarIsUnused() {
     final Car car = new Car(7, 4); // All seats available
 
-    final CarLocateResponseDTO dto = CarLocateResponseMapper.toLocateResponse(car);
+    final CarLocateResponseDTO dto = CarLocateResponseMapper.toLocateResponse(car.snapshot());
 
     assertNotNull(dto);
     assertEquals(7, dto.getId());
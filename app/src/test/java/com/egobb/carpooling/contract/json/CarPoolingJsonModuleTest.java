@@ -0,0 +1,83 @@
+package com.egobb.carpooling.contract.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.egobb.carpooling.contract.controller.dto.CarLocateResponseDTO;
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CarPoolingJsonModuleTest {
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().registerModule(new CarPoolingJsonModule());
+
+  @Test
+  void readsJourneyAndSkipsUnknownFields() throws Exception {
+    final Journey journey =
+        this.objectMapper.readValue(
+            "{\"extra\":{\"nested\":[1,2]},\"people\":4,\"id\":12}", Journey.class);
+
+    assertThat(journey.getId()).isEqualTo(12);
+    assertThat(journey.getPassengers()).isEqualTo(4);
+    assertThat(journey.getAssignedTo()).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"id\":0,\"people\":4}",
+        "{\"people\":4}",
+        "{\"id\":1,\"people\":0}",
+        "{\"id\":1,\"people\":7}",
+        "{\"id\":1}",
+        "{\"id\":\"1\",\"people\":4}",
+        "{\"id\":1.5,\"people\":4}",
+        "{\"id\":4294967297,\"people\":4}",
+        "{\"id\":null,\"people\":4}",
+        "[1,4]"
+      })
+  void rejectsInvalidJourneys(String json) {
+    assertThatThrownBy(() -> this.objectMapper.readValue(json, Journey.class))
+        .isInstanceOf(MismatchedInputException.class);
+  }
+
+  @Test
+  void readsCarList() throws Exception {
+    final List<Car> cars =
+        this.objectMapper.readValue(
+            "[{\"id\":1,\"seats\":4},{\"seats\":6,\"id\":2}]", new TypeReference<>() {});
+
+    assertThat(cars)
+        .extracting(Car::getId, Car::getMaxSeats, Car::getAvailableSeats)
+        .containsExactly(tuple(1, 4, 4), tuple(2, 6, 6));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "[{\"id\":1,\"seats\":3}]",
+        "[{\"id\":1,\"seats\":7}]",
+        "[{\"id\":-1,\"seats\":4}]",
+        "[{\"id\":1}]",
+        "[{\"id\":1,\"seats\":4},5]"
+      })
+  void rejectsInvalidCars(String json) {
+    assertThatThrownBy(() -> this.objectMapper.readValue(json, new TypeReference<List<Car>>() {}))
+        .isInstanceOf(MismatchedInputException.class);
+  }
+
+  @Test
+  void writesLocateResponse() throws Exception {
+    assertThat(this.objectMapper.writeValueAsString(new CarLocateResponseDTO(7, 5, 2)))
+        .isEqualTo("{\"id\":7,\"seats\":5,\"availableSeats\":2}");
+  }
+}
@@ -3,6 +3,7 @@ package com.egobb.carpooling.domain.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.FleetStatistics;
 import com.egobb.carpooling.domain.model.Journey;
 import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
 import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
@@ -100,6 +101,13 @@ class CarPoolingServiceConcurrencyTest {
     // Invariant 4: total journeys = assigned + pending
     assertThat(all.size()).isEqualTo(totalJourneys);
     assertThat(pending.size()).isEqualTo(totalJourneys - (int) assignedCount);
+
+    // Invariant 5: once quiet, the incremental counters agree with the full scan.
+    final FleetStatistics statistics = service.statistics();
+    assertThat(statistics.getActiveJourneys()).isEqualTo((int) assignedCount);
+    assertThat(statistics.getPendingJourneys(1)).isEqualTo(pending.size());
+    assertThat(statistics.getFreeSeats()).isEqualTo(storedCar.getAvailableSeats());
+    assertThat(statistics.getCars()).isEqualTo(1);
   }
 
   @Test
@@ -175,8 +183,8 @@ class CarPoolingServiceConcurrencyTest {
     service.newJourney(b);
 
     // A should be assigned, B should be pending
-    assertThat(a.getAssignedTo()).isNotNull();
-    assertThat(b.getAssignedTo()).isNull();
+    assertThat(service.locate(1)).isNotNull();
+    assertThat(service.locate(2)).isNull();
     assertThat(car.getAvailableSeats()).isEqualTo(0);
 
     service.dropoff(1);
@@ -2,22 +2,52 @@ package com.egobb.carpooling.domain.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
 
+import com.egobb.carpooling.domain.event.CarPoolingEvent;
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyAssigned;
+import com.egobb.carpooling.domain.event.JourneyDroppedOff;
+import com.egobb.carpooling.domain.event.JourneyQueued;
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.CarSnapshot;
+import com.egobb.carpooling.domain.model.FleetSnapshot;
 import com.egobb.carpooling.domain.model.Journey;
 import com.egobb.carpooling.domain.port.CarRepository;
 import com.egobb.carpooling.domain.port.JourneyRepository;
+import com.egobb.carpooling.domain.service.admission.AdmissionControl;
 import com.egobb.carpooling.domain.service.exception.DuplicatedIdException;
 import com.egobb.carpooling.domain.service.exception.InvalidCarSeatsException;
 import com.egobb.carpooling.domain.service.exception.InvalidGroupSizeException;
 import com.egobb.carpooling.domain.service.exception.JourneyNotFoundException;
+import com.egobb.carpooling.domain.service.expiry.PendingExpiry;
+import com.egobb.carpooling.domain.service.reassignment.ReassignmentDispatcher;
+import com.egobb.carpooling.domain.service.reassignment.ReassignmentProperties;
+import com.egobb.carpooling.domain.service.timing.JourneyTimings;
+import com.egobb.carpooling.domain.service.timing.TimingProperties;
+import com.egobb.carpooling.domain.service.timing.TimingWindow;
+import com.egobb.carpooling.infrastructure.repository.InMemoryCarRepository;
+import com.egobb.carpooling.infrastructure.repository.InMemoryJourneyRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -45,25 +75,27 @@ class CarPoolingServiceTest {
     verify(this.journeyRepository).clearAll();
 
     // newJourney will ask for available cars and check journey id uniqueness
-    when(this.carRepository.findAll()).thenReturn(List.of(car));
+    this.fleetOf(car);
     when(this.journeyRepository.findById(1)).thenReturn(Optional.empty());
 
     final Journey journey = new Journey(1, 4);
 
     this.service.newJourney(journey);
 
-    // The journey should be assigned to the car and all seats consumed
-    assertThat(journey.getAssignedTo()).isEqualTo(car);
+    // A seated version of the journey must be stored as an active journey, all seats consumed
+    final Journey stored = this.savedJourneys().get(0);
+    assertThat(stored.getId()).isEqualTo(1);
+    assertThat(stored.getAssignedTo()).isEqualTo(car);
     assertThat(car.getAvailableSeats()).isEqualTo(0);
 
-    // The journey must be stored as an active journey
-    verify(this.journeyRepository).save(journey);
+    // The submitted journey itself is immutable
+    assertThat(journey.getAssignedTo()).isNull();
   }
 
   @Test
   void keepsJourneyWaitingWhenNoCarCanServeIt() {
     final Car car = new Car(1, 4);
-    when(this.carRepository.findAll()).thenReturn(List.of(car));
+    this.fleetOf(car);
     when(this.journeyRepository.findById(1)).thenReturn(Optional.empty());
 
     final Journey journey = new Journey(1, 6);
@@ -84,33 +116,48 @@ class CarPoolingServiceTest {
     // Simulate that car is fully occupied by journeyA
     car.setAvailableSeats(0);
 
-    final Journey journeyA = new Journey(1, 4);
-    journeyA.setAssignedTo(car);
-
+    final Journey journeyA = new Journey(1, 4, car);
     final Journey journeyB = new Journey(2, 4); // pending
 
-    when(this.journeyRepository.findById(1)).thenReturn(Optional.of(journeyA));
+    // Journey A is removed from the repository
+    when(this.journeyRepository.deleteById(1)).thenReturn(Optional.of(journeyA));
     when(this.journeyRepository.findPending()).thenReturn(List.of(journeyB));
+    when(this.journeyRepository.replace(same(journeyB), any())).thenReturn(true);
 
     final Car freedCar = this.service.dropoff(1);
 
-    // Journey A is removed from the repository
-    verify(this.journeyRepository).deleteById(1);
-
     // After dropoff + reassignment, all seats should be used again by journeyB
     assertThat(freedCar.getAvailableSeats()).isEqualTo(0);
 
-    // Journey B should now be assigned to the freed car
-    assertThat(journeyB.getAssignedTo()).isEqualTo(freedCar);
+    // Journey B's pending version is swapped for one seated in the freed car
+    assertThat(this.seatedJourneys(1).get(0).getAssignedTo()).isEqualTo(freedCar);
+  }
 
-    // And persisted as an active journey
-    verify(this.journeyRepository).save(journeyB);
+  @Test
+  void skipsPendingJourneyThatWasSeatedElsewhereMeanwhile() {
+    final Car car = new Car(1, 4);
+    car.setAvailableSeats(0);
+
+    final Journey journeyA = new Journey(1, 4, car);
+    final Journey takenElsewhere = new Journey(2, 4);
+    final Journey next = new Journey(3, 4);
+
+    when(this.journeyRepository.deleteById(1)).thenReturn(Optional.of(journeyA));
+    when(this.journeyRepository.findPending()).thenReturn(List.of(takenElsewhere, next));
+    // Another car won the swap for journey 2 after the pending list was read.
+    when(this.journeyRepository.replace(same(takenElsewhere), any())).thenReturn(false);
+    when(this.journeyRepository.replace(same(next), any())).thenReturn(true);
+
+    this.service.dropoff(1);
+
+    assertThat(this.seatedJourneys(2)).extracting(Journey::getId).containsExactly(2, 3);
+    assertThat(car.getAvailableSeats()).isZero();
   }
 
   @Test
   void allowsSmallerGroupToBeServedBeforeEarlierBiggerGroupWhenNoCarCanServeTheBiggerOne() {
     final Car car = new Car(1, 6);
-    when(this.carRepository.findAll()).thenReturn(List.of(car));
+    this.fleetOf(car);
 
     // Existing 2-people journey uses the car first
     final Journey existing = new Journey(100, 2);
@@ -118,7 +165,7 @@ class CarPoolingServiceTest {
 
     this.service.newJourney(existing);
 
-    assertThat(existing.getAssignedTo()).isEqualTo(car);
+    assertThat(this.savedJourneys().get(0).getAssignedTo()).isEqualTo(car);
     assertThat(car.getAvailableSeats()).isEqualTo(4);
 
     // Big group of 6 cannot be served with only 4 remaining seats
@@ -136,9 +183,10 @@ class CarPoolingServiceTest {
 
     this.service.newJourney(smallGroup);
 
-    assertThat(smallGroup.getAssignedTo()).isEqualTo(car);
+    final Journey seatedSmallGroup = this.savedJourneys().get(1);
+    assertThat(seatedSmallGroup.getId()).isEqualTo(2);
+    assertThat(seatedSmallGroup.getAssignedTo()).isEqualTo(car);
     assertThat(car.getAvailableSeats()).isEqualTo(2);
-    verify(this.journeyRepository).save(smallGroup);
   }
 
   @Test
@@ -197,7 +245,7 @@ class CarPoolingServiceTest {
     final Car car1 = new Car(1, 6); // would leave 2 seats
     final Car car2 = new Car(2, 4); // would leave 0 seats
 
-    when(this.carRepository.findAll()).thenReturn(List.of(car1, car2));
+    this.fleetOf(car1, car2);
     when(this.journeyRepository.findById(1)).thenReturn(Optional.empty());
 
     final Journey journey = new Journey(1, 4);
@@ -205,11 +253,9 @@ class CarPoolingServiceTest {
     this.service.newJourney(journey);
 
     // Best-fit strategy must choose car2 (4 seats)
-    assertThat(journey.getAssignedTo()).isEqualTo(car2);
+    assertThat(this.savedJourneys().get(0).getAssignedTo()).isEqualTo(car2);
     assertThat(car2.getAvailableSeats()).isEqualTo(0);
     assertThat(car1.getAvailableSeats()).isEqualTo(6);
-
-    verify(this.journeyRepository).save(journey);
   }
 
   @Test
@@ -218,4 +264,355 @@ class CarPoolingServiceTest {
 
     assertThatThrownBy(() -> this.service.locate(99)).isInstanceOf(JourneyNotFoundException.class);
   }
+
+  @Test
+  void publishesEventsForEveryStateTransition() {
+    final List<CarPoolingEvent> events = new ArrayList<>();
+    final CarPoolingService publishing =
+        new CarPoolingService(this.carRepository, this.journeyRepository, events::add);
+
+    final Car car = new Car(1, 4);
+    publishing.resetCars(List.of(car));
+
+    this.fleetOf(car);
+    final Journey seated = new Journey(1, 4);
+    final Journey waiting = new Journey(2, 3);
+    publishing.newJourney(seated);
+    publishing.newJourney(waiting);
+
+    when(this.journeyRepository.deleteById(1)).thenReturn(Optional.of(seated.assignTo(car)));
+    when(this.journeyRepository.findPending()).thenReturn(List.of(waiting));
+    when(this.journeyRepository.replace(same(waiting), any())).thenReturn(true);
+    publishing.dropoff(1);
+
+    assertThat(events)
+        .extracting(e -> e.getType().getEventName())
+        .containsExactly(
+            "FleetReset",
+            "JourneyAssigned",
+            "JourneyQueued",
+            "JourneyDroppedOff",
+            "JourneyAssigned");
+
+    assertThat(((FleetReset) events.get(0)).getCars()).isEqualTo(1);
+    final JourneyAssigned assigned = (JourneyAssigned) events.get(1);
+    assertThat(assigned.getJourneyId()).isEqualTo(1);
+    assertThat(assigned.getCarId()).isEqualTo(1);
+    assertThat(assigned.getAvailableSeats()).isZero();
+    assertThat(((JourneyQueued) events.get(2)).getPassengers()).isEqualTo(3);
+    final JourneyDroppedOff droppedOff = (JourneyDroppedOff) events.get(3);
+    assertThat(droppedOff.getCarId()).isEqualTo(1);
+    assertThat(droppedOff.getAvailableSeats()).isEqualTo(4);
+    final JourneyAssigned reassigned = (JourneyAssigned) events.get(4);
+    assertThat(reassigned.getJourneyId()).isEqualTo(2);
+    assertThat(reassigned.getAvailableSeats()).isEqualTo(1);
+  }
+
+  @Test
+  void bulkDropoffFreesSeatsPerCarAndSweepsPendingOnce() {
+    final Car car1 = new Car(1, 4);
+    final Car car2 = new Car(2, 4);
+    car1.setAvailableSeats(0);
+    car2.setAvailableSeats(2);
+
+    final Journey a = new Journey(1, 2, car1);
+    final Journey b = new Journey(2, 2, car1);
+    final Journey c = new Journey(3, 2, car2);
+    final Journey pendingPair = new Journey(10, 2);
+    final Journey pendingTrio = new Journey(11, 3);
+    final Journey pendingSingle = new Journey(12, 1);
+
+    when(this.journeyRepository.deleteById(1)).thenReturn(Optional.of(a));
+    when(this.journeyRepository.deleteById(2)).thenReturn(Optional.of(b));
+    when(this.journeyRepository.deleteById(3)).thenReturn(Optional.of(c));
+    when(this.journeyRepository.deleteById(99)).thenReturn(Optional.empty());
+    when(this.journeyRepository.findPending())
+        .thenReturn(List.of(pendingPair, pendingTrio, pendingSingle));
+    when(this.journeyRepository.replace(any(), any())).thenReturn(true);
+
+    final List<Integer> droppedOff = this.service.dropoffAll(List.of(1, 2, 99, 3));
+
+    assertThat(droppedOff).containsExactly(1, 2, 3);
+
+    // car1 got 4 seats back in one pass: the oldest pending that fit fill it (2 + 1).
+    // car2 went from 2 to 4 free seats: the trio still fits there.
+    assertThat(this.seatedJourneys(3))
+        .extracting(Journey::getId, Journey::getAssignedTo)
+        .containsExactly(tuple(10, car1), tuple(12, car1), tuple(11, car2));
+    assertThat(car1.getAvailableSeats()).isEqualTo(1);
+    assertThat(car2.getAvailableSeats()).isEqualTo(1);
+
+    // One pending scan for the whole batch.
+    verify(this.journeyRepository, times(1)).findPending();
+  }
+
+  @Test
+  void bulkLocateReportsAssignedPendingAndUnknownJourneys() {
+    final Car car = new Car(1, 4);
+    final Journey assigned = new Journey(1, 2, car);
+
+    when(this.journeyRepository.findById(1)).thenReturn(Optional.of(assigned));
+    when(this.journeyRepository.findById(2)).thenReturn(Optional.of(new Journey(2, 3)));
+    when(this.journeyRepository.findById(3)).thenReturn(Optional.empty());
+
+    final Map<Integer, Optional<CarSnapshot>> located = this.service.locateAll(List.of(1, 2, 3));
+
+    assertThat(located).containsOnlyKeys(1, 2);
+    assertThat(located.get(1)).containsSame(car.snapshot());
+    assertThat(located.get(2)).isEmpty();
+  }
+
+  @Test
+  void snapshotPlusReplayedEventsReproduceTheState() {
+    final List<CarPoolingEvent> events = new ArrayList<>();
+    final CarPoolingService leader =
+        new CarPoolingService(
+            new InMemoryCarRepository(), new InMemoryJourneyRepository(), events::add);
+    leader.resetCars(List.of(new Car(1, 4), new Car(2, 6)));
+    leader.newJourney(new Journey(1, 4));
+
+    final FleetSnapshot snapshot = leader.snapshot(events::size);
+    leader.newJourney(new Journey(2, 6));
+    leader.newJourney(new Journey(3, 3));
+    leader.dropoff(1);
+
+    final CarPoolingService follower =
+        new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository());
+    follower.restore(snapshot);
+    events.subList((int) snapshot.getPosition(), events.size()).forEach(follower::replay);
+
+    assertThatThrownBy(() -> follower.locate(1)).isInstanceOf(JourneyNotFoundException.class);
+    assertThat(follower.locate(2).getId()).isEqualTo(2);
+    assertThat(follower.locate(3).getId()).isEqualTo(1);
+    assertThat(follower.locate(3).getAvailableSeats()).isEqualTo(1);
+    assertThat(follower.locate(2).getAvailableSeats()).isZero();
+  }
+
+  @Test
+  void locateReturnsAVersionThatLaterChangesDoNotTouch() {
+    final CarPoolingService inMemory =
+        new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository());
+    inMemory.resetCars(List.of(new Car(1, 6)));
+    inMemory.newJourney(new Journey(1, 2));
+
+    final CarSnapshot first = inMemory.locate(1);
+    inMemory.newJourney(new Journey(2, 3));
+    final CarSnapshot second = inMemory.locate(1);
+    inMemory.dropoff(2);
+
+    assertThat(first.getAvailableSeats()).isEqualTo(4);
+    assertThat(first.getVersion()).isEqualTo(1);
+    assertThat(second.getAvailableSeats()).isEqualTo(1);
+    assertThat(second.getVersion()).isEqualTo(2);
+    assertThat(inMemory.locate(1).getVersion()).isEqualTo(3);
+    assertThat(inMemory.locate(1).getAvailableSeats()).isEqualTo(4);
+  }
+
+  @Test
+  void expiresOnlyJourneysThatAreStillPending() {
+    final List<CarPoolingEvent> events = new ArrayList<>();
+    final PendingExpiry expiry = mock(PendingExpiry.class);
+    final CarPoolingService inMemory =
+        new CarPoolingService(
+            new InMemoryCarRepository(),
+            new InMemoryJourneyRepository(),
+            events::add,
+            AdmissionControl.unlimited(),
+            expiry,
+            ReassignmentDispatcher.synchronous(),
+            JourneyTimings.disabled());
+    inMemory.resetCars(List.of(new Car(1, 4)));
+    inMemory.newJourney(new Journey(1, 4));
+    final Journey seatedMeanwhile = new Journey(2, 2);
+    final Journey stillWaiting = new Journey(3, 3);
+    inMemory.newJourney(seatedMeanwhile);
+    inMemory.newJourney(stillWaiting);
+    verify(expiry).track(seatedMeanwhile);
+    verify(expiry).track(stillWaiting);
+
+    // Journey 2 takes the freed seats before both fall due.
+    inMemory.dropoff(1);
+    when(expiry.isEnabled()).thenReturn(true);
+    when(expiry.due()).thenReturn(List.of(seatedMeanwhile, stillWaiting));
+
+    assertThat(inMemory.expirePending()).isEqualTo(1);
+    assertThat(inMemory.locate(2).getId()).isEqualTo(1);
+    assertThatThrownBy(() -> inMemory.locate(3)).isInstanceOf(JourneyNotFoundException.class);
+    assertThat(events.get(events.size() - 1))
+        .isInstanceOfSatisfying(
+            JourneyDroppedOff.class,
+            e -> {
+              assertThat(e.getJourneyId()).isEqualTo(3);
+              assertThat(e.getCarId()).isNull();
+            });
+  }
+
+  @Test
+  void asyncDropoffOnlyFreesSeatsUntilReassignmentsAreFlushed() {
+    final ReassignmentProperties properties = new ReassignmentProperties();
+    properties.setAsync(true);
+    final CarPoolingService async =
+        new CarPoolingService(
+            new InMemoryCarRepository(),
+            new InMemoryJourneyRepository(),
+            event -> {},
+            AdmissionControl.unlimited(),
+            PendingExpiry.disabled(),
+            new ReassignmentDispatcher(properties),
+            JourneyTimings.disabled());
+    async.resetCars(List.of(new Car(1, 6)));
+    async.newJourney(new Journey(1, 6));
+    async.newJourney(new Journey(2, 2));
+    async.newJourney(new Journey(3, 3));
+    async.newJourney(new Journey(4, 1));
+
+    final Car car = async.dropoff(1);
+
+    assertThat(car.getAvailableSeats()).isEqualTo(6);
+    assertThat(async.locate(2)).isNull();
+
+    async.flushReassignments();
+
+    // The whole freed capacity is filled in one pass, oldest pending first.
+    assertThat(async.locate(2).getId()).isEqualTo(1);
+    assertThat(async.locate(3).getId()).isEqualTo(1);
+    assertThat(async.locate(4).getId()).isEqualTo(1);
+    assertThat(async.locate(4).getAvailableSeats()).isZero();
+  }
+
+  @Test
+  void rebalancePacksSeatsLeftOverByDropoffReassignment() {
+    final CarPoolingService inMemory =
+        new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository());
+    inMemory.resetCars(List.of(new Car(1, 6), new Car(2, 4)));
+    inMemory.newJourney(new Journey(1, 6));
+    inMemory.newJourney(new Journey(2, 4));
+    inMemory.newJourney(new Journey(3, 5));
+    inMemory.newJourney(new Journey(4, 1));
+    inMemory.newJourney(new Journey(5, 3));
+
+    // Each dropoff seats a single pending journey: 3 in car 1, then 4 in car 2.
+    inMemory.dropoff(1);
+    inMemory.dropoff(2);
+    assertThat(inMemory.locate(5)).isNull();
+
+    assertThat(inMemory.rebalance()).isEqualTo(1);
+    assertThat(inMemory.locate(5).getId()).isEqualTo(2);
+    assertThat(inMemory.locate(5).getAvailableSeats()).isZero();
+    // Seated groups stay where they are.
+    assertThat(inMemory.locate(3).getId()).isEqualTo(1);
+    assertThat(inMemory.locate(4).getId()).isEqualTo(2);
+    assertThat(inMemory.rebalance()).isZero();
+  }
+
+  /** Stubs a fleet of the given cars, answering best-fit queries as the in-memory one does. */
+  private void fleetOf(Car... cars) {
+    when(this.carRepository.findBestFit(anyInt()))
+        .thenAnswer(
+            invocation -> {
+              final int required = invocation.getArgument(0);
+              return Arrays.stream(cars)
+                  .filter(c -> c.getAvailableSeats() >= required)
+                  .min(Comparator.comparingInt(Car::getAvailableSeats));
+            });
+  }
+
+  /** Every journey version passed to {@code save}, in call order. */
+  private List<Journey> savedJourneys() {
+    final ArgumentCaptor<Journey> saved = ArgumentCaptor.forClass(Journey.class);
+    verify(this.journeyRepository, atLeastOnce()).save(saved.capture());
+    return saved.getAllValues();
+  }
+
+  /** The seated versions swapped in for pending journeys, in call order. */
+  private List<Journey> seatedJourneys(int swaps) {
+    final ArgumentCaptor<Journey> seated = ArgumentCaptor.forClass(Journey.class);
+    verify(this.journeyRepository, times(swaps)).replace(any(), seated.capture());
+    return seated.getAllValues();
+  }
+
+  @Test
+  void recordsWaitAndRideTimesOfSeatedJourneys() {
+    final JourneyTimings timings = new JourneyTimings(new TimingProperties());
+    final CarPoolingService timed =
+        new CarPoolingService(
+            new InMemoryCarRepository(),
+            new InMemoryJourneyRepository(),
+            event -> {},
+            AdmissionControl.unlimited(),
+            PendingExpiry.disabled(),
+            ReassignmentDispatcher.synchronous(),
+            timings);
+    timed.resetCars(List.of(new Car(1, 4)));
+    timed.newJourney(new Journey(1, 4));
+    timed.newJourney(new Journey(2, 2));
+    timed.dropoff(1);
+    timed.dropoff(2);
+
+    final TimingWindow window = timings.closeWindow();
+    // Journey 2 queued until journey 1 left, then rode until its own dropoff.
+    assertThat(window.getWait().get(4).getCount()).isEqualTo(1);
+    assertThat(window.getWait().get(2).getCount()).isEqualTo(1);
+    assertThat(window.getRide().get(4).getCount()).isEqualTo(1);
+    assertThat(window.getRide().get(2).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void recordsFlightEventsOnlyWhenEnabled(@TempDir Path dir) throws IOException {
+    final CarPoolingService recorded =
+        new CarPoolingService(new InMemoryCarRepository(), new InMemoryJourneyRepository());
+    final Path file = dir.resolve("events.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("carpooling.JourneyAssigned");
+      recording.enable("carpooling.JourneyQueued");
+      recording.enable("carpooling.Dropoff");
+      recording.enable("carpooling.FleetReset");
+      recording.start();
+      recorded.resetCars(List.of(new Car(1, 4)));
+      recorded.newJourney(new Journey(1, 4));
+      recorded.newJourney(new Journey(2, 2));
+      recorded.newJourney(new Journey(3, 3));
+      recorded.dropoff(1);
+      recording.stop();
+      recording.dump(file);
+    }
+    final Map<String, List<RecordedEvent>> byType =
+        RecordingFile.readAllEvents(file).stream()
+            .collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+
+    final RecordedEvent reset = byType.get("carpooling.FleetReset").get(0);
+    assertThat(reset.getInt("cars")).isEqualTo(1);
+    assertThat(reset.getBoolean("restore")).isFalse();
+
+    assertThat(byType.get("carpooling.JourneyQueued"))
+        .extracting(e -> e.getInt("journeyId"), e -> e.getInt("backlog"))
+        .containsExactly(tuple(2, 1), tuple(3, 2));
+
+    // Journey 2 was the first pending journey examined once journey 1 freed the car.
+    assertThat(byType.get("carpooling.JourneyAssigned"))
+        .extracting(
+            e -> e.getInt("journeyId"),
+            e -> e.getInt("seatsLeft"),
+            e -> e.getBoolean("reassignment"),
+            e -> e.getInt("scanLength"))
+        .containsExactly(tuple(1, 0, false, 0), tuple(2, 2, true, 1));
+
+    final RecordedEvent dropoff = byType.get("carpooling.Dropoff").get(0);
+    assertThat(dropoff.getInt("carId")).isEqualTo(1);
+    assertThat(dropoff.getInt("seatsFreed")).isEqualTo(4);
+    assertThat(dropoff.getInt("seatsLeft")).isEqualTo(2);
+    assertThat(dropoff.getInt("reassigned")).isEqualTo(1);
+    assertThat(dropoff.getBoolean("deferred")).isFalse();
+
+    // Off unless a recording asks for them: the JDK configurations do not.
+    final Path silent = dir.resolve("silent.jfr");
+    try (Recording recording = new Recording()) {
+      recording.start();
+      recorded.dropoff(2);
+      recording.stop();
+      recording.dump(silent);
+    }
+    assertThat(RecordingFile.readAllEvents(silent))
+        .noneMatch(e -> e.getEventType().getName().startsWith("carpooling."));
+  }
 }
@@ -0,0 +1,102 @@
+package com.egobb.carpooling.domain.service.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.egobb.carpooling.domain.service.exception.BacklogFullException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  private AdmissionControl admission(int maxPending, Map<Integer, Integer> perGroupSize) {
+    final AdmissionProperties properties = new AdmissionProperties();
+    properties.setMaxPending(maxPending);
+    properties.setMaxPendingPerGroupSize(perGroupSize);
+    properties.setMaxRetryAfter(Duration.ofSeconds(60));
+    properties.setDropoffRateWindow(Duration.ofSeconds(1));
+    return new AdmissionControl(properties, this.now::get);
+  }
+
+  private void advanceSeconds(long seconds) {
+    this.now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  @Test
+  void unlimitedAdmitsAnyBacklog() {
+    assertThatCode(() -> AdmissionControl.unlimited().checkBacklog(6, 1_000_000, 1_000_000))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  void rejectsWhenTheGlobalBacklogIsFull() {
+    final AdmissionControl admission = this.admission(10, Map.of());
+
+    assertThatCode(() -> admission.checkBacklog(2, 9, 9)).doesNotThrowAnyException();
+    assertThatThrownBy(() -> admission.checkBacklog(2, 10, 10))
+        .isInstanceOfSatisfying(
+            BacklogFullException.class, e -> assertThat(e.isGroupSizeLimit()).isFalse());
+  }
+
+  @Test
+  void rejectsOnlyTheGroupSizeWhoseBacklogIsFull() {
+    final AdmissionControl admission = this.admission(0, Map.of(6, 3));
+
+    assertThatCode(() -> admission.checkBacklog(5, 100, 50)).doesNotThrowAnyException();
+    assertThatThrownBy(() -> admission.checkBacklog(6, 100, 3))
+        .isInstanceOfSatisfying(
+            BacklogFullException.class, e -> assertThat(e.isGroupSizeLimit()).isTrue());
+  }
+
+  @Test
+  void rejectsUnknownGroupSizesInTheConfiguration() {
+    assertThatThrownBy(() -> this.admission(0, Map.of(7, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void retryAfterIsTheLongestAllowedWithoutDropoffs() {
+    final AdmissionControl admission = this.admission(1, Map.of());
+
+    assertThatThrownBy(() -> admission.checkBacklog(1, 1, 1))
+        .isInstanceOfSatisfying(
+            BacklogFullException.class,
+            e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(60)));
+  }
+
+  @Test
+  void retryAfterFollowsTheDropoffRate() {
+    final AdmissionControl admission = this.admission(10, Map.of());
+    admission.recordDropoffs(5);
+    this.advanceSeconds(1);
+
+    assertThat(admission.dropoffsPerSecond()).isEqualTo(5.0);
+    // 11 pending, 2 over the limit, at 5 dropoffs per second.
+    assertThatThrownBy(() -> admission.checkBacklog(1, 11, 11))
+        .isInstanceOfSatisfying(
+            BacklogFullException.class,
+            e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+    assertThatThrownBy(() -> admission.checkBacklog(1, 30, 30))
+        .isInstanceOfSatisfying(
+            BacklogFullException.class,
+            e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(5)));
+  }
+
+  @Test
+  void dropoffRateDecaysWhileIdle() {
+    final AdmissionControl admission = this.admission(10, Map.of());
+    admission.recordDropoffs(100);
+    this.advanceSeconds(1);
+    final double busy = admission.dropoffsPerSecond();
+
+    this.advanceSeconds(10);
+
+    assertThat(admission.dropoffsPerSecond()).isLessThan(busy / 100);
+  }
+}
@@ -0,0 +1,100 @@
+package com.egobb.carpooling.domain.service.expiry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.egobb.carpooling.domain.model.Journey;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PendingExpiryTest {
+
+  private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+  private PendingExpiry expiry(Duration ttl) {
+    final ExpiryProperties properties = new ExpiryProperties();
+    properties.setPendingTtl(ttl);
+    properties.setTick(Duration.ofSeconds(1));
+    return new PendingExpiry(properties, this.now::get);
+  }
+
+  private void advanceMillis(long millis) {
+    this.now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  void disabledByDefault() {
+    final PendingExpiry expiry = PendingExpiry.disabled();
+    expiry.track(new Journey(1, 2));
+
+    assertThat(expiry.isEnabled()).isFalse();
+    assertThat(expiry.due()).isEmpty();
+  }
+
+  @Test
+  void journeyFallsDueOnceItsFullTtlElapsed() {
+    final PendingExpiry expiry = this.expiry(Duration.ofSeconds(10));
+    this.advanceMillis(400);
+    final Journey journey = new Journey(1, 2);
+    expiry.track(journey);
+
+    this.advanceMillis(9_700);
+    assertThat(expiry.due()).isEmpty();
+
+    // Rounded up to the next tick: at most one tick late.
+    this.advanceMillis(900);
+    assertThat(expiry.due()).containsExactly(journey);
+    assertThat(expiry.due()).isEmpty();
+  }
+
+  @Test
+  void returnsOnlyTheJourneysThatFellDue() {
+    final PendingExpiry expiry = this.expiry(Duration.ofSeconds(5));
+    final Journey first = new Journey(1, 2);
+    final Journey second = new Journey(2, 3);
+    expiry.track(first);
+    this.advanceMillis(3_000);
+    expiry.track(second);
+
+    this.advanceMillis(2_000);
+    assertThat(expiry.due()).containsExactly(first);
+    this.advanceMillis(3_000);
+    assertThat(expiry.due()).containsExactly(second);
+  }
+
+  @Test
+  void catchesUpAfterMissingMoreThanOneRotation() {
+    final PendingExpiry expiry = this.expiry(Duration.ofSeconds(2));
+    final Journey first = new Journey(1, 2);
+    expiry.track(first);
+    this.advanceMillis(3_000);
+    final Journey second = new Journey(2, 3);
+    expiry.track(second);
+
+    this.advanceMillis(60_000);
+
+    assertThat(expiry.due()).containsExactlyInAnyOrder(first, second);
+  }
+
+  @Test
+  void clearForgetsTrackedJourneys() {
+    final PendingExpiry expiry = this.expiry(Duration.ofSeconds(1));
+    expiry.track(new Journey(1, 2));
+    expiry.clear();
+
+    this.advanceMillis(5_000);
+
+    assertThat(expiry.due()).isEmpty();
+  }
+
+  @Test
+  void rejectsANonPositiveTick() {
+    final ExpiryProperties properties = new ExpiryProperties();
+    properties.setTick(Duration.ZERO);
+
+    assertThatThrownBy(() -> new PendingExpiry(properties, this.now::get))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
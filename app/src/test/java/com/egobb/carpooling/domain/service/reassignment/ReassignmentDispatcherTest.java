@@ -0,0 +1,96 @@
+package com.egobb.carpooling.domain.service.reassignment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.egobb.carpooling.domain.model.Car;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ReassignmentDispatcherTest {
+
+  private static ReassignmentDispatcher async(int batchSize) {
+    final ReassignmentProperties properties = new ReassignmentProperties();
+    properties.setAsync(true);
+    properties.setBatchSize(batchSize);
+    return new ReassignmentDispatcher(properties);
+  }
+
+  @Test
+  void flushMergesDropoffsOfTheSameCarIntoOneBatch() {
+    final ReassignmentDispatcher dispatcher = async(10);
+    final List<List<Car>> batches = new CopyOnWriteArrayList<>();
+    dispatcher.bind(batches::add);
+    final Car first = new Car(1, 4);
+    final Car second = new Car(2, 6);
+
+    dispatcher.submit(first);
+    dispatcher.submit(second);
+    dispatcher.submit(first);
+    dispatcher.flush();
+
+    assertThat(batches).containsExactly(List.of(first, second));
+    assertThat(dispatcher.queuedCars()).isZero();
+  }
+
+  @Test
+  void dispatcherThreadProcessesQueuedCarsInBatches() throws InterruptedException {
+    final ReassignmentDispatcher dispatcher = async(2);
+    final List<List<Car>> batches = new CopyOnWriteArrayList<>();
+    final CountDownLatch processed = new CountDownLatch(3);
+    final CountDownLatch release = new CountDownLatch(1);
+    dispatcher.bind(
+        batch -> {
+          try {
+            release.await();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          batches.add(batch);
+          batch.forEach(car -> processed.countDown());
+        });
+    dispatcher.start();
+    try {
+      final Car blocker = new Car(1, 4);
+      dispatcher.submit(blocker);
+      // The blocker is in flight; these three wait and are split by the batch size.
+      while (dispatcher.queuedCars() > 0) {
+        Thread.onSpinWait();
+      }
+      final Car a = new Car(2, 4);
+      final Car b = new Car(3, 4);
+      final Car c = new Car(4, 4);
+      dispatcher.submit(a);
+      dispatcher.submit(b);
+      dispatcher.submit(c);
+      release.countDown();
+
+      assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+      dispatcher.flush();
+      assertThat(batches).containsExactly(List.of(blocker), List.of(a, b), List.of(c));
+    } finally {
+      dispatcher.stop();
+    }
+  }
+
+  @Test
+  void synchronousDispatcherNeverStartsAThread() {
+    final ReassignmentDispatcher dispatcher = ReassignmentDispatcher.synchronous();
+    dispatcher.start();
+
+    assertThat(dispatcher.isAsync()).isFalse();
+    assertThat(dispatcher.isRunning()).isFalse();
+  }
+
+  @Test
+  void handlerCanOnlyBeBoundOnce() {
+    final ReassignmentDispatcher dispatcher = async(1);
+    dispatcher.bind(batch -> {});
+
+    assertThatThrownBy(() -> dispatcher.bind(batch -> {}))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
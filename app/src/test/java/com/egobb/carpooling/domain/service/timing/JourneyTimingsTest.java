@@ -0,0 +1,93 @@
+package com.egobb.carpooling.domain.service.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.Journey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class JourneyTimingsTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  private JourneyTimings timings(Duration maxTrackable) {
+    final TimingProperties properties = new TimingProperties();
+    properties.setMaxTrackable(maxTrackable);
+    return new JourneyTimings(
+        properties, this.now::get, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+  }
+
+  private Journey rideFor(JourneyTimings timings, int passengers, long millis) {
+    final Journey seated = new Journey(1, passengers).assignTo(new Car(1, 6));
+    this.now.set(seated.assignedAt() + TimeUnit.MILLISECONDS.toNanos(millis));
+    timings.droppedOff(seated);
+    return seated;
+  }
+
+  @Test
+  void recordsRideTimesPerGroupSize() {
+    final JourneyTimings timings = this.timings(Duration.ofHours(1));
+    this.rideFor(timings, 2, 250);
+    this.rideFor(timings, 2, 750);
+    this.rideFor(timings, 4, 100);
+
+    final TimingWindow window = timings.closeWindow();
+
+    assertThat(window.getRide().get(2).getCount()).isEqualTo(2);
+    assertThat(window.getRide().get(2).getMax()).isCloseTo(750, within(7.5));
+    assertThat(window.getRide().get(4).getP50()).isCloseTo(100, within(1.0));
+    assertThat(window.getRide().get(6).getCount()).isZero();
+    assertThat(timings.lastWindow()).isSameAs(window);
+  }
+
+  @Test
+  void recordsWaitTimeWhenSeated() {
+    final JourneyTimings timings = this.timings(Duration.ofHours(1));
+    final Journey pending = new Journey(1, 3);
+    timings.seated(pending.assignTo(new Car(1, 6)));
+
+    final TimingWindow window = timings.closeWindow();
+
+    assertThat(window.getWait().get(3).getCount()).isEqualTo(1);
+    assertThat(window.getWait().get(3).getMax())
+        .isLessThanOrEqualTo(Duration.ofHours(1).toMillis());
+  }
+
+  @Test
+  void everyWindowStartsOver() {
+    final JourneyTimings timings = this.timings(Duration.ofHours(1));
+    this.rideFor(timings, 2, 250);
+    timings.closeWindow();
+
+    final TimingWindow next = timings.closeWindow();
+
+    assertThat(next.getRide().get(2).getCount()).isZero();
+  }
+
+  @Test
+  void timesAboveTheTrackableMaximumAreCapped() {
+    final JourneyTimings timings = this.timings(Duration.ofSeconds(1));
+    this.rideFor(timings, 2, 60_000);
+
+    assertThat(timings.closeWindow().getRide().get(2).getMax()).isCloseTo(1_000, within(10.0));
+  }
+
+  @Test
+  void pendingDropoffsAndDisabledTimingsRecordNothing() {
+    final JourneyTimings timings = this.timings(Duration.ofHours(1));
+    timings.droppedOff(new Journey(1, 2));
+    assertThat(timings.closeWindow().getRide().get(2).getCount()).isZero();
+
+    final JourneyTimings disabled = JourneyTimings.disabled();
+    disabled.seated(new Journey(1, 2).assignTo(new Car(1, 6)));
+    assertThat(disabled.isEnabled()).isFalse();
+    assertThat(disabled.closeWindow().getWait()).isEmpty();
+  }
+}
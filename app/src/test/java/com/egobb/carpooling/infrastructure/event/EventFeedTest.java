@@ -0,0 +1,209 @@
+package com.egobb.carpooling.infrastructure.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.egobb.carpooling.domain.event.FleetReset;
+import com.egobb.carpooling.domain.event.JourneyQueued;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventFeedTest {
+
+  private InMemoryEventBus bus;
+  private EventFeedProperties properties;
+  private ExecutorService signals;
+  private EventFeed feed;
+
+  @BeforeEach
+  void setUp() {
+    this.bus = new InMemoryEventBus();
+    this.properties = new EventFeedProperties();
+    this.properties.setBufferSize(4);
+    this.signals = Executors.newSingleThreadExecutor();
+    this.feed = new EventFeed(this.bus, this.properties, this.signals);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.feed.shutdown();
+  }
+
+  @Test
+  void deliversEventsInSequenceOrderToEverySubscriber() {
+    final EventSubscription first = this.feed.subscribe(false);
+    final EventSubscription second = this.feed.subscribe(false);
+
+    this.bus.publish(new FleetReset(2));
+    this.bus.publish(new JourneyQueued(1, 3));
+
+    final EventBatch batch = first.poll(10, 0);
+    assertThat(batch.getEvents()).extracting(SequencedEvent::getSequence).containsExactly(1L, 2L);
+    assertThat(batch.getEvents().get(1).getEvent()).isInstanceOf(JourneyQueued.class);
+    assertThat(batch.getDropped()).isZero();
+
+    // The second subscriber has its own buffer.
+    assertThat(second.poll(10, 0).getEvents()).hasSize(2);
+    assertThat(first.poll(10, 0).isEmpty()).isTrue();
+  }
+
+  @Test
+  void dropsOldestEventsWhenSubscriberFallsBehind() {
+    final EventSubscription subscription = this.feed.subscribe(false);
+
+    for (int i = 1; i <= 6; i++) {
+      this.bus.publish(new JourneyQueued(i, 1));
+    }
+
+    // Capacity is 4: events 1 and 2 were overwritten and reported as dropped.
+    final EventBatch batch = subscription.poll(10, 0);
+    assertThat(batch.getEvents())
+        .extracting(SequencedEvent::getSequence)
+        .containsExactly(3L, 4L, 5L, 6L);
+    assertThat(batch.getDropped()).isEqualTo(2);
+
+    // The dropped counter is reset once reported.
+    this.bus.publish(new JourneyQueued(7, 1));
+    assertThat(subscription.poll(10, 0).getDropped()).isZero();
+  }
+
+  @Test
+  void signalsOnceWhenAnEventBecomesAvailable() throws Exception {
+    final EventSubscription subscription = this.feed.subscribe(false);
+    final AtomicInteger signals = new AtomicInteger();
+
+    subscription.onAvailable(signals::incrementAndGet);
+    assertThat(signals).hasValue(0);
+
+    this.bus.publish(new JourneyQueued(1, 1));
+    this.bus.publish(new JourneyQueued(2, 1));
+    this.awaitSignals();
+
+    // One-shot: the second event does not signal again.
+    assertThat(signals).hasValue(1);
+
+    // Registering while events are buffered signals immediately.
+    subscription.onAvailable(signals::incrementAndGet);
+    assertThat(signals).hasValue(2);
+  }
+
+  @Test
+  void handsOutEventsInSequenceOrderWhateverOrderTheyArriveIn() throws Exception {
+    final EventSubscription subscription = this.feed.subscribe(false);
+    final AtomicInteger signals = new AtomicInteger();
+    subscription.onAvailable(signals::incrementAndGet);
+
+    // Event 2 overtook event 1: it is held back until 1 arrives.
+    subscription.offer(new SequencedEvent(2, 0, new JourneyQueued(2, 1)));
+    this.awaitSignals();
+    assertThat(subscription.poll(10, 0).isEmpty()).isTrue();
+    assertThat(signals).hasValue(0);
+
+    subscription.offer(new SequencedEvent(1, 0, new JourneyQueued(1, 1)));
+    this.awaitSignals();
+    assertThat(signals).hasValue(1);
+    assertThat(subscription.poll(10, 0).getEvents())
+        .extracting(SequencedEvent::getSequence)
+        .containsExactly(1L, 2L);
+  }
+
+  @Test
+  void keepsConcurrentPublishersInSequenceOrder() throws Exception {
+    this.properties.setBufferSize(1 << 16);
+    final EventSubscription subscription = this.feed.subscribe(false);
+    final int publishers = 4;
+    final int eventsEach = 5_000;
+
+    final ExecutorService pool = Executors.newFixedThreadPool(publishers);
+    try {
+      final List<Future<?>> done = new ArrayList<>();
+      for (int p = 0; p < publishers; p++) {
+        done.add(
+            pool.submit(
+                () -> {
+                  for (int i = 0; i < eventsEach; i++) {
+                    this.bus.publish(new JourneyQueued(i + 1, 1));
+                  }
+                }));
+      }
+      for (final Future<?> future : done) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    final EventBatch batch = subscription.poll(publishers * eventsEach, 0);
+    assertThat(batch.getDropped()).isZero();
+    assertThat(batch.getEvents()).hasSize(publishers * eventsEach);
+    for (int i = 0; i < batch.getEvents().size(); i++) {
+      assertThat(batch.getEvents().get(i).getSequence()).isEqualTo(i + 1L);
+    }
+  }
+
+  @Test
+  void peekKeepsEventsUntilAcknowledged() {
+    final EventSubscription subscription = this.feed.subscribe(false);
+    for (int i = 1; i <= 6; i++) {
+      this.bus.publish(new JourneyQueued(i, 1));
+    }
+
+    // A lost response loses nothing: the same events come back until acknowledged.
+    final EventBatch first = subscription.peek(2, 0);
+    assertThat(first.getEvents()).extracting(SequencedEvent::getSequence).containsExactly(3L, 4L);
+    assertThat(first.getDropped()).isEqualTo(2);
+    assertThat(subscription.peek(2, 0).getEvents())
+        .extracting(SequencedEvent::getSequence)
+        .containsExactly(3L, 4L);
+
+    subscription.acknowledge(4);
+    final EventBatch second = subscription.peek(10, 0);
+    assertThat(second.getEvents()).extracting(SequencedEvent::getSequence).containsExactly(5L, 6L);
+    assertThat(second.getDropped()).isZero();
+
+    // Acknowledging something already consumed is a no-op.
+    subscription.acknowledge(1);
+    assertThat(subscription.peek(10, 0).getEvents()).hasSize(2);
+  }
+
+  @Test
+  void expiresIdleLongPollSubscriptionsButNotStreams() {
+    this.properties.setIdleTimeout(Duration.ZERO);
+    final EventSubscription longPoll = this.feed.subscribe(false);
+    final EventSubscription stream = this.feed.subscribe(true);
+    longPoll.touch(System.currentTimeMillis() - 1_000);
+    stream.touch(System.currentTimeMillis() - 1_000);
+
+    this.feed.expireIdleSubscriptions();
+
+    assertThat(this.feed.find(longPoll.getId())).isEmpty();
+    assertThat(longPoll.isCancelled()).isTrue();
+    assertThat(this.feed.find(stream.getId())).contains(stream);
+  }
+
+  @Test
+  void failingListenerDoesNotBreakPublication() {
+    final EventSubscription subscription = this.feed.subscribe(false);
+    this.bus.addListener(
+        event -> {
+          throw new IllegalStateException("boom");
+        });
+
+    this.bus.publish(new FleetReset(0));
+
+    assertThat(subscription.poll(10, 0).getEvents()).hasSize(1);
+  }
+
+  private void awaitSignals() throws Exception {
+    // Single thread: once this task ran, every signal submitted before it ran too.
+    this.signals.submit(() -> {}).get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,38 @@
+package com.egobb.carpooling.infrastructure.expiry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.egobb.carpooling.domain.service.CarPoolingService;
+import com.egobb.carpooling.domain.service.expiry.PendingExpiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class PendingExpirySweeperTest {
+
+  private final ApplicationContextRunner runner =
+      new ApplicationContextRunner()
+          .withBean(CarPoolingService.class, () -> mock(CarPoolingService.class))
+          .withBean(PendingExpiry.class, PendingExpiry::disabled)
+          .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+          .withUserConfiguration(PendingExpirySweeper.class);
+
+  @Test
+  void isNotRegisteredWhileExpiryIsOff() {
+    this.runner.run(context -> assertThat(context).doesNotHaveBean(PendingExpirySweeper.class));
+    this.runner
+        .withPropertyValues("carpooling.expiry.pending-ttl=0s")
+        .run(context -> assertThat(context).doesNotHaveBean(PendingExpirySweeper.class));
+  }
+
+  @Test
+  void isRegisteredForAPositiveTtlInAnyFormat() {
+    for (final String ttl : new String[] {"30s", "PT2M", "1500ms"}) {
+      this.runner
+          .withPropertyValues("carpooling.expiry.pending-ttl=" + ttl)
+          .run(context -> assertThat(context).hasSingleBean(PendingExpirySweeper.class));
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.egobb.carpooling.infrastructure.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.egobb.carpooling.domain.model.Car;
+import com.egobb.carpooling.domain.model.SeatTable;
 import com.egobb.carpooling.domain.port.CarRepository;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,93 @@ class InMemoryCarRepositoryTest {
     assertThat(repo.findAll()).containsExactly(car2);
   }
 
+  @Test
+  void resetNumbersCarsIntoDenseSlots() {
+    final CarRepository repo = new InMemoryCarRepository();
+    final Car car1 = new Car(1_000_000, 4);
+    final Car car2 = new Car(7, 6);
+
+    repo.reset(List.of(car1, car2));
+
+    assertThat(car1.slot()).isZero();
+    assertThat(car2.slot()).isEqualTo(1);
+    assertThat(repo.findById(7)).containsSame(car2);
+    assertThat(repo.findById(8)).isEmpty();
+  }
+
+  @Test
+  void findBestFitPicksTheTightestCarThatFits() {
+    final CarRepository repo = new InMemoryCarRepository();
+    final Car six = new Car(1, 6);
+    final Car five = new Car(2, 5);
+    final Car four = new Car(3, 4);
+    repo.reset(List.of(six, five, four));
+
+    assertThat(repo.findBestFit(5)).containsSame(five);
+    assertThat(repo.findBestFit(3)).containsSame(four);
+
+    // Seat changes are mirrored into the seat table the scan reads.
+    four.setAvailableSeats(1);
+    five.setAvailableSeats(3);
+    assertThat(repo.findBestFit(3)).containsSame(five);
+    assertThat(repo.findBestFit(6)).containsSame(six);
+    six.setAvailableSeats(0);
+    assertThat(repo.findBestFit(4)).isEmpty();
+  }
+
+  @Test
+  void paddedSeatLayoutFindsTheSameBestFit() {
+    final FleetProperties properties = new FleetProperties();
+    properties.setSeatLayout(SeatTable.Layout.PADDED);
+    final CarRepository repo = new InMemoryCarRepository(properties);
+    final Car six = new Car(1, 6);
+    final Car four = new Car(2, 4);
+    repo.reset(List.of(six, four));
+
+    assertThat(repo.findBestFit(3)).containsSame(four);
+    four.setAvailableSeats(2);
+    assertThat(repo.findBestFit(3)).containsSame(six);
+    assertThat(repo.findBestFit(2)).containsSame(four);
+  }
+
+  @Test
+  void findAllServesTheSameViewUntilTheNextReset() {
+    final CarRepository repo = new InMemoryCarRepository();
+    final Car car = new Car(1, 4);
+    repo.reset(List.of(car));
+
+    final List<Car> cars = repo.findAll();
+    car.setAvailableSeats(2);
+    assertThat(repo.findAll()).isSameAs(cars);
+    assertThat(cars.get(0).getAvailableSeats()).isEqualTo(2);
+
+    repo.reset(List.of(car));
+    assertThat(repo.findAll()).isNotSameAs(cars);
+  }
+
+  @Test
+  void countsCarsPerFreeSeatsAsSeatsChange() {
+    final CarRepository repo = new InMemoryCarRepository();
+    final Car six = new Car(1, 6);
+    final Car four = new Car(2, 4);
+    repo.reset(List.of(six, four, new Car(3, 4)));
+
+    assertThat(repo.countCars(6)).isEqualTo(1);
+    assertThat(repo.countCars(4)).isEqualTo(2);
+    assertThat(repo.countCars(0)).isZero();
+
+    six.setAvailableSeats(2);
+    four.setAvailableSeats(0);
+    assertThat(repo.countCars(6)).isZero();
+    assertThat(repo.countCars(4)).isEqualTo(1);
+    assertThat(repo.countCars(2)).isEqualTo(1);
+    assertThat(repo.countCars(0)).isEqualTo(1);
+
+    repo.reset(List.of());
+    assertThat(repo.countCars(0)).isZero();
+    assertThat(repo.countCars(4)).isZero();
+  }
+
   @Test
   void findAllReturnsUnmodifiableView() {
     final CarRepository repo = new InMemoryCarRepository();
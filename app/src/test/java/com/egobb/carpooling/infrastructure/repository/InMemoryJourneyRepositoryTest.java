@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.egobb.carpooling.domain.model.Car;
 import com.egobb.carpooling.domain.model.Journey;
 import com.egobb.carpooling.domain.port.JourneyRepository;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class InMemoryJourneyRepositoryTest {
@@ -42,11 +43,81 @@ class InMemoryJourneyRepositoryTest {
 
     // Assign the journey to a car and save as active
     final Car car = new Car(10, 6);
-    pending.setAssignedTo(car);
+    final Journey assigned = pending.assignTo(car);
 
-    repo.save(pending);
+    repo.save(assigned);
 
-    assertThat(repo.findAll()).containsExactly(pending);
+    assertThat(repo.findAll()).containsExactly(assigned);
+    assertThat(repo.findPending()).isEmpty();
+  }
+
+  @Test
+  void countsPendingJourneysPerGroupSize() {
+    final JourneyRepository repo = new InMemoryJourneyRepository();
+    final Journey pending = new Journey(1, 4);
+    repo.savePending(pending);
+    repo.savePending(new Journey(2, 4));
+    repo.savePending(new Journey(3, 6));
+
+    repo.save(pending.assignTo(new Car(10, 6)));
+    repo.deleteById(3);
+
+    assertThat(repo.countPending()).isEqualTo(1);
+    assertThat(repo.countPending(4)).isEqualTo(1);
+    assertThat(repo.countPending(6)).isZero();
+    assertThat(repo.countAssigned()).isEqualTo(1);
+  }
+
+  @Test
+  void deletePendingSkipsJourneysNoLongerPending() {
+    final JourneyRepository repo = new InMemoryJourneyRepository();
+    final Journey seated = new Journey(1, 4);
+    final Journey waiting = new Journey(2, 4);
+    final Journey gone = new Journey(3, 2);
+    repo.savePending(seated);
+    repo.savePending(waiting);
+    repo.savePending(gone);
+    repo.replace(seated, seated.assignTo(new Car(10, 6)));
+    repo.deleteById(3);
+
+    assertThat(repo.deletePending(List.of(seated, waiting, gone))).containsExactly(waiting);
+    assertThat(repo.findById(1)).isPresent();
+    assertThat(repo.findById(2)).isEmpty();
+    assertThat(repo.findPending()).isEmpty();
+    assertThat(repo.countPending()).isZero();
+  }
+
+  @Test
+  void findAllIsRebuiltOnlyAfterAWrite() {
+    final JourneyRepository repo = new InMemoryJourneyRepository();
+    final Journey pending = new Journey(1, 4);
+    repo.savePending(pending);
+
+    final List<Journey> first = repo.findAll();
+    assertThat(repo.findAll()).isSameAs(first);
+
+    final Journey seated = pending.assignTo(new Car(10, 6));
+    repo.replace(pending, seated);
+    assertThat(repo.findAll()).isNotSameAs(first).containsExactly(seated);
+
+    repo.deleteById(1);
+    assertThat(repo.findAll()).isEmpty();
+  }
+
+  @Test
+  void replaceOnlySwapsTheStoredVersion() {
+    final JourneyRepository repo = new InMemoryJourneyRepository();
+    final Journey pending = new Journey(1, 4);
+    repo.savePending(pending);
+
+    final Journey seatedInA = pending.assignTo(new Car(10, 6));
+    final Journey seatedInB = pending.assignTo(new Car(11, 6));
+
+    // Two cars race for the same pending journey: only the first swap wins.
+    assertThat(repo.replace(pending, seatedInA)).isTrue();
+    assertThat(repo.replace(pending, seatedInB)).isFalse();
+
+    assertThat(repo.findById(1)).containsSame(seatedInA);
     assertThat(repo.findPending()).isEmpty();
   }
 
@@ -60,8 +131,9 @@ class InMemoryJourneyRepositoryTest {
     repo.save(active);
     repo.savePending(pending);
 
-    repo.deleteById(1);
-    repo.deleteById(2);
+    assertThat(repo.deleteById(1)).containsSame(active);
+    assertThat(repo.deleteById(2)).containsSame(pending);
+    assertThat(repo.deleteById(2)).isEmpty();
 
     assertThat(repo.findAll()).isEmpty();
     assertThat(repo.findPending()).isEmpty();
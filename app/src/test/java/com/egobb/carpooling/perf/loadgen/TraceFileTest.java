@@ -0,0 +1,54 @@
+package com.egobb.carpooling.perf.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceFileTest {
+
+  @Test
+  void readsBackWhatItWrote(@TempDir Path dir) throws IOException {
+    final Workload workload =
+        new Workload(
+            new int[] {1, 300, 70_000},
+            new int[] {4, 5, 6},
+            List.of(
+                new Operation(0, OperationType.JOURNEY, 1, 6),
+                new Operation(150, OperationType.LOCATE, 1, 0),
+                // A gap beyond one varint byte, and an id beyond two.
+                new Operation(3_600_000_000L, OperationType.JOURNEY, 200_000, 1),
+                new Operation(3_600_000_000L, OperationType.DROPOFF, 1, 0)));
+    final Path path = dir.resolve("workload.cptr");
+
+    TraceFile.write(workload, path);
+    final Workload read = TraceFile.read(path);
+
+    assertThat(read.getCarIds()).containsExactly(1, 300, 70_000);
+    assertThat(read.getCarSeats()).containsExactly(4, 5, 6);
+    assertThat(read.getOperations())
+        .extracting(
+            Operation::getAtMicros,
+            Operation::getType,
+            Operation::getJourneyId,
+            Operation::getPeople)
+        .containsExactly(
+            tuple(0L, OperationType.JOURNEY, 1, 6),
+            tuple(150L, OperationType.LOCATE, 1, 0),
+            tuple(3_600_000_000L, OperationType.JOURNEY, 200_000, 1),
+            tuple(3_600_000_000L, OperationType.DROPOFF, 1, 0));
+  }
+
+  @Test
+  void rejectsFilesThatAreNotTraces() {
+    assertThatThrownBy(() -> TraceFile.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("not a car pooling trace file");
+  }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env sh
+# HTTP/1.1 versus cleartext HTTP/2 (h2c) on the real endpoints: starts the jar once per protocol,
+# drives it with the load generator (PUT /cars, POST /journey, /locate polls, /dropoff) and prints
+# its report, i.e. throughput and latency percentiles per operation.
+#
+#   http1   default profiles, load generator over HTTP/1.1 (one request per pooled connection)
+#   h2c     h2c profile, load generator over HTTP/2 (requests multiplexed over one connection)
+#
+#   deploy/http/http-bench.sh [LOADGEN OPTIONS]
+#       (default: --duration=30 --arrival-rate=100 --cars=1000 --locate-rate=1)
+#
+# JAVA_OPTS is passed to the server JVM; PROFILES adds Spring profiles to both (e.g. lean).
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+TARGET="$ROOT/app/target"
+PORT=${PORT:-18080}
+JAR=$(ls "$TARGET"/car-pooling-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+LOADGEN_ARGS=${*:---duration=30 --arrival-rate=100 --cars=1000 --locate-rate=1}
+
+# run_variant NAME PROFILES HTTP_VERSION
+run_variant() {
+  # shellcheck disable=SC2086
+  java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" \
+    --spring.profiles.active="$2" >"$TARGET/http-bench-$1.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://127.0.0.1:$PORT/status"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$1: server exited before answering /status (see $TARGET/http-bench-$1.log)" >&2
+      return 1
+    fi
+    sleep 0.1
+  done
+  echo "== $1 =="
+  "$ROOT/mvnw" -f "$ROOT/app/pom.xml" -q -B -Pperf test-compile exec:java \
+    -Dexec.args="--target=http --url=http://127.0.0.1:$PORT --http-version=$3 $LOADGEN_ARGS"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+if [ -z "$JAR" ]; then
+  echo "no jar found, run 'make build' first" >&2
+  exit 1
+fi
+
+profiles=${PROFILES:-}
+run_variant http1 "${profiles:-default}" 1.1
+run_variant h2c "${profiles:+$profiles,}h2c" 2
@@ -0,0 +1,69 @@
+#!/usr/bin/env sh
+# JVM runtime profiles under load: starts the jar once per profile of deploy/jvm/jvm-opts.sh with
+# the GC log on, drives it with the load generator over HTTP (its report has the latency
+# percentiles per operation), then sums up the stop-the-world pauses from the safepoint log,
+# which every collector writes the same way.
+#
+#   default                 G1
+#   throughput              Parallel
+#   low-latency             ZGC
+#   low-latency-shenandoah  Shenandoah
+#
+#   deploy/jvm/gc-bench.sh [LOADGEN OPTIONS]
+#       (default: --duration=60 --arrival-rate=100 --cars=1000 --locate-rate=1)
+#
+# Heaps are sized as in a container with JVM_MAX_RAM of memory (default 512m). JAVA_OPTS is passed
+# to the server JVM, PROFILES sets its Spring profiles (e.g. lean).
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+TARGET="$ROOT/app/target"
+PORT=${PORT:-18080}
+JAR=$(ls "$TARGET"/car-pooling-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+LOADGEN_ARGS=${*:---duration=60 --arrival-rate=100 --cars=1000 --locate-rate=1}
+export JVM_MAX_RAM=${JVM_MAX_RAM:-512m}
+
+# pauses GC_LOG: safepoint count, total, p99 and max, in ms
+pauses() {
+  sed -n 's/.*Total: \([0-9]*\) ns.*/\1/p' "$1" | sort -n | awk '
+    { v[NR] = $1; sum += $1 }
+    END {
+      if (NR == 0) { print "no safepoints logged"; exit }
+      p99 = v[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+      printf "pauses: %d, total %.1f ms, p99 %.3f ms, max %.3f ms\n", NR, sum / 1e6, p99 / 1e6, v[NR] / 1e6
+    }'
+}
+
+# run_variant NAME JVM_PROFILE JVM_GC
+run_variant() {
+  dir="$TARGET/gc-bench-$1"
+  rm -rf "$dir"
+  opts=$(JVM_PROFILE=$2 JVM_GC=$3 GC_LOG=true JFR=false DIAGNOSTICS_DIR="$dir" "$ROOT/deploy/jvm/jvm-opts.sh")
+  # shellcheck disable=SC2086
+  java $opts ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" \
+    --spring.profiles.active="${PROFILES:-default}" >"$dir/server.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://127.0.0.1:$PORT/status"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$1: server exited before answering /status (see $dir/server.log)" >&2
+      return 1
+    fi
+    sleep 0.1
+  done
+  echo "== $1 ($opts) =="
+  "$ROOT/mvnw" -f "$ROOT/app/pom.xml" -q -B -Pperf test-compile exec:java \
+    -Dexec.args="--target=http --url=http://127.0.0.1:$PORT $LOADGEN_ARGS"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  pauses "$dir/gc.log"
+}
+
+if [ -z "$JAR" ]; then
+  echo "no jar found, run 'make build' first" >&2
+  exit 1
+fi
+
+run_variant default default zgc
+run_variant throughput throughput zgc
+run_variant low-latency low-latency zgc
+run_variant low-latency-shenandoah low-latency shenandoah
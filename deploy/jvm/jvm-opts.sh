@@ -0,0 +1,77 @@
+#!/usr/bin/env sh
+# Prints the JVM options of a runtime profile, sized to the memory the JVM sees (the container
+# limit inside Docker), plus the optional GC log and JFR recording. Used by the image entrypoint
+# and deploy/jvm/gc-bench.sh; JAVA_OPTS still comes last and overrides anything printed here.
+#
+#   JVM_PROFILE   default       G1, 75% of memory as heap
+#                 low-latency   concurrent GC (JVM_GC=zgc|shenandoah, default zgc), fixed 70% heap
+#                 throughput    Parallel GC, 75% of memory as heap
+#                 none          nothing, i.e. plain JVM ergonomics
+#   JVM_CPUS      processors the JVM should assume (e.g. 2 when a 1.5 CPU quota rounds down to 1)
+#   JVM_MAX_RAM   memory to size against instead of the detected one (e.g. 512m outside a container)
+#   GC_LOG        true: GC and safepoint log in $DIAGNOSTICS_DIR/gc.log (5 x 20 MB, rotated)
+#   JFR           true: continuous flight recording, last hour kept, dumped to
+#                 $DIAGNOSTICS_DIR/car-pooling.jfr on exit (jcmd <pid> JFR.dump for a live one)
+#   JFR_SETTINGS  default (about 1% overhead) or profile (more detail, a few percent)
+#   JFR_EVENTS    true (default): the recording also has the car pooling events (carpooling.jfc)
+#
+#   java $(deploy/jvm/jvm-opts.sh) -jar app/target/car-pooling-*.jar
+set -eu
+
+PROFILE=${JVM_PROFILE:-default}
+DIR=${DIAGNOSTICS_DIR:-/tmp/car-pooling}
+opts=""
+
+# Every profile names its collector: below 2 CPUs or 1792 MB the JVM silently picks the serial
+# one, which is what a small container gets otherwise. Ergonomics also cap the heap at 25%.
+case "$PROFILE" in
+  default)
+    opts="-XX:+UseG1GC -XX:MaxRAMPercentage=75"
+    ;;
+  low-latency)
+    case "${JVM_GC:-zgc}" in
+      zgc) opts="-XX:+UseZGC" ;;
+      shenandoah) opts="-XX:+UseShenandoahGC" ;;
+      *)
+        echo "unknown JVM_GC '$JVM_GC' (zgc|shenandoah)" >&2
+        exit 1
+        ;;
+    esac
+    # A concurrent collector needs headroom to keep up, and a heap that never resizes saves
+    # the pauses and page faults of growing it under load.
+    opts="$opts -XX:MaxRAMPercentage=70 -XX:InitialRAMPercentage=70"
+    ;;
+  throughput)
+    opts="-XX:+UseParallelGC -XX:MaxRAMPercentage=75 -XX:InitialRAMPercentage=50"
+    ;;
+  none) ;;
+  *)
+    echo "unknown JVM_PROFILE '$PROFILE' (default|low-latency|throughput|none)" >&2
+    exit 1
+    ;;
+esac
+
+if [ "$PROFILE" != none ]; then
+  # A restart by the orchestrator beats limping on after an OutOfMemoryError.
+  opts="$opts -XX:+ExitOnOutOfMemoryError"
+fi
+if [ -n "${JVM_CPUS:-}" ]; then
+  opts="$opts -XX:ActiveProcessorCount=$JVM_CPUS"
+fi
+if [ -n "${JVM_MAX_RAM:-}" ]; then
+  opts="$opts -XX:MaxRAM=$JVM_MAX_RAM"
+fi
+if [ "${GC_LOG:-false}" = true ]; then
+  mkdir -p "$DIR"
+  opts="$opts -Xlog:gc*,safepoint:file=$DIR/gc.log:time,uptime,level,tags:filecount=5,filesize=20m"
+fi
+if [ "${JFR:-false}" = true ]; then
+  mkdir -p "$DIR"
+  settings="settings=${JFR_SETTINGS:-default}"
+  if [ "${JFR_EVENTS:-true}" = true ]; then
+    settings="$settings,settings=$(cd "$(dirname "$0")" && pwd)/carpooling.jfc"
+  fi
+  opts="$opts -XX:StartFlightRecording=name=continuous,$settings,maxage=1h,dumponexit=true,filename=$DIR/car-pooling.jfr"
+fi
+
+echo "$opts"
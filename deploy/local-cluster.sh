@@ -0,0 +1,79 @@
+#!/usr/bin/env sh
+# Runs a cluster as separate JVMs on loopback, from the packaged jar.
+#
+#   deploy/local-cluster.sh start [FOLLOWERS]     leader on 8080, followers on 8081, 8082, ...
+#   deploy/local-cluster.sh partitioned [NODES]   partitioned nodes on 8080, 8081, ...
+#   deploy/local-cluster.sh stop
+#
+# Logs and pid files go to app/target/cluster/. The nodes share CLUSTER_SECRET, or a random
+# secret generated for the run.
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR=$(ls "$ROOT"/app/target/car-pooling-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+RUN_DIR="$ROOT/app/target/cluster"
+LEADER_PORT=8080
+CLUSTER_SECRET=${CLUSTER_SECRET:-$(od -An -tx1 -N16 /dev/urandom | tr -d ' \n')}
+
+start_node() {
+  name=$1
+  shift
+  # shellcheck disable=SC2086
+  nohup java ${JAVA_OPTS:-} -jar "$JAR" "$@" >"$RUN_DIR/$name.log" 2>&1 &
+  echo $! >"$RUN_DIR/$name.pid"
+  echo "started $name (pid $!), log: $RUN_DIR/$name.log"
+}
+
+require_jar() {
+  if [ -z "$JAR" ]; then
+    echo "no jar found, run 'make build' first" >&2
+    exit 1
+  fi
+  mkdir -p "$RUN_DIR"
+}
+
+case "${1:-}" in
+  start)
+    require_jar
+    start_node leader --server.port=$LEADER_PORT --carpooling.cluster.mode=leader \
+      --carpooling.cluster.secret="$CLUSTER_SECRET"
+    i=1
+    while [ "$i" -le "${2:-2}" ]; do
+      start_node "follower-$i" --server.port=$((LEADER_PORT + i)) \
+        --carpooling.cluster.mode=follower \
+        --carpooling.cluster.leader-url=http://127.0.0.1:$LEADER_PORT \
+        --carpooling.cluster.secret="$CLUSTER_SECRET"
+      i=$((i + 1))
+    done
+    ;;
+  partitioned)
+    require_jar
+    count=${2:-3}
+    nodes=""
+    i=0
+    while [ "$i" -lt "$count" ]; do
+      nodes="${nodes:+$nodes,}http://127.0.0.1:$((LEADER_PORT + i))"
+      i=$((i + 1))
+    done
+    i=0
+    while [ "$i" -lt "$count" ]; do
+      start_node "node-$i" --server.port=$((LEADER_PORT + i)) \
+        --carpooling.cluster.mode=partitioned \
+        --carpooling.cluster.nodes="$nodes" \
+        --carpooling.cluster.self-url=http://127.0.0.1:$((LEADER_PORT + i)) \
+        --carpooling.cluster.secret="$CLUSTER_SECRET"
+      i=$((i + 1))
+    done
+    ;;
+  stop)
+    for pid in "$RUN_DIR"/*.pid; do
+      [ -f "$pid" ] || continue
+      kill "$(cat "$pid")" 2>/dev/null || true
+      rm -f "$pid"
+    done
+    ;;
+  *)
+    echo "usage: $0 start [FOLLOWERS] | partitioned [NODES] | stop" >&2
+    exit 2
+    ;;
+esac
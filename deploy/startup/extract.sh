@@ -0,0 +1,36 @@
+#!/usr/bin/env sh
+# Turns the Spring Boot fat jar into a plain layout that AppCDS can archive:
+#
+#   OUT/application.jar   application classes, Main-Class and a relative Class-Path
+#   OUT/lib/*.jar         dependencies, in the order of BOOT-INF/classpath.idx
+#
+# CDS only archives classes loaded by the JDK class loaders from jar files; the nested jars of
+# the fat jar are loaded by Spring Boot's own loader and would be skipped.
+#
+#   deploy/startup/extract.sh app/target/car-pooling-1.1.0.jar app/target/cds
+set -eu
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+OUT=$2
+MAIN_CLASS=com.egobb.carpooling.CarPoolingApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/unpacked" "$OUT/lib"
+cd "$OUT/unpacked"
+jar -xf "$JAR"
+cd ..
+
+classpath=""
+for lib in $(sed -n 's/^- "BOOT-INF\/lib\/\(.*\)"$/\1/p' unpacked/BOOT-INF/classpath.idx); do
+  mv "unpacked/BOOT-INF/lib/$lib" lib/
+  classpath="$classpath lib/$lib"
+done
+
+# Manifest lines are limited to 72 bytes: continuation lines start with a space.
+{
+  echo "Main-Class: $MAIN_CLASS"
+  echo "Class-Path:$classpath" | fold -w 71 | sed '2,$s/^/ /'
+} >manifest.txt
+jar -cfm application.jar manifest.txt -C unpacked/BOOT-INF/classes .
+rm -rf unpacked manifest.txt
+echo "extracted $(ls lib | wc -l | tr -d ' ') libraries to $(pwd)"
@@ -0,0 +1,22 @@
+#!/usr/bin/env sh
+# Collects GraalVM reachability metadata (reflection, resources, proxies, classes defined at
+# runtime) with the tracing agent during a training run, into app/target/native-config, for the
+# 'native' Maven profile. Needs a GraalVM JDK 17 as 'java' and a packaged jar.
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+TARGET="$ROOT/app/target"
+JAR=$(ls "$TARGET"/car-pooling-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  echo "no jar found, run 'make build' first" >&2
+  exit 1
+fi
+
+"$(dirname "$0")/extract.sh" "$JAR" "$TARGET/native-layout"
+cd "$TARGET/native-layout"
+java -agentlib:native-image-agent=config-output-dir="$TARGET/native-config",experimental-class-define-support \
+  -jar application.jar \
+  --spring.profiles.active=lean \
+  --server.port=0 \
+  --carpooling.startup.training-run=true
+echo "wrote $TARGET/native-config"
@@ -0,0 +1,94 @@
+#!/usr/bin/env sh
+# Startup benchmark: time from process launch to the first 200 from GET /status, and resident
+# memory (RSS) at that moment, for every runnable variant:
+#
+#   jar        java -jar car-pooling.jar
+#   jar-lean   same, with the lean Spring profile
+#   cds-lean   extracted layout + AppCDS archive (make cds), lean profile
+#   native     GraalVM native image (make native), lean profile; skipped when not built
+#
+#   deploy/startup/startup-bench.sh [RUNS]      (default 5 runs per variant, median reported)
+#
+# Uses only sh, curl and /proc (or ps); JAVA_OPTS is passed to every JVM variant.
+set -eu
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+TARGET="$ROOT/app/target"
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=$(ls "$TARGET"/car-pooling-*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+
+now_ms() {
+  # %N is not portable; fall back to python when date lacks it.
+  ms=$(date +%s%3N)
+  case "$ms" in
+    *N) python3 -c 'import time; print(int(time.time() * 1000))' ;;
+    *) echo "$ms" ;;
+  esac
+}
+
+rss_kib() {
+  if [ -r "/proc/$1/status" ]; then
+    awk '/^VmRSS:/ {print $2}' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+median() {
+  sort -n | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}'
+}
+
+# run_variant NAME DIR COMMAND...
+run_variant() {
+  name=$1
+  dir=$2
+  shift 2
+  times=""
+  rss=""
+  i=0
+  while [ "$i" -lt "$RUNS" ]; do
+    start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" >/dev/null 2>&1) &
+    pid=$!
+    until curl -fs -o /dev/null "http://127.0.0.1:$PORT/status"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$name: process exited before answering /status" >&2
+        return 1
+      fi
+      sleep 0.01
+    done
+    end=$(now_ms)
+    times="$times $((end - start))"
+    rss="$rss $(rss_kib "$pid")"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    i=$((i + 1))
+  done
+  t=$(echo "$times" | tr ' ' '\n' | grep . | median)
+  r=$(echo "$rss" | tr ' ' '\n' | grep . | median)
+  printf '%-10s %12s %12s   runs:%s\n' "$name" "$t" "$((r / 1024))" "$times"
+}
+
+if [ -z "$JAR" ]; then
+  echo "no jar found, run 'make build' first" >&2
+  exit 1
+fi
+
+printf '%-10s %12s %12s\n' variant "status ms" "RSS MiB"
+# shellcheck disable=SC2086
+run_variant jar "$TARGET" java ${JAVA_OPTS:-} -jar "$JAR"
+# shellcheck disable=SC2086
+run_variant jar-lean "$TARGET" java ${JAVA_OPTS:-} -jar "$JAR" --spring.profiles.active=lean
+if [ -f "$TARGET/cds/app.jsa" ]; then
+  # shellcheck disable=SC2086
+  run_variant cds-lean "$TARGET/cds" java ${JAVA_OPTS:-} -XX:SharedArchiveFile=app.jsa \
+    -jar application.jar --spring.profiles.active=lean
+else
+  echo "cds-lean   skipped (run 'make cds')"
+fi
+if [ -x "$TARGET/car-pooling" ]; then
+  run_variant native "$TARGET" ./car-pooling --spring.profiles.active=lean
+else
+  echo "native     skipped (run 'make native' with a GraalVM JDK)"
+fi
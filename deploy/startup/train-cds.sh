@@ -0,0 +1,21 @@
+#!/usr/bin/env sh
+# Records a dynamic AppCDS archive (app.jsa) for a layout produced by extract.sh, with a short
+# training run (carpooling.startup.training-run) that also exercises every endpoint once.
+# Must run on the same JVM build that will use the archive (e.g. in the runtime image).
+#
+#   deploy/startup/train-cds.sh app/target/cds [spring profiles]
+#   cd app/target/cds && java -XX:SharedArchiveFile=app.jsa -jar application.jar
+set -eu
+
+cd "$1"
+PROFILES=${2:-lean}
+rm -f app.jsa
+java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error \
+  -jar application.jar \
+  --spring.profiles.active="$PROFILES" \
+  --server.port=0 \
+  --carpooling.startup.training-run=true >training.log 2>&1 || {
+  cat training.log >&2
+  exit 1
+}
+echo "wrote $(pwd)/app.jsa ($(du -k app.jsa | cut -f1) KiB)"